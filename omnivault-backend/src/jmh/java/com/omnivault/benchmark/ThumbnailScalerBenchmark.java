@@ -0,0 +1,99 @@
+package com.omnivault.benchmark;
+
+import com.omnivault.util.ThumbnailScaler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ThumbnailScaler} with the previous thumbnail path, which decoded
+ * the whole image and scaled it with {@code Image.getScaledInstance(SCALE_SMOOTH)}.
+ * Run with {@code -prof gc} to compare allocation as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class ThumbnailScalerBenchmark {
+
+    private static final int MAX_SIZE = 200;
+
+    @Param({"4000x3000", "8000x6000"})
+    private String resolution;
+
+    private File source;
+
+    @Setup(Level.Trial)
+    public void createImage() throws IOException {
+        String[] dimensions = resolution.split("x");
+        int width = Integer.parseInt(dimensions[0]);
+        int height = Integer.parseInt(dimensions[1]);
+
+        // Something with edges for the JPEG codec to work on, unlike a flat image
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        for (int i = 0; i < 2000; i++) {
+            graphics.setColor(new Color(i * 7919 % 0xFFFFFF));
+            graphics.fillOval(i * 37 % width, i * 53 % height, width / 25, height / 30);
+        }
+        graphics.dispose();
+
+        source = Files.createTempFile("thumbnail-benchmark", ".jpg").toFile();
+        ImageIO.write(image, "jpeg", source);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteImage() throws IOException {
+        Files.deleteIfExists(source.toPath());
+    }
+
+    @Benchmark
+    public byte[] subsampledBilinear() throws IOException {
+        BufferedImage thumbnail;
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            thumbnail = ThumbnailScaler.scale(input, MAX_SIZE);
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ThumbnailScaler.writeJpeg(thumbnail, 0.85f, output);
+        return output.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] fullDecodeScaleSmooth() throws IOException {
+        BufferedImage original = ImageIO.read(source);
+        int width = MAX_SIZE;
+        int height = (int) ((double) original.getHeight() / original.getWidth() * MAX_SIZE);
+
+        Image scaled = original.getScaledInstance(width, height, Image.SCALE_SMOOTH);
+        BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        thumbnail.getGraphics().drawImage(scaled, 0, 0, null);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(thumbnail, "jpeg", output);
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,92 @@
+package com.omnivault.benchmark;
+
+import com.omnivault.config.JwtProperties;
+import com.omnivault.security.TokenProvider;
+import com.omnivault.security.TokenVerification;
+import com.omnivault.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the token handling the JWT filter does for every authenticated request.
+ * {@code previous} reproduces the earlier path, which derived the key and built a
+ * parser for {@code validateToken} and again for {@code getUserIdFromToken};
+ * {@code singleParse} is {@link TokenProvider#verify} without its cache, and
+ * {@code cached} is a client's repeated request with the same token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TokenVerificationBenchmark {
+
+    private static final String SECRET =
+            "benchmark-secret-that-is-long-enough-for-hmac-sha-512-signatures-0123456789";
+
+    private TokenProvider cachedProvider;
+    private TokenProvider uncachedProvider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void createToken() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setAccessTokenExpirationMs(TimeUnit.HOURS.toMillis(1));
+        cachedProvider = new TokenProvider(properties, null);
+
+        JwtProperties uncachedProperties = new JwtProperties();
+        uncachedProperties.setSecret(SECRET);
+        uncachedProperties.setAccessTokenExpirationMs(TimeUnit.HOURS.toMillis(1));
+        uncachedProperties.setVerifiedTokenCacheSize(0);
+        uncachedProvider = new TokenProvider(uncachedProperties, null);
+
+        token = cachedProvider.generateAccessToken(UserPrincipal.builder()
+                .id(UUID.randomUUID())
+                .username("benchmark")
+                .authorities(Collections.emptyList())
+                .build());
+    }
+
+    @Benchmark
+    public UUID previous() {
+        // validateToken
+        Jwts.parserBuilder().setSigningKey(previousKey()).build().parseClaimsJws(token);
+        // getUserIdFromToken
+        Claims claims = Jwts.parserBuilder().setSigningKey(previousKey()).build().parseClaimsJws(token).getBody();
+        return UUID.fromString(claims.getSubject());
+    }
+
+    @Benchmark
+    public TokenVerification singleParse() {
+        return uncachedProvider.verify(token);
+    }
+
+    @Benchmark
+    public TokenVerification cached() {
+        return cachedProvider.verify(token);
+    }
+
+    private static Key previousKey() {
+        return Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    }
+}
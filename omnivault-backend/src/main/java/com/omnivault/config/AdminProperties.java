@@ -0,0 +1,20 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for administrative access.
+ * Only the listed users may call endpoints that act on data of all users,
+ * such as clearing shared caches. With no usernames configured, nobody can.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.admin")
+@Data
+public class AdminProperties {
+    private List<String> usernames = new ArrayList<>();
+}
@@ -5,11 +5,13 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
 
+import java.time.Duration;
 
 /**
  * Configuration class for AWS S3 storage integration.
@@ -30,6 +32,9 @@ public class AwsS3Config {
     private boolean pathStyleAccessEnabled;
     private long maxSizeBytes;
     private long urlExpirationSeconds;
+    private Multipart multipart = new Multipart();
+    private UrlCache urlCache = new UrlCache();
+    private boolean presignListings;
 
     /**
      * Creates an S3 client bean configured with provided credentials and settings.
@@ -61,4 +66,31 @@ public class AwsS3Config {
 
         return builder.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Settings for multipart uploads, used for files of at least {@code threshold} bytes.
+     * Parts are read from the upload stream one at a time and uploaded concurrently,
+     * so at most {@code concurrency} parts are held in memory per upload.
+     */
+    @Data
+    public static class Multipart {
+        private DataSize threshold = DataSize.ofMegabytes(16);
+        private DataSize partSize = DataSize.ofMegabytes(8);
+        private int concurrency = 4;
+        private int maxAttempts = 3;
+        private Duration retryBackoff = Duration.ofMillis(500);
+    }
+
+    /**
+     * Settings for reusing pre-signed URLs. Time is split into intervals of
+     * {@code refreshInterval}; all requests for an object within one interval get
+     * the same URL, which therefore still has at least the URL expiration minus
+     * the interval left when it is handed out.
+     */
+    @Data
+    public static class UrlCache {
+        private boolean enabled = true;
+        private Duration refreshInterval = Duration.ofMinutes(15);
+        private long maximumSize = 10_000;
+    }
+}
@@ -1,75 +1,116 @@
 package com.omnivault.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.service.impl.PopularContentLoader;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.time.Duration;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Configuration class for setting up application-wide caching using Caffeine.
- * Enables caching and configures cache settings such as expiration,
- * initial capacity, and maximum size. Defines named caches for
- * different types of content and entities.
+ * Enables caching and builds each named cache from its own policy in
+ * {@link CachePolicyProperties}, so page caches can be bounded by size,
+ * caches holding presigned URLs can expire before the URLs do, and popular
+ * content can be refreshed in the background. Every cache records hit, miss,
+ * load and eviction statistics; with Actuator on the classpath Spring Boot
+ * binds them as Micrometer meters ({@code cache.gets}, {@code cache.evictions}, ...).
  */
 @Configuration
 @EnableCaching
+@Slf4j
 public class CacheConfig {
 
+    /**
+     * Names of all application caches. Caches holding content DTOs embed presigned URLs.
+     */
+    public static final List<String> CACHE_NAMES = List.of(
+            "contents",
+            "folders",
+            "tags",
+            "users",
+            "contentsByFolder",
+            "contentsByTag",
+            "contentsByType",
+            "recentContents",
+            "popularContents"
+    );
+
+    private static final String POPULAR_CONTENTS = "popularContents";
 
     /**
-     * Configures the base Caffeine cache settings.
-     * Sets up default cache properties including:
-     * - Expiration after 10 minutes of access
-     * - Initial capacity of 50 entries
-     * - Maximum of 500 entries
+     * Counts removals from the named caches by cause.
      *
-     * @return Configured Caffeine cache builder
+     * @return The removal counters shared by all named caches
      */
     @Bean
-    public Caffeine<Object, Object> caffeineConfig() {
-        return Caffeine.newBuilder()
-                .expireAfterAccess(Duration.ofMinutes(10))
-                .initialCapacity(50)
-                .maximumSize(500);
+    public CacheRemovalCounters cacheRemovalCounters() {
+        return new CacheRemovalCounters();
     }
 
-
     /**
-     * Creates a CacheManager with predefined named caches.
-     * Configures specific caches for various application entities:
-     * - contents
-     * - folders
-     * - tags
-     * - users
-     * - contentsByFolder
-     * - contentsByTag
-     * - contentsByType
-     * - recentContents
-     * - popularContents
+     * Creates a CacheManager with the predefined named caches, each configured
+     * from its policy. The {@code popularContents} cache is a loading cache so
+     * that a {@code refresh-after-write} policy can reload it in the background.
      *
-     * @param caffeine The base Caffeine cache configuration
+     * @param properties The cache policies
+     * @param popularContentLoader Loader for the popular content cache
+     * @param removalCounters Counters for entries removed from each cache
      * @return Configured CacheManager with named caches
      */
     @Bean
-    public CacheManager cacheManager(Caffeine<Object, Object> caffeine) {
+    public CacheManager cacheManager(CachePolicyProperties properties,
+                                     PopularContentLoader popularContentLoader,
+                                     CacheRemovalCounters removalCounters) {
+        properties.getPolicies().keySet().stream()
+                .filter(name -> !CACHE_NAMES.contains(name))
+                .forEach(name -> log.warn("Ignoring cache policy for unknown cache: {}", name));
+
         CaffeineCacheManager cacheManager = new CaffeineCacheManager();
-        cacheManager.setCaffeine(caffeine);
-        cacheManager.setCacheNames(Arrays.asList(
-                "contents",
-                "folders",
-                "tags",
-                "users",
-                "contentsByFolder",
-                "contentsByTag",
-                "contentsByType",
-                "recentContents",
-                "popularContents"
-        ));
+        // No caches are created on demand; all of them are registered below
+        cacheManager.setCacheNames(Collections.emptyList());
+        for (String name : CACHE_NAMES) {
+            Caffeine<Object, Object> caffeine = caffeineFor(name, properties.policyFor(name))
+                    .removalListener(removalCounters.listenerFor(name));
+            if (POPULAR_CONTENTS.equals(name)) {
+                cacheManager.registerCustomCache(name, caffeine.build(popularContentLoader));
+            } else {
+                cacheManager.registerCustomCache(name, caffeine.build());
+            }
+        }
         return cacheManager;
     }
-}
\ No newline at end of file
+
+    private Caffeine<Object, Object> caffeineFor(String name, CachePolicyProperties.Policy policy) {
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+                .initialCapacity(policy.getInitialCapacity())
+                .recordStats();
+
+        if (policy.getMaximumWeight() != null) {
+            caffeine.maximumWeight(policy.getMaximumWeight().toBytes())
+                    .weigher(new CacheValueWeigher());
+        } else if (policy.getMaximumSize() != null) {
+            caffeine.maximumSize(policy.getMaximumSize());
+        }
+
+        if (policy.getExpireAfterAccess() != null) {
+            caffeine.expireAfterAccess(policy.getExpireAfterAccess());
+        }
+        if (policy.getExpireAfterWrite() != null) {
+            caffeine.expireAfterWrite(policy.getExpireAfterWrite());
+        }
+        if (policy.getRefreshAfterWrite() != null) {
+            if (!POPULAR_CONTENTS.equals(name)) {
+                throw new IllegalStateException("refresh-after-write needs a cache loader, which cache '"
+                        + name + "' does not have");
+            }
+            caffeine.refreshAfterWrite(policy.getRefreshAfterWrite());
+        }
+        return caffeine;
+    }
+}
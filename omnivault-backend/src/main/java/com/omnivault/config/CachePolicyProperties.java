@@ -0,0 +1,56 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the named application caches.
+ * Each cache may define its own policy under {@code app.cache.policies};
+ * caches without one use {@code app.cache.defaults}. A policy bounds the
+ * cache either by entry count or, for caches of pages, by estimated size.
+ * Settings a policy leaves out are not taken from the defaults.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.cache")
+@Data
+public class CachePolicyProperties {
+    private Policy defaults = defaultPolicy();
+    private Map<String, Policy> policies = new HashMap<>();
+
+    /**
+     * Returns the policy of a named cache.
+     *
+     * @param cacheName The cache name
+     * @return The cache's own policy, or the defaults if it has none
+     */
+    public Policy policyFor(String cacheName) {
+        return policies.getOrDefault(cacheName, defaults);
+    }
+
+    private static Policy defaultPolicy() {
+        Policy policy = new Policy();
+        policy.setMaximumSize(500L);
+        policy.setExpireAfterAccess(Duration.ofMinutes(10));
+        return policy;
+    }
+
+    @Data
+    public static class Policy {
+        private int initialCapacity = 50;
+        /** Maximum number of entries; ignored when a maximum weight is set */
+        private Long maximumSize;
+        /** Maximum estimated size of all entries */
+        private DataSize maximumWeight;
+        private Duration expireAfterAccess;
+        /** Required for values embedding presigned URLs, which must not outlive their signature */
+        private Duration expireAfterWrite;
+        /** Reloads entries in the background once they are this old */
+        private Duration refreshAfterWrite;
+    }
+}
@@ -0,0 +1,49 @@
+package com.omnivault.config;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts why entries leave each named cache. Caffeine's own statistics only
+ * report evictions as a whole; these counters separate expiry from size
+ * pressure and from explicit invalidation or replacement.
+ */
+public class CacheRemovalCounters {
+
+    private final Map<String, Map<RemovalCause, LongAdder>> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a removal listener that counts removals of the given cache.
+     *
+     * @param cacheName The cache name
+     * @return The listener to register with the cache
+     */
+    public RemovalListener<Object, Object> listenerFor(String cacheName) {
+        Map<RemovalCause, LongAdder> byCause = new EnumMap<>(RemovalCause.class);
+        for (RemovalCause cause : RemovalCause.values()) {
+            byCause.put(cause, new LongAdder());
+        }
+        counters.put(cacheName, Collections.unmodifiableMap(byCause));
+        return (key, value, cause) -> byCause.get(cause).increment();
+    }
+
+    /**
+     * Returns the removal counts of a cache.
+     *
+     * @param cacheName The cache name
+     * @return The number of removals per cause, empty if the cache is unknown
+     */
+    public Map<String, Long> countsFor(String cacheName) {
+        Map<RemovalCause, LongAdder> byCause = counters.getOrDefault(cacheName, Collections.emptyMap());
+        Map<String, Long> counts = new LinkedHashMap<>();
+        byCause.forEach((cause, count) -> counts.put(cause.name(), count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,92 @@
+package com.omnivault.config;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.FolderDTO;
+import com.omnivault.domain.dto.response.TagDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Estimates the heap footprint of cached values in bytes, so caches of pages
+ * are bounded by size rather than by entry count. A page of full content DTOs
+ * with text bodies weighs far more than a single tag, and is charged as such.
+ * The estimate counts string characters and a fixed overhead per object; it is
+ * meant to be proportional to real usage, not exact.
+ */
+public class CacheValueWeigher implements Weigher<Object, Object> {
+
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int OBJECT_OVERHEAD = 48;
+    private static final int CONTENT_DTO_OVERHEAD = 320;
+    private static final int SUMMARY_DTO_OVERHEAD = 200;
+    private static final int TAG_DTO_OVERHEAD = 120;
+    private static final int FOLDER_DTO_OVERHEAD = 200;
+
+    @Override
+    public int weigh(Object key, Object value) {
+        return (int) Math.min(Integer.MAX_VALUE, ENTRY_OVERHEAD + sizeOf(key) + sizeOf(value));
+    }
+
+    private long sizeOf(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof String string) {
+            return OBJECT_OVERHEAD + 2L * string.length();
+        }
+        if (value instanceof Page<?> page) {
+            return OBJECT_OVERHEAD * 2 + sizeOf(page.getContent());
+        }
+        if (value instanceof Collection<?> collection) {
+            long size = OBJECT_OVERHEAD + 8L * collection.size();
+            for (Object element : collection) {
+                size += sizeOf(element);
+            }
+            return size;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long size = OBJECT_OVERHEAD + 40L * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+            }
+            return size;
+        }
+        if (value instanceof ContentDTO dto) {
+            return CONTENT_DTO_OVERHEAD
+                    + chars(dto.getTitle(), dto.getDescription(), dto.getFolderName(), dto.getMimeType(),
+                    dto.getStoragePath(), dto.getOriginalFilename(), dto.getThumbnailPath(),
+                    dto.getTextContent(), dto.getUrl(), dto.getPreviewImagePath(), dto.getPresignedUrl(),
+                    dto.getThumbnailPresignedUrl(), dto.getHighlight())
+                    + sizeOf(dto.getTags())
+                    + sizeOf(dto.getMetadata());
+        }
+        if (value instanceof ContentSummaryDTO dto) {
+            return SUMMARY_DTO_OVERHEAD
+                    + chars(dto.getTitle(), dto.getFolderName(), dto.getMimeType(), dto.getThumbnailPath(),
+                    dto.getThumbnailPresignedUrl());
+        }
+        if (value instanceof TagDTO dto) {
+            return TAG_DTO_OVERHEAD + chars(dto.getName(), dto.getColor());
+        }
+        if (value instanceof FolderDTO dto) {
+            return FOLDER_DTO_OVERHEAD
+                    + chars(dto.getName(), dto.getDescription(), dto.getPath())
+                    + sizeOf(dto.getSubfolders());
+        }
+        return OBJECT_OVERHEAD;
+    }
+
+    private static long chars(String... values) {
+        long size = 0;
+        for (String value : values) {
+            if (value != null) {
+                size += OBJECT_OVERHEAD + 2L * value.length();
+            }
+        }
+        return size;
+    }
+}
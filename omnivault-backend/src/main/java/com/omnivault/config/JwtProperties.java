@@ -4,9 +4,13 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Configuration properties for JSON Web Token (JWT) authentication.
  * Manages JWT-related settings such as secret key and token expiration times.
+ * Verified access tokens are remembered until they expire, up to
+ * {@code verifiedTokenCacheSize} of them; 0 turns this off.
  */
 @Configuration
 @ConfigurationProperties(prefix = "app.jwt")
@@ -15,4 +19,23 @@ public class JwtProperties {
     private String secret;
     private long accessTokenExpirationMs;
     private long refreshTokenExpirationMs;
-}
\ No newline at end of file
+    private long verifiedTokenCacheSize = 10_000;
+    private PrincipalCache principalCache = new PrincipalCache();
+
+    /**
+     * Settings for the cache of authenticated principals.
+     */
+    @Data
+    public static class PrincipalCache {
+        /**
+         * How long a principal is reused before its user is loaded again. Bounds how
+         * late changes not made through this instance, e.g. on another node, are seen.
+         */
+        private Duration ttl = Duration.ofMinutes(1);
+
+        /**
+         * Maximum number of cached principals, one per user and access token.
+         */
+        private long maximumSize = 10_000;
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
 import java.net.URI;
@@ -14,8 +15,9 @@ import java.net.URI;
 /**
  * Configuration class for creating an S3Presigner bean.
  * Provides a configurable S3Presigner for generating pre-signed URLs
- * for S3 or S3-compatible storage services. The configuration is
- * conditionally enabled based on application properties.
+ * for S3 or S3-compatible storage services. The presigner is thread-safe
+ * and shared by all signing. The configuration is conditionally enabled
+ * based on application properties.
  */
 @Configuration
 @RequiredArgsConstructor
@@ -47,6 +49,12 @@ public class S3PresignerConfig {
         // Optional endpoint configuration (for MinIO, LocalStack, etc.)
         if (s3Config.getEndpointUrl() != null && !s3Config.getEndpointUrl().isEmpty()) {
             builder.endpointOverride(URI.create(s3Config.getEndpointUrl()));
+            // Signed URLs must use the same addressing style as the client
+            if (s3Config.isPathStyleAccessEnabled()) {
+                builder.serviceConfiguration(S3Configuration.builder()
+                        .pathStyleAccessEnabled(true)
+                        .build());
+            }
         }
 
         return builder.build();
@@ -0,0 +1,24 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the per-user full-text search result cache.
+ * Bounds how many users, queries per user and candidates per query are kept,
+ * and how long results live; cached pages carry presigned URLs, so the
+ * time to live must stay well below their expiry.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.search.cache")
+@Data
+public class SearchCacheProperties {
+    private boolean enabled = true;
+    private int maxUsers = 1000;
+    private int maxQueriesPerUser = 20;
+    private int maxCandidates = 500;
+    private Duration timeToLive = Duration.ofMinutes(5);
+}
@@ -0,0 +1,20 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the in-memory search-as-you-type index.
+ * Controls whether the index is used and how much heap all per-user
+ * indexes may occupy before some of them are evicted.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.search.index")
+@Data
+public class SearchIndexProperties {
+    private boolean enabled = true;
+    private long memoryBudgetMb = 256;
+    private int defaultLimit = 10;
+    private int maxLimit = 50;
+}
@@ -3,6 +3,7 @@ package com.omnivault.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
 
 import java.util.Map;
 
@@ -17,4 +18,49 @@ import java.util.Map;
 public class StorageProperties {
     private String location;
     private Map<String, Integer> maxSize;
+    private Dedup dedup = new Dedup();
+    private Migration migration = new Migration();
+
+    /**
+     * Settings for storing identical uploads only once.
+     */
+    @Data
+    public static class Dedup {
+        /**
+         * Whether uploads with the digest of an already stored file reuse that file.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether files are shared between uploads of the same user only, or of all users.
+         */
+        private Scope scope = Scope.USER;
+    }
+
+    /**
+     * Settings for bulk moves of content between storage locations.
+     */
+    @Data
+    public static class Migration {
+        /**
+         * Number of content items transferred at the same time.
+         */
+        private int parallelism = 4;
+
+        /**
+         * Number of content items claimed per checkpoint. A restarted migration
+         * repeats at most this many items.
+         */
+        private int batchSize = 20;
+
+        /**
+         * Transfer rate shared by all transfers, per second. Zero means unlimited.
+         */
+        private DataSize bandwidth = DataSize.ofBytes(0);
+    }
+
+    public enum Scope {
+        USER,
+        GLOBAL
+    }
 }
\ No newline at end of file
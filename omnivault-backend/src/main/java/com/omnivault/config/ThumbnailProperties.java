@@ -0,0 +1,29 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for background thumbnail generation.
+ * The number of workers bounds how many images are decoded at once, and
+ * with it the heap thumbnailing can take; jobs beyond the queue capacity
+ * wait in the database until a poll picks them up.
+ * Thumbnails are JPEGs that fit within {@code maxSize} pixels square.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.thumbnails")
+@Data
+public class ThumbnailProperties {
+    private int concurrency = 2;
+    private int queueCapacity = 100;
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofSeconds(30);
+    private Duration lease = Duration.ofMinutes(5);
+    private Duration pollInterval = Duration.ofSeconds(30);
+    private int batchSize = 20;
+    private int maxSize = 200;
+    private float jpegQuality = 0.85f;
+}
@@ -0,0 +1,20 @@
+package com.omnivault.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for buffered view counting.
+ * Views are collected in memory and written to the database every
+ * {@code flushInterval}, at most {@code batchSize} content items per update.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.view-counts")
+@Data
+public class ViewCountProperties {
+    private Duration flushInterval = Duration.ofSeconds(10);
+    private int batchSize = 500;
+}
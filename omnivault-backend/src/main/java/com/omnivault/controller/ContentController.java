@@ -1,9 +1,13 @@
 package com.omnivault.controller;
 
 import com.omnivault.domain.dto.request.ContentUpdateRequest;
+import com.omnivault.domain.dto.request.ContentUrlsRequest;
+import com.omnivault.domain.dto.request.FileContentFromHashRequest;
 import com.omnivault.domain.dto.request.LinkContentCreateRequest;
 import com.omnivault.domain.dto.request.TextContentCreateRequest;
 import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentUrlDTO;
+import com.omnivault.domain.dto.response.SearchHitDTO;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.service.ContentService;
@@ -16,6 +20,8 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
@@ -27,6 +33,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -48,8 +55,21 @@ public class ContentController {
                     content = @Content(schema = @Schema(implementation = Page.class)))
     })
     @GetMapping
-    public ResponseEntity<Page<ContentDTO>> getAllContent(
+    public ResponseEntity<?> getAllContent(
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getAllContentSummarySlice(cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getAllContentSlice(cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getAllContentSummaries(pageable));
+        }
         return ResponseEntity.ok(contentService.getAllContent(pageable));
     }
 
@@ -81,10 +101,23 @@ public class ContentController {
                     content = @Content)
     })
     @GetMapping("/folder/{folderId}")
-    public ResponseEntity<Page<ContentDTO>> getContentByFolder(
+    public ResponseEntity<?> getContentByFolder(
             @Parameter(description = "ID of the folder", required = true)
             @PathVariable UUID folderId,
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getContentSummarySliceByFolder(folderId, cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getContentSliceByFolder(folderId, cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getContentSummariesByFolder(folderId, pageable));
+        }
         return ResponseEntity.ok(contentService.getContentByFolder(folderId, pageable));
     }
 
@@ -97,10 +130,23 @@ public class ContentController {
                     content = @Content(schema = @Schema(implementation = Page.class)))
     })
     @GetMapping("/type/{contentType}")
-    public ResponseEntity<Page<ContentDTO>> getContentByType(
+    public ResponseEntity<?> getContentByType(
             @Parameter(description = "Type of content (TEXT, LINK, IMAGE, VIDEO, DOCUMENT, OTHER)", required = true)
             @PathVariable ContentType contentType,
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getContentSummarySliceByType(contentType, cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getContentSliceByType(contentType, cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getContentSummariesByType(contentType, pageable));
+        }
         return ResponseEntity.ok(contentService.getContentByType(contentType, pageable));
     }
 
@@ -115,10 +161,23 @@ public class ContentController {
                     content = @Content)
     })
     @GetMapping("/tag/{tagId}")
-    public ResponseEntity<Page<ContentDTO>> getContentByTag(
+    public ResponseEntity<?> getContentByTag(
             @Parameter(description = "ID of the tag", required = true)
             @PathVariable UUID tagId,
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getContentSummarySliceByTag(tagId, cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getContentSliceByTag(tagId, cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getContentSummariesByTag(tagId, pageable));
+        }
         return ResponseEntity.ok(contentService.getContentByTag(tagId, pageable));
     }
 
@@ -131,8 +190,21 @@ public class ContentController {
                     content = @Content(schema = @Schema(implementation = Page.class)))
     })
     @GetMapping("/favorites")
-    public ResponseEntity<Page<ContentDTO>> getFavoriteContent(
+    public ResponseEntity<?> getFavoriteContent(
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getFavoriteContentSummarySlice(cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getFavoriteContentSlice(cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getFavoriteContentSummaries(pageable));
+        }
         return ResponseEntity.ok(contentService.getFavoriteContent(pageable));
     }
 
@@ -145,8 +217,21 @@ public class ContentController {
                     content = @Content(schema = @Schema(implementation = Page.class)))
     })
     @GetMapping("/recent")
-    public ResponseEntity<Page<ContentDTO>> getRecentContent(
+    public ResponseEntity<?> getRecentContent(
+            @Parameter(description = "Response shape: 'full' (default) or 'summary' for slim list rows")
+            @RequestParam(defaultValue = "full") String view,
+            @Parameter(description = "Opaque keyset cursor; when present (blank for the first slice) results are returned newest first as a cursor slice")
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
+        if (cursor != null) {
+            if (isSummaryView(view)) {
+                return ResponseEntity.ok(contentService.getAllContentSummarySlice(cursor, pageable.getPageSize()));
+            }
+            return ResponseEntity.ok(contentService.getAllContentSlice(cursor, pageable.getPageSize()));
+        }
+        if (isSummaryView(view)) {
+            return ResponseEntity.ok(contentService.getRecentContentSummaries(pageable));
+        }
         return ResponseEntity.ok(contentService.getRecentContent(pageable));
     }
 
@@ -228,6 +313,26 @@ public class ContentController {
                 file, title, description, folderId, tagIds, newTags, storageLocation));
     }
 
+    @Operation(
+            summary = "Create file content without uploading",
+            description = "Creates a file-based content item from a file the user has stored before, "
+                    + "identified by its SHA-256 digest. Clients holding the digest call this before uploading "
+                    + "and only send the file if it returns 404"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Content created from the stored file",
+                    content = @Content(schema = @Schema(implementation = ContentDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "No stored file has the digest; upload it instead",
+                    content = @Content)
+    })
+    @PostMapping("/file/by-hash")
+    public ResponseEntity<ContentDTO> createFileContentFromHash(
+            @Valid @RequestBody FileContentFromHashRequest request) {
+        return ResponseEntity.ok(contentService.createFileContentFromHash(request));
+    }
+
     @Operation(
             summary = "Update content",
             description = "Updates an existing content item"
@@ -331,16 +436,24 @@ public class ContentController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "File downloaded successfully",
                     content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "206", description = "Requested byte ranges of the file",
+                    content = @Content(mediaType = "application/octet-stream")),
+            @ApiResponse(responseCode = "304", description = "File not modified",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Content or file not found",
+                    content = @Content),
+            @ApiResponse(responseCode = "416", description = "Requested range not satisfiable",
                     content = @Content)
     })
     @GetMapping("/{contentId}/file")
-    public ResponseEntity<Resource> getContentFile(
+    public void getContentFile(
             @Parameter(description = "ID of the content to download file for", required = true)
-            @PathVariable UUID contentId) {
+            @PathVariable UUID contentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         Resource resource = contentService.getContentFile(contentId);
         ContentDTO content = contentService.getContent(contentId);
-        return FileResponseUtils.createFileResponse(resource, content);
+        FileResponseUtils.writeFileResponse(resource, content, request, response);
     }
 
     @Operation(
@@ -363,6 +476,23 @@ public class ContentController {
         return ResponseEntity.ok(Map.of("url", url));
     }
 
+    @Operation(
+            summary = "Get cloud URLs for several content items",
+            description = "Generates pre-signed URLs for the files and thumbnails of up to 100 content items in one call. "
+                    + "Listings do not include pre-signed URLs; clients sign the items they display with this endpoint"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "URLs generated successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = ContentUrlDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Invalid request data",
+                    content = @Content)
+    })
+    @PostMapping("/urls")
+    public ResponseEntity<List<ContentUrlDTO>> getPresignedUrls(
+            @Valid @RequestBody ContentUrlsRequest request) {
+        return ResponseEntity.ok(contentService.getPresignedUrls(request.getContentIds()));
+    }
+
     @Operation(
             summary = "Get content thumbnail",
             description = "Retrieves the thumbnail for an image or video content item"
@@ -370,15 +500,21 @@ public class ContentController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Thumbnail retrieved successfully",
                     content = @Content(mediaType = "image/jpeg")),
+            @ApiResponse(responseCode = "206", description = "Requested byte ranges of the thumbnail",
+                    content = @Content(mediaType = "image/jpeg")),
+            @ApiResponse(responseCode = "304", description = "Thumbnail not modified",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Content or thumbnail not found",
                     content = @Content)
     })
     @GetMapping("/{contentId}/thumbnail")
-    public ResponseEntity<Resource> getContentThumbnail(
+    public void getContentThumbnail(
             @Parameter(description = "ID of the content to retrieve thumbnail for", required = true)
-            @PathVariable UUID contentId) {
+            @PathVariable UUID contentId,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
         Resource resource = contentService.getContentThumbnail(contentId);
-        return FileResponseUtils.createThumbnailResponse(resource);
+        FileResponseUtils.writeThumbnailResponse(resource, request, response);
     }
 
     @Operation(
@@ -403,7 +539,7 @@ public class ContentController {
 
     @Operation(
             summary = "Search content",
-            description = "Searches content across multiple fields with pagination"
+            description = "Full-text search across titles, descriptions, text bodies and link URLs, ordered by relevance with highlighted snippets"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Matching content items retrieved",
@@ -416,4 +552,42 @@ public class ContentController {
             @PageableDefault(size = 20, sort = "createdAt") Pageable pageable) {
         return ResponseEntity.ok(contentService.searchContent(query, pageable));
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Get search suggestions",
+            description = "Suggests \"did you mean\" terms for a possibly misspelled query, ranked by fuzzy similarity " +
+                    "to the user's content titles, tag names and folder names"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = String.class))))
+    })
+    @GetMapping("/search/suggestions")
+    public ResponseEntity<List<String>> getSearchSuggestions(
+            @Parameter(description = "Query as typed in the search box", required = true)
+            @RequestParam String query) {
+        return ResponseEntity.ok(contentService.getSearchSuggestions(query));
+    }
+
+    @Operation(
+            summary = "Instant search",
+            description = "Search-as-you-type over titles, descriptions, text bodies, link URLs and tag names. " +
+                    "Every term is matched as a prefix and the best hits are returned, usually from an in-memory index"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Matching hits retrieved",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = SearchHitDTO.class))))
+    })
+    @GetMapping("/search/instant")
+    public ResponseEntity<List<SearchHitDTO>> instantSearch(
+            @Parameter(description = "Query as typed in the search box", required = true)
+            @RequestParam String query,
+            @Parameter(description = "Maximum number of hits")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(contentService.instantSearch(query, limit));
+    }
+
+    private boolean isSummaryView(String view) {
+        return "summary".equalsIgnoreCase(view);
+    }
+}
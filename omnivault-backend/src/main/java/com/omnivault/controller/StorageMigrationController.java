@@ -0,0 +1,95 @@
+package com.omnivault.controller;
+
+import com.omnivault.domain.dto.request.StorageMigrationRequest;
+import com.omnivault.domain.dto.response.StorageMigrationDTO;
+import com.omnivault.service.StorageMigrationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/storage-migrations")
+@RequiredArgsConstructor
+@Tag(name = "Storage migrations", description = "Endpoints for moving all of a user's files between storage locations")
+public class StorageMigrationController {
+
+    private final StorageMigrationService migrationService;
+
+    @Operation(
+            summary = "Start a storage migration",
+            description = "Moves all of the current user's files and thumbnails to a storage location in the background"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Migration started",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid target or a migration is already running",
+                    content = @Content)
+    })
+    @PostMapping
+    public ResponseEntity<StorageMigrationDTO> startMigration(
+            @Valid @RequestBody StorageMigrationRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(migrationService.startMigration(request));
+    }
+
+    @Operation(
+            summary = "Get storage migrations",
+            description = "Retrieves the current user's storage migrations, newest first"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migrations retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = StorageMigrationDTO.class))))
+    })
+    @GetMapping
+    public ResponseEntity<List<StorageMigrationDTO>> getMigrations() {
+        return ResponseEntity.ok(migrationService.getMigrations());
+    }
+
+    @Operation(
+            summary = "Get storage migration progress",
+            description = "Retrieves the progress of one of the current user's storage migrations"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migration retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Migration not found",
+                    content = @Content)
+    })
+    @GetMapping("/{migrationId}")
+    public ResponseEntity<StorageMigrationDTO> getMigration(
+            @Parameter(description = "ID of the migration", required = true)
+            @PathVariable UUID migrationId) {
+        return ResponseEntity.ok(migrationService.getMigration(migrationId));
+    }
+
+    @Operation(
+            summary = "Cancel a storage migration",
+            description = "Stops a running storage migration once its current batch is done"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migration cancelled",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Migration is not running",
+                    content = @Content),
+            @ApiResponse(responseCode = "404", description = "Migration not found",
+                    content = @Content)
+    })
+    @PostMapping("/{migrationId}/cancel")
+    public ResponseEntity<StorageMigrationDTO> cancelMigration(
+            @Parameter(description = "ID of the migration", required = true)
+            @PathVariable UUID migrationId) {
+        return ResponseEntity.ok(migrationService.cancelMigration(migrationId));
+    }
+}
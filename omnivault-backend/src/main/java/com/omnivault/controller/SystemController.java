@@ -1,19 +1,31 @@
 package com.omnivault.controller;
 
 import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.request.StorageMigrationRequest;
+import com.omnivault.domain.dto.response.CacheStatsDTO;
+import com.omnivault.domain.dto.response.StorageMigrationDTO;
+import com.omnivault.service.CacheAdminService;
+import com.omnivault.service.StorageMigrationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.lang.management.ManagementFactory;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/system")
@@ -23,6 +35,8 @@ import java.util.Map;
 public class SystemController {
 
     private final AwsS3Config s3Config;
+    private final CacheAdminService cacheAdminService;
+    private final StorageMigrationService migrationService;
 
     @Operation(
             summary = "Check cloud storage status",
@@ -97,4 +111,141 @@ public class SystemController {
                 "serverTime", Instant.now().toString()
         ));
     }
-}
\ No newline at end of file
+
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Returns hit, miss, load and eviction statistics with current size and weight for every application cache. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = CacheStatsDTO.class)))),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        return ResponseEntity.ok(cacheAdminService.getCacheStats());
+    }
+
+    @Operation(
+            summary = "Get statistics of one cache",
+            description = "Returns the statistics of a single application cache. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+            @ApiResponse(responseCode = "404", description = "Cache not found")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @GetMapping("/caches/{cacheName}")
+    public ResponseEntity<CacheStatsDTO> getCacheStats(
+            @Parameter(description = "Name of the cache", required = true, example = "contents")
+            @PathVariable String cacheName) {
+        return ResponseEntity.ok(cacheAdminService.getCacheStats(cacheName));
+    }
+
+    @Operation(
+            summary = "Clear a cache",
+            description = "Removes every entry of an application cache, for all users. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache cleared successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+            @ApiResponse(responseCode = "404", description = "Cache not found")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @PostMapping("/caches/{cacheName}/clear")
+    public ResponseEntity<CacheStatsDTO> clearCache(
+            @Parameter(description = "Name of the cache", required = true, example = "contents")
+            @PathVariable String cacheName) {
+        return ResponseEntity.ok(cacheAdminService.clearCache(cacheName));
+    }
+
+    @Operation(
+            summary = "Warm a cache",
+            description = "Loads the current user's first page of every listing held by an application cache"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Cache warmed successfully",
+                    content = @Content(schema = @Schema(implementation = CacheStatsDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Cache cannot be warmed"),
+            @ApiResponse(responseCode = "404", description = "Cache not found")
+    })
+    @PostMapping("/caches/{cacheName}/warm")
+    public ResponseEntity<CacheStatsDTO> warmCache(
+            @Parameter(description = "Name of the cache", required = true, example = "contents")
+            @PathVariable String cacheName) {
+        return ResponseEntity.ok(cacheAdminService.warmCache(cacheName));
+    }
+
+    @Operation(
+            summary = "Start a storage migration of all users",
+            description = "Moves the files and thumbnails of every user to a storage location in the background. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Migration started",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid target or a migration is already running"),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @PostMapping("/storage-migrations")
+    public ResponseEntity<StorageMigrationDTO> startStorageMigration(
+            @Valid @RequestBody StorageMigrationRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(migrationService.startSystemMigration(request));
+    }
+
+    @Operation(
+            summary = "Get storage migrations of all users",
+            description = "Returns the storage migrations covering all users, newest first. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migrations retrieved successfully",
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = StorageMigrationDTO.class)))),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @GetMapping("/storage-migrations")
+    public ResponseEntity<List<StorageMigrationDTO>> getStorageMigrations() {
+        return ResponseEntity.ok(migrationService.getSystemMigrations());
+    }
+
+    @Operation(
+            summary = "Get progress of a storage migration of all users",
+            description = "Returns the counters and status of a storage migration covering all users. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migration retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+            @ApiResponse(responseCode = "404", description = "Migration not found")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @GetMapping("/storage-migrations/{migrationId}")
+    public ResponseEntity<StorageMigrationDTO> getStorageMigration(
+            @Parameter(description = "ID of the migration", required = true)
+            @PathVariable UUID migrationId) {
+        return ResponseEntity.ok(migrationService.getSystemMigration(migrationId));
+    }
+
+    @Operation(
+            summary = "Cancel a storage migration of all users",
+            description = "Stops a running storage migration once its current batch is done. Administrators only"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Migration cancelled",
+                    content = @Content(schema = @Schema(implementation = StorageMigrationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Migration is not running"),
+            @ApiResponse(responseCode = "403", description = "Caller is not an administrator"),
+            @ApiResponse(responseCode = "404", description = "Migration not found")
+    })
+    @PreAuthorize("@adminAccess.isAdmin(authentication)")
+    @PostMapping("/storage-migrations/{migrationId}/cancel")
+    public ResponseEntity<StorageMigrationDTO> cancelStorageMigration(
+            @Parameter(description = "ID of the migration", required = true)
+            @PathVariable UUID migrationId) {
+        return ResponseEntity.ok(migrationService.cancelSystemMigration(migrationId));
+    }
+}
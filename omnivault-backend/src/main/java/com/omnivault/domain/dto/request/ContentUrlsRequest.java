@@ -0,0 +1,27 @@
+package com.omnivault.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request for the pre-signed URLs of several content items")
+public class ContentUrlsRequest {
+    @NotEmpty(message = "At least one content ID is required")
+    @Size(max = 100, message = "At most 100 content IDs can be signed at once")
+    @Schema(
+            description = "IDs of the content items to sign URLs for",
+            example = "[\"123e4567-e89b-12d3-a456-426614174000\"]"
+    )
+    private List<UUID> contentIds;
+}
@@ -0,0 +1,67 @@
+package com.omnivault.domain.dto.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request for creating file content from an already stored file, identified by its digest")
+public class FileContentFromHashRequest {
+    @NotBlank(message = "SHA-256 digest is required")
+    @Pattern(regexp = "[0-9a-f]{64}", message = "SHA-256 digest must be 64 lowercase hex characters")
+    @Schema(
+            description = "SHA-256 digest of the file, as lowercase hex",
+            example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"
+    )
+    private String sha256;
+
+    @NotBlank(message = "Original filename is required")
+    @Size(max = 255, message = "Original filename must not exceed 255 characters")
+    @Schema(
+            description = "Original filename of the file",
+            example = "project-notes.pdf",
+            maxLength = 255
+    )
+    private String originalFilename;
+
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    @Schema(
+            description = "Title of the content; defaults to the original filename",
+            example = "Project Notes",
+            maxLength = 255
+    )
+    private String title;
+
+    @Schema(
+            description = "Optional description for the content",
+            example = "Notes from the kickoff meeting"
+    )
+    private String description;
+
+    @Schema(
+            description = "ID of the folder to place the content in",
+            example = "550e8400-e29b-41d4-a716-446655440000"
+    )
+    private UUID folderId;
+
+    @Schema(
+            description = "List of existing tag IDs to associate with the content"
+    )
+    private List<UUID> tagIds;
+
+    @Schema(
+            description = "List of new tag names to create and associate with the content"
+    )
+    private List<String> newTags;
+}
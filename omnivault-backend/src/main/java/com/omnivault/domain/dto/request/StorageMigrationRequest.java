@@ -0,0 +1,24 @@
+package com.omnivault.domain.dto.request;
+
+import com.omnivault.domain.model.StorageLocation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Request to move all file content to one storage location")
+public class StorageMigrationRequest {
+    @NotNull(message = "Target storage location is required")
+    @Schema(
+            description = "Storage location to move the content to",
+            example = "CLOUD",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private StorageLocation targetStorageLocation;
+}
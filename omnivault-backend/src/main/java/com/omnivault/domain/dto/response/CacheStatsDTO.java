@@ -0,0 +1,52 @@
+package com.omnivault.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Statistics of one named application cache since startup")
+public class CacheStatsDTO {
+    @Schema(description = "Name of the cache", example = "contents")
+    private String name;
+
+    @Schema(description = "Number of lookups that found a cached value", example = "1520")
+    private long hitCount;
+
+    @Schema(description = "Number of lookups that found no cached value", example = "310")
+    private long missCount;
+
+    @Schema(description = "Share of lookups that were hits, between 0 and 1", example = "0.83")
+    private double hitRate;
+
+    @Schema(description = "Number of values loaded by the cache itself, e.g. on refresh", example = "42")
+    private long loadSuccessCount;
+
+    @Schema(description = "Number of loads that failed", example = "0")
+    private long loadFailureCount;
+
+    @Schema(description = "Total time spent loading values, in milliseconds", example = "812")
+    private long totalLoadTimeMs;
+
+    @Schema(description = "Number of entries evicted by size or expiry", example = "97")
+    private long evictionCount;
+
+    @Schema(description = "Number of removed entries per removal cause (EXPIRED, SIZE, EXPLICIT, REPLACED, COLLECTED)")
+    private Map<String, Long> removalsByCause;
+
+    @Schema(description = "Approximate number of entries currently cached", example = "230")
+    private long estimatedSize;
+
+    @Schema(description = "Approximate total weight of the entries in bytes, for caches bounded by weight", example = "1048576")
+    private Long weightedSize;
+
+    @Schema(description = "Maximum number of entries, or maximum weight in bytes for caches bounded by weight", example = "500")
+    private Long maximum;
+}
@@ -2,6 +2,7 @@ package com.omnivault.domain.dto.response;
 
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.ThumbnailStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -100,6 +101,12 @@ public class ContentDTO {
     )
     private StorageLocation thumbnailStorageLocation;
 
+    @Schema(
+            description = "Whether the thumbnail is pending, ready, failed or not applicable",
+            example = "READY"
+    )
+    private ThumbnailStatus thumbnailStatus;
+
     @Schema(
             description = "Indicates if the content is marked as a favorite",
             example = "true"
@@ -171,4 +178,10 @@ public class ContentDTO {
             example = "https://s3.amazonaws.com/bucket/path/to/thumbnail"
     )
     private String thumbnailPresignedUrl;
-}
\ No newline at end of file
+
+    @Schema(
+            description = "Highlighted snippet of the matching text (search results only)",
+            example = "Notes from the <mark>summer</mark> trip to the coast"
+    )
+    private String highlight;
+}
@@ -0,0 +1,119 @@
+package com.omnivault.domain.dto.response;
+
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.ThumbnailStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Condensed information about a content item, returned by list endpoints in summary view")
+public class ContentSummaryDTO {
+    @Schema(
+            description = "Unique identifier for the content",
+            example = "123e4567-e89b-12d3-a456-426614174000",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private UUID id;
+
+    @Schema(
+            description = "Title of the content",
+            example = "Summer Vacation Notes",
+            maxLength = 255
+    )
+    private String title;
+
+    @Schema(
+            description = "Type of content",
+            example = "TEXT",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private ContentType contentType;
+
+    @Schema(
+            description = "ID of the folder containing this content",
+            example = "550e8400-e29b-41d4-a716-446655440000"
+    )
+    private UUID folderId;
+
+    @Schema(
+            description = "Name of the folder containing this content",
+            example = "Personal Notes"
+    )
+    private String folderName;
+
+    @Schema(
+            description = "Size of the content in bytes",
+            example = "1024"
+    )
+    private Long sizeBytes;
+
+    @Schema(
+            description = "MIME type of the content",
+            example = "text/plain"
+    )
+    private String mimeType;
+
+    @Schema(
+            description = "Storage location of the content",
+            example = "LOCAL"
+    )
+    private StorageLocation storageLocation;
+
+    @Schema(
+            description = "Path to the content's thumbnail",
+            example = "thumbnails/summer_notes_thumb.jpg"
+    )
+    private String thumbnailPath;
+
+    @Schema(
+            description = "Storage location of the thumbnail",
+            example = "LOCAL"
+    )
+    private StorageLocation thumbnailStorageLocation;
+
+    @Schema(
+            description = "Whether the thumbnail is pending, ready, failed or not applicable",
+            example = "READY"
+    )
+    private ThumbnailStatus thumbnailStatus;
+
+    @Schema(
+            description = "Pre-signed URL for thumbnail",
+            example = "https://s3.amazonaws.com/bucket/path/to/thumbnail"
+    )
+    private String thumbnailPresignedUrl;
+
+    @Schema(
+            description = "Indicates if the content is marked as a favorite",
+            example = "true"
+    )
+    private boolean favorite;
+
+    @Schema(
+            description = "Number of times the content has been viewed",
+            example = "42"
+    )
+    private Integer viewCount;
+
+    @Schema(
+            description = "Timestamp when the content was created",
+            example = "2024-04-07T12:34:56Z"
+    )
+    private ZonedDateTime createdAt;
+
+    @Schema(
+            description = "Timestamp when the content was last updated",
+            example = "2024-04-08T15:45:22Z"
+    )
+    private ZonedDateTime updatedAt;
+}
@@ -0,0 +1,46 @@
+package com.omnivault.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Pre-signed URLs of one content item; URLs are null for locally stored files")
+public class ContentUrlDTO {
+    @Schema(
+            description = "Unique identifier of the content",
+            example = "123e4567-e89b-12d3-a456-426614174000"
+    )
+    private UUID contentId;
+
+    @Schema(
+            description = "Pre-signed URL for cloud-stored content",
+            example = "https://s3.amazonaws.com/bucket/path/to/content"
+    )
+    private String presignedUrl;
+
+    @Schema(
+            description = "Expiration timestamp for the pre-signed URL",
+            example = "1712587200000"
+    )
+    private Long presignedUrlExpiresAt;
+
+    @Schema(
+            description = "Pre-signed URL for a cloud-stored thumbnail",
+            example = "https://s3.amazonaws.com/bucket/path/to/thumbnail"
+    )
+    private String thumbnailPresignedUrl;
+
+    @Schema(
+            description = "Expiration timestamp for the thumbnail's pre-signed URL",
+            example = "1712587200000"
+    )
+    private Long thumbnailPresignedUrlExpiresAt;
+}
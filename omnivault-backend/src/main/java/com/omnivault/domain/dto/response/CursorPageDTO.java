@@ -0,0 +1,37 @@
+package com.omnivault.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A slice of results from a cursor-paginated listing")
+public class CursorPageDTO<T> {
+    @Schema(description = "Items in this slice")
+    private List<T> content;
+
+    @Schema(
+            description = "Requested slice size",
+            example = "20"
+    )
+    private int size;
+
+    @Schema(
+            description = "Indicates if more items follow this slice",
+            example = "true"
+    )
+    private boolean hasNext;
+
+    @Schema(
+            description = "Opaque cursor to pass as the cursor parameter for the next slice; null on the last slice",
+            example = "MjAyNC0wNC0wN1QxMjozNDo1Nlp8MTIzZTQ1Njc"
+    )
+    private String nextCursor;
+}
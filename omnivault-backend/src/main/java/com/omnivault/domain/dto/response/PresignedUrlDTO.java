@@ -0,0 +1,26 @@
+package com.omnivault.domain.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A pre-signed URL together with the time it stops working")
+public class PresignedUrlDTO {
+    @Schema(
+            description = "Pre-signed URL",
+            example = "https://s3.amazonaws.com/bucket/path/to/content"
+    )
+    private String url;
+
+    @Schema(
+            description = "Expiration timestamp of the URL in epoch milliseconds",
+            example = "1712587200000"
+    )
+    private long expiresAt;
+}
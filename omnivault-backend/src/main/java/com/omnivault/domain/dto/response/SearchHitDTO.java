@@ -0,0 +1,42 @@
+package com.omnivault.domain.dto.response;
+
+import com.omnivault.domain.model.ContentType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A lightweight search-as-you-type match")
+public class SearchHitDTO {
+    @Schema(
+            description = "Unique identifier for the content",
+            example = "123e4567-e89b-12d3-a456-426614174000",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private UUID id;
+
+    @Schema(
+            description = "Title of the content",
+            example = "Summer Vacation Notes"
+    )
+    private String title;
+
+    @Schema(
+            description = "Type of content",
+            example = "TEXT"
+    )
+    private ContentType contentType;
+
+    @Schema(
+            description = "Relevance score; higher is better",
+            example = "7.0"
+    )
+    private double score;
+}
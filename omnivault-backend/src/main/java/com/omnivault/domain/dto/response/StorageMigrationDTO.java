@@ -0,0 +1,69 @@
+package com.omnivault.domain.dto.response;
+
+import com.omnivault.domain.model.MigrationStatus;
+import com.omnivault.domain.model.StorageLocation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Progress of a bulk move of content between storage locations")
+public class StorageMigrationDTO {
+    @Schema(
+            description = "Unique identifier for the migration",
+            example = "123e4567-e89b-12d3-a456-426614174000",
+            requiredMode = Schema.RequiredMode.REQUIRED
+    )
+    private UUID id;
+
+    @Schema(
+            description = "User whose content is moved, or null when moving the content of all users",
+            example = "123e4567-e89b-12d3-a456-426614174001"
+    )
+    private UUID userId;
+
+    @Schema(description = "Storage location the content is moved to", example = "CLOUD")
+    private StorageLocation targetStorageLocation;
+
+    @Schema(description = "Current status of the migration", example = "RUNNING")
+    private MigrationStatus status;
+
+    @Schema(description = "Content items that were outside the target location when the migration started",
+            example = "120")
+    private long totalItems;
+
+    @Schema(description = "Content items moved so far", example = "57")
+    private long movedItems;
+
+    @Schema(description = "Content items that could not be moved", example = "1")
+    private long failedItems;
+
+    @Schema(description = "Content items that were deleted or moved otherwise in the meantime", example = "2")
+    private long skippedItems;
+
+    @Schema(description = "Bytes moved so far", example = "734003200")
+    private long movedBytes;
+
+    @Schema(description = "Share of the items visited so far, between 0 and 100", example = "50.0")
+    private double percentComplete;
+
+    @Schema(description = "Error of the last failed item, or the error the migration stopped on")
+    private String lastError;
+
+    @Schema(description = "Timestamp when the migration was started", example = "2024-04-07T12:34:56Z")
+    private ZonedDateTime createdAt;
+
+    @Schema(description = "Timestamp of the last checkpoint", example = "2024-04-07T12:40:12Z")
+    private ZonedDateTime updatedAt;
+
+    @Schema(description = "Timestamp when the migration ended", example = "2024-04-07T13:02:45Z")
+    private ZonedDateTime completedAt;
+}
@@ -0,0 +1,46 @@
+package com.omnivault.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user's content changes in a way that affects what
+ * that user sees in listings or search. Listeners that hold derived per-user
+ * state (search indexes, caches) use it to refresh only the affected user.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ContentChangedEvent {
+
+    public enum ChangeType {
+        /** A content item was created or its searchable fields changed */
+        UPSERTED,
+        /** A content item was deleted */
+        DELETED,
+        /** Several items may have changed at once, e.g. a tag was renamed or deleted */
+        BULK
+    }
+
+    private final UUID userId;
+
+    /** The changed content item, or null for {@link ChangeType#BULK} changes */
+    private final UUID contentId;
+
+    private final ChangeType type;
+
+    public static ContentChangedEvent upserted(UUID userId, UUID contentId) {
+        return new ContentChangedEvent(userId, contentId, ChangeType.UPSERTED);
+    }
+
+    public static ContentChangedEvent deleted(UUID userId, UUID contentId) {
+        return new ContentChangedEvent(userId, contentId, ChangeType.DELETED);
+    }
+
+    public static ContentChangedEvent bulk(UUID userId) {
+        return new ContentChangedEvent(userId, null, ChangeType.BULK);
+    }
+}
@@ -0,0 +1,68 @@
+package com.omnivault.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A stored file shared by every content item with the same SHA-256 digest
+ * within a dedup scope. Content items point at a blob through their storage
+ * path; the blob's file is deleted once its reference count drops to zero.
+ */
+@Entity
+@Table(name = "blobs", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_blobs_owner_sha256_location",
+                columnNames = {"owner_id", "sha256", "storage_location"}),
+        @UniqueConstraint(name = "uk_blobs_location_path",
+                columnNames = {"storage_location", "storage_path"})
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A deduplicated stored file")
+public class Blob {
+
+    /**
+     * Owner of blobs shared across all users, when deduplicating globally.
+     */
+    public static final UUID SHARED_OWNER = new UUID(0L, 0L);
+
+    @Id
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "owner_id", nullable = false, updatable = false)
+    @Schema(description = "User the blob is deduplicated for, or the nil UUID for blobs shared by all users")
+    private UUID ownerId;
+
+    @Column(name = "sha256", length = 64, nullable = false, updatable = false)
+    @Schema(description = "SHA-256 digest of the content, as lowercase hex")
+    private String sha256;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "storage_location", nullable = false, updatable = false)
+    private StorageLocation storageLocation;
+
+    @Column(name = "storage_path", columnDefinition = "TEXT", nullable = false, updatable = false)
+    private String storagePath;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "mime_type")
+    private String mimeType;
+
+    @Column(name = "ref_count", nullable = false)
+    @Schema(description = "Number of content items pointing at the blob")
+    private int refCount;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+}
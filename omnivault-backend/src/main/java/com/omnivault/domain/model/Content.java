@@ -13,6 +13,7 @@ import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 @Entity
@@ -86,6 +87,13 @@ public class Content {
     )
     private String mimeType;
 
+    @Column(name = "content_sha256", length = 64)
+    @Schema(
+            description = "SHA-256 digest of the stored file, as lowercase hex",
+            example = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08"
+    )
+    private String contentSha256;
+
     @Column(name = "storage_path", columnDefinition = "TEXT")
     @Schema(
             description = "Path where the content is stored",
@@ -123,6 +131,14 @@ public class Content {
     )
     private StorageLocation thumbnailStorageLocation = StorageLocation.LOCAL;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "thumbnail_status", nullable = false)
+    @Schema(
+            description = "Progress of the thumbnail, which is generated in the background",
+            example = "READY"
+    )
+    private ThumbnailStatus thumbnailStatus;
+
     @Column(name = "is_favorite")
     @Schema(
             description = "Indicates if the content is marked as a favorite",
@@ -130,7 +146,9 @@ public class Content {
     )
     private boolean favorite;
 
-    @Column(name = "view_count")
+    // Only changed through ContentRepository.addViewCounts, so saving a stale
+    // entity can't undo views flushed in the meantime
+    @Column(name = "view_count", updatable = false)
     @Schema(
             description = "Number of times the content has been viewed",
             example = "42",
@@ -181,7 +199,9 @@ public class Content {
     // Existing methods with added documentation
     @PrePersist
     protected void onCreate() {
-        createdAt = updatedAt = ZonedDateTime.now();
+        // Match the database's microsecond precision so keyset cursors built from
+        // a freshly persisted entity compare exactly against the stored value
+        createdAt = updatedAt = ZonedDateTime.now().truncatedTo(ChronoUnit.MICROS);
         if (viewCount == null) {
             viewCount = 0;
         }
@@ -191,11 +211,9 @@ public class Content {
         if (thumbnailStorageLocation == null && thumbnailPath != null) {
             thumbnailStorageLocation = StorageLocation.LOCAL;
         }
-    }
-
-    @Schema(description = "Increments the view count for the content")
-    public void incrementViewCount() {
-        this.viewCount = this.viewCount + 1;
+        if (thumbnailStatus == null) {
+            thumbnailStatus = thumbnailPath != null ? ThumbnailStatus.READY : ThumbnailStatus.NONE;
+        }
     }
 
     @Schema(description = "Adds a tag to the content")
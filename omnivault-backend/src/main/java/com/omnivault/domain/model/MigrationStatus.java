@@ -0,0 +1,18 @@
+package com.omnivault.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Progress of a storage migration")
+public enum MigrationStatus {
+    @Schema(description = "Content is being moved; resumed after a restart")
+    RUNNING,
+
+    @Schema(description = "Every content item was visited")
+    COMPLETED,
+
+    @Schema(description = "The migration was stopped on request")
+    CANCELLED,
+
+    @Schema(description = "The migration stopped on an unexpected error")
+    FAILED
+}
@@ -0,0 +1,82 @@
+package com.omnivault.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A bulk move of content between storage locations, for one user or for all.
+ * Content is visited in ID order; {@code lastContentId} is the checkpoint a
+ * migration resumes from after a restart.
+ */
+@Entity
+@Table(name = "storage_migrations")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A bulk move of content between storage locations")
+public class StorageMigration {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "user_id", updatable = false)
+    @Schema(description = "User whose content is moved, or null for all users")
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_location", nullable = false, updatable = false)
+    private StorageLocation targetLocation;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private MigrationStatus status;
+
+    @Column(name = "total_items", nullable = false)
+    private long totalItems;
+
+    @Column(name = "moved_items", nullable = false)
+    private long movedItems;
+
+    @Column(name = "failed_items", nullable = false)
+    private long failedItems;
+
+    @Column(name = "skipped_items", nullable = false)
+    private long skippedItems;
+
+    @Column(name = "moved_bytes", nullable = false)
+    private long movedBytes;
+
+    @Column(name = "last_content_id")
+    private UUID lastContentId;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at", updatable = false)
+    private ZonedDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private ZonedDateTime updatedAt;
+
+    @Column(name = "completed_at")
+    private ZonedDateTime completedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+        updatedAt = createdAt;
+        if (status == null) {
+            status = MigrationStatus.RUNNING;
+        }
+    }
+}
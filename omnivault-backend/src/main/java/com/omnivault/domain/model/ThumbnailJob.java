@@ -0,0 +1,55 @@
+package com.omnivault.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * A pending thumbnail generation, persisted so that work queued before a
+ * restart is picked up again. A job is due once {@code nextAttemptAt} has
+ * passed; claiming it pushes that time out by a lease, so a job whose worker
+ * died becomes due again on its own.
+ */
+@Entity
+@Table(name = "thumbnail_jobs")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A queued thumbnail generation")
+public class ThumbnailJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(name = "content_id", nullable = false, unique = true, updatable = false)
+    @Schema(description = "Content item the thumbnail is generated for")
+    private UUID contentId;
+
+    @Column(name = "attempts", nullable = false)
+    @Schema(description = "Number of attempts started so far")
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    @Schema(description = "Time from which the job may be claimed")
+    private ZonedDateTime nextAttemptAt;
+
+    @Column(name = "created_at")
+    private ZonedDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = ZonedDateTime.now();
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+}
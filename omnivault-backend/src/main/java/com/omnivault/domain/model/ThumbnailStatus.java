@@ -0,0 +1,18 @@
+package com.omnivault.domain.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Progress of a content item's thumbnail")
+public enum ThumbnailStatus {
+    @Schema(description = "The content has no thumbnail")
+    NONE,
+
+    @Schema(description = "The thumbnail is being generated in the background")
+    PENDING,
+
+    @Schema(description = "The thumbnail is available")
+    READY,
+
+    @Schema(description = "No thumbnail could be generated")
+    FAILED
+}
@@ -0,0 +1,24 @@
+package com.omnivault.domain.projection;
+
+import com.omnivault.domain.model.ContentType;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of the searchable text of a content item.
+ * Used to build and refresh the in-memory search index without loading entities.
+ */
+public interface ContentIndexView {
+
+    UUID getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    ContentType getContentType();
+
+    String getTextContent();
+
+    String getUrl();
+}
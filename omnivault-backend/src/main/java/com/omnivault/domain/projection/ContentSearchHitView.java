@@ -0,0 +1,16 @@
+package com.omnivault.domain.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a full-text search match.
+ * Carries the matched content ID with its relevance rank and a highlighted snippet.
+ */
+public interface ContentSearchHitView {
+
+    UUID getId();
+
+    Double getRank();
+
+    String getHeadline();
+}
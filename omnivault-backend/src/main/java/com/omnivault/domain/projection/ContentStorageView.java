@@ -0,0 +1,21 @@
+package com.omnivault.domain.projection;
+
+import com.omnivault.domain.model.StorageLocation;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection exposing where a content item's file and thumbnail are stored.
+ */
+public interface ContentStorageView {
+
+    UUID getId();
+
+    String getStoragePath();
+
+    StorageLocation getStorageLocation();
+
+    String getThumbnailPath();
+
+    StorageLocation getThumbnailStorageLocation();
+}
@@ -0,0 +1,46 @@
+package com.omnivault.domain.projection;
+
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.ThumbnailStatus;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+/**
+ * Slim read-only projection of a content item for list views.
+ * Carries only the columns a content grid renders, so list queries never
+ * load the metadata map, tags or type-specific bodies.
+ */
+public interface ContentSummaryView {
+
+    UUID getId();
+
+    String getTitle();
+
+    ContentType getContentType();
+
+    UUID getFolderId();
+
+    String getFolderName();
+
+    Long getSizeBytes();
+
+    String getMimeType();
+
+    StorageLocation getStorageLocation();
+
+    String getThumbnailPath();
+
+    StorageLocation getThumbnailStorageLocation();
+
+    ThumbnailStatus getThumbnailStatus();
+
+    boolean isFavorite();
+
+    Integer getViewCount();
+
+    ZonedDateTime getCreatedAt();
+
+    ZonedDateTime getUpdatedAt();
+}
@@ -0,0 +1,18 @@
+package com.omnivault.domain.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a tag attached to a content item.
+ * Used to load the tags of a whole page of content in one query.
+ */
+public interface ContentTagView {
+
+    UUID getContentId();
+
+    UUID getId();
+
+    String getName();
+
+    String getColor();
+}
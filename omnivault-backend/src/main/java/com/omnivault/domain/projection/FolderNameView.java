@@ -0,0 +1,13 @@
+package com.omnivault.domain.projection;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection exposing only a folder's identifier and name.
+ */
+public interface FolderNameView {
+
+    UUID getId();
+
+    String getName();
+}
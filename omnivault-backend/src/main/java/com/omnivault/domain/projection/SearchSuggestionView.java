@@ -0,0 +1,12 @@
+package com.omnivault.domain.projection;
+
+/**
+ * Read-only projection of a fuzzy search suggestion.
+ * Pairs a known title, tag or folder name with its similarity to the typed query.
+ */
+public interface SearchSuggestionView {
+
+    String getTerm();
+
+    Double getScore();
+}
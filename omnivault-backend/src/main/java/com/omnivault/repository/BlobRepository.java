@@ -0,0 +1,106 @@
+package com.omnivault.repository;
+
+import com.omnivault.domain.model.Blob;
+import com.omnivault.domain.model.StorageLocation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository for deduplicated blobs. Reference counts are only changed through
+ * the update queries below, so concurrent uploads and deletes of the same
+ * content are serialized by the row lock rather than lost.
+ */
+@Repository
+public interface BlobRepository extends JpaRepository<Blob, UUID> {
+
+    /**
+     * Finds the blob with a given digest in one storage location of a dedup scope.
+     *
+     * @param ownerId The scope owner
+     * @param sha256 The content digest
+     * @param storageLocation The storage location
+     * @return The blob, if stored
+     */
+    Optional<Blob> findByOwnerIdAndSha256AndStorageLocation(UUID ownerId, String sha256,
+                                                            StorageLocation storageLocation);
+
+    /**
+     * Finds the blobs with a given digest in a dedup scope, in any storage location.
+     *
+     * @param ownerId The scope owner
+     * @param sha256 The content digest
+     * @return The blobs, oldest first
+     */
+    List<Blob> findByOwnerIdAndSha256OrderByCreatedAtAsc(UUID ownerId, String sha256);
+
+    /**
+     * Adds a reference to a blob.
+     *
+     * @return The number of blobs updated, 0 if there is no such blob
+     */
+    @Modifying
+    @Query("UPDATE Blob b SET b.refCount = b.refCount + 1 " +
+            "WHERE b.ownerId = :ownerId AND b.sha256 = :sha256 AND b.storageLocation = :storageLocation")
+    int incrementRefCount(@Param("ownerId") UUID ownerId,
+                          @Param("sha256") String sha256,
+                          @Param("storageLocation") StorageLocation storageLocation);
+
+    /**
+     * Adds a reference to a blob that is still referenced.
+     *
+     * @return The number of blobs updated, 0 if the blob is gone or about to be
+     */
+    @Modifying
+    @Query("UPDATE Blob b SET b.refCount = b.refCount + 1 WHERE b.id = :id AND b.refCount > 0")
+    int incrementRefCountById(@Param("id") UUID id);
+
+    /**
+     * Records a new blob with a single reference, unless an upload of the same
+     * content has recorded it first.
+     *
+     * @return 1 if the blob was recorded, 0 if it already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO blobs (id, owner_id, sha256, storage_location, storage_path, " +
+            "size_bytes, mime_type, ref_count, created_at) " +
+            "VALUES (:id, :ownerId, :sha256, :storageLocation, :storagePath, " +
+            ":sizeBytes, :mimeType, 1, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("id") UUID id,
+                       @Param("ownerId") UUID ownerId,
+                       @Param("sha256") String sha256,
+                       @Param("storageLocation") String storageLocation,
+                       @Param("storagePath") String storagePath,
+                       @Param("sizeBytes") long sizeBytes,
+                       @Param("mimeType") String mimeType);
+
+    /**
+     * Drops a reference to the blob stored at a path.
+     *
+     * @return The number of blobs updated, 0 if the file is not a tracked blob
+     */
+    @Modifying
+    @Query("UPDATE Blob b SET b.refCount = b.refCount - 1 " +
+            "WHERE b.storageLocation = :storageLocation AND b.storagePath = :storagePath AND b.refCount > 0")
+    int decrementRefCount(@Param("storageLocation") StorageLocation storageLocation,
+                          @Param("storagePath") String storagePath);
+
+    /**
+     * Deletes the blob stored at a path if nothing references it any more.
+     *
+     * @return 1 if the blob was deleted and its file can go, 0 if it is still referenced
+     */
+    @Modifying
+    @Query("DELETE FROM Blob b " +
+            "WHERE b.storageLocation = :storageLocation AND b.storagePath = :storagePath AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("storageLocation") StorageLocation storageLocation,
+                             @Param("storagePath") String storagePath);
+}
@@ -1,13 +1,24 @@
 package com.omnivault.repository;
 
 import com.omnivault.domain.model.*;
+import com.omnivault.domain.projection.ContentIndexView;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import com.omnivault.domain.projection.ContentStorageView;
+import com.omnivault.domain.projection.ContentSummaryView;
+import com.omnivault.domain.projection.SearchSuggestionView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +35,15 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
      */
     Optional<Content> findByIdAndUser(UUID id, User user);
 
+    /**
+     * Finds a content item by its ID, provided it belongs to the given user.
+     *
+     * @param id The unique identifier of the content
+     * @param userId The ID of the user who owns the content
+     * @return An Optional containing the content if found and owned by the user, otherwise empty
+     */
+    Optional<Content> findByIdAndUserId(UUID id, UUID userId);
+
     /**
      * Retrieves all content items for a specific user with pagination.
      *
@@ -82,33 +102,161 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
      * @return A page of content items matching the search term
      */
     @Query("SELECT c FROM Content c WHERE c.user = ?1 AND " +
-            "(LOWER(c.title) LIKE LOWER(CONCAT('%', ?2, '%')) OR " +
-            "LOWER(c.description) LIKE LOWER(CONCAT('%', ?2, '%')))")
+            "(c.title ILIKE CONCAT('%', ?2, '%') OR " +
+            "c.description ILIKE CONCAT('%', ?2, '%'))")
     Page<Content> searchContents(User user, String searchTerm, Pageable pageable);
 
     /**
-     * Performs a comprehensive full-text search across content for a user.
-     * Searches through title, description, text content, and link URLs.
+     * Performs a ranked full-text search across content for a user.
+     * Matches the stored search vector (title, description, text body and link URL)
+     * against a web-style query, orders by relevance and returns a highlighted snippet
+     * for each hit. The pageable must be unsorted since results are ordered by rank.
      *
      * @param userId The unique identifier of the user
-     * @param searchTerm The term to search for
-     * @param pageable Pagination and sorting information
-     * @return A page of content items matching the search term across multiple fields
-     */
-    @Query("SELECT c FROM Content c " +
-            "LEFT JOIN TextContent tc ON c.id = tc.content.id " +
-            "LEFT JOIN LinkContent lc ON c.id = lc.content.id " +
-            "WHERE c.user.id = :userId AND " +
-            "(LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(COALESCE(tc.textContent, '')) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-            "LOWER(COALESCE(lc.url, '')) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    Page<Content> fullTextSearchContents(
+     * @param query The search query, in websearch_to_tsquery syntax
+     * @param pageable Pagination information
+     * @return A page of search hits ordered by relevance
+     */
+    @Query(value = "SELECT c.id AS id, " +
+            "CAST(ts_rank_cd(c.search_vector, q.query) AS double precision) AS rank, " +
+            "ts_headline('english', concat_ws(' ', c.title, c.description, tc.text_content), q.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=25, MinWords=8') AS headline " +
+            "FROM contents c " +
+            "CROSS JOIN websearch_to_tsquery('english', :query) AS q(query) " +
+            "LEFT JOIN text_contents tc ON tc.content_id = c.id " +
+            "WHERE c.user_id = :userId AND c.search_vector @@ q.query " +
+            "ORDER BY rank DESC, c.created_at DESC, c.id DESC",
+            countQuery = "SELECT COUNT(*) FROM contents c " +
+                    "WHERE c.user_id = :userId AND c.search_vector @@ websearch_to_tsquery('english', :query)",
+            nativeQuery = true)
+    Page<ContentSearchHitView> fullTextSearchContents(
             @Param("userId") UUID userId,
-            @Param("searchTerm") String searchTerm,
+            @Param("query") String query,
             Pageable pageable
     );
 
+    /**
+     * Fetches up to {@code limit} ranked full-text search hits for a user in one go,
+     * ordered as {@link #fullTextSearchContents}. Used to load a whole candidate set
+     * that later pages and narrower queries are served from.
+     *
+     * @param userId The unique identifier of the user
+     * @param query The search query, in websearch_to_tsquery syntax
+     * @param limit The maximum number of hits to return
+     * @return The search hits ordered by relevance
+     */
+    @Query(value = "SELECT c.id AS id, " +
+            "CAST(ts_rank_cd(c.search_vector, q.query) AS double precision) AS rank, " +
+            "ts_headline('english', concat_ws(' ', c.title, c.description, tc.text_content), q.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=25, MinWords=8') AS headline " +
+            "FROM contents c " +
+            "CROSS JOIN websearch_to_tsquery('english', :query) AS q(query) " +
+            "LEFT JOIN text_contents tc ON tc.content_id = c.id " +
+            "WHERE c.user_id = :userId AND c.search_vector @@ q.query " +
+            "ORDER BY rank DESC, c.created_at DESC, c.id DESC " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<ContentSearchHitView> findSearchCandidates(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Re-runs a full-text search over a known set of candidate content items only.
+     * Used when a query narrows one whose hits are already known: the candidates
+     * are looked up by primary key instead of scanning the user's whole index,
+     * while ranks and highlights are still computed for the new query.
+     *
+     * @param userId The unique identifier of the user
+     * @param query The search query, in websearch_to_tsquery syntax
+     * @param candidateIds The content IDs to restrict the search to
+     * @return The matching hits ordered by relevance
+     */
+    @Query(value = "SELECT c.id AS id, " +
+            "CAST(ts_rank_cd(c.search_vector, q.query) AS double precision) AS rank, " +
+            "ts_headline('english', concat_ws(' ', c.title, c.description, tc.text_content), q.query, " +
+            "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=25, MinWords=8') AS headline " +
+            "FROM contents c " +
+            "CROSS JOIN websearch_to_tsquery('english', :query) AS q(query) " +
+            "LEFT JOIN text_contents tc ON tc.content_id = c.id " +
+            "WHERE c.user_id = :userId AND c.id IN (:candidateIds) AND c.search_vector @@ q.query " +
+            "ORDER BY rank DESC, c.created_at DESC, c.id DESC",
+            nativeQuery = true)
+    List<ContentSearchHitView> findSearchCandidatesAmong(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("candidateIds") Collection<UUID> candidateIds
+    );
+
+
+    /**
+     * Finds "did you mean" suggestions for a possibly misspelled query.
+     * Ranks the user's content titles, tag names and folder names by trigram
+     * word similarity to the query, using the pg_trgm indexes.
+     *
+     * @param userId The unique identifier of the user
+     * @param query The query as typed
+     * @param limit The maximum number of suggestions
+     * @return Distinct suggestions, most similar first
+     */
+    @Query(value = "SELECT s.term AS term, CAST(MAX(s.score) AS double precision) AS score FROM (" +
+            "SELECT c.title AS term, word_similarity(:query, c.title) AS score " +
+            "FROM contents c WHERE c.user_id = :userId AND :query <% c.title " +
+            "UNION ALL " +
+            "SELECT t.name, word_similarity(:query, t.name) " +
+            "FROM tags t WHERE t.user_id = :userId AND :query <% t.name " +
+            "UNION ALL " +
+            "SELECT f.name, word_similarity(:query, f.name) " +
+            "FROM folders f WHERE f.user_id = :userId AND :query <% f.name" +
+            ") s GROUP BY s.term ORDER BY score DESC, s.term LIMIT :limit",
+            nativeQuery = true)
+    List<SearchSuggestionView> findSearchSuggestions(
+            @Param("userId") UUID userId,
+            @Param("query") String query,
+            @Param("limit") int limit
+    );
+
+    String INDEX_SELECT = "SELECT c.id AS id, c.title AS title, c.description AS description, " +
+            "c.contentType AS contentType, tc.textContent AS textContent, lc.url AS url " +
+            "FROM Content c " +
+            "LEFT JOIN TextContent tc ON tc.content.id = c.id " +
+            "LEFT JOIN LinkContent lc ON lc.content.id = c.id ";
+
+    /**
+     * Retrieves the searchable text of every content item of a user.
+     * Used to build the in-memory search index for that user.
+     *
+     * @param userId The unique identifier of the user
+     * @return The searchable fields of all the user's content
+     */
+    @Query(INDEX_SELECT + "WHERE c.user.id = :userId")
+    List<ContentIndexView> findIndexViewsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Retrieves the searchable text of a single content item.
+     *
+     * @param contentId The unique identifier of the content
+     * @return An Optional containing the searchable fields if the content exists, otherwise empty
+     */
+    @Query(INDEX_SELECT + "WHERE c.id = :contentId")
+    Optional<ContentIndexView> findIndexViewById(@Param("contentId") UUID contentId);
+
+    /**
+     * Retrieves where the given content items of a user are stored.
+     * Items that do not exist or belong to another user are left out.
+     *
+     * @param userId The unique identifier of the user
+     * @param contentIds The unique identifiers of the content items
+     * @return The storage fields of the matching content items, in no particular order
+     */
+    @Query("SELECT c.id AS id, c.storagePath AS storagePath, c.storageLocation AS storageLocation, " +
+            "c.thumbnailPath AS thumbnailPath, c.thumbnailStorageLocation AS thumbnailStorageLocation " +
+            "FROM Content c WHERE c.user.id = :userId AND c.id IN :contentIds")
+    List<ContentStorageView> findStorageViewsByUserIdAndIdIn(
+            @Param("userId") UUID userId,
+            @Param("contentIds") Collection<UUID> contentIds
+    );
 
     /**
      * Retrieves recently created content items for a user, sorted by creation date in descending order.
@@ -120,6 +268,229 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
     @Query("SELECT c FROM Content c WHERE c.user = ?1 ORDER BY c.createdAt DESC")
     Page<Content> findRecentContents(User user, Pageable pageable);
 
+    String SUMMARY_SELECT = "SELECT c.id AS id, c.title AS title, c.contentType AS contentType, " +
+            "f.id AS folderId, f.name AS folderName, c.sizeBytes AS sizeBytes, c.mimeType AS mimeType, " +
+            "c.storageLocation AS storageLocation, c.thumbnailPath AS thumbnailPath, " +
+            "c.thumbnailStorageLocation AS thumbnailStorageLocation, c.thumbnailStatus AS thumbnailStatus, " +
+            "c.favorite AS favorite, " +
+            "c.viewCount AS viewCount, c.createdAt AS createdAt, c.updatedAt AS updatedAt " +
+            "FROM Content c LEFT JOIN c.folder f ";
+
+    /**
+     * Retrieves summaries of all content items for a user with pagination.
+     *
+     * @param user The user whose content is being retrieved
+     * @param pageable Pagination and sorting information
+     * @return A page of content summaries belonging to the user
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.user = :user",
+            countQuery = "SELECT COUNT(c) FROM Content c WHERE c.user = :user")
+    Page<ContentSummaryView> findSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Retrieves summaries of the content items in a specific folder for a user with pagination.
+     *
+     * @param user The user who owns the content
+     * @param folder The folder containing the content
+     * @param pageable Pagination and sorting information
+     * @return A page of content summaries in the specified folder
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.user = :user AND c.folder = :folder",
+            countQuery = "SELECT COUNT(c) FROM Content c WHERE c.user = :user AND c.folder = :folder")
+    Page<ContentSummaryView> findSummariesByUserAndFolder(@Param("user") User user,
+                                                          @Param("folder") Folder folder,
+                                                          Pageable pageable);
+
+    /**
+     * Retrieves summaries of the content items of a specific type for a user with pagination.
+     *
+     * @param user The user who owns the content
+     * @param contentType The type of content to retrieve
+     * @param pageable Pagination and sorting information
+     * @return A page of content summaries of the specified type
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.user = :user AND c.contentType = :contentType",
+            countQuery = "SELECT COUNT(c) FROM Content c WHERE c.user = :user AND c.contentType = :contentType")
+    Page<ContentSummaryView> findSummariesByUserAndContentType(@Param("user") User user,
+                                                               @Param("contentType") ContentType contentType,
+                                                               Pageable pageable);
+
+    /**
+     * Retrieves summaries of the content items associated with a specific tag for a user.
+     *
+     * @param user The user who owns the content
+     * @param tagId The unique identifier of the tag
+     * @param pageable Pagination and sorting information
+     * @return A page of content summaries with the specified tag
+     */
+    @Query(value = SUMMARY_SELECT + "JOIN c.tags t WHERE c.user = :user AND t.id = :tagId",
+            countQuery = "SELECT COUNT(c) FROM Content c JOIN c.tags t WHERE c.user = :user AND t.id = :tagId")
+    Page<ContentSummaryView> findSummariesByUserAndTagId(@Param("user") User user,
+                                                         @Param("tagId") UUID tagId,
+                                                         Pageable pageable);
+
+    /**
+     * Retrieves summaries of the favorite content items for a user with pagination.
+     *
+     * @param user The user whose favorite content is being retrieved
+     * @param pageable Pagination and sorting information
+     * @return A page of favorite content summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.user = :user AND c.favorite = true",
+            countQuery = "SELECT COUNT(c) FROM Content c WHERE c.user = :user AND c.favorite = true")
+    Page<ContentSummaryView> findFavoriteSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Retrieves summaries of recently created content items for a user, newest first.
+     *
+     * @param user The user whose recent content is being retrieved
+     * @param pageable Pagination and sorting information
+     * @return A page of recently created content summaries
+     */
+    @Query(value = SUMMARY_SELECT + "WHERE c.user = :user ORDER BY c.createdAt DESC",
+            countQuery = "SELECT COUNT(c) FROM Content c WHERE c.user = :user")
+    Page<ContentSummaryView> findRecentSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    /**
+     * Retrieves a newest-first window of content items for a user using keyset pagination.
+     * Rows are located by seeking past the (createdAt, id) key of the scroll position,
+     * so no offset scan or count query is performed.
+     *
+     * @param user The user whose content is being retrieved
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items to return
+     * @return A window of content items
+     */
+    Window<Content> findByUserOrderByCreatedAtDescIdDesc(User user, ScrollPosition position, Limit limit);
+
+    /**
+     * Retrieves a newest-first window of content items in a folder using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param folder The folder containing the content
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items to return
+     * @return A window of content items in the folder
+     */
+    Window<Content> findByUserAndFolderOrderByCreatedAtDescIdDesc(User user, Folder folder,
+                                                                  ScrollPosition position, Limit limit);
+
+    /**
+     * Retrieves a newest-first window of content items of a type using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param contentType The type of content to retrieve
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items to return
+     * @return A window of content items of the type
+     */
+    Window<Content> findByUserAndContentTypeOrderByCreatedAtDescIdDesc(User user, ContentType contentType,
+                                                                       ScrollPosition position, Limit limit);
+
+    /**
+     * Retrieves a newest-first window of content items with a tag using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param tagId The unique identifier of the tag
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items to return
+     * @return A window of content items with the tag
+     */
+    Window<Content> findByUserAndTagsIdOrderByCreatedAtDescIdDesc(User user, UUID tagId,
+                                                                  ScrollPosition position, Limit limit);
+
+    /**
+     * Retrieves a newest-first window of favorite content items using keyset pagination.
+     *
+     * @param user The user whose favorite content is being retrieved
+     * @param position The keyset position to continue from
+     * @param limit The maximum number of items to return
+     * @return A window of favorite content items
+     */
+    Window<Content> findByUserAndFavoriteIsTrueOrderByCreatedAtDescIdDesc(User user,
+                                                                          ScrollPosition position, Limit limit);
+
+    // Spring Data cannot scroll string-based queries, so summary slices seek past the
+    // (createdAt, id) key themselves; a null key starts from the newest item
+    String SUMMARY_KEYSET = " AND (:createdAt IS NULL OR c.createdAt < :createdAt " +
+            "OR (c.createdAt = :createdAt AND c.id < :id)) ORDER BY c.createdAt DESC, c.id DESC";
+
+    /**
+     * Retrieves a newest-first slice of content summaries for a user using keyset pagination.
+     *
+     * @param user The user whose content is being retrieved
+     * @param createdAt The creation timestamp of the last item of the previous slice, or null for the first slice
+     * @param id The ID of the last item of the previous slice
+     * @param limit The maximum number of items to return
+     * @return The content summaries after the key
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.user = :user" + SUMMARY_KEYSET)
+    List<ContentSummaryView> findSummarySliceByUser(@Param("user") User user,
+                                                    @Param("createdAt") ZonedDateTime createdAt,
+                                                    @Param("id") UUID id, Limit limit);
+
+    /**
+     * Retrieves a newest-first slice of content summaries in a folder using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param folder The folder containing the content
+     * @param createdAt The creation timestamp of the last item of the previous slice, or null for the first slice
+     * @param id The ID of the last item of the previous slice
+     * @param limit The maximum number of items to return
+     * @return The content summaries in the folder after the key
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.user = :user AND c.folder = :folder" + SUMMARY_KEYSET)
+    List<ContentSummaryView> findSummarySliceByUserAndFolder(@Param("user") User user,
+                                                             @Param("folder") Folder folder,
+                                                             @Param("createdAt") ZonedDateTime createdAt,
+                                                             @Param("id") UUID id, Limit limit);
+
+    /**
+     * Retrieves a newest-first slice of content summaries of a type using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param contentType The type of content to retrieve
+     * @param createdAt The creation timestamp of the last item of the previous slice, or null for the first slice
+     * @param id The ID of the last item of the previous slice
+     * @param limit The maximum number of items to return
+     * @return The content summaries of the type after the key
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.user = :user AND c.contentType = :contentType" + SUMMARY_KEYSET)
+    List<ContentSummaryView> findSummarySliceByUserAndContentType(@Param("user") User user,
+                                                                  @Param("contentType") ContentType contentType,
+                                                                  @Param("createdAt") ZonedDateTime createdAt,
+                                                                  @Param("id") UUID id, Limit limit);
+
+    /**
+     * Retrieves a newest-first slice of content summaries with a tag using keyset pagination.
+     *
+     * @param user The user who owns the content
+     * @param tagId The unique identifier of the tag
+     * @param createdAt The creation timestamp of the last item of the previous slice, or null for the first slice
+     * @param id The ID of the last item of the previous slice
+     * @param limit The maximum number of items to return
+     * @return The content summaries with the tag after the key
+     */
+    @Query(SUMMARY_SELECT + "JOIN c.tags t WHERE c.user = :user AND t.id = :tagId" + SUMMARY_KEYSET)
+    List<ContentSummaryView> findSummarySliceByUserAndTagId(@Param("user") User user,
+                                                            @Param("tagId") UUID tagId,
+                                                            @Param("createdAt") ZonedDateTime createdAt,
+                                                            @Param("id") UUID id, Limit limit);
+
+    /**
+     * Retrieves a newest-first slice of favorite content summaries using keyset pagination.
+     *
+     * @param user The user whose favorite content is being retrieved
+     * @param createdAt The creation timestamp of the last item of the previous slice, or null for the first slice
+     * @param id The ID of the last item of the previous slice
+     * @param limit The maximum number of items to return
+     * @return The favorite content summaries after the key
+     */
+    @Query(SUMMARY_SELECT + "WHERE c.user = :user AND c.favorite = true" + SUMMARY_KEYSET)
+    List<ContentSummaryView> findFavoriteSummarySliceByUser(@Param("user") User user,
+                                                            @Param("createdAt") ZonedDateTime createdAt,
+                                                            @Param("id") UUID id, Limit limit);
+
     /**
      * Retrieves the top 5 most viewed content items for a user, sorted by view count in descending order.
      *
@@ -128,6 +499,15 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
      */
     List<Content> findTop5ByUserOrderByViewCountDesc(User user);
 
+    /**
+     * Retrieves the top 5 most viewed content items of a user, by user ID.
+     * Used where only the user's ID is at hand, e.g. when refreshing a cache entry.
+     *
+     * @param userId The unique identifier of the user
+     * @return A list of the top 5 most viewed content items
+     */
+    List<Content> findTop5ByUserIdOrderByViewCountDesc(UUID userId);
+
     /**
      * Deletes all content items associated with a specific user.
      *
@@ -143,4 +523,129 @@ public interface ContentRepository extends JpaRepository<Content, UUID> {
      * @return List of contents matching the criteria
      */
     List<Content> findByUserAndStorageLocation(User user, StorageLocation storageLocation);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a user has a content item stored at a storage path
+     *
+     * @param user The user
+     * @param storagePath The storage path
+     * @param storageLocation The storage location
+     * @return true if such a content item exists
+     */
+    boolean existsByUserAndStoragePathAndStorageLocation(User user, String storagePath,
+                                                         StorageLocation storageLocation);
+
+    /**
+     * Checks whether any other content item uses a thumbnail, as items sharing a blob may
+     *
+     * @param thumbnailPath The thumbnail path
+     * @param thumbnailStorageLocation The thumbnail storage location
+     * @param contentId The content item to leave out
+     * @return true if another content item uses the thumbnail
+     */
+    boolean existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(String thumbnailPath,
+                                                                     StorageLocation thumbnailStorageLocation,
+                                                                     UUID contentId);
+
+    /**
+     * Checks whether any content item outside a set uses a thumbnail
+     *
+     * @param thumbnailPath The thumbnail path
+     * @param thumbnailStorageLocation The thumbnail storage location
+     * @param contentIds The content items to leave out
+     * @return true if a content item outside the set uses the thumbnail
+     */
+    boolean existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn(String thumbnailPath,
+                                                                       StorageLocation thumbnailStorageLocation,
+                                                                       Collection<UUID> contentIds);
+
+    /**
+     * Finds a content item with a thumbnail among a user's items stored at a storage path
+     *
+     * @param user The user
+     * @param storagePath The storage path
+     * @param storageLocation The storage location
+     * @return A content item with a thumbnail, if any
+     */
+    Optional<Content> findFirstByUserAndStoragePathAndStorageLocationAndThumbnailPathNotNull(
+            User user, String storagePath, StorageLocation storageLocation);
+
+    /**
+     * Finds the next content items with a file outside a storage location, in ID order
+     *
+     * @param storageLocation The storage location the items are moved to
+     * @param afterId The last item already visited, or the nil UUID to start
+     * @param limit The maximum number of items
+     * @return The IDs of the items
+     */
+    @Query("SELECT c.id FROM Content c WHERE c.storagePath IS NOT NULL AND c.storageLocation <> :storageLocation " +
+            "AND c.id > :afterId ORDER BY c.id")
+    List<UUID> findIdsToMigrate(@Param("storageLocation") StorageLocation storageLocation,
+                                @Param("afterId") UUID afterId, Limit limit);
+
+    /**
+     * Finds a user's next content items with a file outside a storage location, in ID order
+     *
+     * @param userId The user ID
+     * @param storageLocation The storage location the items are moved to
+     * @param afterId The last item already visited, or the nil UUID to start
+     * @param limit The maximum number of items
+     * @return The IDs of the items
+     */
+    @Query("SELECT c.id FROM Content c WHERE c.user.id = :userId AND c.storagePath IS NOT NULL " +
+            "AND c.storageLocation <> :storageLocation AND c.id > :afterId ORDER BY c.id")
+    List<UUID> findIdsToMigrate(@Param("userId") UUID userId,
+                                @Param("storageLocation") StorageLocation storageLocation,
+                                @Param("afterId") UUID afterId, Limit limit);
+
+    long countByStoragePathNotNullAndStorageLocationNot(StorageLocation storageLocation);
+
+    long countByUserIdAndStoragePathNotNullAndStorageLocationNot(UUID userId, StorageLocation storageLocation);
+
+    /**
+     * Adds views to content items. As a bulk update this bypasses the entity's
+     * version, so views never conflict with concurrent edits.
+     *
+     * @param ids The content IDs
+     * @param views The views to add to each item
+     * @return The number of items updated
+     */
+    @Modifying
+    @Query("UPDATE Content c SET c.viewCount = c.viewCount + :views WHERE c.id IN :ids")
+    int addViewCounts(@Param("ids") Collection<UUID> ids, @Param("views") int views);
+
+    /**
+     * Reads the flushed view count of a content item.
+     *
+     * @param id The content ID
+     * @return The view count, or null if the item doesn't exist
+     */
+    @Query("SELECT c.viewCount FROM Content c WHERE c.id = :id")
+    Integer findViewCountById(@Param("id") UUID id);
+
+    /**
+     * Records the outcome of a thumbnail job, provided the content item is still stored
+     * where the thumbnail was made from, or still has no file if it had none. As a bulk
+     * update this bypasses the entity's version, so it never conflicts with a concurrent
+     * edit of the item.
+     *
+     * @param id The content ID
+     * @param sourcePath The storage path the thumbnail was made from, or null if the item had no file
+     * @param sourceLocation The storage location the thumbnail was made from
+     * @param thumbnailPath The thumbnail path, or null if there is none
+     * @param thumbnailLocation The thumbnail storage location, or null if there is none
+     * @param thumbnailStatus The thumbnail status
+     * @return 1 if the item was updated, 0 if it was deleted or its file moved
+     */
+    @Modifying
+    @Query("UPDATE Content c SET c.thumbnailPath = :thumbnailPath, " +
+            "c.thumbnailStorageLocation = :thumbnailLocation, c.thumbnailStatus = :thumbnailStatus " +
+            "WHERE c.id = :id AND ((c.storagePath = :sourcePath AND c.storageLocation = :sourceLocation) " +
+            "OR (c.storagePath IS NULL AND :sourcePath IS NULL))")
+    int updateThumbnail(@Param("id") UUID id,
+                        @Param("sourcePath") String sourcePath,
+                        @Param("sourceLocation") StorageLocation sourceLocation,
+                        @Param("thumbnailPath") String thumbnailPath,
+                        @Param("thumbnailLocation") StorageLocation thumbnailLocation,
+                        @Param("thumbnailStatus") ThumbnailStatus thumbnailStatus);
+}
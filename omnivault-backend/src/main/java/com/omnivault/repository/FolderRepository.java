@@ -2,10 +2,12 @@ package com.omnivault.repository;
 
 import com.omnivault.domain.model.Folder;
 import com.omnivault.domain.model.User;
+import com.omnivault.domain.projection.FolderNameView;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +41,15 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
      */
     Optional<Folder> findByIdAndUser(UUID id, User user);
 
+    /**
+     * Checks if a folder exists and belongs to the given user.
+     *
+     * @param id The unique identifier of the folder
+     * @param userId The ID of the user who owns the folder
+     * @return true if the user owns a folder with the ID, false otherwise
+     */
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     /**
      * Checks if a folder with the given name already exists within a specific parent folder for a user.
      *
@@ -60,15 +71,25 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
 
     /**
      * Searches for folders belonging to a user that match the given search term.
-     * The search is case-insensitive and matches against folder name or description.
+     * The search is case-insensitive and matches against folder name or description;
+     * on PostgreSQL the ILIKE predicates are served by trigram indexes.
      *
      * @param user The user whose folders are being searched
      * @param searchTerm The term to search for in folder names and descriptions
      * @return A list of folders matching the search criteria
      */
-    @Query("SELECT f FROM Folder f WHERE f.user = ?1 AND (LOWER(f.name) LIKE LOWER(CONCAT('%', ?2, '%')) OR LOWER(f.description) LIKE LOWER(CONCAT('%', ?2, '%')))")
+    @Query("SELECT f FROM Folder f WHERE f.user = ?1 AND (f.name ILIKE CONCAT('%', ?2, '%') OR f.description ILIKE CONCAT('%', ?2, '%'))")
     List<Folder> searchFolders(User user, String searchTerm);
 
+    /**
+     * Retrieves only the IDs and names of a batch of folders in a single query.
+     *
+     * @param ids The unique identifiers of the folders
+     * @return Folder name projections for the folders that exist
+     */
+    @Query("SELECT f.id AS id, f.name AS name FROM Folder f WHERE f.id IN :ids")
+    List<FolderNameView> findNamesByIdIn(Collection<UUID> ids);
+
     /**
      * Counts the number of content items within a specific folder.
      *
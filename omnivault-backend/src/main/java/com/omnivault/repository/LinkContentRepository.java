@@ -4,6 +4,8 @@ import com.omnivault.domain.model.LinkContent;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +19,12 @@ public interface LinkContentRepository extends JpaRepository<LinkContent, UUID>
      * @return An Optional containing the LinkContent if found, otherwise empty
      */
     Optional<LinkContent> findByContentId(UUID contentId);
+
+    /**
+     * Finds the link content entries for a batch of content IDs in a single query.
+     *
+     * @param contentIds The unique identifiers of the parent contents
+     * @return The link content entries that exist for the given IDs
+     */
+    List<LinkContent> findAllByContentIdIn(Collection<UUID> contentIds);
 }
\ No newline at end of file
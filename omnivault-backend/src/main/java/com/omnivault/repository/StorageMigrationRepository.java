@@ -0,0 +1,73 @@
+package com.omnivault.repository;
+
+import com.omnivault.domain.model.MigrationStatus;
+import com.omnivault.domain.model.StorageMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface StorageMigrationRepository extends JpaRepository<StorageMigration, UUID> {
+
+    List<StorageMigration> findByStatus(MigrationStatus status);
+
+    List<StorageMigration> findByUserIdOrderByCreatedAtDesc(UUID userId);
+
+    List<StorageMigration> findByUserIdIsNullOrderByCreatedAtDesc();
+
+    Optional<StorageMigration> findByIdAndUserId(UUID id, UUID userId);
+
+    Optional<StorageMigration> findByIdAndUserIdIsNull(UUID id);
+
+    boolean existsByUserIdAndStatus(UUID userId, MigrationStatus status);
+
+    boolean existsByUserIdIsNullAndStatus(MigrationStatus status);
+
+    /**
+     * Records a finished batch and moves the checkpoint past it.
+     * Counters are incremented in place, so a concurrent cancellation is not overwritten.
+     *
+     * @param id The migration ID
+     * @param lastContentId The last content item of the batch
+     * @param moved Items moved in the batch
+     * @param failed Items that could not be moved
+     * @param skipped Items that needed no move any more
+     * @param bytes Bytes moved in the batch
+     * @param lastError The error of the batch's last failed item, or null to keep the previous one
+     * @param now The current time
+     * @return 1 if the migration is still running, 0 if it was stopped
+     */
+    @Modifying
+    @Query("UPDATE StorageMigration m SET m.lastContentId = :lastContentId, " +
+            "m.movedItems = m.movedItems + :moved, m.failedItems = m.failedItems + :failed, " +
+            "m.skippedItems = m.skippedItems + :skipped, m.movedBytes = m.movedBytes + :bytes, " +
+            "m.lastError = COALESCE(:lastError, m.lastError), m.updatedAt = :now " +
+            "WHERE m.id = :id AND m.status = com.omnivault.domain.model.MigrationStatus.RUNNING")
+    int recordProgress(@Param("id") UUID id, @Param("lastContentId") UUID lastContentId,
+                       @Param("moved") long moved, @Param("failed") long failed, @Param("skipped") long skipped,
+                       @Param("bytes") long bytes, @Param("lastError") String lastError,
+                       @Param("now") ZonedDateTime now);
+
+    /**
+     * Ends a running migration.
+     *
+     * @param id The migration ID
+     * @param status The final status
+     * @param lastError The error the migration stopped on, or null to keep the last item error
+     * @param now The current time
+     * @return 1 if the migration was running, 0 otherwise
+     */
+    @Modifying
+    @Query("UPDATE StorageMigration m SET m.status = :status, m.lastError = COALESCE(:lastError, m.lastError), " +
+            "m.updatedAt = :now, m.completedAt = :now " +
+            "WHERE m.id = :id AND m.status = com.omnivault.domain.model.MigrationStatus.RUNNING")
+    int finish(@Param("id") UUID id, @Param("status") MigrationStatus status,
+               @Param("lastError") String lastError, @Param("now") ZonedDateTime now);
+}
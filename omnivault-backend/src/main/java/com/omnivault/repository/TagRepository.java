@@ -1,11 +1,13 @@
 package com.omnivault.repository;
 
 import com.omnivault.domain.model.Tag;
+import com.omnivault.domain.projection.ContentTagView;
 import com.omnivault.domain.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -31,6 +33,24 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
      */
     Optional<Tag> findByIdAndUser(UUID id, User user);
 
+    /**
+     * Finds a tag by its ID, provided it belongs to the given user.
+     *
+     * @param id The unique identifier of the tag
+     * @param userId The ID of the user who owns the tag
+     * @return An Optional containing the tag if found and owned by the user, otherwise empty
+     */
+    Optional<Tag> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Checks if a tag exists and belongs to the given user.
+     *
+     * @param id The unique identifier of the tag
+     * @param userId The ID of the user who owns the tag
+     * @return true if the user owns a tag with the ID, false otherwise
+     */
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     /**
      * Finds a tag by its name for a specific user.
      *
@@ -71,13 +91,14 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
 
     /**
      * Searches for tags belonging to a user that match the given search term.
-     * The search is case-insensitive and matches against tag names.
+     * The search is case-insensitive and matches against tag names;
+     * on PostgreSQL the ILIKE predicate is served by a trigram index.
      *
      * @param user The user whose tags are being searched
      * @param searchTerm The term to search for in tag names
      * @return A list of tags matching the search criteria
      */
-    @Query("SELECT t FROM Tag t WHERE t.user = ?1 AND LOWER(t.name) LIKE LOWER(CONCAT('%', ?2, '%'))")
+    @Query("SELECT t FROM Tag t WHERE t.user = ?1 AND t.name ILIKE CONCAT('%', ?2, '%')")
     List<Tag> searchTags(User user, String searchTerm);
 
     /**
@@ -89,6 +110,27 @@ public interface TagRepository extends JpaRepository<Tag, UUID> {
     @Query("SELECT COUNT(c) FROM Content c JOIN c.tags t WHERE t.id = ?1")
     int countContentsByTagId(UUID tagId);
 
+    /**
+     * Retrieves the tags attached to a batch of content items in a single query.
+     * Each row carries the owning content ID so callers can group the result per item.
+     *
+     * @param contentIds The unique identifiers of the content items
+     * @return Tag projections for every content/tag pair
+     */
+    @Query("SELECT c.id AS contentId, t.id AS id, t.name AS name, t.color AS color " +
+            "FROM Content c JOIN c.tags t WHERE c.id IN :contentIds")
+    List<ContentTagView> findTagsByContentIds(Collection<UUID> contentIds);
+
+    /**
+     * Finds the tags attached to every content item of a user.
+     *
+     * @param userId The unique identifier of the user
+     * @return Tag projections for every content/tag pair of the user
+     */
+    @Query("SELECT c.id AS contentId, t.id AS id, t.name AS name, t.color AS color " +
+            "FROM Content c JOIN c.tags t WHERE c.user.id = :userId")
+    List<ContentTagView> findTagsByUserId(UUID userId);
+
     /**
      * Finds a tag by its ID and eagerly loads its associated user.
      * This method uses a left join fetch to avoid the N+1 query problem
@@ -4,6 +4,8 @@ import com.omnivault.domain.model.TextContent;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,4 +19,12 @@ public interface TextContentRepository extends JpaRepository<TextContent, UUID>
      * @return An Optional containing the TextContent if found, otherwise empty
      */
     Optional<TextContent> findByContentId(UUID contentId);
+
+    /**
+     * Finds the text content entries for a batch of content IDs in a single query.
+     *
+     * @param contentIds The unique identifiers of the parent contents
+     * @return The text content entries that exist for the given IDs
+     */
+    List<TextContent> findAllByContentIdIn(Collection<UUID> contentIds);
 }
\ No newline at end of file
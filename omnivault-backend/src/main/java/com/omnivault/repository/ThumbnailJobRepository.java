@@ -0,0 +1,50 @@
+package com.omnivault.repository;
+
+import com.omnivault.domain.model.ThumbnailJob;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ThumbnailJobRepository extends JpaRepository<ThumbnailJob, UUID> {
+
+    /**
+     * Finds jobs that are due, longest waiting first.
+     *
+     * @param now The current time
+     * @param limit The maximum number of jobs to return
+     * @return The due jobs
+     */
+    List<ThumbnailJob> findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(ZonedDateTime now, Limit limit);
+
+    /**
+     * Claims a due job for one attempt, leasing it until the given time.
+     * Only one of several concurrent claims of the same job succeeds.
+     *
+     * @param id The job ID
+     * @param now The current time
+     * @param leaseEnd The time the job becomes due again if the attempt never finishes
+     * @return 1 if the job was claimed, 0 if it is not due or gone
+     */
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.attempts = j.attempts + 1, j.nextAttemptAt = :leaseEnd " +
+            "WHERE j.id = :id AND j.nextAttemptAt <= :now")
+    int claim(@Param("id") UUID id, @Param("now") ZonedDateTime now, @Param("leaseEnd") ZonedDateTime leaseEnd);
+
+    /**
+     * Schedules the next attempt of a job.
+     *
+     * @param id The job ID
+     * @param nextAttemptAt The time the job becomes due again
+     */
+    @Modifying
+    @Query("UPDATE ThumbnailJob j SET j.nextAttemptAt = :nextAttemptAt WHERE j.id = :id")
+    void reschedule(@Param("id") UUID id, @Param("nextAttemptAt") ZonedDateTime nextAttemptAt);
+}
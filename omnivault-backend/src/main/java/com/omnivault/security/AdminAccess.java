@@ -0,0 +1,30 @@
+package com.omnivault.security;
+
+import com.omnivault.config.AdminProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides whether an authenticated user is an administrator.
+ * Used in method security expressions as {@code @adminAccess.isAdmin(authentication)}.
+ */
+@Component("adminAccess")
+@RequiredArgsConstructor
+public class AdminAccess {
+
+    private final AdminProperties adminProperties;
+
+    /**
+     * Checks if the authenticated user is one of the configured administrators.
+     *
+     * @param authentication The current authentication, may be null
+     * @return true if the user is an administrator, false otherwise
+     */
+    public boolean isAdmin(Authentication authentication) {
+        return authentication != null
+                && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof UserPrincipal principal
+                && adminProperties.getUsernames().contains(principal.getUsername());
+    }
+}
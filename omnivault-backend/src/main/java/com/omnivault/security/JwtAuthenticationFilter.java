@@ -16,7 +16,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.UUID;
 
 /**
  * JWT Authentication Filter for processing and validating JWT tokens.
@@ -30,13 +29,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final TokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
+    private final PrincipalCache principalCache;
 
     /**
      * Filters each request to validate and process JWT authentication.
      * Performs the following steps:
      * 1. Attempts to extract JWT from request header or query parameter
-     * 2. Validates the token
-     * 3. Loads user details if token is valid
+     * 2. Verifies the token and reads its claims in one pass
+     * 3. Loads user details if token is valid, reusing recently loaded ones
      * 4. Sets authentication context for the request
      *
      * @param request The HTTP servlet request
@@ -57,10 +57,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 jwt = request.getParameter("token");
             }
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                UUID userId = tokenProvider.getUserIdFromToken(jwt);
-
-                UserDetails userDetails = customUserDetailsService.loadUserById(userId);
+            if (StringUtils.hasText(jwt)
+                    && tokenProvider.verify(jwt) instanceof TokenVerification.Valid token) {
+                UserDetails userDetails = principalCache.get(token.userId(), token.issuedAt(),
+                        customUserDetailsService::loadUserById);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,64 @@
+package com.omnivault.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.config.JwtProperties;
+import com.omnivault.util.AfterCommit;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Caches the principals of recently used access tokens, so authenticated
+ * requests don't each start with a lookup of their user.
+ * <p>
+ * Entries are keyed by user ID and token issue time and expire after a short
+ * time. Changes to a user's profile, password or account drop all of the
+ * user's entries once the surrounding transaction commits; a deleted account
+ * is then rejected on its next request, as its user can't be loaded any more.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<Key, UserDetails> principals;
+
+    public PrincipalCache(JwtProperties jwtProperties) {
+        JwtProperties.PrincipalCache properties = jwtProperties.getPrincipalCache();
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+    }
+
+    /**
+     * Returns the principal of an access token, loading its user if it isn't cached.
+     *
+     * @param userId The token's user ID
+     * @param issuedAt The token's issue time
+     * @param loader Loads the principal of a user; failures are not cached
+     * @return The principal
+     */
+    public UserDetails get(UUID userId, Instant issuedAt, Function<UUID, UserDetails> loader) {
+        return principals.get(new Key(userId, issuedAt), key -> loader.apply(key.userId()));
+    }
+
+    /**
+     * Drops the cached principals of a user. When called in a transaction,
+     * they are dropped once the transaction commits.
+     *
+     * @param userId The user ID
+     */
+    public void invalidate(UUID userId) {
+        AfterCommit.run(() -> evict(userId));
+    }
+
+    private void evict(UUID userId) {
+        principals.asMap().keySet().removeIf(key -> key.userId().equals(userId));
+    }
+
+    private record Key(UUID userId, Instant issuedAt) {
+    }
+}
@@ -1,9 +1,12 @@
 package com.omnivault.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import com.omnivault.config.JwtProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.security.SignatureException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -12,20 +15,45 @@ import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
 import java.util.UUID;
 
 /**
  * Provides utilities for generating, validating, and processing JWT tokens.
  * Handles token creation, parsing, and authentication based on JWT claims.
+ * <p>
+ * The signing key and parser are built once, as both are immutable and
+ * thread-safe. Verified access tokens are remembered until they expire, so
+ * a client's repeated requests check the signature only once.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class TokenProvider {
 
     private final JwtProperties jwtProperties;
     private final CustomUserDetailsService userDetailsService;
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    // Null when disabled
+    private final Cache<String, TokenVerification.Valid> verifiedTokens;
+
+    public TokenProvider(JwtProperties jwtProperties, CustomUserDetailsService userDetailsService) {
+        this.jwtProperties = jwtProperties;
+        this.userDetailsService = userDetailsService;
+        this.signingKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = jwtProperties.getVerifiedTokenCacheSize() > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(jwtProperties.getVerifiedTokenCacheSize())
+                        .expireAfter(new UntilTokenExpires())
+                        .build()
+                : null;
+    }
 
     /**
      * Generates an access token for a user.
@@ -52,18 +80,68 @@ public class TokenProvider {
                 .setSubject(userPrincipal.getId().toString())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
     /**
-     * Creates a signing key from the JWT secret.
+     * Verifies a JWT token and extracts its claims in one pass.
+     * Checks token integrity, signature and expiration.
      *
-     * @return A cryptographic key for signing JWT tokens
+     * @param token The JWT token
+     * @return The token's claims if it is valid, otherwise why it was rejected
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public TokenVerification verify(String token) {
+        if (verifiedTokens != null && token != null) {
+            TokenVerification.Valid cached = verifiedTokens.getIfPresent(token);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        TokenVerification verification = parse(token);
+        if (verifiedTokens != null && verification instanceof TokenVerification.Valid valid
+                && valid.expiresAt() != null) {
+            verifiedTokens.put(token, valid);
+        }
+        return verification;
+    }
+
+    private TokenVerification parse(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (claims.getSubject() == null) {
+                log.error("JWT token has no subject");
+                return new TokenVerification.Invalid(TokenVerification.Reason.MISSING_CLAIMS);
+            }
+            return new TokenVerification.Valid(
+                    UUID.fromString(claims.getSubject()),
+                    toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()));
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+            return new TokenVerification.Invalid(TokenVerification.Reason.EXPIRED);
+        } catch (SignatureException ex) {
+            log.error("Invalid JWT signature");
+            return new TokenVerification.Invalid(TokenVerification.Reason.BAD_SIGNATURE);
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+            return new TokenVerification.Invalid(TokenVerification.Reason.MALFORMED);
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token");
+            return new TokenVerification.Invalid(TokenVerification.Reason.UNSUPPORTED);
+        } catch (IllegalArgumentException ex) {
+            // Also thrown for a subject that is not a UUID
+            log.error("JWT claims string is empty or invalid");
+            return new TokenVerification.Invalid(TokenVerification.Reason.MISSING_CLAIMS);
+        } catch (JwtException ex) {
+            log.error("JWT token validation error", ex);
+            return new TokenVerification.Invalid(TokenVerification.Reason.MALFORMED);
+        }
+    }
+
+    private static Instant toInstant(Date date) {
+        return date != null ? date.toInstant() : null;
     }
 
     /**
@@ -71,15 +149,13 @@ public class TokenProvider {
      *
      * @param token The JWT token
      * @return The UUID of the user
+     * @throws JwtException if the token is not valid
      */
     public UUID getUserIdFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return UUID.fromString(claims.getSubject());
+        if (verify(token) instanceof TokenVerification.Valid valid) {
+            return valid.userId();
+        }
+        throw new JwtException("Invalid JWT token");
     }
 
     /**
@@ -90,24 +166,7 @@ public class TokenProvider {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
-        } catch (Exception e) {
-            log.error("JWT token validation error", e);
-        }
-        return false;
+        return verify(token) instanceof TokenVerification.Valid;
     }
 
     /**
@@ -123,4 +182,27 @@ public class TokenProvider {
         UserDetails userDetails = userDetailsService.loadUserById(userId);
         return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
     }
-}
\ No newline at end of file
+
+    /**
+     * Keeps a verified token until its expiration time.
+     */
+    private static class UntilTokenExpires implements Expiry<String, TokenVerification.Valid> {
+
+        @Override
+        public long expireAfterCreate(String token, TokenVerification.Valid valid, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), valid.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, TokenVerification.Valid valid, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(token, valid, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, TokenVerification.Valid valid, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
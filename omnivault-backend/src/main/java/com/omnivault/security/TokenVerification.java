@@ -0,0 +1,45 @@
+package com.omnivault.security;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Outcome of verifying an access token: either the claims the application
+ * needs, or why the token was rejected.
+ */
+public sealed interface TokenVerification {
+
+    /**
+     * A token with a valid signature that has not expired.
+     *
+     * @param userId The user the token was issued to
+     * @param issuedAt When the token was issued, or null if it has no issue time
+     * @param expiresAt When the token expires, or null if it doesn't
+     */
+    record Valid(UUID userId, Instant issuedAt, Instant expiresAt) implements TokenVerification {
+    }
+
+    /**
+     * A token that must not be trusted.
+     *
+     * @param reason Why the token was rejected
+     */
+    record Invalid(Reason reason) implements TokenVerification {
+    }
+
+    /**
+     * Reasons a token is rejected.
+     */
+    enum Reason {
+        /** Not a well-formed signed JWT */
+        MALFORMED,
+        /** The signature doesn't match */
+        BAD_SIGNATURE,
+        /** Past its expiration time */
+        EXPIRED,
+        /** A JWT this application doesn't issue, e.g. an unsigned one */
+        UNSUPPORTED,
+        /** Empty, or without a user ID */
+        MISSING_CLAIMS
+    }
+}
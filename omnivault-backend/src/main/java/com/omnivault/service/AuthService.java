@@ -5,6 +5,8 @@ import com.omnivault.domain.dto.response.AuthResponse;
 import com.omnivault.domain.dto.response.UserDTO;
 import com.omnivault.domain.model.User;
 
+import java.util.UUID;
+
 /**
  * Service interface for authentication operations
  */
@@ -42,12 +44,29 @@ public interface AuthService {
     void logout(String refreshToken);
 
     /**
-     * Get the currently authenticated user
+     * Get the currently authenticated user, loaded from the database
      *
      * @return The authenticated user
      */
     User getCurrentUser();
 
+    /**
+     * Get the ID of the currently authenticated user. Read from the request's
+     * security context, without a database round trip.
+     *
+     * @return The authenticated user's ID
+     */
+    UUID getCurrentUserId();
+
+    /**
+     * Get a reference to the currently authenticated user, for ownership checks,
+     * query parameters and new entities. The user is only loaded if a property
+     * other than its ID is read.
+     *
+     * @return A reference to the authenticated user
+     */
+    User getCurrentUserReference();
+
     /**
      * Get the currently authenticated user as a DTO
      *
@@ -0,0 +1,43 @@
+package com.omnivault.service;
+
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.User;
+
+import java.util.Optional;
+
+/**
+ * Service interface for the deduplicating blob store.
+ * Files with the same SHA-256 digest are stored once per dedup scope and
+ * reference-counted; content items point at the shared file by storage path.
+ */
+public interface BlobService {
+
+    /**
+     * Registers a freshly stored file as a reference to its blob. If the scope
+     * already holds the same content in the same location, the fresh copy is
+     * deleted and the existing file is returned instead.
+     *
+     * @param storedFile The file just stored
+     * @param user The user who uploaded it
+     * @return The file content items should point at
+     */
+    StoredFile register(StoredFile storedFile, User user);
+
+    /**
+     * Adds a reference to a blob the user may reuse without uploading it again.
+     *
+     * @param sha256 The content digest
+     * @param user The user asking
+     * @return The blob's file, or empty if the user has to upload the content
+     */
+    Optional<StoredFile> acquire(String sha256, User user);
+
+    /**
+     * Drops a reference to the file at a storage path.
+     *
+     * @param storagePath The storage path
+     * @param storageLocation The storage location
+     * @return true if nothing references the file any more and it should be deleted
+     */
+    boolean release(String storagePath, StorageLocation storageLocation);
+}
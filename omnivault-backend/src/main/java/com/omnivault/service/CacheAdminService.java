@@ -0,0 +1,40 @@
+package com.omnivault.service;
+
+import com.omnivault.domain.dto.response.CacheStatsDTO;
+
+import java.util.List;
+
+public interface CacheAdminService {
+
+    /**
+     * Get statistics of all named caches
+     *
+     * @return Statistics per cache, in cache name order
+     */
+    List<CacheStatsDTO> getCacheStats();
+
+    /**
+     * Get statistics of one named cache
+     *
+     * @param cacheName Cache name
+     * @return Statistics of the cache
+     */
+    CacheStatsDTO getCacheStats(String cacheName);
+
+    /**
+     * Remove all entries of a named cache, for every user
+     *
+     * @param cacheName Cache name
+     * @return Statistics of the cache after clearing
+     */
+    CacheStatsDTO clearCache(String cacheName);
+
+    /**
+     * Load the current user's most requested entries of a named cache,
+     * i.e. the first page of each listing the cache holds
+     *
+     * @param cacheName Cache name
+     * @return Statistics of the cache after warming
+     */
+    CacheStatsDTO warmCache(String cacheName);
+}
@@ -1,5 +1,6 @@
 package com.omnivault.service;
 
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
 import com.omnivault.domain.model.ContentType;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,12 +27,24 @@ public interface CloudStorageService {
      * @param userId The owner's user ID
      * @param contentType The type of content being stored
      * @param filename The original filename
+     * @return The storage key/path in cloud storage, with the size, digest and MIME type of the content
+     */
+    StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename);
+
+    /**
+     * Store a small, fully buffered file such as a thumbnail with a single request
+     * @param data The file content
+     * @param mediaType The MIME type of the content
+     * @param userId The owner's user ID
+     * @param contentType The type of content the file belongs to
+     * @param filename The file name to derive the key from
      * @return The storage key/path in cloud storage
      */
-    String storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename);
+    String storeBytes(byte[] data, String mediaType, UUID userId, ContentType contentType, String filename);
 
     /**
-     * Load a file from cloud storage as a Resource
+     * Load a file from cloud storage as a Resource.
+     * The content is not read up front; it is streamed when the resource is read.
      * @param key The storage key/path
      * @return The file as a Resource
      */
@@ -42,7 +55,17 @@ public interface CloudStorageService {
      * @param key The storage key/path
      * @return A presigned URL string
      */
-    String generatePresignedUrl(String key);
+    default String generatePresignedUrl(String key) {
+        return presignUrl(key).getUrl();
+    }
+
+    /**
+     * Generate a presigned URL for temporary access to a file, together with its expiry.
+     * Implementations may hand out the same URL for a while instead of signing on every call.
+     * @param key The storage key/path
+     * @return The presigned URL and the time it expires
+     */
+    PresignedUrlDTO presignUrl(String key);
 
     /**
      * Delete a file from cloud storage
@@ -0,0 +1,31 @@
+package com.omnivault.service;
+
+import com.omnivault.domain.dto.response.SearchHitDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * In-process search tier for search-as-you-type.
+ * Holds a per-user inverted index that is built on first use, refreshed from
+ * content change events and evicted when the configured memory budget is exceeded.
+ */
+public interface ContentSearchIndex {
+
+    /**
+     * Search a user's content, treating every query term as a prefix
+     *
+     * @param userId The user ID
+     * @param query The query as typed
+     * @param limit Maximum number of hits
+     * @return The best matching hits, best first
+     */
+    List<SearchHitDTO> search(UUID userId, String query, int limit);
+
+    /**
+     * Drop a user's index so that it is rebuilt on the next search
+     *
+     * @param userId The user ID
+     */
+    void invalidate(UUID userId);
+}
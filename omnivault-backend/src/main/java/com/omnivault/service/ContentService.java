@@ -1,9 +1,14 @@
 package com.omnivault.service;
 
 import com.omnivault.domain.dto.request.ContentUpdateRequest;
+import com.omnivault.domain.dto.request.FileContentFromHashRequest;
 import com.omnivault.domain.dto.request.LinkContentCreateRequest;
 import com.omnivault.domain.dto.request.TextContentCreateRequest;
 import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentUrlDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.CursorPageDTO;
+import com.omnivault.domain.dto.response.SearchHitDTO;
 import com.omnivault.domain.model.Content;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.StorageLocation;
@@ -90,6 +95,153 @@ public interface ContentService {
      */
     Page<ContentDTO> getRecentContent(Pageable pageable);
 
+    /**
+     * Get summaries of all content with pagination
+     *
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getAllContentSummaries(Pageable pageable);
+
+    /**
+     * Get summaries of content in a folder
+     *
+     * @param folderId The folder ID
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getContentSummariesByFolder(UUID folderId, Pageable pageable);
+
+    /**
+     * Get summaries of content by type
+     *
+     * @param contentType The content type
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getContentSummariesByType(ContentType contentType, Pageable pageable);
+
+    /**
+     * Get summaries of content by tag
+     *
+     * @param tagId The tag ID
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getContentSummariesByTag(UUID tagId, Pageable pageable);
+
+    /**
+     * Get summaries of favorite content
+     *
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getFavoriteContentSummaries(Pageable pageable);
+
+    /**
+     * Get summaries of recent content
+     *
+     * @param pageable Pagination information
+     * @return Page of content summaries
+     */
+    Page<ContentSummaryDTO> getRecentContentSummaries(Pageable pageable);
+
+    /**
+     * Get a slice of all content using keyset pagination, newest first
+     *
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content with the cursor for the next slice
+     */
+    CursorPageDTO<ContentDTO> getAllContentSlice(String cursor, int size);
+
+    /**
+     * Get a slice of content in a folder using keyset pagination, newest first
+     *
+     * @param folderId The folder ID
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content with the cursor for the next slice
+     */
+    CursorPageDTO<ContentDTO> getContentSliceByFolder(UUID folderId, String cursor, int size);
+
+    /**
+     * Get a slice of content by type using keyset pagination, newest first
+     *
+     * @param contentType The content type
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content with the cursor for the next slice
+     */
+    CursorPageDTO<ContentDTO> getContentSliceByType(ContentType contentType, String cursor, int size);
+
+    /**
+     * Get a slice of content by tag using keyset pagination, newest first
+     *
+     * @param tagId The tag ID
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content with the cursor for the next slice
+     */
+    CursorPageDTO<ContentDTO> getContentSliceByTag(UUID tagId, String cursor, int size);
+
+    /**
+     * Get a slice of favorite content using keyset pagination, newest first
+     *
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content with the cursor for the next slice
+     */
+    CursorPageDTO<ContentDTO> getFavoriteContentSlice(String cursor, int size);
+
+    /**
+     * Get a slice of summaries of all content using keyset pagination, newest first
+     *
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content summaries with the cursor for the next slice
+     */
+    CursorPageDTO<ContentSummaryDTO> getAllContentSummarySlice(String cursor, int size);
+
+    /**
+     * Get a slice of summaries of content in a folder using keyset pagination, newest first
+     *
+     * @param folderId The folder ID
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content summaries with the cursor for the next slice
+     */
+    CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByFolder(UUID folderId, String cursor, int size);
+
+    /**
+     * Get a slice of summaries of content by type using keyset pagination, newest first
+     *
+     * @param contentType The content type
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content summaries with the cursor for the next slice
+     */
+    CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByType(ContentType contentType, String cursor, int size);
+
+    /**
+     * Get a slice of summaries of content by tag using keyset pagination, newest first
+     *
+     * @param tagId The tag ID
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content summaries with the cursor for the next slice
+     */
+    CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByTag(UUID tagId, String cursor, int size);
+
+    /**
+     * Get a slice of summaries of favorite content using keyset pagination, newest first
+     *
+     * @param cursor The cursor returned with the previous slice, or blank for the first slice
+     * @param size Maximum number of items in the slice
+     * @return Slice of content summaries with the cursor for the next slice
+     */
+    CursorPageDTO<ContentSummaryDTO> getFavoriteContentSummarySlice(String cursor, int size);
+
     /**
      * Get popular content
      *
@@ -155,6 +307,15 @@ public interface ContentService {
             StorageLocation storageLocation
     );
 
+    /**
+     * Create file content from a file the user has stored before, without uploading it again
+     *
+     * @param request The content digest and the details of the new content
+     * @return The created content DTO
+     * @throws com.omnivault.exception.ResourceNotFoundException If no reusable file has the digest
+     */
+    ContentDTO createFileContentFromHash(FileContentFromHashRequest request);
+
 
     /**
      * Update content
@@ -223,16 +384,47 @@ public interface ContentService {
     String getThumbnailPresignedUrl(UUID contentId);
 
     /**
-     * Search content
+     * Get presigned URLs for the files and thumbnails of several content items at once.
+     * Unknown IDs and IDs of other users' content are skipped.
      *
-     * @param searchTerm The search term
-     * @param pageable Pagination information
-     * @return Page of content
+     * @param contentIds The content IDs
+     * @return The URLs per content item, in request order; URLs of local files are null
+     */
+    List<ContentUrlDTO> getPresignedUrls(List<UUID> contentIds);
+
+    /**
+     * Search content using full-text search, ordered by relevance.
+     * Each result carries a highlighted snippet of the matching text.
+     *
+     * @param searchTerm The search term; supports quoted phrases, OR and -exclusion
+     * @param pageable Pagination information (sorting is ignored)
+     * @return Page of matching content
      */
     Page<ContentDTO> searchContent(String searchTerm, Pageable pageable);
 
     /**
-     * Increment view count
+     * Suggest corrections for a possibly misspelled search query.
+     * Candidates are the user's content titles, tag names and folder names,
+     * ranked by fuzzy similarity to the query.
+     *
+     * @param query The query as typed
+     * @return Suggested search terms, best match first
+     */
+    List<String> getSearchSuggestions(String query);
+
+    /**
+     * Search-as-you-type over titles, descriptions, text bodies, link URLs and tag names.
+     * Served from the in-memory search index when enabled, otherwise from the database.
+     *
+     * @param query The query as typed; every term is matched as a prefix
+     * @param limit Maximum number of hits, or null for the configured default
+     * @return The best matching hits, best first
+     */
+    List<SearchHitDTO> instantSearch(String query, Integer limit);
+
+    /**
+     * Increment view count. The view is buffered and written to the database
+     * in the background; until then it is added to the count readers see.
      *
      * @param contentId The content ID
      */
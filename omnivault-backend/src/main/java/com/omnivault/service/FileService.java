@@ -25,9 +25,9 @@ public interface FileService {
      * @param file The file to store
      * @param userId The owner's user ID
      * @param contentType The type of content being stored
-     * @return The storage path
+     * @return The storage path, with the size, digest and MIME type of the stored content
      */
-    String storeFile(MultipartFile file, UUID userId, ContentType contentType);
+    StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType);
 
     /**
      * Generate a thumbnail for an image or video
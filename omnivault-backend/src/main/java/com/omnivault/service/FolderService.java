@@ -40,6 +40,14 @@ public interface FolderService {
      */
     Folder getFolderEntity(UUID folderId);
 
+    /**
+     * Get a reference to a folder of the current user without loading it
+     *
+     * @param folderId The folder ID
+     * @return An uninitialized folder reference, usable in queries and associations
+     */
+    Folder getFolderReference(UUID folderId);
+
     /**
      * Create a new folder
      *
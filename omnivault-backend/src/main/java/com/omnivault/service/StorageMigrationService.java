@@ -0,0 +1,76 @@
+package com.omnivault.service;
+
+import com.omnivault.domain.dto.request.StorageMigrationRequest;
+import com.omnivault.domain.dto.response.StorageMigrationDTO;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for moving all file content between storage locations in the background.
+ * Migrations either cover the current user's content or the content of all users.
+ */
+public interface StorageMigrationService {
+
+    /**
+     * Start moving all of the current user's file content to a storage location
+     *
+     * @param request The target storage location
+     * @return The started migration
+     */
+    StorageMigrationDTO startMigration(StorageMigrationRequest request);
+
+    /**
+     * Get the current user's migrations, newest first
+     *
+     * @return The migrations
+     */
+    List<StorageMigrationDTO> getMigrations();
+
+    /**
+     * Get one of the current user's migrations
+     *
+     * @param migrationId Migration ID
+     * @return The migration with its progress
+     */
+    StorageMigrationDTO getMigration(UUID migrationId);
+
+    /**
+     * Stop one of the current user's running migrations after its current batch
+     *
+     * @param migrationId Migration ID
+     * @return The cancelled migration
+     */
+    StorageMigrationDTO cancelMigration(UUID migrationId);
+
+    /**
+     * Start moving the file content of all users to a storage location
+     *
+     * @param request The target storage location
+     * @return The started migration
+     */
+    StorageMigrationDTO startSystemMigration(StorageMigrationRequest request);
+
+    /**
+     * Get the migrations covering all users, newest first
+     *
+     * @return The migrations
+     */
+    List<StorageMigrationDTO> getSystemMigrations();
+
+    /**
+     * Get a migration covering all users
+     *
+     * @param migrationId Migration ID
+     * @return The migration with its progress
+     */
+    StorageMigrationDTO getSystemMigration(UUID migrationId);
+
+    /**
+     * Stop a running migration covering all users after its current batch
+     *
+     * @param migrationId Migration ID
+     * @return The cancelled migration
+     */
+    StorageMigrationDTO cancelSystemMigration(UUID migrationId);
+}
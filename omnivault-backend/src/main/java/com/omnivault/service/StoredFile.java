@@ -0,0 +1,16 @@
+package com.omnivault.service;
+
+import com.omnivault.domain.model.StorageLocation;
+
+/**
+ * Result of storing an uploaded file, with what was measured while writing it.
+ *
+ * @param storagePath The storage path or key of the file
+ * @param storageLocation Where the file was stored
+ * @param sizeBytes The exact number of bytes stored
+ * @param sha256 The SHA-256 digest of the content, as lowercase hex
+ * @param mimeType The MIME type detected from the content's magic bytes
+ */
+public record StoredFile(String storagePath, StorageLocation storageLocation, long sizeBytes,
+                         String sha256, String mimeType) {
+}
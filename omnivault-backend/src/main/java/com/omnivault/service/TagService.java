@@ -40,6 +40,13 @@ public interface TagService {
      */
     Tag getTagEntity(UUID tagId);
 
+    /**
+     * Check that a tag exists and belongs to the current user
+     *
+     * @param tagId The tag ID
+     */
+    void checkTagOwnership(UUID tagId);
+
     /**
      * Create a new tag
      *
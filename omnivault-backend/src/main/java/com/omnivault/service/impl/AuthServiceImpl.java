@@ -9,9 +9,11 @@ import com.omnivault.exception.AuthenticationException;
 import com.omnivault.exception.BadRequestException;
 import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.repository.*;
+import com.omnivault.security.PrincipalCache;
 import com.omnivault.security.TokenProvider;
 import com.omnivault.security.UserPrincipal;
 import com.omnivault.service.AuthService;
+import com.omnivault.service.BlobService;
 import com.omnivault.service.CloudStorageService;
 import com.omnivault.service.EmailService;
 import lombok.RequiredArgsConstructor;
@@ -48,6 +50,8 @@ public class AuthServiceImpl implements AuthService {
     private final EmailService emailService;
     private final VerificationTokenRepository verificationTokenRepository;
     private final CloudStorageService cloudStorageService;
+    private final BlobService blobService;
+    private final PrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -249,14 +253,24 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public User getCurrentUser() {
+        return userRepository.findById(getCurrentUserId())
+                .orElseThrow(() -> new AuthenticationException("User not found"));
+    }
+
+    @Override
+    public UUID getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
         if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal userPrincipal)) {
             throw new AuthenticationException("User not authenticated");
         }
 
-        return userRepository.findById(userPrincipal.getId())
-                .orElseThrow(() -> new AuthenticationException("User not found"));
+        return userPrincipal.getId();
+    }
+
+    @Override
+    public User getCurrentUserReference() {
+        return userRepository.getReferenceById(getCurrentUserId());
     }
 
     @Override
@@ -289,6 +303,7 @@ public class AuthServiceImpl implements AuthService {
         }
 
         User updatedUser = userRepository.save(currentUser);
+        principalCache.invalidate(updatedUser.getId());
         log.info("Profile updated for user: {}", updatedUser.getUsername());
 
         return convertToUserDto(updatedUser);
@@ -315,6 +330,7 @@ public class AuthServiceImpl implements AuthService {
 
         // Invalidate all existing refresh tokens
         refreshTokenRepository.deleteByUser(currentUser);
+        principalCache.invalidate(currentUser.getId());
 
         log.info("Password changed for user: {}", currentUser.getUsername());
     }
@@ -346,12 +362,21 @@ public class AuthServiceImpl implements AuthService {
                 log.info("Storage Path: {}", content.getStoragePath());
                 log.info("Thumbnail Path: {}", content.getThumbnailPath());
 
-                if (content.getStoragePath() != null)
+                // Files shared with other users' uploads stay until their last reference goes
+                if (content.getStoragePath() != null
+                        && blobService.release(content.getStoragePath(), StorageLocation.CLOUD))
                     s3FilesToDelete.add(content.getStoragePath());
                 if (content.getThumbnailPath() != null)
                     s3FilesToDelete.add(content.getThumbnailPath());
             }
 
+            // Local files are not deleted here, but their references are dropped all the same
+            for (Content content : contentRepository.findByUserAndStorageLocation(currentUser, StorageLocation.LOCAL)) {
+                if (content.getStoragePath() != null) {
+                    blobService.release(content.getStoragePath(), StorageLocation.LOCAL);
+                }
+            }
+
             // Batch delete S3 files
             if (!s3FilesToDelete.isEmpty()) {
                 cloudStorageService.deleteFiles(s3FilesToDelete);
@@ -364,6 +389,7 @@ public class AuthServiceImpl implements AuthService {
             verificationTokenRepository.deleteAllByUser(currentUser);
             refreshTokenRepository.deleteByUser(currentUser);
             userRepository.delete(currentUser);
+            principalCache.invalidate(currentUser.getId());
 
             log.info("Account deleted for user: {}, S3 files deleted: {}",
                     currentUser.getUsername(), s3FilesToDelete.size());
@@ -0,0 +1,101 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.domain.model.Blob;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.User;
+import com.omnivault.exception.FileStorageException;
+import com.omnivault.repository.BlobRepository;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.service.BlobService;
+import com.omnivault.service.StoredFile;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BlobServiceImpl implements BlobService {
+
+    private final BlobRepository blobRepository;
+    private final ContentRepository contentRepository;
+    private final HybridFileService fileService;
+    private final StorageProperties storageProperties;
+
+    @Override
+    @Transactional
+    public StoredFile register(StoredFile storedFile, User user) {
+        if (!storageProperties.getDedup().isEnabled() || storedFile.sha256() == null) {
+            return storedFile;
+        }
+
+        UUID ownerId = ownerOf(user);
+        StorageLocation location = storedFile.storageLocation();
+        if (blobRepository.incrementRefCount(ownerId, storedFile.sha256(), location) == 0) {
+            int inserted = blobRepository.insertIfAbsent(UUID.randomUUID(), ownerId, storedFile.sha256(),
+                    location.name(), storedFile.storagePath(), storedFile.sizeBytes(), storedFile.mimeType());
+            if (inserted == 1) {
+                return storedFile;
+            }
+            // A concurrent upload of the same content recorded the blob first
+            blobRepository.incrementRefCount(ownerId, storedFile.sha256(), location);
+        }
+
+        Blob blob = blobRepository.findByOwnerIdAndSha256AndStorageLocation(ownerId, storedFile.sha256(), location)
+                .orElseThrow(() -> new FileStorageException("Blob " + storedFile.sha256() + " disappeared"));
+
+        // The fresh copy is redundant; nothing references it yet
+        fileService.deleteFile(storedFile.storagePath(), location);
+        log.info("Deduplicated upload {} against blob {} ({} references)",
+                storedFile.storagePath(), blob.getStoragePath(), blob.getRefCount());
+        return toStoredFile(blob);
+    }
+
+    @Override
+    @Transactional
+    public Optional<StoredFile> acquire(String sha256, User user) {
+        if (!storageProperties.getDedup().isEnabled()) {
+            return Optional.empty();
+        }
+
+        for (Blob blob : blobRepository.findByOwnerIdAndSha256OrderByCreatedAtAsc(ownerOf(user), sha256)) {
+            // A digest alone proves nothing about holding the content, so a shared blob is
+            // only handed out to users who have uploaded it themselves
+            if (storageProperties.getDedup().getScope() == StorageProperties.Scope.GLOBAL
+                    && !contentRepository.existsByUserAndStoragePathAndStorageLocation(
+                            user, blob.getStoragePath(), blob.getStorageLocation())) {
+                continue;
+            }
+            if (blobRepository.incrementRefCountById(blob.getId()) == 1) {
+                return Optional.of(toStoredFile(blob));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    @Transactional
+    public boolean release(String storagePath, StorageLocation storageLocation) {
+        // Files stored before deduplication, or while it was off, are not tracked and belong to one item
+        if (blobRepository.decrementRefCount(storageLocation, storagePath) == 0) {
+            return true;
+        }
+        return blobRepository.deleteIfUnreferenced(storageLocation, storagePath) == 1;
+    }
+
+    private UUID ownerOf(User user) {
+        return storageProperties.getDedup().getScope() == StorageProperties.Scope.GLOBAL
+                ? Blob.SHARED_OWNER
+                : user.getId();
+    }
+
+    private static StoredFile toStoredFile(Blob blob) {
+        return new StoredFile(blob.getStoragePath(), blob.getStorageLocation(), blob.getSizeBytes(),
+                blob.getSha256(), blob.getMimeType());
+    }
+}
@@ -0,0 +1,127 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.omnivault.config.CacheConfig;
+import com.omnivault.config.CacheRemovalCounters;
+import com.omnivault.domain.dto.response.CacheStatsDTO;
+import com.omnivault.domain.dto.response.FolderDTO;
+import com.omnivault.domain.dto.response.TagDTO;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.exception.BadRequestException;
+import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.service.CacheAdminService;
+import com.omnivault.service.ContentService;
+import com.omnivault.service.FolderService;
+import com.omnivault.service.TagService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheAdminServiceImpl implements CacheAdminService {
+
+    private final CacheManager cacheManager;
+    private final CacheRemovalCounters removalCounters;
+    private final ContentService contentService;
+    private final FolderService folderService;
+    private final TagService tagService;
+
+    // Matches the controllers' default page, so warmed entries are the ones requests hit
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 20, Sort.by("createdAt"));
+
+    @Override
+    public List<CacheStatsDTO> getCacheStats() {
+        return CacheConfig.CACHE_NAMES.stream()
+                .sorted()
+                .map(this::getCacheStats)
+                .toList();
+    }
+
+    @Override
+    public CacheStatsDTO getCacheStats(String cacheName) {
+        Cache<Object, Object> cache = nativeCache(cacheName);
+        CacheStats stats = cache.stats();
+        Policy.Eviction<Object, Object> eviction = cache.policy().eviction().orElse(null);
+
+        return CacheStatsDTO.builder()
+                .name(cacheName)
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .totalLoadTimeMs(TimeUnit.NANOSECONDS.toMillis(stats.totalLoadTime()))
+                .evictionCount(stats.evictionCount())
+                .removalsByCause(removalCounters.countsFor(cacheName))
+                .estimatedSize(cache.estimatedSize())
+                .weightedSize(eviction != null && eviction.isWeighted()
+                        ? eviction.weightedSize().orElse(0L)
+                        : null)
+                .maximum(eviction != null ? eviction.getMaximum() : null)
+                .build();
+    }
+
+    @Override
+    public CacheStatsDTO clearCache(String cacheName) {
+        nativeCache(cacheName).invalidateAll();
+        log.info("Cleared cache: {}", cacheName);
+        return getCacheStats(cacheName);
+    }
+
+    @Override
+    public CacheStatsDTO warmCache(String cacheName) {
+        nativeCache(cacheName);
+
+        switch (cacheName) {
+            case "contents" -> {
+                contentService.getAllContent(FIRST_PAGE);
+                contentService.getFavoriteContent(FIRST_PAGE);
+                contentService.getAllContentSummaries(FIRST_PAGE);
+            }
+            case "contentsByFolder" -> {
+                // Top-level folders only; nested folders are warmed as users open them
+                for (FolderDTO folder : folderService.getRootFolders()) {
+                    contentService.getContentByFolder(folder.getId(), FIRST_PAGE);
+                }
+            }
+            case "contentsByTag" -> {
+                for (TagDTO tag : tagService.getAllTags()) {
+                    contentService.getContentByTag(tag.getId(), FIRST_PAGE);
+                }
+            }
+            case "contentsByType" -> {
+                for (ContentType contentType : ContentType.values()) {
+                    contentService.getContentByType(contentType, FIRST_PAGE);
+                }
+            }
+            case "recentContents" -> contentService.getRecentContent(FIRST_PAGE);
+            case "popularContents" -> contentService.getPopularContent();
+            case "folders" -> folderService.getRootFolders();
+            case "tags" -> tagService.getAllTags();
+            default -> throw new BadRequestException("Cache '" + cacheName + "' cannot be warmed");
+        }
+
+        log.info("Warmed cache: {}", cacheName);
+        return getCacheStats(cacheName);
+    }
+
+    private Cache<Object, Object> nativeCache(String cacheName) {
+        if (!CacheConfig.CACHE_NAMES.contains(cacheName)
+                || !(cacheManager.getCache(cacheName) instanceof CaffeineCache caffeineCache)) {
+            throw new ResourceNotFoundException("Cache", "name", cacheName);
+        }
+        return caffeineCache.getNativeCache();
+    }
+}
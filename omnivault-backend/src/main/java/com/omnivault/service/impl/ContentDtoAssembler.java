@@ -0,0 +1,335 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.CursorPageDTO;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
+import com.omnivault.domain.dto.response.TagDTO;
+import com.omnivault.domain.model.*;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import com.omnivault.domain.projection.ContentSummaryView;
+import com.omnivault.domain.projection.ContentTagView;
+import com.omnivault.domain.projection.FolderNameView;
+import com.omnivault.repository.FolderRepository;
+import com.omnivault.repository.LinkContentRepository;
+import com.omnivault.repository.TagRepository;
+import com.omnivault.repository.TextContentRepository;
+import com.omnivault.util.CursorUtils;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Builds {@link ContentDTO}s from content entities.
+ * Single items are converted from the entity graph directly, while pages are
+ * assembled in memory after loading text bodies, link rows, tags and folder
+ * names for every row with a fixed number of set-based queries.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentDtoAssembler {
+
+    private final TextContentRepository textContentRepository;
+    private final LinkContentRepository linkContentRepository;
+    private final TagRepository tagRepository;
+    private final FolderRepository folderRepository;
+    private final HybridFileService fileService;
+    private final AwsS3Config s3Config;
+    private final ViewCountBuffer viewCounts;
+
+    /**
+     * Converts a single content entity, including its type-specific data.
+     *
+     * @param content The content entity
+     * @return The content DTO
+     */
+    public ContentDTO toDto(Content content) {
+        List<TagDTO> tags = content.getTags().stream()
+                .map(tag -> TagDTO.builder()
+                        .id(tag.getId())
+                        .name(tag.getName())
+                        .color(tag.getColor())
+                        .build())
+                .collect(Collectors.toList());
+
+        ContentDTO.ContentDTOBuilder builder = baseBuilder(content,
+                content.getFolder() != null ? content.getFolder().getName() : null, tags, true);
+
+        // Add type-specific content
+        if (content.getContentType() == ContentType.TEXT) {
+            textContentRepository.findByContentId(content.getId()).ifPresent(textContent ->
+                    builder.textContent(textContent.getTextContent()));
+        } else if (content.getContentType() == ContentType.LINK) {
+            linkContentRepository.findByContentId(content.getId()).ifPresent(linkContent ->
+                    applyLink(builder, linkContent));
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Converts a list of content entities, batching all secondary lookups.
+     * Presigned URLs are only included if {@code aws.s3.presign-listings} is set;
+     * otherwise clients request them for the items they show.
+     *
+     * @param contents The content entities, in display order
+     * @return The content DTOs in the same order
+     */
+    public List<ContentDTO> toDtos(List<Content> contents) {
+        if (contents.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<UUID> contentIds = new ArrayList<>(contents.size());
+        Set<UUID> textIds = new HashSet<>();
+        Set<UUID> linkIds = new HashSet<>();
+        Set<UUID> folderIds = new HashSet<>();
+
+        for (Content content : contents) {
+            contentIds.add(content.getId());
+            if (content.getContentType() == ContentType.TEXT) {
+                textIds.add(content.getId());
+            } else if (content.getContentType() == ContentType.LINK) {
+                linkIds.add(content.getId());
+            }
+            UUID folderId = folderIdOf(content);
+            if (folderId != null) {
+                folderIds.add(folderId);
+            }
+        }
+
+        Map<UUID, TextContent> textById = textIds.isEmpty() ? Collections.emptyMap() :
+                textContentRepository.findAllByContentIdIn(textIds).stream()
+                        .collect(Collectors.toMap(TextContent::getContentId, Function.identity()));
+
+        Map<UUID, LinkContent> linkById = linkIds.isEmpty() ? Collections.emptyMap() :
+                linkContentRepository.findAllByContentIdIn(linkIds).stream()
+                        .collect(Collectors.toMap(LinkContent::getContentId, Function.identity()));
+
+        Map<UUID, String> folderNames = folderIds.isEmpty() ? Collections.emptyMap() :
+                folderRepository.findNamesByIdIn(folderIds).stream()
+                        .collect(Collectors.toMap(FolderNameView::getId, FolderNameView::getName));
+
+        Map<UUID, List<TagDTO>> tagsByContent = tagRepository.findTagsByContentIds(contentIds).stream()
+                .collect(Collectors.groupingBy(ContentTagView::getContentId,
+                        Collectors.mapping(view -> TagDTO.builder()
+                                .id(view.getId())
+                                .name(view.getName())
+                                .color(view.getColor())
+                                .build(), Collectors.toList())));
+
+        List<ContentDTO> dtos = new ArrayList<>(contents.size());
+        for (Content content : contents) {
+            UUID folderId = folderIdOf(content);
+            ContentDTO.ContentDTOBuilder builder = baseBuilder(content,
+                    folderId != null ? folderNames.get(folderId) : null,
+                    tagsByContent.getOrDefault(content.getId(), new ArrayList<>()),
+                    s3Config.isPresignListings());
+
+            TextContent textContent = textById.get(content.getId());
+            if (textContent != null) {
+                builder.textContent(textContent.getTextContent());
+            }
+
+            LinkContent linkContent = linkById.get(content.getId());
+            if (linkContent != null) {
+                applyLink(builder, linkContent);
+            }
+
+            dtos.add(builder.build());
+        }
+        return dtos;
+    }
+
+    /**
+     * Converts a page of content entities, preserving its paging information.
+     *
+     * @param contentPage The page of content entities
+     * @return The page of content DTOs
+     */
+    public Page<ContentDTO> toDtoPage(Page<Content> contentPage) {
+        return new PageImpl<>(toDtos(contentPage.getContent()), contentPage.getPageable(), contentPage.getTotalElements());
+    }
+
+    /**
+     * Converts full-text search hits into a page of content DTOs, keeping the
+     * relevance order of the hits and attaching each hit's highlighted snippet.
+     *
+     * @param hits The page of search hits
+     * @param contents The content entities for the hits, in any order
+     * @return The page of content DTOs in relevance order
+     */
+    public Page<ContentDTO> toSearchResultPage(Page<ContentSearchHitView> hits, List<Content> contents) {
+        Map<UUID, Content> contentById = contents.stream()
+                .collect(Collectors.toMap(Content::getId, Function.identity()));
+
+        // Hits whose content was deleted since the search ran are skipped
+        List<Content> ordered = new ArrayList<>(hits.getNumberOfElements());
+        Map<UUID, String> highlights = new HashMap<>();
+        for (ContentSearchHitView hit : hits.getContent()) {
+            Content content = contentById.get(hit.getId());
+            if (content != null) {
+                ordered.add(content);
+                highlights.put(hit.getId(), hit.getHeadline());
+            }
+        }
+
+        List<ContentDTO> dtos = toDtos(ordered);
+        dtos.forEach(dto -> dto.setHighlight(highlights.get(dto.getId())));
+
+        return new PageImpl<>(dtos, hits.getPageable(), hits.getTotalElements());
+    }
+
+    /**
+     * Converts a keyset window of content entities into a cursor page.
+     * The next cursor points at the last item and is only set when more items follow.
+     *
+     * @param window The window of content entities
+     * @param size The requested slice size
+     * @return The cursor page of content DTOs
+     */
+    public CursorPageDTO<ContentDTO> toCursorPage(Window<Content> window, int size) {
+        List<Content> contents = window.getContent();
+        String nextCursor = null;
+        if (window.hasNext() && !contents.isEmpty()) {
+            Content last = contents.getLast();
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageDTO.<ContentDTO>builder()
+                .content(toDtos(contents))
+                .size(size)
+                .hasNext(window.hasNext())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Converts a page of content summary projections. No further queries are issued;
+     * cloud-stored thumbnails get a presigned URL if {@code aws.s3.presign-listings} is set.
+     *
+     * @param summaryPage The page of summary projections
+     * @return The page of summary DTOs
+     */
+    public Page<ContentSummaryDTO> toSummaryPage(Page<ContentSummaryView> summaryPage) {
+        return summaryPage.map(this::toSummary);
+    }
+
+    /**
+     * Converts content summary projections fetched with one row more than the slice size
+     * into a cursor page. The extra row only tells whether more items follow.
+     *
+     * @param views The summary projections, at most {@code size + 1}
+     * @param size The requested slice size
+     * @return The cursor page of summary DTOs
+     */
+    public CursorPageDTO<ContentSummaryDTO> toSummaryCursorPage(List<ContentSummaryView> views, int size) {
+        boolean hasNext = views.size() > size;
+        List<ContentSummaryView> slice = hasNext ? views.subList(0, size) : views;
+        String nextCursor = null;
+        if (hasNext && !slice.isEmpty()) {
+            ContentSummaryView last = slice.getLast();
+            nextCursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        }
+
+        return CursorPageDTO.<ContentSummaryDTO>builder()
+                .content(slice.stream().map(this::toSummary).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    private ContentSummaryDTO toSummary(ContentSummaryView view) {
+        ContentSummaryDTO.ContentSummaryDTOBuilder builder = ContentSummaryDTO.builder()
+                .id(view.getId())
+                .title(view.getTitle())
+                .contentType(view.getContentType())
+                .folderId(view.getFolderId())
+                .folderName(view.getFolderName())
+                .sizeBytes(view.getSizeBytes())
+                .mimeType(view.getMimeType())
+                .storageLocation(view.getStorageLocation())
+                .thumbnailPath(view.getThumbnailPath())
+                .thumbnailStorageLocation(view.getThumbnailStorageLocation())
+                .thumbnailStatus(view.getThumbnailStatus())
+                .favorite(view.isFavorite())
+                .viewCount(viewCounts.currentCount(view.getId(), view.getViewCount()))
+                .createdAt(view.getCreatedAt())
+                .updatedAt(view.getUpdatedAt());
+
+        if (s3Config.isPresignListings()
+                && view.getThumbnailStorageLocation() == StorageLocation.CLOUD && view.getThumbnailPath() != null) {
+            builder.thumbnailPresignedUrl(fileService.generatePresignedUrl(
+                    view.getThumbnailPath(),
+                    StorageLocation.CLOUD));
+        }
+
+        return builder.build();
+    }
+
+    private ContentDTO.ContentDTOBuilder baseBuilder(Content content, String folderName, List<TagDTO> tags,
+                                                   boolean presign) {
+        ContentDTO.ContentDTOBuilder builder = ContentDTO.builder()
+                .id(content.getId())
+                .title(content.getTitle())
+                .description(content.getDescription())
+                .contentType(content.getContentType())
+                .folderId(folderIdOf(content))
+                .folderName(folderName)
+                .sizeBytes(content.getSizeBytes())
+                .mimeType(content.getMimeType())
+                .storagePath(content.getStoragePath())
+                .storageLocation(content.getStorageLocation())
+                .originalFilename(content.getOriginalFilename())
+                .thumbnailPath(content.getThumbnailPath())
+                .thumbnailStorageLocation(content.getThumbnailStorageLocation())
+                .thumbnailStatus(content.getThumbnailStatus())
+                .favorite(content.isFavorite())
+                .viewCount(viewCounts.currentCount(content.getId(), content.getViewCount()))
+                .metadata(content.getMetadata())
+                .tags(tags)
+                .createdAt(content.getCreatedAt())
+                .updatedAt(content.getUpdatedAt());
+
+        if (!presign) {
+            return builder;
+        }
+
+        // For cloud-stored content, add presigned URLs
+        if (content.getStorageLocation() == StorageLocation.CLOUD && content.getStoragePath() != null) {
+            PresignedUrlDTO presignedUrl = fileService.presignUrl(content.getStoragePath(), StorageLocation.CLOUD);
+            if (presignedUrl != null) {
+                builder.presignedUrl(presignedUrl.getUrl());
+                builder.presignedUrlExpiresAt(presignedUrl.getExpiresAt());
+            }
+        }
+
+        // For cloud-stored thumbnails
+        if (content.getThumbnailStorageLocation() == StorageLocation.CLOUD && content.getThumbnailPath() != null) {
+            String thumbnailPresignedUrl = fileService.generatePresignedUrl(
+                    content.getThumbnailPath(),
+                    StorageLocation.CLOUD);
+            builder.thumbnailPresignedUrl(thumbnailPresignedUrl);
+        }
+
+        return builder;
+    }
+
+    private void applyLink(ContentDTO.ContentDTOBuilder builder, LinkContent linkContent) {
+        builder.url(linkContent.getUrl());
+        builder.previewImagePath(linkContent.getPreviewImagePath());
+    }
+
+    // Reading the id of a lazy folder proxy does not initialize it
+    private UUID folderIdOf(Content content) {
+        return content.getFolder() != null ? content.getFolder().getId() : null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.service.ContentEntityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * Loads single content DTOs through the {@code contents} cache. Kept apart from
+ * {@link ContentServiceImpl} so that reading an item, which records a view and
+ * shows the live view count, can go through the cache proxy on every request.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentDtoLoader {
+
+    private final ContentEntityService contentEntityService;
+    private final ContentDtoAssembler dtoAssembler;
+
+    /**
+     * Loads a content item of the current user. The view count of a cached DTO
+     * is only as fresh as the entry, so callers show their own.
+     *
+     * @param contentId The content ID
+     * @return The content DTO, shared with other readers of the cache
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contents", key = "@userCacheRegions.key('content', #contentId)")
+    public ContentDTO loadContent(UUID contentId) {
+        // The assembler adds presigned URLs for cloud-stored files and thumbnails
+        return dtoAssembler.toDto(contentEntityService.getContentEntity(contentId));
+    }
+}
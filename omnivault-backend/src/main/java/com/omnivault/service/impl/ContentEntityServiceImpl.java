@@ -1,8 +1,6 @@
 package com.omnivault.service.impl;
 
 import com.omnivault.domain.model.Content;
-import com.omnivault.domain.model.User;
-import com.omnivault.exception.AccessDeniedException;
 import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.repository.ContentRepository;
 import com.omnivault.service.AuthService;
@@ -25,15 +23,8 @@ public class ContentEntityServiceImpl implements ContentEntityService {
     @Override
     @Transactional(readOnly = true)
     public Content getContentEntity(UUID contentId) {
-        User currentUser = authService.getCurrentUser();
-        Content content = contentRepository.findById(contentId)
+        // Content of other users is reported as missing, so IDs can't be probed
+        return contentRepository.findByIdAndUserId(contentId, authService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Content", "id", contentId));
-
-        // Verify ownership
-        if (!content.getUser().getId().equals(currentUser.getId())) {
-            throw new AccessDeniedException("You don't have permission to access this content");
-        }
-
-        return content;
     }
 }
\ No newline at end of file
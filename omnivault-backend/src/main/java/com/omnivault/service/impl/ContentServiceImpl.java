@@ -1,34 +1,50 @@
 package com.omnivault.service.impl;
 
+import com.omnivault.config.SearchIndexProperties;
 import com.omnivault.domain.dto.request.ContentUpdateRequest;
+import com.omnivault.domain.dto.request.FileContentFromHashRequest;
 import com.omnivault.domain.dto.request.LinkContentCreateRequest;
 import com.omnivault.domain.dto.request.TextContentCreateRequest;
 import com.omnivault.domain.dto.response.ContentDTO;
-import com.omnivault.domain.dto.response.TagDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.ContentUrlDTO;
+import com.omnivault.domain.dto.response.CursorPageDTO;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
+import com.omnivault.domain.dto.response.SearchHitDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
 import com.omnivault.domain.model.*;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import com.omnivault.domain.projection.ContentStorageView;
+import com.omnivault.domain.projection.ContentSummaryView;
+import com.omnivault.domain.projection.SearchSuggestionView;
 import com.omnivault.repository.ContentRepository;
 import com.omnivault.repository.LinkContentRepository;
 import com.omnivault.repository.TextContentRepository;
 import com.omnivault.service.*;
 import com.omnivault.exception.BadRequestException;
 import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.util.AfterCommit;
 import com.omnivault.util.ContentTypeUtils;
-import com.omnivault.util.SecurityUtils;
+import com.omnivault.util.CursorUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.time.Instant;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -44,36 +60,33 @@ public class ContentServiceImpl implements ContentService {
     private final TagService tagService;
     private final HybridFileService fileService;
     private final ContentEntityService contentEntityService; // New dependency for entity operations
+    private final ContentDtoAssembler dtoAssembler;
+    private final ContentSearchIndex searchIndex;
+    private final SearchIndexProperties searchIndexProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SearchResultCache searchResultCache;
+    private final UserCacheRegions cacheRegions;
+    private final PopularContentLoader popularContentLoader;
+    private final BlobService blobService;
+    private final ThumbnailJobQueue thumbnailJobQueue;
+    private final ContentStorageMover storageMover;
+    private final ViewCountBuffer viewCounts;
+    private final ContentDtoLoader contentDtoLoader;
+
+    private static final int MAX_SEARCH_SUGGESTIONS = 5;
 
     @Override
-    @Transactional(readOnly = true)
-    @Cacheable(value = "contents", key = "'content_' +@authService.getCurrentUser().getId() + '_' + #contentId")
     public ContentDTO getContent(UUID contentId) {
-        Content content = contentEntityService.getContentEntity(contentId);
+        ContentDTO cached = contentDtoLoader.loadContent(contentId);
 
-        // Asynchronously increment view count
+        // Buffered; written to the database in the background
         incrementViewCount(contentId);
 
-        ContentDTO dto = convertToContentDto(content);
-
-        // Add presigned URLs for cloud storage content
-        if (content.getStorageLocation() == StorageLocation.CLOUD) {
-            String presignedUrl = fileService.generatePresignedUrl(
-                    content.getStoragePath(),
-                    StorageLocation.CLOUD);
-            dto.setPresignedUrl(presignedUrl);
-            dto.setPresignedUrlExpiresAt(Instant.now().plusSeconds(3600).toEpochMilli());
-        }
-
-        // Add presigned URLs for cloud storage thumbnails
-        if (content.getThumbnailStorageLocation() == StorageLocation.CLOUD) {
-            String thumbnailPresignedUrl = fileService.generatePresignedUrl(
-                    content.getThumbnailPath(),
-                    StorageLocation.CLOUD);
-            dto.setThumbnailPresignedUrl(thumbnailPresignedUrl);
-        }
-
-        return dto;
+        // A copy, so the cached DTO keeps its own count
+        Integer storedCount = contentRepository.findViewCountById(contentId);
+        return cached.toBuilder()
+                .viewCount(viewCounts.currentCount(contentId, storedCount))
+                .build();
     }
 
     @Override
@@ -85,89 +98,234 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contents", key = "'allContents_page_' + @authService.getCurrentUser().getId() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contents", key = "@userCacheRegions.key('all') + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getAllContent(Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Page<Content> contentPage = contentRepository.findAllByUser(currentUser, pageable);
 
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contentsByFolder", key = "'folder_' +@authService.getCurrentUser().getId() + '_' + #folderId + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contentsByFolder", key = "@userCacheRegions.key('folder', #folderId) + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getContentByFolder(UUID folderId, Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
-        Folder folder = folderService.getFolderEntity(folderId);
-
-        // Verify ownership
-        SecurityUtils.checkOwnership(folder.getUser(), currentUser, "Folder", folderId);
+        User currentUser = authService.getCurrentUserReference();
+        Folder folder = folderService.getFolderReference(folderId);
 
         Page<Content> contentPage = contentRepository.findAllByUserAndFolder(currentUser, folder, pageable);
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contentsByType", key = "'type_' +@authService.getCurrentUser().getId() + '_' + #contentType + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contentsByType", key = "@userCacheRegions.key('type', #contentType) + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getContentByType(ContentType contentType, Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Page<Content> contentPage = contentRepository.findAllByUserAndContentType(currentUser, contentType, pageable);
 
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contentsByTag", key = "'tag_' +@authService.getCurrentUser().getId() + '_' + #tagId + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contentsByTag", key = "@userCacheRegions.key('tag', #tagId) + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getContentByTag(UUID tagId, Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
-        Tag tag = tagService.getTagEntity(tagId);
-
-        // Verify ownership
-        SecurityUtils.checkOwnership(tag.getUser(), currentUser, "Tag", tagId);
+        User currentUser = authService.getCurrentUserReference();
+        tagService.checkTagOwnership(tagId);
 
         Page<Content> contentPage = contentRepository.findAllByUserAndTagId(currentUser, tagId, pageable);
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contents", key = "'favorites_page_' +@authService.getCurrentUser().getId() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "contents", key = "@userCacheRegions.key('favorites') + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getFavoriteContent(Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Page<Content> contentPage = contentRepository.findAllByUserAndFavoriteIsTrue(currentUser, pageable);
 
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "recentContents", key = "'recent_page_' +@authService.getCurrentUser().getId() + '_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    @Cacheable(value = "recentContents", key = "@userCacheRegions.key('recent') + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
     public Page<ContentDTO> getRecentContent(Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Page<Content> contentPage = contentRepository.findRecentContents(currentUser, pageable);
 
-        return convertToContentDtoPage(contentPage);
+        return dtoAssembler.toDtoPage(contentPage);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "popularContents")
-    public List<ContentDTO> getPopularContent() {
-        User currentUser = authService.getCurrentUser();
-        List<Content> popularContent = contentRepository.findTop5ByUserOrderByViewCountDesc(currentUser);
+    @Cacheable(value = "contents", key = "@userCacheRegions.key('all') + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getAllContentSummaries(Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        return dtoAssembler.toSummaryPage(contentRepository.findSummariesByUser(currentUser, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contentsByFolder", key = "@userCacheRegions.key('folder', #folderId) + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getContentSummariesByFolder(UUID folderId, Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        Folder folder = folderService.getFolderReference(folderId);
+
+        return dtoAssembler.toSummaryPage(contentRepository.findSummariesByUserAndFolder(currentUser, folder, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contentsByType", key = "@userCacheRegions.key('type', #contentType) + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getContentSummariesByType(ContentType contentType, Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        return dtoAssembler.toSummaryPage(
+                contentRepository.findSummariesByUserAndContentType(currentUser, contentType, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contentsByTag", key = "@userCacheRegions.key('tag', #tagId) + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getContentSummariesByTag(UUID tagId, Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        tagService.checkTagOwnership(tagId);
+
+        return dtoAssembler.toSummaryPage(contentRepository.findSummariesByUserAndTagId(currentUser, tagId, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "contents", key = "@userCacheRegions.key('favorites') + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getFavoriteContentSummaries(Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        return dtoAssembler.toSummaryPage(contentRepository.findFavoriteSummariesByUser(currentUser, pageable));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "recentContents", key = "@userCacheRegions.key('recent') + '_summary_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public Page<ContentSummaryDTO> getRecentContentSummaries(Pageable pageable) {
+        User currentUser = authService.getCurrentUserReference();
+        return dtoAssembler.toSummaryPage(contentRepository.findRecentSummariesByUser(currentUser, pageable));
+    }
+
+    // Cursor slices are not cached: cursors are unbounded and each one is a cheap index seek
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentDTO> getAllContentSlice(String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        Window<Content> window = contentRepository.findByUserOrderByCreatedAtDescIdDesc(
+                currentUser, CursorUtils.toScrollPosition(cursor), Limit.of(size));
+        return dtoAssembler.toCursorPage(window, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentDTO> getContentSliceByFolder(UUID folderId, String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        Folder folder = folderService.getFolderReference(folderId);
+
+        Window<Content> window = contentRepository.findByUserAndFolderOrderByCreatedAtDescIdDesc(
+                currentUser, folder, CursorUtils.toScrollPosition(cursor), Limit.of(size));
+        return dtoAssembler.toCursorPage(window, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentDTO> getContentSliceByType(ContentType contentType, String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        Window<Content> window = contentRepository.findByUserAndContentTypeOrderByCreatedAtDescIdDesc(
+                currentUser, contentType, CursorUtils.toScrollPosition(cursor), Limit.of(size));
+        return dtoAssembler.toCursorPage(window, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentDTO> getContentSliceByTag(UUID tagId, String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        tagService.checkTagOwnership(tagId);
+
+        Window<Content> window = contentRepository.findByUserAndTagsIdOrderByCreatedAtDescIdDesc(
+                currentUser, tagId, CursorUtils.toScrollPosition(cursor), Limit.of(size));
+        return dtoAssembler.toCursorPage(window, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentDTO> getFavoriteContentSlice(String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        Window<Content> window = contentRepository.findByUserAndFavoriteIsTrueOrderByCreatedAtDescIdDesc(
+                currentUser, CursorUtils.toScrollPosition(cursor), Limit.of(size));
+        return dtoAssembler.toCursorPage(window, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentSummaryDTO> getAllContentSummarySlice(String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        return summarySlice(cursor, size, (createdAt, id, limit) ->
+                contentRepository.findSummarySliceByUser(currentUser, createdAt, id, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByFolder(UUID folderId, String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        Folder folder = folderService.getFolderReference(folderId);
+
+        return summarySlice(cursor, size, (createdAt, id, limit) ->
+                contentRepository.findSummarySliceByUserAndFolder(currentUser, folder, createdAt, id, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByType(ContentType contentType, String cursor,
+                                                                         int size) {
+        User currentUser = authService.getCurrentUserReference();
+        return summarySlice(cursor, size, (createdAt, id, limit) ->
+                contentRepository.findSummarySliceByUserAndContentType(currentUser, contentType, createdAt, id, limit));
+    }
 
-        return popularContent.stream()
-                .map(this::convertToContentDto)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentSummaryDTO> getContentSummarySliceByTag(UUID tagId, String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        tagService.checkTagOwnership(tagId);
+
+        return summarySlice(cursor, size, (createdAt, id, limit) ->
+                contentRepository.findSummarySliceByUserAndTagId(currentUser, tagId, createdAt, id, limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ContentSummaryDTO> getFavoriteContentSummarySlice(String cursor, int size) {
+        User currentUser = authService.getCurrentUserReference();
+        return summarySlice(cursor, size, (createdAt, id, limit) ->
+                contentRepository.findFavoriteSummarySliceByUser(currentUser, createdAt, id, limit));
+    }
+
+    // Fetches one row more than asked for, to tell whether another slice follows
+    private CursorPageDTO<ContentSummaryDTO> summarySlice(String cursor, int size, SummarySliceQuery query) {
+        Map<String, Object> keys = CursorUtils.toScrollPosition(cursor).getKeys();
+        List<ContentSummaryView> views = query.find(
+                (ZonedDateTime) keys.get("createdAt"), (UUID) keys.get("id"), Limit.of(size + 1));
+        return dtoAssembler.toSummaryCursorPage(views, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(value = "popularContents", key = "@userCacheRegions.userKey('popular')")
+    public List<ContentDTO> getPopularContent() {
+        return popularContentLoader.loadPopularContent(authService.getCurrentUserId());
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents","tags", "contentsByType"}, allEntries = true)
     public ContentDTO createTextContent(TextContentCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
 
         // Create content entity
         Content content = Content.builder()
@@ -185,8 +343,6 @@ public class ContentServiceImpl implements ContentService {
         // Set folder if provided
         if (request.getFolderId() != null) {
             Folder folder = folderService.getFolderEntity(request.getFolderId());
-            // Verify ownership
-            SecurityUtils.checkOwnership(folder.getUser(), currentUser, "Folder", folder.getId());
             content.setFolder(folder);
         }
 
@@ -220,15 +376,16 @@ public class ContentServiceImpl implements ContentService {
         // Save content again with tags
         savedContent = contentRepository.save(savedContent);
 
-        log.info("Created new text content: {} for user: {}", savedContent.getTitle(), currentUser.getUsername());
-        return convertToContentDto(savedContent);
+        log.info("Created new text content: {} for user: {}", savedContent.getTitle(), currentUser.getId());
+        cacheRegions.evictViewsOf(savedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(currentUser.getId(), savedContent.getId()));
+        return dtoAssembler.toDto(savedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents","tags,", "contentsByType"}, allEntries = true)
     public ContentDTO createLinkContent(LinkContentCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
 
         // Create content entity
         Content content = Content.builder()
@@ -246,8 +403,6 @@ public class ContentServiceImpl implements ContentService {
         // Set folder if provided
         if (request.getFolderId() != null) {
             Folder folder = folderService.getFolderEntity(request.getFolderId());
-            // Verify ownership
-            SecurityUtils.checkOwnership(folder.getUser(), currentUser, "Folder", folder.getId());
             content.setFolder(folder);
         }
 
@@ -281,13 +436,14 @@ public class ContentServiceImpl implements ContentService {
         // Save content again with tags
         savedContent = contentRepository.save(savedContent);
 
-        log.info("Created new link content: {} for user: {}", savedContent.getTitle(), currentUser.getUsername());
-        return convertToContentDto(savedContent);
+        log.info("Created new link content: {} for user: {}", savedContent.getTitle(), currentUser.getId());
+        cacheRegions.evictViewsOf(savedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(currentUser.getId(), savedContent.getId()));
+        return dtoAssembler.toDto(savedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents","tags", "contentsByType"}, allEntries = true)
     public ContentDTO createFileContent(
             MultipartFile file,
             String title,
@@ -300,7 +456,6 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents","tags", "contentsByType"}, allEntries = true)
     public ContentDTO createFileContent(
             MultipartFile file,
             String title,
@@ -309,7 +464,7 @@ public class ContentServiceImpl implements ContentService {
             List<UUID> tagIds,
             List<String> newTags,
             StorageLocation storageLocation) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         storageLocation = StorageLocation.CLOUD;
 
         if (file.isEmpty()) {
@@ -321,43 +476,89 @@ public class ContentServiceImpl implements ContentService {
                 file.getOriginalFilename(),
                 file.getContentType()
         );
+        Content content = newFileContent(currentUser, file.getOriginalFilename(), contentType,
+                title, description, folderId);
 
-        // Create content entity
+        // Store the file; an identical file already stored is reused instead
+        StoredFile storedFile = blobService.register(
+                fileService.storeFile(file, currentUser.getId(), contentType, storageLocation), currentUser);
+
+        return saveFileContent(content, storedFile, tagIds, newTags);
+    }
+
+    @Override
+    @Transactional
+    public ContentDTO createFileContentFromHash(FileContentFromHashRequest request) {
+        User currentUser = authService.getCurrentUserReference();
+
+        // A 404 tells the client to upload the bytes after all
+        StoredFile storedFile = blobService.acquire(request.getSha256(), currentUser)
+                .orElseThrow(() -> new ResourceNotFoundException("File", "sha256", request.getSha256()));
+
+        ContentType contentType = ContentTypeUtils.determineContentType(
+                request.getOriginalFilename(),
+                storedFile.mimeType()
+        );
+        Content content = newFileContent(currentUser, request.getOriginalFilename(), contentType,
+                request.getTitle(), request.getDescription(), request.getFolderId());
+
+        return saveFileContent(content, storedFile, request.getTagIds(), request.getNewTags());
+    }
+
+    private Content newFileContent(User currentUser, String originalFilename, ContentType contentType,
+                                   String title, String description, UUID folderId) {
         Content content = Content.builder()
-                .title(StringUtils.hasText(title) ? title : file.getOriginalFilename())
+                .title(StringUtils.hasText(title) ? title : originalFilename)
                 .description(description)
                 .contentType(contentType)
                 .user(currentUser)
                 .favorite(false)
                 .viewCount(0)
-                .originalFilename(file.getOriginalFilename())
-                .sizeBytes(file.getSize())
-                .mimeType(file.getContentType())
+                .originalFilename(originalFilename)
                 .tags(new HashSet<>())
-                .storageLocation(storageLocation)
                 .build();
 
         // Set folder if provided
         if (folderId != null) {
             Folder folder = folderService.getFolderEntity(folderId);
-            // Verify ownership
-            SecurityUtils.checkOwnership(folder.getUser(), currentUser, "Folder", folder.getId());
             content.setFolder(folder);
         }
+        return content;
+    }
 
-        // Store the file
-        String storagePath = fileService.storeFile(file, currentUser.getId(), contentType, storageLocation);
-        content.setStoragePath(storagePath);
-
-        // Generate thumbnail for images and videos
-        if (contentType == ContentType.IMAGE || contentType == ContentType.VIDEO) {
-            String thumbnailPath = fileService.generateThumbnail(storagePath, contentType, storageLocation);
-            content.setThumbnailPath(thumbnailPath);
-            content.setThumbnailStorageLocation(storageLocation);
+    private ContentDTO saveFileContent(Content content, StoredFile storedFile,
+                                       List<UUID> tagIds, List<String> newTags) {
+        User currentUser = content.getUser();
+
+        // Size, digest and MIME type are taken from what was actually stored
+        content.setStoragePath(storedFile.storagePath());
+        content.setStorageLocation(storedFile.storageLocation());
+        content.setSizeBytes(storedFile.sizeBytes());
+        content.setContentSha256(storedFile.sha256());
+        content.setMimeType(storedFile.mimeType());
+
+        // Thumbnails are only made for images; reuse the user's existing one for this file,
+        // otherwise generate it in the background once the upload is committed
+        boolean generateThumbnail = false;
+        if (content.getContentType() == ContentType.IMAGE) {
+            Optional<Content> sibling = contentRepository
+                    .findFirstByUserAndStoragePathAndStorageLocationAndThumbnailPathNotNull(
+                            currentUser, storedFile.storagePath(), storedFile.storageLocation());
+            if (sibling.isPresent()) {
+                content.setThumbnailPath(sibling.get().getThumbnailPath());
+                content.setThumbnailStorageLocation(sibling.get().getThumbnailStorageLocation());
+                content.setThumbnailStatus(ThumbnailStatus.READY);
+            } else {
+                content.setThumbnailStatus(ThumbnailStatus.PENDING);
+                generateThumbnail = true;
+            }
         }
 
         // Save content
         Content savedContent = contentRepository.save(content);
+        if (generateThumbnail) {
+            thumbnailJobQueue.enqueue(savedContent.getId());
+        }
 
         // Add tags if provided
         if (tagIds != null && !tagIds.isEmpty()) {
@@ -378,17 +579,18 @@ public class ContentServiceImpl implements ContentService {
         savedContent = contentRepository.save(savedContent);
 
         log.info("Created new file content: {} for user: {} with storage location: {}",
-                savedContent.getTitle(), currentUser.getUsername(), storageLocation);
-        return convertToContentDto(savedContent);
+                savedContent.getTitle(), currentUser.getId(), savedContent.getStorageLocation());
+        cacheRegions.evictViewsOf(savedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(currentUser.getId(), savedContent.getId()));
+        return dtoAssembler.toDto(savedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents", "tags", "contentsByType"}, allEntries = true)
     public ContentDTO updateContent(UUID contentId, ContentUpdateRequest request) {
         Content content = contentEntityService.getContentEntity(contentId);
-        User currentUser = authService.getCurrentUser();
-
+        User currentUser = authService.getCurrentUserReference();
+        cacheRegions.evictViewsOf(content);
 
         // Update basic properties
         if (StringUtils.hasText(request.getTitle())) {
@@ -401,7 +603,6 @@ public class ContentServiceImpl implements ContentService {
         if (request.getFolderId() != null &&
                 (content.getFolder() == null || !content.getFolder().getId().equals(request.getFolderId()))) {
             Folder folder = folderService.getFolderEntity(request.getFolderId());
-            SecurityUtils.checkOwnership(folder.getUser(), currentUser, "Folder", folder.getId());
             content.setFolder(folder);
         } else if (request.getFolderId() == null && content.getFolder() != null) {
             content.setFolder(null);
@@ -467,32 +668,32 @@ public class ContentServiceImpl implements ContentService {
 
         Content updatedContent = contentRepository.save(content);
         log.info("Updated content: {} for user: {}", updatedContent.getTitle(), updatedContent.getUser().getUsername());
+        cacheRegions.evictViewsOf(updatedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(currentUser.getId(), updatedContent.getId()));
 
-        return convertToContentDto(updatedContent);
+        return dtoAssembler.toDto(updatedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents",
-            "recentContents",
-            "popularContents",
-            "contentsByFolder",
-            "contentsByType"}, allEntries = true)
     public ContentDTO toggleFavorite(UUID contentId) {
         Content content = contentEntityService.getContentEntity(contentId);
+        cacheRegions.evictViewsOf(content);
         content.setFavorite(!content.isFavorite());
 
         Content updatedContent = contentRepository.save(content);
         log.info("Toggled favorite for content: {} to {}", content.getTitle(), content.isFavorite());
+        cacheRegions.evictViewsOf(updatedContent);
 
-        return convertToContentDto(updatedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(content.getUser().getId(), updatedContent.getId()));
+        return dtoAssembler.toDto(updatedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents"}, allEntries = true)
     public ContentDTO updateContentTags(UUID contentId, List<UUID> tagIds, List<String> newTags) {
         Content content = contentEntityService.getContentEntity(contentId);
+        cacheRegions.evictViewsOf(content);
 
         // Clear existing tags safely - manually break bidirectional relationship
         Set<Tag> existingTags = new HashSet<>(content.getTags());
@@ -518,28 +719,40 @@ public class ContentServiceImpl implements ContentService {
 
         Content updatedContent = contentRepository.save(content);
         log.info("Updated tags for content: {}", content.getTitle());
+        cacheRegions.evictViewsOf(updatedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(content.getUser().getId(), updatedContent.getId()));
 
-        return convertToContentDto(updatedContent);
+        return dtoAssembler.toDto(updatedContent);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents", "recentContents", "popularContents", "tags", "contentsByType"}, allEntries = true)
     public void deleteContent(UUID contentId) {
         Content content = contentEntityService.getContentEntity(contentId);
+        List<Runnable> deletions = new ArrayList<>();
 
-        // Delete file based on storage location
-        if (content.getStoragePath() != null) {
-            fileService.deleteFile(content.getStoragePath(), content.getStorageLocation());
+        // Delete file based on storage location, once no other content item shares it
+        String storagePath = content.getStoragePath();
+        StorageLocation storageLocation = content.getStorageLocation();
+        if (storagePath != null && blobService.release(storagePath, storageLocation)) {
+            deletions.add(() -> fileService.deleteFile(storagePath, storageLocation));
         }
 
-        // Delete thumbnail if it exists
-        if (content.getThumbnailPath() != null) {
-            fileService.deleteFile(content.getThumbnailPath(), content.getThumbnailStorageLocation());
+        // Delete thumbnail if it exists and is not shared either
+        String thumbnailPath = content.getThumbnailPath();
+        StorageLocation thumbnailLocation = content.getThumbnailStorageLocation();
+        if (thumbnailPath != null && !contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                thumbnailPath, thumbnailLocation, content.getId())) {
+            deletions.add(() -> fileService.deleteFile(thumbnailPath, thumbnailLocation));
         }
 
+        cacheRegions.evictViewsOf(content);
         contentRepository.delete(content);
+
+        // A rollback restores the blob's reference, so its file must survive until commit
+        AfterCommit.run(() -> deletions.forEach(Runnable::run));
         log.info("Deleted content: {} for user: {}", content.getTitle(), content.getUser().getUsername());
+        eventPublisher.publishEvent(ContentChangedEvent.deleted(content.getUser().getId(), content.getId()));
     }
 
     @Override
@@ -588,36 +801,148 @@ public class ContentServiceImpl implements ContentService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "contents", key = "'search_' + #searchTerm + '_page_' + #pageable.pageNumber + '_' + #pageable.pageSize")
+    public List<ContentUrlDTO> getPresignedUrls(List<UUID> contentIds) {
+        UUID userId = authService.getCurrentUserId();
+        Map<UUID, ContentStorageView> storageById = contentRepository
+                .findStorageViewsByUserIdAndIdIn(userId, new HashSet<>(contentIds)).stream()
+                .collect(Collectors.toMap(ContentStorageView::getId, Function.identity()));
+
+        List<ContentUrlDTO> urls = new ArrayList<>(storageById.size());
+        for (UUID contentId : new LinkedHashSet<>(contentIds)) {
+            ContentStorageView storage = storageById.get(contentId);
+            if (storage == null) {
+                continue;
+            }
+
+            ContentUrlDTO.ContentUrlDTOBuilder builder = ContentUrlDTO.builder().contentId(contentId);
+            if (storage.getStoragePath() != null) {
+                PresignedUrlDTO url = fileService.presignUrl(storage.getStoragePath(), storage.getStorageLocation());
+                if (url != null) {
+                    builder.presignedUrl(url.getUrl()).presignedUrlExpiresAt(url.getExpiresAt());
+                }
+            }
+            if (storage.getThumbnailPath() != null) {
+                PresignedUrlDTO url = fileService.presignUrl(
+                        storage.getThumbnailPath(), storage.getThumbnailStorageLocation());
+                if (url != null) {
+                    builder.thumbnailPresignedUrl(url.getUrl()).thumbnailPresignedUrlExpiresAt(url.getExpiresAt());
+                }
+            }
+            urls.add(builder.build());
+        }
+        return urls;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Page<ContentDTO> searchContent(String searchTerm, Pageable pageable) {
-        User currentUser = authService.getCurrentUser();
+        UUID currentUserId = authService.getCurrentUserId();
+
+        if (!StringUtils.hasText(searchTerm)) {
+            return Page.empty(pageable);
+        }
+
+        String query = SearchResultCache.normalize(searchTerm);
+        SearchResultCache.UserSearchResults cachedResults = searchResultCache.forUser(currentUserId);
+        Page<ContentDTO> cachedPage = cachedResults.getPage(query, pageable);
+        if (cachedPage != null) {
+            return cachedPage;
+        }
 
-        // Sanitize search term to prevent SQL injection
-        String sanitizedSearchTerm = searchTerm.replaceAll("[';\\\\%_]", "");
+        Page<ContentSearchHitView> hits = findSearchHits(currentUserId, query, pageable, cachedResults);
 
-        Page<Content> contentPage = contentRepository.fullTextSearchContents(currentUser.getId(), sanitizedSearchTerm, pageable);
+        List<UUID> ids = hits.getContent().stream().map(ContentSearchHitView::getId).toList();
+        List<Content> contents = ids.isEmpty() ? Collections.emptyList() : contentRepository.findAllById(ids);
 
-        return convertToContentDtoPage(contentPage);
+        Page<ContentDTO> page = dtoAssembler.toSearchResultPage(hits, contents);
+        cachedResults.putPage(query, pageable, page);
+        return page;
+    }
+
+    /**
+     * Finds one page of search hits. Pages are cut from the query's full candidate
+     * set, which is loaded once, or derived from the cached candidates of a broader
+     * query; only queries with too many hits to hold are paged in the database.
+     */
+    private Page<ContentSearchHitView> findSearchHits(UUID userId, String query, Pageable pageable,
+                                                      SearchResultCache.UserSearchResults cachedResults) {
+        // Results are ordered by relevance, so any requested sort is dropped
+        Pageable relevancePage = pageable.isPaged()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+                : Pageable.unpaged();
+
+        List<ContentSearchHitView> candidates = cachedResults.getCandidates(query);
+        if (candidates == null) {
+            List<UUID> broaderCandidates = cachedResults.findNarrowingCandidates(query);
+            candidates = broaderCandidates != null
+                    ? contentRepository.findSearchCandidatesAmong(userId, query, broaderCandidates)
+                    : contentRepository.findSearchCandidates(userId, query, cachedResults.maxCandidates() + 1);
+
+            if (candidates.size() > cachedResults.maxCandidates()) {
+                return contentRepository.fullTextSearchContents(userId, query, relevancePage);
+            }
+            cachedResults.putCandidates(query, candidates);
+        }
+
+        if (relevancePage.isUnpaged()) {
+            return new PageImpl<>(candidates, relevancePage, candidates.size());
+        }
+        int from = (int) Math.min(relevancePage.getOffset(), candidates.size());
+        int to = Math.min(from + relevancePage.getPageSize(), candidates.size());
+        return new PageImpl<>(candidates.subList(from, to), relevancePage, candidates.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getSearchSuggestions(String query) {
+        if (!StringUtils.hasText(query)) {
+            return Collections.emptyList();
+        }
+
+        return contentRepository.findSearchSuggestions(authService.getCurrentUserId(), query.trim(), MAX_SEARCH_SUGGESTIONS)
+                .stream()
+                .map(SearchSuggestionView::getTerm)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SearchHitDTO> instantSearch(String query, Integer limit) {
+        int maxHits = limit == null
+                ? searchIndexProperties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, searchIndexProperties.getMaxLimit()));
+
+        if (!StringUtils.hasText(query)) {
+            return Collections.emptyList();
+        }
+
+        if (searchIndexProperties.isEnabled()) {
+            return searchIndex.search(authService.getCurrentUserId(), query, maxHits);
+        }
+
+        // In-memory tier disabled: fall back to database full-text search
+        return searchContent(query, PageRequest.of(0, maxHits)).getContent().stream()
+                .map(dto -> SearchHitDTO.builder()
+                        .id(dto.getId())
+                        .title(dto.getTitle())
+                        .contentType(dto.getContentType())
+                        .build())
+                .toList();
     }
 
     @Override
-    @Transactional
     public void incrementViewCount(UUID contentId) {
-        contentRepository.findById(contentId).ifPresent(content -> {
-            content.incrementViewCount();
-            contentRepository.save(content);
-        });
+        viewCounts.record(contentId);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"contents"}, allEntries = true)
     public ContentDTO moveContentStorage(UUID contentId, StorageLocation targetStorageLocation) {
         Content content = contentEntityService.getContentEntity(contentId);
 
         if (content.getStorageLocation() == targetStorageLocation) {
             log.info("Content is already in the requested storage location: {}", targetStorageLocation);
-            return convertToContentDto(content);
+            return dtoAssembler.toDto(content);
         }
 
         return moveContentStorage(content, targetStorageLocation);
@@ -633,105 +958,21 @@ public class ContentServiceImpl implements ContentService {
             throw new BadRequestException("Content has no file to move");
         }
 
-        // Move the file to the target storage
-        String newStoragePath;
-        if (targetStorageLocation == StorageLocation.CLOUD) {
-            newStoragePath = fileService.moveToCloud(
-                    content.getStoragePath(),
-                    content.getUser().getId(),
-                    content.getContentType());
-        } else {
-            newStoragePath = fileService.moveToLocal(
-                    content.getStoragePath(),
-                    content.getUser().getId(),
-                    content.getContentType());
-        }
-
-        // Update the content record
-        content.setStoragePath(newStoragePath);
-        content.setStorageLocation(targetStorageLocation);
-
-        // Move thumbnail if it exists
-        if (content.getThumbnailPath() != null) {
-            // For now, thumbnails move with the main file
-            // This could be improved to handle thumbnails more intelligently
-            content.setThumbnailStorageLocation(targetStorageLocation);
-        }
+        // Copy the file and thumbnail; the old ones go once the move commits, unless shared
+        ContentStorageMover.Transfer transfer = storageMover.copy(content, targetStorageLocation);
+        storageMover.apply(content, transfer);
 
         Content savedContent = contentRepository.save(content);
         log.info("Moved content {} to storage location: {}",
                 content.getId(), targetStorageLocation);
 
-        return convertToContentDto(savedContent);
+        cacheRegions.evictViewsOf(savedContent);
+        eventPublisher.publishEvent(ContentChangedEvent.upserted(content.getUser().getId(), savedContent.getId()));
+        return dtoAssembler.toDto(savedContent);
     }
 
-
-
-    private ContentDTO convertToContentDto(Content content) {
-        ContentDTO.ContentDTOBuilder builder = ContentDTO.builder()
-                .id(content.getId())
-                .title(content.getTitle())
-                .description(content.getDescription())
-                .contentType(content.getContentType())
-                .folderId(content.getFolder() != null ? content.getFolder().getId() : null)
-                .folderName(content.getFolder() != null ? content.getFolder().getName() : null)
-                .sizeBytes(content.getSizeBytes())
-                .mimeType(content.getMimeType())
-                .storagePath(content.getStoragePath())
-                .storageLocation(content.getStorageLocation())
-                .originalFilename(content.getOriginalFilename())
-                .thumbnailPath(content.getThumbnailPath())
-                .thumbnailStorageLocation(content.getThumbnailStorageLocation())
-                .favorite(content.isFavorite())
-                .viewCount(content.getViewCount())
-                .metadata(content.getMetadata())
-                .tags(content.getTags().stream()
-                        .map(tag -> TagDTO.builder()
-                                .id(tag.getId())
-                                .name(tag.getName())
-                                .color(tag.getColor())
-                                .build())
-                        .collect(Collectors.toList()))
-                .createdAt(content.getCreatedAt())
-                .updatedAt(content.getUpdatedAt());
-
-        // Add type-specific content
-        if (content.getContentType() == ContentType.TEXT) {
-            textContentRepository.findByContentId(content.getId()).ifPresent(textContent ->
-                    builder.textContent(textContent.getTextContent()));
-        } else if (content.getContentType() == ContentType.LINK) {
-            linkContentRepository.findByContentId(content.getId()).ifPresent(linkContent -> {
-                builder.url(linkContent.getUrl());
-                builder.previewImagePath(linkContent.getPreviewImagePath());
-            });
-        }
-
-        // For cloud-stored content, add presigned URLs
-        if (content.getStorageLocation() == StorageLocation.CLOUD && content.getStoragePath() != null) {
-            String presignedUrl = fileService.generatePresignedUrl(content.getStoragePath(), StorageLocation.CLOUD);
-            builder.presignedUrl(presignedUrl);
-            builder.presignedUrlExpiresAt(Instant.now().plusSeconds(3600).toEpochMilli());
-        }
-
-        // For cloud-stored thumbnails
-        if (content.getThumbnailStorageLocation() == StorageLocation.CLOUD && content.getThumbnailPath() != null) {
-            String thumbnailPresignedUrl = fileService.generatePresignedUrl(
-                    content.getThumbnailPath(),
-                    StorageLocation.CLOUD);
-            builder.thumbnailPresignedUrl(thumbnailPresignedUrl);
-        }
-
-        return builder.build();
+    @FunctionalInterface
+    private interface SummarySliceQuery {
+        List<ContentSummaryView> find(ZonedDateTime createdAt, UUID id, Limit limit);
     }
-
-
-    private Page<ContentDTO> convertToContentDtoPage(Page<Content> contentPage) {
-        List<ContentDTO> contentDtos = contentPage.getContent().stream()
-                .map(this::convertToContentDto)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(contentDtos, contentPage.getPageable(), contentPage.getTotalElements());
-    }
-
-
-}
\ No newline at end of file
+}
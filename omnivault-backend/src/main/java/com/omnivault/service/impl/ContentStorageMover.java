@@ -0,0 +1,147 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.service.BlobService;
+import com.omnivault.service.StoredFile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves the file and thumbnail of a content item between storage locations.
+ * <p>
+ * A move has two steps. {@link #copy} transfers the files and may run outside a
+ * transaction, as it can take a while. {@link #apply} then points the content
+ * item at the copies within the caller's transaction. The old files are deleted
+ * once that transaction commits, unless other content items still share them;
+ * if it rolls back, the copies are deleted instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class ContentStorageMover {
+
+    private final HybridFileService fileService;
+    private final BlobService blobService;
+    private final ContentRepository contentRepository;
+
+    /**
+     * Files of a content item copied to another storage location.
+     *
+     * @param sourcePath The storage path the item had when it was copied
+     * @param sourceLocation The storage location the item had when it was copied
+     * @param file The copied file
+     * @param sourceThumbnailPath The thumbnail the item had when it was copied
+     * @param thumbnailPath The copied thumbnail, or null if there was none to copy
+     */
+    public record Transfer(String sourcePath, StorageLocation sourceLocation, StoredFile file,
+                           String sourceThumbnailPath, String thumbnailPath) {
+
+        public StorageLocation targetLocation() {
+            return file.storageLocation();
+        }
+    }
+
+    /**
+     * Copies the file and thumbnail of a content item to another storage location.
+     * The content item is not modified.
+     *
+     * @param content The content item
+     * @param targetLocation The storage location to copy to
+     * @return The copies
+     */
+    public Transfer copy(Content content, StorageLocation targetLocation) {
+        StoredFile file = copyFile(content.getStoragePath(), targetLocation, content);
+
+        String thumbnailPath = null;
+        if (content.getThumbnailPath() != null && content.getThumbnailStorageLocation() != targetLocation) {
+            try {
+                thumbnailPath = copyFile(content.getThumbnailPath(), targetLocation, content).storagePath();
+            } catch (RuntimeException e) {
+                fileService.deleteFile(file.storagePath(), file.storageLocation());
+                throw e;
+            }
+        }
+        return new Transfer(content.getStoragePath(), content.getStorageLocation(), file,
+                content.getThumbnailPath(), thumbnailPath);
+    }
+
+    /**
+     * Points a content item at its copied files. Must run in a transaction.
+     *
+     * @param content The content item, managed by the current transaction
+     * @param transfer The copies made from it
+     * @return false if the item was changed since it was copied, in which case it is left
+     * alone and the copies have to be {@linkplain #discard discarded}
+     */
+    public boolean apply(Content content, Transfer transfer) {
+        if (!Objects.equals(content.getStoragePath(), transfer.sourcePath())
+                || content.getStorageLocation() != transfer.sourceLocation()) {
+            return false;
+        }
+
+        List<Runnable> obsolete = new ArrayList<>();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    obsolete.forEach(Runnable::run);
+                } else {
+                    discard(transfer);
+                }
+            }
+        });
+
+        // Reuse an identical file already stored at the target
+        StoredFile file = blobService.register(transfer.file(), content.getUser());
+
+        String oldStoragePath = content.getStoragePath();
+        StorageLocation oldStorageLocation = content.getStorageLocation();
+        content.setStoragePath(file.storagePath());
+        content.setStorageLocation(file.storageLocation());
+        if (blobService.release(oldStoragePath, oldStorageLocation)) {
+            obsolete.add(() -> fileService.deleteFile(oldStoragePath, oldStorageLocation));
+        }
+
+        String oldThumbnailPath = content.getThumbnailPath();
+        StorageLocation oldThumbnailLocation = content.getThumbnailStorageLocation();
+        if (transfer.thumbnailPath() != null && !Objects.equals(oldThumbnailPath, transfer.sourceThumbnailPath())) {
+            // The thumbnail was replaced in the meantime; keep the new one where it is
+            obsolete.add(() -> fileService.deleteFile(transfer.thumbnailPath(), transfer.targetLocation()));
+        } else if (transfer.thumbnailPath() != null) {
+            content.setThumbnailPath(transfer.thumbnailPath());
+            content.setThumbnailStorageLocation(transfer.targetLocation());
+            // Items made from the same upload share their thumbnail
+            if (!contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                    oldThumbnailPath, oldThumbnailLocation, content.getId())) {
+                obsolete.add(() -> fileService.deleteFile(oldThumbnailPath, oldThumbnailLocation));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the copies of a transfer that was not applied.
+     *
+     * @param transfer The copies
+     */
+    public void discard(Transfer transfer) {
+        // A copy that duplicated a stored blob has already been dropped by the blob service
+        fileService.deleteFile(transfer.file().storagePath(), transfer.targetLocation());
+        if (transfer.thumbnailPath() != null) {
+            fileService.deleteFile(transfer.thumbnailPath(), transfer.targetLocation());
+        }
+    }
+
+    private StoredFile copyFile(String storagePath, StorageLocation targetLocation, Content content) {
+        return targetLocation == StorageLocation.CLOUD
+                ? fileService.copyToCloud(storagePath, content.getUser().getId(), content.getContentType())
+                : fileService.copyToLocal(storagePath, content.getUser().getId(), content.getContentType());
+    }
+}
@@ -1,9 +1,14 @@
 package com.omnivault.service.impl;
 
 import com.omnivault.config.StorageProperties;
+import com.omnivault.config.ThumbnailProperties;
 import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.exception.FileStorageException;
 import com.omnivault.service.FileService;
+import com.omnivault.service.StoredFile;
+import com.omnivault.util.DigestingInputStream;
+import com.omnivault.util.ThumbnailScaler;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,10 +20,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.imageio.ImageIO;
-import java.awt.Image;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.MalformedURLException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -32,6 +39,7 @@ import java.util.UUID;
 public class FileServiceImpl implements FileService {
 
     private final StorageProperties storageProperties;
+    private final ThumbnailProperties thumbnailProperties;
     private final Tika tika = new Tika();
     private Path rootLocation;
 
@@ -59,7 +67,12 @@ public class FileServiceImpl implements FileService {
     }
 
 
-    public String storeFile(MultipartFile file, UUID userId, ContentType contentType) {
+    /**
+     * Stores an uploaded file in a single pass. The upload is streamed into a temp
+     * file next to its target, hashed and sniffed on the way, and committed with an
+     * atomic rename, so readers never see a partially written file.
+     */
+    public StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType) {
         if (file.isEmpty()) {
             throw new FileStorageException("Failed to store empty file");
         }
@@ -80,45 +93,52 @@ public class FileServiceImpl implements FileService {
         // Generate a unique storage path
         String storagePath = generateStoragePath(userId, contentType, originalFilename);
         Path targetPath = getPath(storagePath);
-        File tempFile = null;
+        Path tempFile = null;
 
         try {
             // Make sure the target directory exists
             Files.createDirectories(targetPath.getParent());
 
-            // First save to temp file to avoid partial writes
-            tempFile = File.createTempFile("upload_", "_temp");
+            // The temp file lives in the target directory, so committing it is a rename
+            // on the same file system rather than a second copy
+            tempFile = Files.createTempFile(targetPath.getParent(), ".upload_", ".tmp");
 
-            // Copy the file
-            try (InputStream inputStream = file.getInputStream();
-                 FileOutputStream outputStream = new FileOutputStream(tempFile)) {
-
-                byte[] buffer = new byte[4096];
-                int bytesRead;
-                while ((bytesRead = inputStream.read(buffer)) != -1) {
-                    outputStream.write(buffer, 0, bytesRead);
-                }
-                outputStream.flush();
+            DigestingInputStream inputStream = new DigestingInputStream(file.getInputStream());
+            try (inputStream) {
+                Files.copy(inputStream, tempFile, StandardCopyOption.REPLACE_EXISTING);
             }
-
-            // Then move to final location
-            Files.copy(tempFile.toPath(), targetPath, StandardCopyOption.REPLACE_EXISTING);
-
-            log.info("Stored file {} at {}", originalFilename, targetPath);
-            return storagePath;
+            moveIntoPlace(tempFile, targetPath);
+            tempFile = null;
+
+            StoredFile stored = new StoredFile(storagePath, StorageLocation.LOCAL, inputStream.getSize(), inputStream.getSha256(),
+                    inputStream.detectMimeType(originalFilename));
+            log.info("Stored file {} at {} ({} bytes, {})", originalFilename, targetPath,
+                    stored.sizeBytes(), stored.mimeType());
+            return stored;
         } catch (IOException e) {
             log.error("Failed to store file: {}", originalFilename, e);
             throw new FileStorageException("Failed to store file " + originalFilename, e);
         } finally {
-            // Clean up temp file and handle the result of delete()
-            if (tempFile != null && tempFile.exists()) {
-                if (!tempFile.delete()) {
-                    log.warn("Failed to delete temporary file: {}", tempFile.getAbsolutePath());
+            // Clean up the temp file if the upload did not make it into place
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temporary file: {}", tempFile, e);
                 }
             }
         }
     }
 
+    private void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            // Storage paths are unique, so nothing can observe the target before the move completes
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
 
     public String generateThumbnail(String storagePath, ContentType contentType) {
         Path sourcePath = getPath(storagePath);
@@ -129,62 +149,67 @@ public class FileServiceImpl implements FileService {
     }
 
     public String generateThumbnailFromFile(File sourceFile, ContentType contentType, String filename) {
+        // For now, we'll only handle image thumbnails - video would require additional libraries
+        if (contentType != ContentType.IMAGE) {
+            return null;
+        }
+
+        String thumbnailPath = getThumbnailPath(filename);
+        Path targetPath = getPath(thumbnailPath);
         try {
-            // Generate thumbnail filename
-            String thumbnailPath = getThumbnailPath(filename);
-            Path targetPath = getPath(thumbnailPath);
+            BufferedImage thumbnail;
+            try (ImageInputStream input = ImageIO.createImageInputStream(sourceFile)) {
+                thumbnail = input != null ? ThumbnailScaler.scale(input, thumbnailProperties.getMaxSize()) : null;
+            }
+            if (thumbnail == null) {
+                log.warn("Could not read image file: {}", sourceFile);
+                return null;
+            }
 
-            // Create parent directories if they don't exist
+            // Thumbnails are always JPEG, whatever the format of the image
             Files.createDirectories(targetPath.getParent());
-
-            // For now, we'll only handle image thumbnails - video would require additional libraries
-            if (contentType == ContentType.IMAGE) {
-                BufferedImage originalImage = ImageIO.read(sourceFile);
-                if (originalImage == null) {
-                    log.warn("Could not read image file: {}", sourceFile);
-                    return null;
-                }
-
-                // Create thumbnail (max 200x200 while preserving aspect ratio)
-                int maxSize = 200;
-                int originalWidth = originalImage.getWidth();
-                int originalHeight = originalImage.getHeight();
-
-                int width = originalWidth;
-                int height = originalHeight;
-
-                if (originalWidth > maxSize || originalHeight > maxSize) {
-                    if (originalWidth > originalHeight) {
-                        width = maxSize;
-                        height = (int) ((double) originalHeight / originalWidth * maxSize);
-                    } else {
-                        height = maxSize;
-                        width = (int) ((double) originalWidth / originalHeight * maxSize);
-                    }
-                }
-
-                // Create scaled image
-                Image scaledImage = originalImage.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-                BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-                thumbnail.getGraphics().drawImage(scaledImage, 0, 0, null);
-
-                // Save thumbnail
-                String extension = FilenameUtils.getExtension(filename).toLowerCase();
-                ImageIO.write(thumbnail, extension, targetPath.toFile());
-
-                log.info("Generated thumbnail for {} at {}", sourceFile, targetPath);
-                return thumbnailPath;
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(targetPath))) {
+                ThumbnailScaler.writeJpeg(thumbnail, thumbnailProperties.getJpegQuality(), output);
             }
 
-            return null;
-        } catch (IOException e) {
+            log.info("Generated thumbnail for {} at {}", sourceFile, targetPath);
+            return thumbnailPath;
+        } catch (IOException | RuntimeException e) {
+            // Unsupported variants such as CMYK JPEGs fail while decoding
             log.error("Failed to generate thumbnail for {}", sourceFile, e);
+            try {
+                Files.deleteIfExists(targetPath);
+            } catch (IOException ignored) {
+                // Nothing more to clean up
+            }
             return null;
         }
     }
 
 
 
+    /**
+     * Renders a JPEG thumbnail from an image stream, entirely in memory.
+     * The stream is read once and never spilled to disk.
+     *
+     * @param source The encoded image; not closed
+     * @return The JPEG bytes, or null if the image cannot be read
+     * @throws IOException If the stream cannot be read
+     */
+    public byte[] createThumbnail(InputStream source) throws IOException {
+        BufferedImage thumbnail;
+        // ImageIO.createImageInputStream would cache to a temp file by default
+        try (ImageInputStream input = new MemoryCacheImageInputStream(source)) {
+            thumbnail = ThumbnailScaler.scale(input, thumbnailProperties.getMaxSize());
+        }
+        if (thumbnail == null) {
+            return null;
+        }
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ThumbnailScaler.writeJpeg(thumbnail, thumbnailProperties.getJpegQuality(), output);
+        return output.toByteArray();
+    }
+
     public Resource loadFileAsResource(String storagePath) {
         try {
             Path file = getPath(storagePath);
@@ -268,9 +293,8 @@ public class FileServiceImpl implements FileService {
     private String getThumbnailPath(String storagePath) {
         String directory = FilenameUtils.getPath(storagePath);
         String basename = FilenameUtils.getBaseName(storagePath);
-        String extension = FilenameUtils.getExtension(storagePath);
 
-        return String.format("%sthumbnails/%s_thumb.%s", directory, basename, extension);
+        return String.format("%sthumbnails/%s_thumb.jpg", directory, basename);
     }
 
     private void validateFileSize(MultipartFile file, ContentType contentType) {
@@ -2,23 +2,32 @@ package com.omnivault.service.impl;
 
 import com.omnivault.domain.dto.request.FolderCreateRequest;
 import com.omnivault.domain.dto.response.FolderDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.model.Content;
 import com.omnivault.domain.model.Folder;
+import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.domain.model.User;
 import com.omnivault.exception.BadRequestException;
 import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.repository.ContentRepository;
 import com.omnivault.repository.FolderRepository;
 import com.omnivault.service.AuthService;
+import com.omnivault.service.BlobService;
 import com.omnivault.service.FolderService;
+import com.omnivault.util.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,12 +38,17 @@ public class FolderServiceImpl implements FolderService {
 
     private final FolderRepository folderRepository;
     private final AuthService authService;
+    private final UserCacheRegions cacheRegions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentRepository contentRepository;
+    private final BlobService blobService;
+    private final HybridFileService fileService;
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "folders", key = "'rootFolders_' + @authService.getCurrentUser().getId()")
+    @Cacheable(value = "folders", key = "@userCacheRegions.key('folders') + '_root'")
     public List<FolderDTO> getRootFolders() {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         List<Folder> rootFolders = folderRepository.findAllByUserAndParentIsNull(currentUser);
         return rootFolders.stream()
                 .map(this::convertToFolderDto)
@@ -43,9 +57,9 @@ public class FolderServiceImpl implements FolderService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "folders", key = "'subFolders_' +@authService.getCurrentUser().getId() + '_' + #folderId")
+    @Cacheable(value = "folders", key = "@userCacheRegions.key('folders') + '_sub_' + #folderId")
     public List<FolderDTO> getSubfolders(UUID folderId) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Folder parentFolder = folderRepository.findByIdAndUser(folderId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Folder", "id", folderId));
 
@@ -57,23 +71,30 @@ public class FolderServiceImpl implements FolderService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "folders", key = "'folder_' + @authService.getCurrentUser().getId() + '_' + #folderId")
+    @Cacheable(value = "folders", key = "@userCacheRegions.key('folders') + '_' + #folderId")
     public FolderDTO getFolder(UUID folderId) {
         return convertToFolderDto(getFolderEntity(folderId));
     }
 
     @Override
     public Folder getFolderEntity(UUID folderId) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         return folderRepository.findByIdAndUser(folderId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Folder", "id", folderId));
     }
 
+    @Override
+    public Folder getFolderReference(UUID folderId) {
+        if (!folderRepository.existsByIdAndUserId(folderId, authService.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Folder", "id", folderId);
+        }
+        return folderRepository.getReferenceById(folderId);
+    }
+
     @Override
     @Transactional
-    @CacheEvict(value = "folders", allEntries = true)
     public FolderDTO createFolder(FolderCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
 
         // Check for duplicate folder name at the same level
         if (request.getParentId() == null) {
@@ -107,16 +128,16 @@ public class FolderServiceImpl implements FolderService {
         }
 
         Folder savedFolder = folderRepository.save(folder);
-        log.info("Created new folder: {} for user: {}", savedFolder.getName(), currentUser.getUsername());
+        log.info("Created new folder: {} for user: {}", savedFolder.getName(), currentUser.getId());
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.FOLDERS);
 
         return convertToFolderDto(savedFolder);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "folders", allEntries = true)
     public FolderDTO updateFolder(UUID folderId, FolderCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Folder folder = folderRepository.findByIdAndUser(folderId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Folder", "id", folderId));
 
@@ -135,6 +156,12 @@ public class FolderServiceImpl implements FolderService {
             }
         }
 
+        // Content DTOs and search results carry the folder name
+        boolean renamed = !Objects.equals(folder.getName(), request.getName());
+        if (renamed) {
+            cacheRegions.evictAllContentViews(currentUser.getId());
+        }
+
         // Update folder properties
         folder.setName(request.getName());
         folder.setDescription(request.getDescription());
@@ -168,33 +195,85 @@ public class FolderServiceImpl implements FolderService {
         }
 
         Folder updatedFolder = folderRepository.save(folder);
-        log.info("Updated folder: {} for user: {}", updatedFolder.getName(), currentUser.getUsername());
+        log.info("Updated folder: {} for user: {}", updatedFolder.getName(), currentUser.getId());
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.FOLDERS);
+        if (renamed) {
+            eventPublisher.publishEvent(ContentChangedEvent.bulk(currentUser.getId()));
+        }
 
         return convertToFolderDto(updatedFolder);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"folders", "contents"}, allEntries = true)
     public void deleteFolder(UUID folderId) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Folder folder = folderRepository.findByIdAndUser(folderId, currentUser)
                 .orElseThrow(() -> new ResourceNotFoundException("Folder", "id", folderId));
 
+        releaseFiles(folder);
         folderRepository.delete(folder);
-        log.info("Deleted folder: {} for user: {}", folder.getName(), currentUser.getUsername());
+        log.info("Deleted folder: {} for user: {}", folder.getName(), currentUser.getId());
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.FOLDERS);
+        cacheRegions.evictAllContentViews(currentUser.getId());
+
+        // The folder's content and subfolders are deleted with it; also drops cached search results
+        eventPublisher.publishEvent(ContentChangedEvent.bulk(currentUser.getId()));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<FolderDTO> searchFolders(String searchTerm) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         List<Folder> folders = folderRepository.searchFolders(currentUser, searchTerm);
         return folders.stream()
                 .map(this::convertToFolderDto)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Releases the files of the content items deleted along with a folder and its subfolders,
+     * as deleting them one by one would. Unreferenced files are deleted once the transaction commits.
+     *
+     * @param folder The folder about to be deleted
+     */
+    private void releaseFiles(Folder folder) {
+        List<Content> contents = new ArrayList<>();
+        collectContents(folder, contents);
+        if (contents.isEmpty()) {
+            return;
+        }
+
+        List<Runnable> deletions = new ArrayList<>();
+        Set<StoredThumbnail> thumbnails = new LinkedHashSet<>();
+        for (Content content : contents) {
+            String storagePath = content.getStoragePath();
+            StorageLocation storageLocation = content.getStorageLocation();
+            if (storagePath != null && blobService.release(storagePath, storageLocation)) {
+                deletions.add(() -> fileService.deleteFile(storagePath, storageLocation));
+            }
+            if (content.getThumbnailPath() != null) {
+                thumbnails.add(new StoredThumbnail(content.getThumbnailPath(), content.getThumbnailStorageLocation()));
+            }
+        }
+
+        // Items made from the same upload share their thumbnail, possibly with items elsewhere
+        List<UUID> contentIds = contents.stream().map(Content::getId).toList();
+        for (StoredThumbnail thumbnail : thumbnails) {
+            if (!contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn(
+                    thumbnail.path(), thumbnail.location(), contentIds)) {
+                deletions.add(() -> fileService.deleteFile(thumbnail.path(), thumbnail.location()));
+            }
+        }
+
+        AfterCommit.run(() -> deletions.forEach(Runnable::run));
+    }
+
+    private static void collectContents(Folder folder, List<Content> contents) {
+        contents.addAll(folder.getContents());
+        folder.getSubfolders().forEach(subfolder -> collectContents(subfolder, contents));
+    }
+
     private FolderDTO convertToFolderDto(Folder folder) {
         int contentCount = folderRepository.countContentsByFolderId(folder.getId());
         int subfolderCount = folderRepository.countSubfoldersByFolderId(folder.getId());
@@ -219,4 +298,7 @@ public class FolderServiceImpl implements FolderService {
                 .updatedAt(folder.getUpdatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    private record StoredThumbnail(String path, StorageLocation location) {
+    }
+}
@@ -1,10 +1,12 @@
 package com.omnivault.service.impl;
 
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.exception.FileStorageException;
 import com.omnivault.service.CloudStorageService;
 import com.omnivault.service.FileService;
+import com.omnivault.service.StoredFile;
 import com.omnivault.util.ContentTypeUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -14,9 +16,6 @@ import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.nio.file.Path;
 import java.util.UUID;
@@ -37,11 +36,11 @@ public class HybridFileService implements FileService {
     }
 
     @Override
-    public String storeFile(MultipartFile file, UUID userId, ContentType contentType) {
+    public StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType) {
         return storeFile(file, userId, contentType, StorageLocation.LOCAL);
     }
 
-    public String storeFile(MultipartFile file, UUID userId, ContentType contentType, StorageLocation storageLocation) {
+    public StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType, StorageLocation storageLocation) {
         // If cloud storage is requested but not enabled, fall back to local storage
         if (storageLocation == StorageLocation.CLOUD && !cloudStorageService.isEnabled()) {
             log.warn("Cloud storage requested but not enabled, falling back to local storage");
@@ -67,61 +66,35 @@ public class HybridFileService implements FileService {
     }
 
     public String generateThumbnail(String storagePath, ContentType contentType, StorageLocation storageLocation) {
-        // For cloud storage, we need to download, process, and re-upload
-        if (storageLocation == StorageLocation.CLOUD) {
-            try {
-                // Download the file from cloud
-                Resource resource = cloudStorageService.loadFileAsResource(storagePath);
-
-                // Create a temp file
-                File tempFile = File.createTempFile("cloud_", "_temp");
-                try (FileOutputStream fos = new FileOutputStream(tempFile);
-                     InputStream is = resource.getInputStream()) {
-                    byte[] buffer = new byte[8192];
-                    int bytesRead;
-                    while ((bytesRead = is.read(buffer)) != -1) {
-                        fos.write(buffer, 0, bytesRead);
-                    }
-                }
-
-                // Generate thumbnail locally (using a modified version that accepts a file)
-                String tempThumbnailPath = localFileService.generateThumbnailFromFile(
-                        tempFile,
-                        contentType,
-                        FilenameUtils.getName(storagePath));
-
-                if (tempThumbnailPath == null) {
-                    tempFile.delete();
-                    return null;
-                }
-
-                // Upload thumbnail to cloud
-                File thumbnailFile = localFileService.getPath(tempThumbnailPath).toFile();
-                MultipartFile multipartFile = new CustomMultipartFile(
-                        new FileInputStream(thumbnailFile),
-                        thumbnailFile.length(),
-                        "thumbnail_" + FilenameUtils.getName(storagePath));
-
-                // Create path for cloud thumbnail
-                String cloudThumbnailPath = cloudStorageService.storeFile(
-                        multipartFile,
-                        extractUserId(storagePath),
-                        contentType,
-                        "thumbnail_" + FilenameUtils.getName(storagePath));
-
-                // Clean up temp files
-                tempFile.delete();
-                if (!tempThumbnailPath.equals(thumbnailFile.getPath())) {
-                    thumbnailFile.delete();
-                }
-
-                return cloudThumbnailPath;
-            } catch (Exception e) {
-                log.error("Failed to generate cloud thumbnail", e);
+        if (storageLocation != StorageLocation.CLOUD) {
+            return localFileService.generateThumbnail(storagePath, contentType);
+        }
+        // Only images have thumbnails; don't download anything else
+        if (contentType != ContentType.IMAGE) {
+            return null;
+        }
+
+        // Decode straight from the S3 stream and upload the encoded thumbnail with
+        // a single request, so nothing touches the local disk
+        try {
+            byte[] thumbnail;
+            try (InputStream source = cloudStorageService.loadFileAsResource(storagePath).getInputStream()) {
+                thumbnail = localFileService.createThumbnail(source);
+            }
+            if (thumbnail == null) {
+                log.warn("Could not read image file: {}", storagePath);
                 return null;
             }
-        } else {
-            return localFileService.generateThumbnail(storagePath, contentType);
+
+            return cloudStorageService.storeBytes(
+                    thumbnail,
+                    "image/jpeg",
+                    extractUserId(storagePath),
+                    contentType,
+                    "thumbnail_" + FilenameUtils.getBaseName(storagePath) + ".jpg");
+        } catch (Exception e) {
+            log.error("Failed to generate cloud thumbnail", e);
+            return null;
         }
     }
 
@@ -222,6 +195,18 @@ public class HybridFileService implements FileService {
 
 
     public String generatePresignedUrl(String storagePath, StorageLocation storageLocation) {
+        PresignedUrlDTO presignedUrl = presignUrl(storagePath, storageLocation);
+        return presignedUrl != null ? presignedUrl.getUrl() : null;
+    }
+
+    /**
+     * Generates a presigned URL for a cloud-stored file, together with its expiry.
+     *
+     * @param storagePath The storage key of the file
+     * @param storageLocation Where the file is stored
+     * @return The presigned URL, or null for local files or if signing fails
+     */
+    public PresignedUrlDTO presignUrl(String storagePath, StorageLocation storageLocation) {
         if (storageLocation == StorageLocation.CLOUD) {
             if (!cloudStorageService.isEnabled()) {
                 log.warn("Attempted to generate presigned URL but cloud storage is not enabled");
@@ -229,7 +214,7 @@ public class HybridFileService implements FileService {
             }
 
             try {
-                return cloudStorageService.generatePresignedUrl(storagePath);
+                return cloudStorageService.presignUrl(storagePath);
             } catch (Exception e) {
                 log.error("Error generating presigned URL", e);
                 return null;
@@ -239,7 +224,16 @@ public class HybridFileService implements FileService {
     }
 
 
-    public String moveToCloud(String storagePath, UUID userId, ContentType contentType) {
+    /**
+     * Copies a local file to cloud storage. The local file is left in place, as
+     * other content items may still share it.
+     *
+     * @param storagePath The local storage path
+     * @param userId The owner's user ID
+     * @param contentType The type of content
+     * @return The stored copy
+     */
+    public StoredFile copyToCloud(String storagePath, UUID userId, ContentType contentType) {
         if (!cloudStorageService.isEnabled()) {
             throw new FileStorageException("Cloud storage is not enabled");
         }
@@ -247,57 +241,55 @@ public class HybridFileService implements FileService {
         // Load the file from local storage
         Resource resource = localFileService.loadFileAsResource(storagePath);
 
-        try {
-            // Create a temporary file to upload to S3
+        try (InputStream inputStream = resource.getInputStream()) {
+            // Wrap the stream so it can be uploaded to S3
             MultipartFile multipartFile = new CustomMultipartFile(
-                    resource.getInputStream(),
+                    inputStream,
                     resource.contentLength(),
                     resource.getFilename());
 
             // Upload to cloud
-            String cloudPath = cloudStorageService.storeFile(
+            return cloudStorageService.storeFile(
                     multipartFile,
                     userId,
                     contentType,
                     resource.getFilename());
-
-            // Delete the local copy
-            localFileService.deleteFile(storagePath);
-
-            return cloudPath;
         } catch (Exception e) {
-            throw new FileStorageException("Failed to move file to cloud storage", e);
+            throw new FileStorageException("Failed to copy file to cloud storage", e);
         }
     }
 
-
-    public String moveToLocal(String storagePath, UUID userId, ContentType contentType) {
+    /**
+     * Copies a cloud file to local storage. The cloud copy is left in place, as
+     * other content items may still share it.
+     *
+     * @param storagePath The cloud storage key
+     * @param userId The owner's user ID
+     * @param contentType The type of content
+     * @return The stored copy
+     */
+    public StoredFile copyToLocal(String storagePath, UUID userId, ContentType contentType) {
         if (!cloudStorageService.isEnabled()) {
             throw new FileStorageException("Cloud storage is not enabled");
         }
 
-        // Load the file from cloud storage
+        // Load the file from cloud storage; its content is streamed, not buffered
         Resource resource = cloudStorageService.loadFileAsResource(storagePath);
 
-        try {
-            // Create a temporary file to store locally
+        try (InputStream inputStream = resource.getInputStream()) {
+            // Wrap the stream so it can be stored locally
             MultipartFile multipartFile = new CustomMultipartFile(
-                    resource.getInputStream(),
+                    inputStream,
                     resource.contentLength(),
                     resource.getFilename());
 
             // Store locally
-            String localPath = localFileService.storeFile(
+            return localFileService.storeFile(
                     multipartFile,
                     userId,
                     contentType);
-
-            // Delete the cloud copy
-            cloudStorageService.deleteFile(storagePath);
-
-            return localPath;
         } catch (Exception e) {
-            throw new FileStorageException("Failed to move file to local storage", e);
+            throw new FileStorageException("Failed to copy file to local storage", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,117 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.config.SearchIndexProperties;
+import com.omnivault.domain.dto.response.SearchHitDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.projection.ContentIndexView;
+import com.omnivault.domain.projection.ContentTagView;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.TagRepository;
+import com.omnivault.service.ContentSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@Slf4j
+public class InMemoryContentSearchIndex implements ContentSearchIndex {
+
+    private static final int MAX_QUERY_TERMS = 8;
+
+    private final ContentRepository contentRepository;
+    private final TagRepository tagRepository;
+    private final Cache<UUID, UserSearchIndex> indexes;
+
+    public InMemoryContentSearchIndex(ContentRepository contentRepository,
+                                      TagRepository tagRepository,
+                                      SearchIndexProperties properties) {
+        this.contentRepository = contentRepository;
+        this.tagRepository = tagRepository;
+        this.indexes = Caffeine.newBuilder()
+                .maximumWeight(properties.getMemoryBudgetMb() * 1024 * 1024)
+                .weigher((UUID userId, UserSearchIndex index) ->
+                        (int) Math.min(Integer.MAX_VALUE, index.estimatedBytes()))
+                .build();
+    }
+
+    @Override
+    public List<SearchHitDTO> search(UUID userId, String query, int limit) {
+        List<String> terms = UserSearchIndex.tokenize(query, MAX_QUERY_TERMS);
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        return indexes.get(userId, this::buildIndex).search(terms, limit);
+    }
+
+    @Override
+    public void invalidate(UUID userId) {
+        indexes.invalidate(userId);
+    }
+
+    /**
+     * Applies a committed content change to the user's index, if one is loaded.
+     * Running through computeIfPresent waits for an in-flight build of the same
+     * index and re-weighs the entry against the memory budget afterwards.
+     *
+     * @param event The content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getType() == ContentChangedEvent.ChangeType.BULK) {
+            invalidate(event.getUserId());
+            return;
+        }
+
+        indexes.asMap().computeIfPresent(event.getUserId(), (userId, index) -> {
+            if (event.getType() == ContentChangedEvent.ChangeType.DELETED) {
+                index.remove(event.getContentId());
+            } else {
+                contentRepository.findIndexViewById(event.getContentId())
+                        .ifPresentOrElse(
+                                view -> index.put(toDocument(view, tagNamesOf(event.getContentId()))),
+                                () -> index.remove(event.getContentId()));
+            }
+            return index;
+        });
+    }
+
+    private UserSearchIndex buildIndex(UUID userId) {
+        long start = System.currentTimeMillis();
+
+        Map<UUID, List<String>> tagsByContent = tagRepository.findTagsByUserId(userId).stream()
+                .collect(Collectors.groupingBy(ContentTagView::getContentId,
+                        Collectors.mapping(ContentTagView::getName, Collectors.toList())));
+
+        List<UserSearchIndex.Document> documents = contentRepository.findIndexViewsByUserId(userId).stream()
+                .map(view -> toDocument(view, tagsByContent.getOrDefault(view.getId(), Collections.emptyList())))
+                .toList();
+
+        UserSearchIndex index = new UserSearchIndex(documents);
+        log.debug("Built search index for user {}: {} documents, ~{} KB in {} ms",
+                userId, index.size(), index.estimatedBytes() / 1024, System.currentTimeMillis() - start);
+        return index;
+    }
+
+    private List<String> tagNamesOf(UUID contentId) {
+        return tagRepository.findTagsByContentIds(List.of(contentId)).stream()
+                .map(ContentTagView::getName)
+                .toList();
+    }
+
+    private UserSearchIndex.Document toDocument(ContentIndexView view, List<String> tagNames) {
+        return new UserSearchIndex.Document(
+                view.getId(),
+                view.getTitle(),
+                view.getContentType(),
+                view.getDescription(),
+                view.getTextContent(),
+                view.getUrl(),
+                tagNames);
+    }
+}
@@ -1,8 +1,10 @@
 package com.omnivault.service.impl;
 
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.exception.FileStorageException;
 import com.omnivault.service.CloudStorageService;
+import com.omnivault.service.StoredFile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.core.io.Resource;
@@ -24,7 +26,12 @@ public class NoOpCloudStorageService implements CloudStorageService {
     }
 
     @Override
-    public String storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename) {
+    public StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename) {
+        throw new FileStorageException("Cloud storage is not enabled");
+    }
+
+    @Override
+    public String storeBytes(byte[] data, String mediaType, UUID userId, ContentType contentType, String filename) {
         throw new FileStorageException("Cloud storage is not enabled");
     }
 
@@ -34,7 +41,7 @@ public class NoOpCloudStorageService implements CloudStorageService {
     }
 
     @Override
-    public String generatePresignedUrl(String key) {
+    public PresignedUrlDTO presignUrl(String key) {
         throw new FileStorageException("Cloud storage is not enabled");
     }
 
@@ -0,0 +1,52 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.repository.ContentRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Computes a user's most viewed content. Backs the {@code popularContents}
+ * cache as its loader, so entries can be refreshed in the background after
+ * view counts move, without a request or security context for the user.
+ */
+@Component
+public class PopularContentLoader implements CacheLoader<Object, Object> {
+
+    private final ContentRepository contentRepository;
+    private final ContentDtoAssembler dtoAssembler;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PopularContentLoader(ContentRepository contentRepository,
+                                ContentDtoAssembler dtoAssembler,
+                                PlatformTransactionManager transactionManager) {
+        this.contentRepository = contentRepository;
+        this.dtoAssembler = dtoAssembler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads the top viewed content items of a user.
+     *
+     * @param userId The user whose content to load
+     * @return The content DTOs, most viewed first
+     */
+    public List<ContentDTO> loadPopularContent(UUID userId) {
+        return readOnlyTransaction.execute(status ->
+                dtoAssembler.toDtos(contentRepository.findTop5ByUserIdOrderByViewCountDesc(userId)));
+    }
+
+    @Override
+    public Object load(Object key) {
+        if (!(key instanceof UserCacheRegions.UserKey userKey)) {
+            throw new IllegalArgumentException("Unexpected popular content cache key: " + key);
+        }
+        return loadPopularContent(userKey.userId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Signs S3 GET URLs with the shared presigner and reuses each signature for
+ * one refresh interval. Entries are keyed by object key and interval number, so
+ * an interval's URLs are simply never looked up again once it has passed.
+ * Handing out the same URL for a while also lets browsers cache the object.
+ */
+@Component
+@ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true")
+public class PresignedUrlCache {
+
+    private final AwsS3Config s3Config;
+    private final S3Presigner presigner;
+    private final Cache<IntervalKey, PresignedUrlDTO> urls;
+    private final long refreshIntervalMillis;
+
+    public PresignedUrlCache(AwsS3Config s3Config, S3Presigner presigner) {
+        this.s3Config = s3Config;
+        this.presigner = presigner;
+
+        AwsS3Config.UrlCache settings = s3Config.getUrlCache();
+        Duration urlExpiration = Duration.ofSeconds(s3Config.getUrlExpirationSeconds());
+        if (settings.isEnabled() && settings.getRefreshInterval().compareTo(urlExpiration) >= 0) {
+            throw new IllegalStateException("aws.s3.url-cache.refresh-interval must be shorter than "
+                    + "aws.s3.url-expiration-seconds, or cached URLs would be handed out expired");
+        }
+        this.refreshIntervalMillis = settings.getRefreshInterval().toMillis();
+        this.urls = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getRefreshInterval())
+                .build();
+    }
+
+    /**
+     * Returns a pre-signed GET URL for an object, signing a new one only once per interval.
+     *
+     * @param key The object key
+     * @return The URL and its expiration time
+     */
+    public PresignedUrlDTO get(String key) {
+        return get(key, Instant.now());
+    }
+
+    PresignedUrlDTO get(String key, Instant now) {
+        if (!s3Config.getUrlCache().isEnabled()) {
+            return sign(key);
+        }
+        long interval = now.toEpochMilli() / refreshIntervalMillis;
+        return urls.get(new IntervalKey(key, interval), ignored -> sign(key));
+    }
+
+    private PresignedUrlDTO sign(String key) {
+        GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
+                .signatureDuration(Duration.ofSeconds(s3Config.getUrlExpirationSeconds()))
+                .getObjectRequest(GetObjectRequest.builder()
+                        .bucket(s3Config.getBucketName())
+                        .key(key)
+                        .build())
+                .build();
+
+        PresignedGetObjectRequest presigned = presigner.presignGetObject(presignRequest);
+        return PresignedUrlDTO.builder()
+                .url(presigned.url().toString())
+                .expiresAt(presigned.expiration().toEpochMilli())
+                .build();
+    }
+
+    private record IntervalKey(String key, long interval) {
+    }
+}
@@ -0,0 +1,219 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.exception.FileStorageException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Uploads large files to S3 as multipart uploads.
+ * Parts are read from the source stream in order and uploaded concurrently on
+ * virtual threads; a semaphore stops reading ahead once {@code concurrency}
+ * parts are in flight, which bounds the memory an upload holds. Each part is
+ * retried on its own, and any part failing for good aborts the whole upload so
+ * no orphaned parts are left billed in the bucket.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "aws.s3.enabled", havingValue = "true")
+public class S3MultipartUploader {
+
+    // S3 rejects parts below 5 MiB, except the last, and uploads of more than 10,000 parts
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+    static final int MAX_PARTS = 10_000;
+
+    private final AwsS3Config s3Config;
+    private final S3Client s3Client;
+
+    /**
+     * Timing of one uploaded part.
+     *
+     * @param partNumber The part number, starting at 1
+     * @param sizeBytes The part size
+     * @param durationMs The time from the first attempt to the successful one
+     * @param attempts The number of attempts needed
+     */
+    public record PartTiming(int partNumber, long sizeBytes, long durationMs, int attempts) {
+    }
+
+    /**
+     * Checks whether a file is large enough to be uploaded in parts.
+     *
+     * @param size The file size
+     * @return true if the file should be uploaded with {@link #upload}
+     */
+    public boolean shouldUseMultipart(long size) {
+        return size >= s3Config.getMultipart().getThreshold().toBytes();
+    }
+
+    /**
+     * Uploads a stream of known size as a multipart upload.
+     *
+     * @param key The object key
+     * @param contentType The content type of the object, or null
+     * @param inputStream The content; read to exactly {@code size} bytes and not closed
+     * @param size The content size
+     * @return The timing of every part, in part order
+     * @throws FileStorageException If the upload fails; it is aborted first
+     */
+    public List<PartTiming> upload(String key, String contentType, InputStream inputStream, long size) {
+        AwsS3Config.Multipart settings = s3Config.getMultipart();
+        String bucket = s3Config.getBucketName();
+        long partSize = partSize(settings.getPartSize().toBytes(), size);
+        long started = System.nanoTime();
+
+        String uploadId = s3Client.createMultipartUpload(CreateMultipartUploadRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build()).uploadId();
+
+        Semaphore inFlight = new Semaphore(Math.max(1, settings.getConcurrency()));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Future<UploadedPart>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            try {
+                long remaining = size;
+                int partNumber = 1;
+                while (remaining > 0 && failure.get() == null) {
+                    inFlight.acquire();
+                    int length = (int) Math.min(partSize, remaining);
+                    byte[] data = inputStream.readNBytes(length);
+                    if (data.length < length) {
+                        inFlight.release();
+                        throw new EOFException("Stream ended after " + (size - remaining + data.length)
+                                + " of " + size + " bytes");
+                    }
+
+                    int number = partNumber++;
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return uploadPart(bucket, key, uploadId, number, data, settings);
+                        } catch (Exception e) {
+                            failure.compareAndSet(null, e);
+                            throw e;
+                        } finally {
+                            inFlight.release();
+                        }
+                    }));
+                    remaining -= length;
+                }
+
+                List<UploadedPart> parts = new ArrayList<>(futures.size());
+                for (Future<UploadedPart> future : futures) {
+                    parts.add(future.get());
+                }
+                parts.sort(Comparator.comparingInt(part -> part.timing().partNumber()));
+
+                s3Client.completeMultipartUpload(CompleteMultipartUploadRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder()
+                                .parts(parts.stream().map(UploadedPart::part).toList())
+                                .build())
+                        .build());
+
+                List<PartTiming> timings = parts.stream().map(UploadedPart::timing).toList();
+                logSummary(key, size, timings, System.nanoTime() - started);
+                return timings;
+            } catch (Exception e) {
+                futures.forEach(future -> future.cancel(true));
+                abort(bucket, key, uploadId);
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                log.error("Multipart upload of {} failed", key, cause);
+                throw new FileStorageException("Failed to upload file to S3: " + cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private UploadedPart uploadPart(String bucket, String key, String uploadId, int partNumber,
+                                    byte[] data, AwsS3Config.Multipart settings) throws InterruptedException {
+        long started = System.nanoTime();
+        int maxAttempts = Math.max(1, settings.getMaxAttempts());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UploadPartResponse response = s3Client.uploadPart(UploadPartRequest.builder()
+                                .bucket(bucket)
+                                .key(key)
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength((long) data.length)
+                                .build(),
+                        // A provider rather than fromBytes, which would copy the part
+                        RequestBody.fromContentProvider(() -> new ByteArrayInputStream(data),
+                                data.length, "application/octet-stream"));
+
+                long durationMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                log.debug("Uploaded part {} of {} ({} bytes) in {} ms, attempt {}",
+                        partNumber, key, data.length, durationMs, attempt);
+                return new UploadedPart(
+                        CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build(),
+                        new PartTiming(partNumber, data.length, durationMs, attempt));
+            } catch (SdkException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("Upload of part {} of {} failed on attempt {}/{}, retrying: {}",
+                        partNumber, key, attempt, maxAttempts, e.getMessage());
+                // Exponential backoff
+                Thread.sleep(settings.getRetryBackoff().toMillis() << (attempt - 1));
+            }
+        }
+    }
+
+    private void abort(String bucket, String key, String uploadId) {
+        try {
+            s3Client.abortMultipartUpload(AbortMultipartUploadRequest.builder()
+                    .bucket(bucket)
+                    .key(key)
+                    .uploadId(uploadId)
+                    .build());
+            log.info("Aborted multipart upload of {}", key);
+        } catch (SdkException e) {
+            // The bucket's lifecycle rule for incomplete uploads has to clean up after this
+            log.error("Failed to abort multipart upload {} of {}", uploadId, key, e);
+        }
+    }
+
+    private void logSummary(String key, long size, List<PartTiming> timings, long elapsedNanos) {
+        long elapsedMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        PartTiming slowest = timings.stream().max(Comparator.comparingLong(PartTiming::durationMs)).orElseThrow();
+        long retries = timings.stream().mapToLong(timing -> timing.attempts() - 1).sum();
+        log.info("Uploaded {} to S3 in {} parts: {} bytes in {} ms ({} KB/s), slowest part {} took {} ms, {} retries",
+                key, timings.size(), size, elapsedMs, size / elapsedMs * 1000 / 1024,
+                slowest.partNumber(), slowest.durationMs(), retries);
+    }
+
+    /**
+     * Picks the part size for an upload, raising the configured size where S3's limits require it.
+     */
+    static long partSize(long configured, long size) {
+        long minimumForPartCount = (size + MAX_PARTS - 1) / MAX_PARTS;
+        return Math.max(Math.max(configured, MIN_PART_SIZE), minimumForPartCount);
+    }
+
+    private record UploadedPart(CompletedPart part, PartTiming timing) {
+    }
+}
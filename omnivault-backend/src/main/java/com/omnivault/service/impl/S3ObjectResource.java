@@ -0,0 +1,127 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.util.RangeReadableResource;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.lang.NonNull;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.exception.SdkException;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A resource backed by an S3 object. Size and modification time come from a
+ * HEAD request made up front; the content itself is only fetched when a stream
+ * is opened, either whole or as a ranged GET, and is read straight from the
+ * HTTP connection rather than buffered in memory.
+ */
+class S3ObjectResource extends AbstractResource implements RangeReadableResource {
+
+    private final S3Client s3Client;
+    private final String bucketName;
+    private final String key;
+    private final long contentLength;
+    private final long lastModified;
+
+    S3ObjectResource(S3Client s3Client, String bucketName, String key, HeadObjectResponse head) {
+        this.s3Client = s3Client;
+        this.bucketName = bucketName;
+        this.key = key;
+        this.contentLength = head.contentLength() != null ? head.contentLength() : 0L;
+        this.lastModified = head.lastModified() != null ? head.lastModified().toEpochMilli() : 0L;
+    }
+
+    @Override
+    @NonNull
+    public InputStream getInputStream() throws IOException {
+        return open(null, contentLength);
+    }
+
+    @Override
+    public InputStream getInputStream(long position, long count) throws IOException {
+        return open("bytes=" + position + "-" + (position + count - 1), count);
+    }
+
+    @Override
+    public boolean exists() {
+        // The object was found when this resource was created
+        return true;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public long lastModified() {
+        return lastModified;
+    }
+
+    @Override
+    public String getFilename() {
+        return key.substring(key.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    @NonNull
+    public String getDescription() {
+        return "S3 object [" + bucketName + "/" + key + "]";
+    }
+
+    private InputStream open(String range, long length) throws IOException {
+        try {
+            ResponseInputStream<GetObjectResponse> stream = s3Client.getObject(GetObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(key)
+                    .range(range)
+                    .build());
+            return new AbortOnEarlyCloseInputStream(stream, length);
+        } catch (SdkException ex) {
+            throw new IOException("Failed to read " + getDescription(), ex);
+        }
+    }
+
+    /**
+     * Aborts the HTTP request when the stream is closed before its end, e.g. after
+     * a client disconnect, instead of draining the rest of the object to reuse the connection.
+     */
+    private static final class AbortOnEarlyCloseInputStream extends FilterInputStream {
+
+        private final ResponseInputStream<GetObjectResponse> stream;
+        private long remaining;
+
+        private AbortOnEarlyCloseInputStream(ResponseInputStream<GetObjectResponse> stream, long length) {
+            super(stream);
+            this.stream = stream;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            remaining = b == -1 ? 0 : remaining - 1;
+            return b;
+        }
+
+        @Override
+        public int read(@NonNull byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            remaining = read == -1 ? 0 : remaining - read;
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (remaining > 0) {
+                stream.abort();
+            }
+            super.close();
+        }
+    }
+}
@@ -1,29 +1,27 @@
 package com.omnivault.service.impl;
 
 import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
 import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.exception.FileStorageException;
 import com.omnivault.service.CloudStorageService;
+import com.omnivault.service.StoredFile;
+import com.omnivault.util.DigestingInputStream;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
-import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.*;
-import software.amazon.awssdk.services.s3.presigner.S3Presigner;
-import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
-import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
 import java.io.IOException;
-import java.net.URL;
-import java.time.Duration;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -36,6 +34,8 @@ public class S3StorageService implements CloudStorageService {
 
     private final AwsS3Config s3Config;
     private final S3Client s3Client;
+    private final S3MultipartUploader multipartUploader;
+    private final PresignedUrlCache presignedUrlCache;
 
     @Override
     public boolean isEnabled() {
@@ -43,7 +43,7 @@ public class S3StorageService implements CloudStorageService {
     }
 
     @Override
-    public String storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename) {
+    public StoredFile storeFile(MultipartFile file, UUID userId, ContentType contentType, String filename) {
         if (!s3Config.isEnabled()) {
             throw new FileStorageException("S3 storage is not enabled");
         }
@@ -58,18 +58,27 @@ public class S3StorageService implements CloudStorageService {
             // Generate a unique storage path
             String key = generateS3Key(userId, contentType, filename);
 
-            // Upload the file to S3
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(s3Config.getBucketName())
-                    .key(key)
-                    .contentType(file.getContentType())
-                    .contentLength(file.getSize())
-                    .build();
+            // The content is hashed and sniffed while it is uploaded
+            DigestingInputStream inputStream = new DigestingInputStream(file.getInputStream());
+            try (inputStream) {
+                if (multipartUploader.shouldUseMultipart(file.getSize())) {
+                    // Large files are uploaded in parts, concurrently
+                    multipartUploader.upload(key, file.getContentType(), inputStream, file.getSize());
+                } else {
+                    PutObjectRequest request = PutObjectRequest.builder()
+                            .bucket(s3Config.getBucketName())
+                            .key(key)
+                            .contentType(file.getContentType())
+                            .contentLength(file.getSize())
+                            .build();
 
-            s3Client.putObject(request, RequestBody.fromInputStream(file.getInputStream(), file.getSize()));
+                    s3Client.putObject(request, RequestBody.fromInputStream(inputStream, file.getSize()));
+                }
+            }
             log.info("Successfully uploaded file to S3: {}", key);
 
-            return key;
+            return new StoredFile(key, StorageLocation.CLOUD, inputStream.getSize(), inputStream.getSha256(),
+                    inputStream.detectMimeType(filename));
         } catch (IOException ex) {
             log.error("Failed to upload file to S3", ex);
             throw new FileStorageException("Failed to store file in S3", ex);
@@ -79,21 +88,41 @@ public class S3StorageService implements CloudStorageService {
         }
     }
 
+    @Override
+    public String storeBytes(byte[] data, String mediaType, UUID userId, ContentType contentType, String filename) {
+        if (!s3Config.isEnabled()) {
+            throw new FileStorageException("S3 storage is not enabled");
+        }
+
+        String key = generateS3Key(userId, contentType, filename);
+        try {
+            s3Client.putObject(PutObjectRequest.builder()
+                            .bucket(s3Config.getBucketName())
+                            .key(key)
+                            .contentType(mediaType)
+                            .contentLength((long) data.length)
+                            .build(),
+                    RequestBody.fromBytes(data));
+            log.info("Successfully uploaded file to S3: {}", key);
+            return key;
+        } catch (S3Exception ex) {
+            log.error("S3 error during file upload", ex);
+            throw new FileStorageException("S3 error: " + ex.getMessage(), ex);
+        }
+    }
+
     @Override
     public Resource loadFileAsResource(String key) {
         try {
-            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+            // Only the metadata is fetched here; the content is streamed when the resource is read
+            HeadObjectResponse head = s3Client.headObject(HeadObjectRequest.builder()
                     .bucket(s3Config.getBucketName())
                     .key(key)
-                    .build();
-
-            ResponseInputStream<GetObjectResponse> s3Object = s3Client.getObject(getObjectRequest);
-            byte[] content = s3Object.readAllBytes();
+                    .build());
 
-            return new ByteArrayResource(content);
-        } catch (IOException ex) {
-            log.error("Failed to read file from S3", ex);
-            throw new FileStorageException("Failed to read file from S3", ex);
+            return new S3ObjectResource(s3Client, s3Config.getBucketName(), key, head);
+        } catch (NoSuchKeyException ex) {
+            throw new FileStorageException("File not found " + key, ex);
         } catch (S3Exception ex) {
             log.error("S3 error during file download", ex);
             throw new FileStorageException("S3 error: " + ex.getMessage(), ex);
@@ -101,24 +130,9 @@ public class S3StorageService implements CloudStorageService {
     }
 
     @Override
-    public String generatePresignedUrl(String key) {
-        try (S3Presigner presigner = S3Presigner.builder()
-                .region(s3Client.serviceClientConfiguration().region())
-                .credentialsProvider(s3Client.serviceClientConfiguration().credentialsProvider())
-                .build()) {
-
-            GetObjectPresignRequest presignRequest = GetObjectPresignRequest.builder()
-                    .signatureDuration(Duration.ofSeconds(s3Config.getUrlExpirationSeconds()))
-                    .getObjectRequest(GetObjectRequest.builder()
-                            .bucket(s3Config.getBucketName())
-                            .key(key)
-                            .build())
-                    .build();
-
-            PresignedGetObjectRequest presignedRequest = presigner.presignGetObject(presignRequest);
-            URL url = presignedRequest.url();
-
-            return url.toString();
+    public PresignedUrlDTO presignUrl(String key) {
+        try {
+            return presignedUrlCache.get(key);
         } catch (Exception ex) {
             log.error("Failed to generate presigned URL", ex);
             throw new FileStorageException("Failed to generate presigned URL", ex);
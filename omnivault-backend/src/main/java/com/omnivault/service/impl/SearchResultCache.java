@@ -0,0 +1,201 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.config.SearchCacheProperties;
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Caches full-text search results per user.
+ * For every normalized query it keeps the complete ranked candidate set, from
+ * which any page can be cut without going back to the database, plus the
+ * assembled pages themselves. A user's region is dropped as soon as one of
+ * their content items changes; other users' results are left untouched.
+ * <p>
+ * Candidate sets also serve narrower queries: adding words to a plain query can
+ * only remove hits, so {@code "quarterly report"} is searched among the hits of
+ * {@code "quarterly"} rather than across all of the user's content.
+ */
+@Component
+public class SearchResultCache {
+
+    // Queries made of plain words only; quotes, "-" and "or" change websearch semantics
+    private static final Pattern PLAIN_TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final SearchCacheProperties properties;
+    private final Cache<UUID, UserSearchResults> results;
+
+    public SearchResultCache(SearchCacheProperties properties) {
+        this.properties = properties;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxUsers())
+                .expireAfterWrite(properties.getTimeToLive())
+                .build();
+    }
+
+    /**
+     * Normalizes a search term so equivalent queries share cache entries.
+     *
+     * @param searchTerm The raw search term
+     * @return The trimmed, lower-cased term with single spaces between words
+     */
+    public static String normalize(String searchTerm) {
+        return WHITESPACE.matcher(searchTerm.trim().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Returns the cached results of a user, creating an empty region if needed.
+     * Callers keep the returned region for the duration of one search, so
+     * results computed while a change is being committed end up in a region
+     * that has already been dropped rather than outliving the change.
+     *
+     * @param userId The user who searches
+     * @return The user's result region
+     */
+    UserSearchResults forUser(UUID userId) {
+        if (!properties.isEnabled()) {
+            return new UserSearchResults(0, properties.getMaxCandidates());
+        }
+        return results.get(userId, id -> new UserSearchResults(
+                properties.getMaxQueriesPerUser(), properties.getMaxCandidates()));
+    }
+
+    /**
+     * Drops all cached results of a user.
+     *
+     * @param userId The user whose results to drop
+     */
+    public void invalidate(UUID userId) {
+        results.invalidate(userId);
+    }
+
+    /**
+     * Drops the changed user's results once the change has been committed.
+     *
+     * @param event The content change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onContentChanged(ContentChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    // Returns null when the query uses anything other than plain words
+    private static Set<String> plainTerms(String query) {
+        Set<String> terms = new HashSet<>();
+        for (String word : query.split(" ")) {
+            if (!PLAIN_TERM.matcher(word).matches() || word.equals("or")) {
+                return null;
+            }
+            terms.add(word);
+        }
+        return terms;
+    }
+
+    private record PageKey(String query, int pageNumber, int pageSize) {
+        PageKey(String query, Pageable pageable) {
+            this(query,
+                    pageable.isPaged() ? pageable.getPageNumber() : 0,
+                    pageable.isPaged() ? pageable.getPageSize() : -1);
+        }
+    }
+
+    /**
+     * One user's cached queries and pages, each bounded and evicted least recently used first.
+     */
+    static final class UserSearchResults {
+
+        private final int maxCandidates;
+        private final Map<String, List<ContentSearchHitView>> candidates;
+        private final Map<PageKey, Page<ContentDTO>> pages;
+
+        private UserSearchResults(int maxQueries, int maxCandidates) {
+            this.maxCandidates = maxCandidates;
+            this.candidates = boundedMap(maxQueries);
+            this.pages = boundedMap(maxQueries);
+        }
+
+        /**
+         * The largest candidate set that is kept; queries with more hits are paged from the database.
+         */
+        int maxCandidates() {
+            return maxCandidates;
+        }
+
+        /**
+         * Returns the complete candidate set of a query, in relevance order, or null if not cached.
+         */
+        synchronized List<ContentSearchHitView> getCandidates(String query) {
+            return candidates.get(query);
+        }
+
+        /**
+         * Stores the candidate set of a query. Sets larger than the maximum are
+         * not complete and are therefore never stored.
+         */
+        synchronized void putCandidates(String query, List<ContentSearchHitView> hits) {
+            if (hits.size() <= maxCandidates) {
+                candidates.put(query, List.copyOf(hits));
+            }
+        }
+
+        /**
+         * Returns a previously assembled page of results, or null if not cached.
+         */
+        synchronized Page<ContentDTO> getPage(String query, Pageable pageable) {
+            return pages.get(new PageKey(query, pageable));
+        }
+
+        synchronized void putPage(String query, Pageable pageable, Page<ContentDTO> page) {
+            pages.put(new PageKey(query, pageable), page);
+        }
+
+        /**
+         * Finds the smallest cached candidate set that is guaranteed to contain every
+         * hit of the given query, i.e. that of a plain query whose words are a strict
+         * subset of this query's words.
+         *
+         * @param query The normalized query
+         * @return The content IDs to search among, or null if no cached set qualifies
+         */
+        synchronized List<UUID> findNarrowingCandidates(String query) {
+            Set<String> terms = plainTerms(query);
+            if (terms == null) {
+                return null;
+            }
+
+            List<ContentSearchHitView> best = null;
+            for (Map.Entry<String, List<ContentSearchHitView>> entry : candidates.entrySet()) {
+                List<ContentSearchHitView> hits = entry.getValue();
+                // An empty set may come from a query of stop words only, which matches nothing
+                // on its own but does not restrict a longer query
+                if (hits.isEmpty() || (best != null && hits.size() >= best.size())) {
+                    continue;
+                }
+                Set<String> cachedTerms = plainTerms(entry.getKey());
+                if (cachedTerms != null && cachedTerms.size() < terms.size() && terms.containsAll(cachedTerms)) {
+                    best = hits;
+                }
+            }
+            return best == null ? null : best.stream().map(ContentSearchHitView::getId).toList();
+        }
+
+        private static <K, V> Map<K, V> boundedMap(int maxEntries) {
+            return new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxEntries;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.MigrationStatus;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.StorageMigration;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.StorageMigrationRepository;
+import com.omnivault.util.AfterCommit;
+import com.omnivault.util.BandwidthThrottle;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs storage migrations in the background.
+ * <p>
+ * Migrations run one at a time. Each visits its content in ID order, a batch
+ * at a time, moving the items of a batch in parallel through
+ * {@link ContentStorageMover}. After every batch the counters and the last
+ * visited ID are written to the migration's row, which is where a migration
+ * resumes after a restart; at most one batch is repeated, and items already
+ * moved drop out of it. Cancelling a migration takes effect after the current
+ * batch.
+ */
+@Component
+@Slf4j
+public class StorageMigrationEngine {
+
+    private static final UUID FIRST_ID = new UUID(0L, 0L);
+
+    private final StorageMigrationRepository migrationRepository;
+    private final ContentRepository contentRepository;
+    private final ContentStorageMover storageMover;
+    private final UserCacheRegions cacheRegions;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StorageProperties.Migration properties;
+    private final TransactionTemplate transaction;
+    private final BandwidthThrottle throttle;
+    private final ExecutorService coordinator;
+    private final ExecutorService transfers;
+
+    // Migrations queued or running in this instance
+    private final Set<UUID> active = ConcurrentHashMap.newKeySet();
+
+    public StorageMigrationEngine(StorageMigrationRepository migrationRepository,
+                                  ContentRepository contentRepository,
+                                  ContentStorageMover storageMover,
+                                  UserCacheRegions cacheRegions,
+                                  ApplicationEventPublisher eventPublisher,
+                                  StorageProperties storageProperties,
+                                  PlatformTransactionManager transactionManager) {
+        this.migrationRepository = migrationRepository;
+        this.contentRepository = contentRepository;
+        this.storageMover = storageMover;
+        this.cacheRegions = cacheRegions;
+        this.eventPublisher = eventPublisher;
+        this.properties = storageProperties.getMigration();
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.throttle = new BandwidthThrottle(properties.getBandwidth().toBytes());
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.coordinator = Executors.newSingleThreadExecutor(runnable ->
+                daemon(runnable, "storage-migration"));
+        this.transfers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), runnable ->
+                daemon(runnable, "storage-transfer-" + threadNumber.incrementAndGet()));
+    }
+
+    /**
+     * Starts a saved migration. When called in a transaction, it starts once the transaction commits.
+     *
+     * @param migrationId The migration ID
+     */
+    public void launch(UUID migrationId) {
+        AfterCommit.run(() -> submit(migrationId));
+    }
+
+    /**
+     * Resumes the migrations that were running when the application stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeMigrations() {
+        migrationRepository.findByStatus(MigrationStatus.RUNNING).forEach(migration -> {
+            log.info("Resuming storage migration {}", migration.getId());
+            submit(migration.getId());
+        });
+    }
+
+    private void submit(UUID migrationId) {
+        if (active.add(migrationId)) {
+            coordinator.execute(() -> {
+                try {
+                    run(migrationId);
+                } finally {
+                    active.remove(migrationId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Runs a migration from its checkpoint until it is done, cancelled or interrupted.
+     *
+     * @param migrationId The migration ID
+     */
+    void run(UUID migrationId) {
+        StorageMigration migration = transaction.execute(status ->
+                migrationRepository.findById(migrationId).orElse(null));
+        if (migration == null || migration.getStatus() != MigrationStatus.RUNNING) {
+            return;
+        }
+
+        UUID cursor = migration.getLastContentId() != null ? migration.getLastContentId() : FIRST_ID;
+        try {
+            while (true) {
+                List<UUID> batch = nextBatch(migration, cursor);
+                if (batch.isEmpty()) {
+                    transaction.execute(status -> migrationRepository.finish(
+                            migrationId, MigrationStatus.COMPLETED, null, ZonedDateTime.now()));
+                    log.info("Storage migration {} completed", migrationId);
+                    return;
+                }
+
+                BatchResult result = migrateBatch(batch, migration.getTargetLocation());
+                cursor = batch.get(batch.size() - 1);
+                UUID lastContentId = cursor;
+                Integer running = transaction.execute(status -> migrationRepository.recordProgress(
+                        migrationId, lastContentId, result.moved, result.failed, result.skipped,
+                        result.bytes, result.lastError, ZonedDateTime.now()));
+                if (running == null || running == 0) {
+                    log.info("Storage migration {} was stopped", migrationId);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down; the migration resumes from its checkpoint on the next start
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Storage migration {} failed", migrationId, e);
+            transaction.execute(status -> migrationRepository.finish(
+                    migrationId, MigrationStatus.FAILED, e.getMessage(), ZonedDateTime.now()));
+        }
+    }
+
+    private List<UUID> nextBatch(StorageMigration migration, UUID afterId) {
+        Limit limit = Limit.of(Math.max(1, properties.getBatchSize()));
+        return migration.getUserId() != null
+                ? contentRepository.findIdsToMigrate(migration.getUserId(), migration.getTargetLocation(), afterId, limit)
+                : contentRepository.findIdsToMigrate(migration.getTargetLocation(), afterId, limit);
+    }
+
+    private BatchResult migrateBatch(List<UUID> contentIds, StorageLocation targetLocation)
+            throws InterruptedException {
+        List<Future<ItemResult>> futures = new ArrayList<>(contentIds.size());
+        for (UUID contentId : contentIds) {
+            futures.add(transfers.submit(() -> migrateItem(contentId, targetLocation)));
+        }
+
+        BatchResult result = new BatchResult();
+        try {
+            for (Future<ItemResult> future : futures) {
+                result.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            // migrateItem reports failures in its result
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return result;
+    }
+
+    /**
+     * Moves one content item, unless it has been deleted or moved in the meantime.
+     *
+     * @param contentId The content ID
+     * @param targetLocation The storage location to move to
+     * @return What happened to the item
+     */
+    ItemResult migrateItem(UUID contentId, StorageLocation targetLocation) {
+        try {
+            Content content = transaction.execute(status -> contentRepository.findById(contentId).orElse(null));
+            if (content == null || content.getStoragePath() == null
+                    || content.getStorageLocation() == targetLocation) {
+                return ItemResult.SKIPPED;
+            }
+
+            throttle.acquire(content.getSizeBytes() != null ? content.getSizeBytes() : 0L);
+            ContentStorageMover.Transfer transfer = storageMover.copy(content, targetLocation);
+
+            // From apply on, a rollback deletes the copies
+            AtomicBoolean applying = new AtomicBoolean();
+            Boolean moved;
+            try {
+                moved = transaction.execute(status -> {
+                    Content current = contentRepository.findById(contentId).orElse(null);
+                    applying.set(current != null);
+                    if (current == null || !storageMover.apply(current, transfer)) {
+                        return false;
+                    }
+                    Content saved = contentRepository.save(current);
+                    cacheRegions.evictViewsOf(saved);
+                    eventPublisher.publishEvent(ContentChangedEvent.upserted(saved.getUser().getId(), saved.getId()));
+                    return true;
+                });
+            } catch (RuntimeException e) {
+                if (!applying.get()) {
+                    storageMover.discard(transfer);
+                }
+                throw e;
+            }
+
+            if (!Boolean.TRUE.equals(moved)) {
+                storageMover.discard(transfer);
+                return ItemResult.SKIPPED;
+            }
+            return ItemResult.moved(transfer.file().sizeBytes());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return ItemResult.failed("Interrupted");
+        } catch (RuntimeException e) {
+            log.warn("Could not move content {} to {}", contentId, targetLocation, e);
+            return ItemResult.failed("Content " + contentId + ": " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running migrations resume from their last checkpoint on the next start
+        coordinator.shutdownNow();
+        transfers.shutdownNow();
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    record ItemResult(Outcome outcome, long bytes, String error) {
+
+        static final ItemResult SKIPPED = new ItemResult(Outcome.SKIPPED, 0, null);
+
+        static ItemResult moved(long bytes) {
+            return new ItemResult(Outcome.MOVED, bytes, null);
+        }
+
+        static ItemResult failed(String error) {
+            return new ItemResult(Outcome.FAILED, 0, error);
+        }
+    }
+
+    enum Outcome {
+        MOVED,
+        SKIPPED,
+        FAILED
+    }
+
+    private static class BatchResult {
+        long moved;
+        long failed;
+        long skipped;
+        long bytes;
+        String lastError;
+
+        void add(ItemResult item) {
+            switch (item.outcome()) {
+                case MOVED -> {
+                    moved++;
+                    bytes += item.bytes();
+                }
+                case SKIPPED -> skipped++;
+                case FAILED -> {
+                    failed++;
+                    lastError = item.error();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.request.StorageMigrationRequest;
+import com.omnivault.domain.dto.response.StorageMigrationDTO;
+import com.omnivault.domain.model.MigrationStatus;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.StorageMigration;
+import com.omnivault.exception.BadRequestException;
+import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.StorageMigrationRepository;
+import com.omnivault.service.AuthService;
+import com.omnivault.service.StorageMigrationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StorageMigrationServiceImpl implements StorageMigrationService {
+
+    private final StorageMigrationRepository migrationRepository;
+    private final ContentRepository contentRepository;
+    private final AuthService authService;
+    private final AwsS3Config s3Config;
+    private final StorageMigrationEngine migrationEngine;
+
+    @Override
+    @Transactional
+    public StorageMigrationDTO startMigration(StorageMigrationRequest request) {
+        UUID userId = authService.getCurrentUserId();
+        StorageLocation target = request.getTargetStorageLocation();
+        checkTarget(target);
+        if (migrationRepository.existsByUserIdAndStatus(userId, MigrationStatus.RUNNING)) {
+            throw new BadRequestException("A storage migration is already running");
+        }
+
+        long totalItems = contentRepository.countByUserIdAndStoragePathNotNullAndStorageLocationNot(userId, target);
+        return start(StorageMigration.builder()
+                .userId(userId)
+                .targetLocation(target)
+                .totalItems(totalItems)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StorageMigrationDTO> getMigrations() {
+        UUID userId = authService.getCurrentUserId();
+        return migrationRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StorageMigrationDTO getMigration(UUID migrationId) {
+        return toDto(getOwnMigration(migrationId));
+    }
+
+    @Override
+    @Transactional
+    public StorageMigrationDTO cancelMigration(UUID migrationId) {
+        return cancel(getOwnMigration(migrationId));
+    }
+
+    @Override
+    @Transactional
+    public StorageMigrationDTO startSystemMigration(StorageMigrationRequest request) {
+        StorageLocation target = request.getTargetStorageLocation();
+        checkTarget(target);
+        if (migrationRepository.existsByUserIdIsNullAndStatus(MigrationStatus.RUNNING)) {
+            throw new BadRequestException("A storage migration of all users is already running");
+        }
+
+        long totalItems = contentRepository.countByStoragePathNotNullAndStorageLocationNot(target);
+        return start(StorageMigration.builder()
+                .targetLocation(target)
+                .totalItems(totalItems)
+                .build());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StorageMigrationDTO> getSystemMigrations() {
+        return migrationRepository.findByUserIdIsNullOrderByCreatedAtDesc().stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StorageMigrationDTO getSystemMigration(UUID migrationId) {
+        return toDto(getSystemMigrationEntity(migrationId));
+    }
+
+    @Override
+    @Transactional
+    public StorageMigrationDTO cancelSystemMigration(UUID migrationId) {
+        return cancel(getSystemMigrationEntity(migrationId));
+    }
+
+    private void checkTarget(StorageLocation target) {
+        if (target == StorageLocation.CLOUD && !s3Config.isEnabled()) {
+            throw new BadRequestException("Cloud storage is not enabled");
+        }
+    }
+
+    private StorageMigrationDTO start(StorageMigration migration) {
+        StorageMigration savedMigration = migrationRepository.save(migration);
+        migrationEngine.launch(savedMigration.getId());
+        log.info("Started storage migration {} of {} items to {}",
+                savedMigration.getId(), savedMigration.getTotalItems(), savedMigration.getTargetLocation());
+        return toDto(savedMigration);
+    }
+
+    private StorageMigrationDTO cancel(StorageMigration migration) {
+        if (migration.getStatus() != MigrationStatus.RUNNING) {
+            throw new BadRequestException("Storage migration is not running");
+        }
+        ZonedDateTime now = ZonedDateTime.now();
+        StorageMigrationDTO dto = toDto(migration);
+        // Compare-and-set, as the engine updates the row at the same time; the loaded
+        // entity is left untouched so it doesn't overwrite the engine's counters
+        if (migrationRepository.finish(migration.getId(), MigrationStatus.CANCELLED, null, now) == 1) {
+            dto.setStatus(MigrationStatus.CANCELLED);
+            dto.setUpdatedAt(now);
+            dto.setCompletedAt(now);
+            log.info("Cancelled storage migration {}", migration.getId());
+        }
+        return dto;
+    }
+
+    private StorageMigration getOwnMigration(UUID migrationId) {
+        UUID userId = authService.getCurrentUserId();
+        return migrationRepository.findByIdAndUserId(migrationId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Storage migration", "id", migrationId));
+    }
+
+    private StorageMigration getSystemMigrationEntity(UUID migrationId) {
+        return migrationRepository.findByIdAndUserIdIsNull(migrationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Storage migration", "id", migrationId));
+    }
+
+    private StorageMigrationDTO toDto(StorageMigration migration) {
+        long visited = migration.getMovedItems() + migration.getFailedItems() + migration.getSkippedItems();
+        double percentComplete = migration.getStatus() == MigrationStatus.COMPLETED || migration.getTotalItems() == 0
+                ? 100.0
+                : Math.min(100.0, visited * 100.0 / migration.getTotalItems());
+
+        return StorageMigrationDTO.builder()
+                .id(migration.getId())
+                .userId(migration.getUserId())
+                .targetStorageLocation(migration.getTargetLocation())
+                .status(migration.getStatus())
+                .totalItems(migration.getTotalItems())
+                .movedItems(migration.getMovedItems())
+                .failedItems(migration.getFailedItems())
+                .skippedItems(migration.getSkippedItems())
+                .movedBytes(migration.getMovedBytes())
+                .percentComplete(percentComplete)
+                .lastError(migration.getLastError())
+                .createdAt(migration.getCreatedAt())
+                .updatedAt(migration.getUpdatedAt())
+                .completedAt(migration.getCompletedAt())
+                .build();
+    }
+}
@@ -2,6 +2,7 @@ package com.omnivault.service.impl;
 
 import com.omnivault.domain.dto.request.TagCreateRequest;
 import com.omnivault.domain.dto.response.TagDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
 import com.omnivault.domain.model.Tag;
 import com.omnivault.domain.model.User;
 import com.omnivault.exception.BadRequestException;
@@ -9,11 +10,10 @@ import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.repository.TagRepository;
 import com.omnivault.service.AuthService;
 import com.omnivault.service.TagService;
-import com.omnivault.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -28,14 +28,16 @@ public class TagServiceImpl implements TagService {
 
     private final TagRepository tagRepository;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserCacheRegions cacheRegions;
 
     private static final String DEFAULT_COLOR = "#808080";  // Default gray color
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags", key = "'allTags_' + @authService.getCurrentUser().getId()")
+    @Cacheable(value = "tags", key = "@userCacheRegions.key('tags') + '_all'")
     public List<TagDTO> getAllTags() {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         List<Tag> tags = tagRepository.findAllByUser(currentUser);
         return tags.stream()
                 .map(this::convertToTagDto)
@@ -44,7 +46,7 @@ public class TagServiceImpl implements TagService {
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags", key = "'tag_' +@authService.getCurrentUser().getId() + '_' + #tagId")
+    @Cacheable(value = "tags", key = "@userCacheRegions.key('tags') + '_' + #tagId")
     public TagDTO getTag(UUID tagId) {
 
         Tag tag = getTagEntity(tagId);
@@ -54,20 +56,22 @@ public class TagServiceImpl implements TagService {
     @Override
     @Transactional(readOnly = true)
     public Tag getTagEntity(UUID tagId) {
-        User currentUser = authService.getCurrentUser();
-        Tag tag = tagRepository.findById(tagId)
+        return tagRepository.findByIdAndUserId(tagId, authService.getCurrentUserId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tag", "id", tagId));
+    }
 
-        SecurityUtils.checkOwnership(tag.getUser(), currentUser, "Tag", tagId);
-
-        return tag;
+    @Override
+    @Transactional(readOnly = true)
+    public void checkTagOwnership(UUID tagId) {
+        if (!tagRepository.existsByIdAndUserId(tagId, authService.getCurrentUserId())) {
+            throw new ResourceNotFoundException("Tag", "id", tagId);
+        }
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "tags", allEntries = true)
     public TagDTO createTag(TagCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
 
         // Check if tag with same name already exists for user
         if (tagRepository.existsByNameAndUser(request.getName(), currentUser)) {
@@ -82,21 +86,19 @@ public class TagServiceImpl implements TagService {
                 .build();
 
         Tag savedTag = tagRepository.save(tag);
-        log.info("Created new tag: {} for user: {}", savedTag.getName(), currentUser.getUsername());
+        log.info("Created new tag: {} for user: {}", savedTag.getName(), currentUser.getId());
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.TAGS);
 
         return convertToTagDto(savedTag);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "tags", allEntries = true)
     public TagDTO updateTag(UUID tagId, TagCreateRequest request) {
-        User currentUser = authService.getCurrentUser();
-        Tag tag = tagRepository.findById(tagId)
+        User currentUser = authService.getCurrentUserReference();
+        Tag tag = tagRepository.findByIdAndUserId(tagId, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tag", "id", tagId));
 
-        SecurityUtils.checkOwnership(tag.getUser(), currentUser, "Tag", tagId);
-
         // Check if name is changing and already exists
         if (!Objects.equals(tag.getName(), request.getName()) &&
                 tagRepository.existsByNameAndUser(request.getName(), currentUser)) {
@@ -104,40 +106,52 @@ public class TagServiceImpl implements TagService {
         }
 
         // Update tag
+        boolean renamed = !Objects.equals(tag.getName(), request.getName());
+        boolean recolored = StringUtils.hasText(request.getColor()) && !Objects.equals(tag.getColor(), request.getColor());
         tag.setName(request.getName());
         if (StringUtils.hasText(request.getColor())) {
             tag.setColor(request.getColor());
         }
 
         Tag updatedTag = tagRepository.save(tag);
-        log.info("Updated tag: {} for user: {}", updatedTag.getName(), currentUser.getUsername());
+        log.info("Updated tag: {} for user: {}", updatedTag.getName(), currentUser.getId());
+
+        // Content DTOs carry the tag's name and color
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.TAGS);
+        if (renamed || recolored) {
+            cacheRegions.evictAllContentViews(currentUser.getId());
+        }
+
+        // Tag names are searchable on every item carrying the tag
+        if (renamed) {
+            eventPublisher.publishEvent(ContentChangedEvent.bulk(currentUser.getId()));
+        }
 
         return convertToTagDto(updatedTag);
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = {"tags", "contents"}, allEntries = true)
     public void deleteTag(UUID tagId) {
-        User currentUser = authService.getCurrentUser();
-        Tag tag = tagRepository.findById(tagId)
+        User currentUser = authService.getCurrentUserReference();
+        Tag tag = tagRepository.findByIdAndUserId(tagId, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Tag", "id", tagId));
 
-        SecurityUtils.checkOwnership(tag.getUser(), currentUser, "Tag", tagId);
-
         tagRepository.delete(tag);
-        log.info("Deleted tag: {} for user: {}", tag.getName(), currentUser.getUsername());
+        log.info("Deleted tag: {} for user: {}", tag.getName(), currentUser.getId());
+        cacheRegions.evict(currentUser.getId(), UserCacheRegions.TAGS);
+        cacheRegions.evictAllContentViews(currentUser.getId());
+        eventPublisher.publishEvent(ContentChangedEvent.bulk(currentUser.getId()));
     }
 
     @Override
     @Transactional
-    @CacheEvict(value = "tags", allEntries = true)
     public Set<Tag> findOrCreateTags(List<String> tagNames) {
         if (tagNames == null || tagNames.isEmpty()) {
             return Collections.emptySet();
         }
 
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         Set<Tag> result = new HashSet<>();
 
         // Find existing tags
@@ -161,7 +175,8 @@ public class TagServiceImpl implements TagService {
         if (!newTags.isEmpty()) {
             Iterable<Tag> savedTags = tagRepository.saveAll(newTags);
             savedTags.forEach(result::add);
-            log.info("Created {} new tags for user: {}", newTags.size(), currentUser.getUsername());
+            log.info("Created {} new tags for user: {}", newTags.size(), currentUser.getId());
+            cacheRegions.evict(currentUser.getId(), UserCacheRegions.TAGS);
         }
 
         return result;
@@ -174,22 +189,12 @@ public class TagServiceImpl implements TagService {
             return Collections.emptySet();
         }
 
-        User currentUser = authService.getCurrentUser();
-
-        // Fetch tags individually and verify ownership to avoid circular reference issues
-        Set<Tag> result = new HashSet<>();
-        for (UUID tagId : tagIds) {
-            try {
-                Tag tag = tagRepository.findById(tagId).orElse(null);
-                if (tag != null && tag.getUser().getId().equals(currentUser.getId())) {
-                    result.add(tag);
-                } else {
-                    log.warn("Ignoring tag with ID {} as it doesn't exist or doesn't belong to user {}",
-                            tagId, currentUser.getUsername());
-                }
-            } catch (Exception e) {
-                log.warn("Error loading tag with ID {}: {}", tagId, e.getMessage());
-            }
+        User currentUser = authService.getCurrentUserReference();
+        Set<Tag> result = tagRepository.findByIdInAndUser(tagIds, currentUser);
+        long requested = tagIds.stream().distinct().count();
+        if (result.size() < requested) {
+            log.warn("Ignoring {} tag IDs that don't exist or don't belong to user {}",
+                    requested - result.size(), currentUser.getId());
         }
 
         return result;
@@ -198,7 +203,7 @@ public class TagServiceImpl implements TagService {
     @Override
     @Transactional(readOnly = true)
     public List<TagDTO> searchTags(String searchTerm) {
-        User currentUser = authService.getCurrentUser();
+        User currentUser = authService.getCurrentUserReference();
         List<Tag> tags = tagRepository.searchTags(currentUser, searchTerm);
         return tags.stream()
                 .map(this::convertToTagDto)
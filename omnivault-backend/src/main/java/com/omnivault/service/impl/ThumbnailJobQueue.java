@@ -0,0 +1,226 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.ThumbnailProperties;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.ThumbnailJob;
+import com.omnivault.domain.model.ThumbnailStatus;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.ThumbnailJobRepository;
+import com.omnivault.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates thumbnails in the background, off the upload request.
+ * Jobs are stored in the database with the content item they belong to and
+ * handed to a fixed pool of workers once that transaction commits. Jobs that
+ * do not fit the pool's queue, fail, or were pending at shutdown stay in the
+ * database and are picked up by a periodic poll. Each attempt claims its job
+ * with a lease first, so no job is worked on twice at the same time, even by
+ * several application instances.
+ */
+@Component
+@Slf4j
+public class ThumbnailJobQueue {
+
+    private final ThumbnailJobRepository jobRepository;
+    private final ContentRepository contentRepository;
+    private final HybridFileService fileService;
+    private final UserCacheRegions cacheRegions;
+    private final ThumbnailProperties properties;
+    private final TransactionTemplate transaction;
+    private final ThreadPoolExecutor executor;
+
+    // Jobs queued or running in this instance, so a poll does not queue them again
+    private final Set<UUID> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ThumbnailJobQueue(ThumbnailJobRepository jobRepository,
+                             ContentRepository contentRepository,
+                             HybridFileService fileService,
+                             UserCacheRegions cacheRegions,
+                             ThumbnailProperties properties,
+                             PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.contentRepository = contentRepository;
+        this.fileService = fileService;
+        this.cacheRegions = cacheRegions;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+
+        int workers = Math.max(1, properties.getConcurrency());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues thumbnail generation for a saved content item. Must be called in the
+     * transaction that saves the item; work starts once it commits.
+     *
+     * @param contentId The content item
+     */
+    public void enqueue(UUID contentId) {
+        ThumbnailJob job = jobRepository.save(ThumbnailJob.builder()
+                .contentId(contentId)
+                .build());
+
+        AfterCommit.run(() -> submit(job.getId()));
+    }
+
+    /**
+     * Queues due jobs that are not already waiting for a worker: jobs left over
+     * from a restart, retries, and jobs that found the queue full.
+     */
+    @Scheduled(initialDelayString = "#{@thumbnailProperties.pollInterval.toMillis()}",
+            fixedDelayString = "#{@thumbnailProperties.pollInterval.toMillis()}")
+    public void pollDueJobs() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        jobRepository.findByNextAttemptAtLessThanEqualOrderByNextAttemptAtAsc(
+                        ZonedDateTime.now(), Limit.of(Math.min(capacity, properties.getBatchSize())))
+                .forEach(job -> submit(job.getId()));
+    }
+
+    private void submit(UUID jobId) {
+        if (!inFlight.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(jobId);
+                } catch (RuntimeException e) {
+                    // The lease runs out and a later poll retries the job
+                    log.error("Thumbnail job {} failed unexpectedly", jobId, e);
+                } finally {
+                    inFlight.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The job stays in the database for the next poll
+            inFlight.remove(jobId);
+            log.debug("Thumbnail queue is full, leaving job {} for the next poll", jobId);
+        }
+    }
+
+    /**
+     * Makes one attempt at a job, if it can be claimed.
+     *
+     * @param jobId The job ID
+     */
+    void process(UUID jobId) {
+        ZonedDateTime now = ZonedDateTime.now();
+        ThumbnailJob job = transaction.execute(status ->
+                jobRepository.claim(jobId, now, now.plus(properties.getLease())) == 1
+                        ? jobRepository.findById(jobId).orElse(null)
+                        : null);
+        if (job == null) {
+            // Done, or claimed by another worker
+            return;
+        }
+
+        Source source = transaction.execute(status -> contentRepository.findById(job.getContentId())
+                .map(content -> new Source(content.getStoragePath(), content.getStorageLocation(),
+                        content.getContentType()))
+                .orElse(null));
+        if (source == null) {
+            transaction.executeWithoutResult(status -> jobRepository.deleteById(jobId));
+            return;
+        }
+        if (source.storagePath() == null) {
+            // Nothing to make a thumbnail from; don't leave the item waiting for one
+            finish(job, source, null, null, ThumbnailStatus.NONE);
+            return;
+        }
+
+        long started = System.nanoTime();
+        String thumbnailPath = null;
+        try {
+            thumbnailPath = fileService.generateThumbnail(
+                    source.storagePath(), source.contentType(), source.storageLocation());
+            if (thumbnailPath != null) {
+                finish(job, source, thumbnailPath, source.storageLocation(), ThumbnailStatus.READY);
+                log.info("Generated thumbnail for content {} in {} ms", job.getContentId(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                return;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Thumbnail attempt {} for content {} threw", job.getAttempts(), job.getContentId(), e);
+            if (thumbnailPath != null) {
+                // Never stored, so nothing refers to it
+                fileService.deleteFile(thumbnailPath, source.storageLocation());
+            }
+        }
+
+        if (job.getAttempts() >= properties.getMaxAttempts()) {
+            finish(job, source, null, null, ThumbnailStatus.FAILED);
+            log.warn("Giving up on thumbnail for content {} after {} attempts",
+                    job.getContentId(), job.getAttempts());
+        } else {
+            // Exponential backoff
+            ZonedDateTime retryAt = ZonedDateTime.now()
+                    .plus(properties.getRetryBackoff().multipliedBy(1L << (job.getAttempts() - 1)));
+            transaction.executeWithoutResult(status -> jobRepository.reschedule(jobId, retryAt));
+            log.warn("Thumbnail attempt {} for content {} failed, retrying at {}",
+                    job.getAttempts(), job.getContentId(), retryAt);
+        }
+    }
+
+    private void finish(ThumbnailJob job, Source source, String thumbnailPath, StorageLocation thumbnailLocation,
+                        ThumbnailStatus thumbnailStatus) {
+        boolean updated = Boolean.TRUE.equals(transaction.execute(status -> {
+            // A plain update, so a user editing the item meanwhile doesn't hit a version conflict
+            if (contentRepository.updateThumbnail(job.getContentId(), source.storagePath(), source.storageLocation(),
+                    thumbnailPath, thumbnailLocation, thumbnailStatus) == 0) {
+                if (contentRepository.existsById(job.getContentId())) {
+                    // The item was moved meanwhile; start over from where it is now
+                    jobRepository.reschedule(job.getId(), ZonedDateTime.now());
+                } else {
+                    jobRepository.deleteById(job.getId());
+                }
+                return false;
+            }
+            jobRepository.deleteById(job.getId());
+            // Listings and the item itself carry the thumbnail
+            contentRepository.findById(job.getContentId()).ifPresent(cacheRegions::evictViewsOf);
+            return true;
+        }));
+
+        if (!updated && thumbnailPath != null) {
+            // The content item was deleted or moved while its thumbnail was being made
+            fileService.deleteFile(thumbnailPath, thumbnailLocation);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Jobs still queued or running are retried from the database after their lease
+        executor.shutdownNow();
+    }
+
+    private record Source(String storagePath, StorageLocation storageLocation, ContentType contentType) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.omnivault.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.Tag;
+import com.omnivault.service.AuthService;
+import com.omnivault.util.AfterCommit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Groups cached entries into per-user regions that can be invalidated independently.
+ * Every cache key built through {@link #key} embeds the current generation of its
+ * region; evicting a region moves it to a new generation, so its old entries are
+ * never looked up again and age out of the underlying cache on their own.
+ * <p>
+ * Content views (single items and every content listing) additionally share a
+ * per-user generation, so changes that touch many items at once, such as renaming
+ * a folder or a tag, can drop all of them without knowing which pages exist.
+ * Generations are bumped after the surrounding transaction commits.
+ */
+@Component
+public class UserCacheRegions {
+
+    /** A single content item, by content ID */
+    public static final String CONTENT = "content";
+    /** Pages of all of the user's content */
+    public static final String ALL = "all";
+    /** Pages of favorite content */
+    public static final String FAVORITES = "favorites";
+    /** Pages of recently created content */
+    public static final String RECENT = "recent";
+    /** Most viewed content */
+    public static final String POPULAR = "popular";
+    /** Content pages of one folder, by folder ID */
+    public static final String FOLDER = "folder";
+    /** Content pages of one type, by content type */
+    public static final String TYPE = "type";
+    /** Content pages of one tag, by tag ID */
+    public static final String TAG = "tag";
+    /** Folder DTOs, which carry content and subfolder counts */
+    public static final String FOLDERS = "folders";
+    /** Tag DTOs, which carry content counts */
+    public static final String TAGS = "tags";
+
+    private static final String CONTENT_VIEWS = "contentViews";
+    private static final int MAX_GENERATIONS = 100_000;
+    private static final Duration GENERATION_IDLE_TIME = Duration.ofDays(1);
+
+    private final AuthService authService;
+
+    // New generations are drawn from one clock, so a generation forgotten by the map
+    // is recreated with a value no earlier key can carry
+    private final AtomicLong clock = new AtomicLong();
+    private final Cache<String, Long> generations;
+
+    public UserCacheRegions(AuthService authService) {
+        this.authService = authService;
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(MAX_GENERATIONS)
+                .expireAfterAccess(GENERATION_IDLE_TIME)
+                .build();
+    }
+
+    /**
+     * Builds the cache key of an entry in one of the current user's regions.
+     *
+     * @param region The region name
+     * @return The cache key, including the region's current generation
+     */
+    public String key(String region) {
+        return key(region, null);
+    }
+
+    /**
+     * Builds the cache key of an entry in one of the current user's regions.
+     *
+     * @param region The region name
+     * @param id The ID the region is scoped to, e.g. a folder ID, or null
+     * @return The cache key, including the region's current generation
+     */
+    public String key(String region, Object id) {
+        UUID userId = authService.getCurrentUserId();
+        StringBuilder key = new StringBuilder(region).append('_');
+        if (id != null) {
+            key.append(id).append('_');
+        }
+        key.append(userId).append("_g").append(generationOf(regionKey(userId, region, id)));
+        if (isContentView(region)) {
+            key.append('.').append(generationOf(regionKey(userId, CONTENT_VIEWS, null)));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Builds a cache key that also exposes the owning user, for caches whose
+     * loader recomputes entries outside of a request, e.g. on background refresh.
+     *
+     * @param region The region name
+     * @return The cache key
+     */
+    public UserKey userKey(String region) {
+        return new UserKey(authService.getCurrentUserId(), key(region));
+    }
+
+    /**
+     * Invalidates one region of a user.
+     *
+     * @param userId The user owning the region
+     * @param region The region name
+     */
+    public void evict(UUID userId, String region) {
+        evict(userId, region, null);
+    }
+
+    /**
+     * Invalidates one region of a user.
+     *
+     * @param userId The user owning the region
+     * @param region The region name
+     * @param id The ID the region is scoped to, or null
+     */
+    public void evict(UUID userId, String region, Object id) {
+        bumpAfterCommit(List.of(regionKey(userId, region, id)));
+    }
+
+    /**
+     * Invalidates every cached content item and content listing of a user.
+     *
+     * @param userId The user whose content views to drop
+     */
+    public void evictAllContentViews(UUID userId) {
+        evict(userId, CONTENT_VIEWS);
+    }
+
+    /**
+     * Invalidates every region the given content item currently appears in,
+     * including the folder and tag DTOs whose counts include it. For changes
+     * that move an item between views, call this both before and after the change.
+     *
+     * @param content The content item
+     */
+    public void evictViewsOf(Content content) {
+        // Region keys are resolved now, while the item is still in its current state
+        UUID userId = content.getUser().getId();
+        List<String> regionKeys = new ArrayList<>();
+        regionKeys.add(regionKey(userId, CONTENT, content.getId()));
+        regionKeys.add(regionKey(userId, ALL, null));
+        regionKeys.add(regionKey(userId, RECENT, null));
+        regionKeys.add(regionKey(userId, POPULAR, null));
+        regionKeys.add(regionKey(userId, TYPE, content.getContentType()));
+        if (content.isFavorite()) {
+            regionKeys.add(regionKey(userId, FAVORITES, null));
+        }
+        if (content.getFolder() != null) {
+            regionKeys.add(regionKey(userId, FOLDER, content.getFolder().getId()));
+            regionKeys.add(regionKey(userId, FOLDERS, null));
+        }
+        if (!content.getTags().isEmpty()) {
+            for (Tag tag : content.getTags()) {
+                regionKeys.add(regionKey(userId, TAG, tag.getId()));
+            }
+            regionKeys.add(regionKey(userId, TAGS, null));
+        }
+        bumpAfterCommit(regionKeys);
+    }
+
+    private long generationOf(String regionKey) {
+        return generations.get(regionKey, ignored -> clock.incrementAndGet());
+    }
+
+    // Bumping only once the change is visible keeps a concurrent reader from
+    // caching pre-commit data under the new generation
+    private void bumpAfterCommit(List<String> regionKeys) {
+        AfterCommit.run(() -> bump(regionKeys));
+    }
+
+    private void bump(List<String> regionKeys) {
+        regionKeys.forEach(regionKey -> generations.put(regionKey, clock.incrementAndGet()));
+    }
+
+    private static boolean isContentView(String region) {
+        return !FOLDERS.equals(region) && !TAGS.equals(region);
+    }
+
+    /**
+     * Cache key carrying the user an entry belongs to.
+     *
+     * @param userId The owning user
+     * @param key The region key, including generations
+     */
+    public record UserKey(UUID userId, String key) {
+    }
+
+    private static String regionKey(UUID userId, String region, Object id) {
+        return id == null ? userId + ":" + region : userId + ":" + region + ":" + id;
+    }
+}
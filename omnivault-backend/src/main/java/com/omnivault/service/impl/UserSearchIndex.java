@@ -0,0 +1,347 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.dto.response.SearchHitDTO;
+import com.omnivault.domain.model.ContentType;
+
+import java.util.*;
+
+/**
+ * In-memory inverted index over one user's content.
+ * Terms map to posting lists held in growable {@code int[]} arrays. Each posting
+ * packs a document ordinal with the highest-weighted field the term occurs in,
+ * so a posting costs four bytes instead of a boxed UUID in a hash set.
+ * Ordinals only grow: an updated document gets a new ordinal and its old one is
+ * tombstoned, which keeps every posting list sorted. Tombstones are compacted
+ * away once they outnumber live documents.
+ * All public methods are synchronized; one instance is shared by a user's requests.
+ */
+final class UserSearchIndex {
+
+    static final int FIELD_TITLE = 0;
+    static final int FIELD_TAG = 1;
+    static final int FIELD_DESCRIPTION = 2;
+    static final int FIELD_BODY = 3;
+
+    private static final int[] FIELD_WEIGHTS = {8, 4, 2, 1};
+    private static final int FIELD_BITS = 2;
+    private static final int FIELD_MASK = (1 << FIELD_BITS) - 1;
+    private static final int EXACT_TERM_BONUS = 2;
+
+    private static final int MAX_TERM_LENGTH = 32;
+    private static final int MAX_BODY_TERMS = 5_000;
+    private static final int MIN_TOMBSTONES_FOR_COMPACTION = 64;
+
+    // Rough JVM object sizes used for the memory estimate
+    private static final int TERM_OVERHEAD_BYTES = 40 + 24 + 16 + 40; // tree entry, String, array header, posting list
+    private static final int DOCUMENT_OVERHEAD_BYTES = 32 + 48 + 16 + 16 + 40; // UUID, map entry, Integer, slots, title
+
+    /**
+     * Searchable text of one content item.
+     */
+    record Document(UUID id, String title, ContentType contentType, String description,
+                    String textContent, String url, List<String> tagNames) {
+    }
+
+    private final TreeMap<String, PostingList> postings = new TreeMap<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+
+    private UUID[] docIds = new UUID[16];
+    private String[] titles = new String[16];
+    private ContentType[] contentTypes = new ContentType[16];
+
+    private int nextOrdinal;
+    private int tombstones;
+    private long estimatedBytes;
+
+    UserSearchIndex(Collection<Document> documents) {
+        documents.forEach(this::addDocument);
+    }
+
+    /**
+     * Adds a document, replacing any previous version with the same ID.
+     */
+    synchronized void put(Document document) {
+        removeDocument(document.id());
+        addDocument(document);
+        compactIfNeeded();
+    }
+
+    /**
+     * Removes a document if present.
+     */
+    synchronized void remove(UUID contentId) {
+        removeDocument(contentId);
+        compactIfNeeded();
+    }
+
+    synchronized int size() {
+        return ordinals.size();
+    }
+
+    /**
+     * Approximate heap footprint, used to weigh this index against the memory budget.
+     */
+    synchronized long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Finds the documents matching every query token, where each token may be a
+     * prefix of an indexed term, and returns the best {@code limit} of them.
+     * Title matches outrank tag matches, which outrank description and body
+     * matches; whole-term matches score higher than prefix matches, and ties go
+     * to the most recently indexed document.
+     */
+    synchronized List<SearchHitDTO> search(List<String> tokens, int limit) {
+        if (tokens.isEmpty() || ordinals.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        int docCount = nextOrdinal;
+        int[] matchedTokens = new int[docCount];
+        int[] bestForToken = new int[docCount];
+        int[] scores = new int[docCount];
+
+        for (int t = 0; t < tokens.size(); t++) {
+            String token = tokens.get(t);
+            for (Map.Entry<String, PostingList> entry : prefixRange(token).entrySet()) {
+                boolean exact = entry.getKey().length() == token.length();
+                PostingList list = entry.getValue();
+                for (int i = 0; i < list.size; i++) {
+                    int posting = list.data[i];
+                    int ordinal = posting >>> FIELD_BITS;
+                    if (docIds[ordinal] == null) {
+                        continue;
+                    }
+                    int weight = FIELD_WEIGHTS[posting & FIELD_MASK] * (exact ? EXACT_TERM_BONUS : 1);
+                    if (matchedTokens[ordinal] == t) {
+                        matchedTokens[ordinal] = t + 1;
+                        bestForToken[ordinal] = weight;
+                    } else if (matchedTokens[ordinal] == t + 1 && weight > bestForToken[ordinal]) {
+                        bestForToken[ordinal] = weight;
+                    }
+                }
+            }
+
+            boolean anyMatched = false;
+            for (int ordinal = 0; ordinal < docCount; ordinal++) {
+                if (matchedTokens[ordinal] == t + 1) {
+                    scores[ordinal] += bestForToken[ordinal];
+                    anyMatched = true;
+                }
+            }
+            if (!anyMatched) {
+                return Collections.emptyList();
+            }
+        }
+
+        // Keep the best hits in a min-heap of ordinals
+        int required = tokens.size();
+        Comparator<Integer> byRank = Comparator.<Integer>comparingInt(ordinal -> scores[ordinal])
+                .thenComparingInt(ordinal -> ordinal);
+        PriorityQueue<Integer> top = new PriorityQueue<>(limit + 1, byRank);
+        for (int ordinal = 0; ordinal < docCount; ordinal++) {
+            if (matchedTokens[ordinal] == required) {
+                top.offer(ordinal);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<SearchHitDTO> hits = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            int ordinal = top.poll();
+            hits.add(SearchHitDTO.builder()
+                    .id(docIds[ordinal])
+                    .title(titles[ordinal])
+                    .contentType(contentTypes[ordinal])
+                    .score(scores[ordinal])
+                    .build());
+        }
+        Collections.reverse(hits);
+        return hits;
+    }
+
+    /**
+     * Splits text into lower-case alphanumeric terms, truncating very long ones.
+     *
+     * @param text The text to split, may be null
+     * @param maxTerms The maximum number of terms to return
+     * @return The terms in order of appearance
+     */
+    static List<String> tokenize(String text, int maxTerms) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<String> terms = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length() && terms.size() < maxTerms; ) {
+            int codePoint = text.codePointAt(i);
+            if (Character.isLetterOrDigit(codePoint)) {
+                if (current.length() < MAX_TERM_LENGTH) {
+                    current.appendCodePoint(Character.toLowerCase(codePoint));
+                }
+            } else if (!current.isEmpty()) {
+                terms.add(current.toString());
+                current.setLength(0);
+            }
+            i += Character.charCount(codePoint);
+        }
+        if (!current.isEmpty() && terms.size() < maxTerms) {
+            terms.add(current.toString());
+        }
+        return terms;
+    }
+
+    private SortedMap<String, PostingList> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void addDocument(Document document) {
+        int ordinal = nextOrdinal++;
+        ensureDocumentCapacity(ordinal + 1);
+        docIds[ordinal] = document.id();
+        titles[ordinal] = document.title();
+        contentTypes[ordinal] = document.contentType();
+        ordinals.put(document.id(), ordinal);
+        estimatedBytes += DOCUMENT_OVERHEAD_BYTES + (document.title() != null ? 2L * document.title().length() : 0);
+
+        // Each term is posted once per document, under the best field it appears in
+        Map<String, Integer> termFields = new HashMap<>();
+        collectTerms(termFields, document.title(), FIELD_TITLE);
+        if (document.tagNames() != null) {
+            document.tagNames().forEach(tagName -> collectTerms(termFields, tagName, FIELD_TAG));
+        }
+        collectTerms(termFields, document.description(), FIELD_DESCRIPTION);
+        collectTerms(termFields, document.url(), FIELD_DESCRIPTION);
+        collectTerms(termFields, document.textContent(), FIELD_BODY);
+
+        termFields.forEach((term, field) -> {
+            PostingList list = postings.get(term);
+            if (list == null) {
+                list = new PostingList();
+                postings.put(term, list);
+                estimatedBytes += TERM_OVERHEAD_BYTES + 2L * term.length() + 4L * list.data.length;
+            }
+            estimatedBytes += list.add((ordinal << FIELD_BITS) | field);
+        });
+    }
+
+    private void collectTerms(Map<String, Integer> termFields, String text, int field) {
+        int maxTerms = field == FIELD_BODY ? MAX_BODY_TERMS : Integer.MAX_VALUE;
+        for (String term : tokenize(text, maxTerms)) {
+            termFields.merge(term, field, Math::min);
+        }
+    }
+
+    private void removeDocument(UUID contentId) {
+        Integer ordinal = ordinals.remove(contentId);
+        if (ordinal == null) {
+            return;
+        }
+        if (titles[ordinal] != null) {
+            estimatedBytes -= 2L * titles[ordinal].length();
+        }
+        docIds[ordinal] = null;
+        titles[ordinal] = null;
+        contentTypes[ordinal] = null;
+        tombstones++;
+    }
+
+    private void compactIfNeeded() {
+        if (tombstones < MIN_TOMBSTONES_FOR_COMPACTION || tombstones < ordinals.size()) {
+            return;
+        }
+
+        // Renumber live documents; the mapping is monotonic, so posting lists stay sorted
+        int[] remap = new int[nextOrdinal];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (docIds[ordinal] != null) {
+                remap[ordinal] = live;
+                docIds[live] = docIds[ordinal];
+                titles[live] = titles[ordinal];
+                contentTypes[live] = contentTypes[ordinal];
+                ordinals.put(docIds[live], live);
+                live++;
+            } else {
+                remap[ordinal] = -1;
+            }
+        }
+        Arrays.fill(docIds, live, nextOrdinal, null);
+        Arrays.fill(titles, live, nextOrdinal, null);
+        Arrays.fill(contentTypes, live, nextOrdinal, null);
+
+        long bytes = (long) ordinals.size() * DOCUMENT_OVERHEAD_BYTES;
+        for (int ordinal = 0; ordinal < live; ordinal++) {
+            bytes += titles[ordinal] != null ? 2L * titles[ordinal].length() : 0;
+        }
+
+        Iterator<Map.Entry<String, PostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, PostingList> entry = entries.next();
+            PostingList list = entry.getValue();
+            list.retainAndRemap(remap);
+            if (list.size == 0) {
+                entries.remove();
+            } else {
+                bytes += TERM_OVERHEAD_BYTES + 2L * entry.getKey().length() + 4L * list.data.length;
+            }
+        }
+
+        nextOrdinal = live;
+        tombstones = 0;
+        estimatedBytes = bytes;
+    }
+
+    private void ensureDocumentCapacity(int capacity) {
+        if (capacity <= docIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, docIds.length + (docIds.length >> 1));
+        estimatedBytes += 12L * (newLength - docIds.length);
+        docIds = Arrays.copyOf(docIds, newLength);
+        titles = Arrays.copyOf(titles, newLength);
+        contentTypes = Arrays.copyOf(contentTypes, newLength);
+    }
+
+    /**
+     * Sorted, growable list of packed postings.
+     */
+    private static final class PostingList {
+        private int[] data = new int[2];
+        private int size;
+
+        /**
+         * Appends a posting.
+         *
+         * @return The number of bytes the backing array grew by
+         */
+        int add(int posting) {
+            int grownBytes = 0;
+            if (size == data.length) {
+                int newLength = data.length + Math.max(2, data.length >> 1);
+                grownBytes = 4 * (newLength - data.length);
+                data = Arrays.copyOf(data, newLength);
+            }
+            data[size++] = posting;
+            return grownBytes;
+        }
+
+        void retainAndRemap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newOrdinal = remap[data[i] >>> FIELD_BITS];
+                if (newOrdinal >= 0) {
+                    data[kept++] = (newOrdinal << FIELD_BITS) | (data[i] & FIELD_MASK);
+                }
+            }
+            size = kept;
+            if (data.length > Math.max(2, kept * 2)) {
+                data = Arrays.copyOf(data, Math.max(2, kept));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.ViewCountProperties;
+import com.omnivault.repository.ContentRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects content views in memory and writes them to the database in the background.
+ * <p>
+ * Recording a view only increments a counter. A scheduled flush adds the
+ * collected views to {@code view_count} with bulk updates, which leave the
+ * version and {@code updated_at} alone, so views neither cost a row write each
+ * nor conflict with concurrent edits. Readers add the views that are not
+ * flushed yet through {@link #currentCount}. Views collected since the last
+ * flush are lost if the application stops without shutting down.
+ */
+@Component
+@Slf4j
+public class ViewCountBuffer {
+
+    private final ContentRepository contentRepository;
+    private final ViewCountProperties properties;
+    private final TransactionTemplate transaction;
+
+    private final ConcurrentHashMap<UUID, LongAdder> counters = new ConcurrentHashMap<>();
+
+    public ViewCountBuffer(ContentRepository contentRepository,
+                           ViewCountProperties properties,
+                           PlatformTransactionManager transactionManager) {
+        this.contentRepository = contentRepository;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Records a view of a content item.
+     *
+     * @param contentId The content ID
+     */
+    public void record(UUID contentId) {
+        add(contentId, 1);
+    }
+
+    /**
+     * Returns the views of a content item that are not flushed yet.
+     *
+     * @param contentId The content ID
+     * @return The number of pending views
+     */
+    public long pending(UUID contentId) {
+        LongAdder counter = counters.get(contentId);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    /**
+     * Adds the pending views of a content item to the count read from the database.
+     *
+     * @param contentId The content ID
+     * @param storedCount The view count read from the database, may be null
+     * @return The current view count
+     */
+    public Integer currentCount(UUID contentId, Integer storedCount) {
+        long pending = pending(contentId);
+        if (pending == 0 || storedCount == null) {
+            return storedCount;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, storedCount + pending);
+    }
+
+    /**
+     * Writes the collected views to the database. Items viewed the same number
+     * of times share an update, so a flush takes a handful of statements.
+     */
+    @Scheduled(initialDelayString = "#{@viewCountProperties.flushInterval.toMillis()}",
+            fixedDelayString = "#{@viewCountProperties.flushInterval.toMillis()}")
+    public synchronized void flush() {
+        Map<Integer, List<UUID>> idsByViews = new HashMap<>();
+        counters.forEach((contentId, counter) -> {
+            long views = counter.sumThenReset();
+            if (views > 0) {
+                idsByViews.computeIfAbsent((int) Math.min(Integer.MAX_VALUE, views), key -> new ArrayList<>())
+                        .add(contentId);
+            } else {
+                // Not viewed since the last flush. Counters only change inside compute,
+                // so a view recorded meanwhile either keeps this one or gets a new one
+                counters.computeIfPresent(contentId, (id, current) -> current.sum() == 0 ? null : current);
+            }
+        });
+        if (idsByViews.isEmpty()) {
+            return;
+        }
+
+        int batchSize = Math.max(1, properties.getBatchSize());
+        try {
+            transaction.executeWithoutResult(status -> idsByViews.forEach((views, ids) -> {
+                for (int from = 0; from < ids.size(); from += batchSize) {
+                    contentRepository.addViewCounts(ids.subList(from, Math.min(ids.size(), from + batchSize)), views);
+                }
+            }));
+        } catch (RuntimeException e) {
+            // Keep the views for the next flush
+            log.warn("Could not flush view counts of {} content items", idsByViews.values().stream()
+                    .mapToInt(List::size).sum(), e);
+            idsByViews.forEach((views, ids) -> ids.forEach(contentId -> add(contentId, views)));
+        }
+    }
+
+    private void add(UUID contentId, long views) {
+        counters.compute(contentId, (id, counter) -> {
+            if (counter == null) {
+                counter = new LongAdder();
+            }
+            counter.add(views);
+            return counter;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,34 @@
+package com.omnivault.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class for deferring work until the current transaction commits,
+ * such as side effects that must not be seen, or undone, before the data is.
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or right away when
+     * there is no transaction. The action is dropped if the transaction rolls back.
+     *
+     * @param action The action to run
+     */
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
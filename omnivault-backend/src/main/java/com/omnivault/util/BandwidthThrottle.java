@@ -0,0 +1,47 @@
+package com.omnivault.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the average rate of transfers shared by several threads.
+ * <p>
+ * Each transfer books a slot as long as its size takes at the configured rate,
+ * right after the slots booked before it, and waits for its slot to begin.
+ * A large transfer therefore starts right away when the line is idle, and the
+ * transfers after it are held back until it has been paid for.
+ */
+public class BandwidthThrottle {
+
+    private final long bytesPerSecond;
+    private long nextSlotNanos;
+
+    /**
+     * @param bytesPerSecond The average rate to keep to; zero or less means unlimited
+     */
+    public BandwidthThrottle(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        this.nextSlotNanos = System.nanoTime();
+    }
+
+    /**
+     * Waits until a transfer of the given size may start.
+     *
+     * @param bytes The size of the transfer
+     * @throws InterruptedException If the thread is interrupted while waiting
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        if (bytesPerSecond <= 0 || bytes <= 0) {
+            return;
+        }
+        long wait;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long start = Math.max(now, nextSlotNanos);
+            nextSlotNanos = start + (long) ((double) bytes / bytesPerSecond * TimeUnit.SECONDS.toNanos(1));
+            wait = start - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.omnivault.util;
+
+import com.omnivault.exception.BadRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Utility class for keyset pagination cursors.
+ * A cursor is an opaque, URL-safe token encoding the (createdAt, id) key of
+ * the last item of a slice; the next slice starts strictly after that key.
+ */
+public final class CursorUtils {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorUtils() {
+    }
+
+    /**
+     * Encodes the sort key of the last item returned.
+     *
+     * @param createdAt The creation timestamp of the item
+     * @param id The item ID
+     * @return The opaque cursor
+     */
+    public static String encode(ZonedDateTime createdAt, UUID id) {
+        String raw = createdAt.toInstant() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a cursor into a scroll position for newest-first keyset queries.
+     * A blank cursor denotes the first slice.
+     *
+     * @param cursor The opaque cursor, possibly blank
+     * @return The keyset scroll position
+     * @throws BadRequestException if the cursor is malformed
+     */
+    public static KeysetScrollPosition toScrollPosition(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return ScrollPosition.keyset();
+        }
+
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("createdAt", Instant.parse(raw.substring(0, separator)).atZone(ZoneOffset.UTC));
+            keys.put("id", UUID.fromString(raw.substring(separator + 1)));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor", e);
+        }
+    }
+}
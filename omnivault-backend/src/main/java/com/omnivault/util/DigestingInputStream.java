@@ -0,0 +1,133 @@
+package com.omnivault.util;
+
+import org.apache.tika.Tika;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Input stream that inspects the bytes passing through it, so a file can be
+ * stored in a single pass while its SHA-256 digest, exact size and magic-byte
+ * MIME type are worked out along the way.
+ * <p>
+ * Mark and reset are not supported: bytes read twice would be hashed twice.
+ * Readers that need to replay the stream have to buffer above this one.
+ */
+public class DigestingInputStream extends FilterInputStream {
+
+    // Enough for the magic bytes of every format Tika's default detector knows in practice
+    private static final int SNIFF_LENGTH = 8 * 1024;
+    private static final Tika TIKA = new Tika();
+
+    private final MessageDigest digest;
+    private final byte[] head = new byte[SNIFF_LENGTH];
+    private int headLength;
+    private long size;
+    private String sha256;
+
+    public DigestingInputStream(InputStream in) {
+        super(in);
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = in.read();
+        if (b != -1) {
+            inspect(new byte[]{(byte) b}, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int read = in.read(b, off, len);
+        if (read > 0) {
+            inspect(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // Skipped bytes have to be hashed too, so they are read instead
+        byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        long skipped = 0;
+        while (skipped < n) {
+            int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+            if (read < 0) {
+                break;
+            }
+            skipped += read;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) {
+        // Not supported
+    }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    private void inspect(byte[] b, int off, int len) {
+        digest.update(b, off, len);
+        size += len;
+        if (headLength < head.length) {
+            int copied = Math.min(len, head.length - headLength);
+            System.arraycopy(b, off, head, headLength, copied);
+            headLength += copied;
+        }
+    }
+
+    /**
+     * Returns the number of bytes read so far.
+     *
+     * @return The size in bytes
+     */
+    public long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the SHA-256 digest of the bytes read. Call once the stream has been read to the end.
+     *
+     * @return The digest as lowercase hex
+     */
+    public String getSha256() {
+        if (sha256 == null) {
+            sha256 = HexFormat.of().formatHex(digest.digest());
+        }
+        return sha256;
+    }
+
+    /**
+     * Detects the MIME type from the leading bytes read. The file name only
+     * refines the result when the magic bytes leave it open, e.g. a ZIP
+     * container that may be an Office document.
+     *
+     * @param filename The original file name, or null
+     * @return The detected MIME type, {@code application/octet-stream} if unknown
+     */
+    public String detectMimeType(String filename) {
+        return TIKA.detect(Arrays.copyOf(head, headLength), filename);
+    }
+}
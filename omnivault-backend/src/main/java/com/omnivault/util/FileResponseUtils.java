@@ -1,12 +1,14 @@
 package com.omnivault.util;
 
 import com.omnivault.domain.dto.response.ContentDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -15,52 +17,55 @@ import java.util.concurrent.TimeUnit;
 public class FileResponseUtils {
 
     private static final long CACHE_DURATION_HOURS = 24;
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(CACHE_DURATION_HOURS, TimeUnit.HOURS);
 
     private FileResponseUtils() {
         // Private constructor to prevent instantiation
     }
 
     /**
-     * Creates a ResponseEntity for a file resource
+     * Writes a file resource to the response, honouring Range and conditional requests
      *
      * @param resource The file resource to send
      * @param content The content metadata
-     * @return ResponseEntity configured with appropriate headers
+     * @param request The current request
+     * @param response The response to write to
+     * @throws IOException If the file cannot be sent
      */
-    public static ResponseEntity<Resource> createFileResponse(Resource resource, ContentDTO content) {
+    public static void writeFileResponse(Resource resource, ContentDTO content,
+                                         HttpServletRequest request, HttpServletResponse response) throws IOException {
         String contentType = content.getMimeType();
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
-                .contentType(contentType != null ?
-                        MediaType.parseMediaType(contentType) :
-                        MediaType.APPLICATION_OCTET_STREAM)
-                .cacheControl(CacheControl.maxAge(CACHE_DURATION_HOURS, TimeUnit.HOURS));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
 
         // Use "inline" for images, videos, and PDFs so they display in browser
         if (shouldUseInlineDisposition(contentType)) {
-            responseBuilder.header(HttpHeaders.CONTENT_DISPOSITION,
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
                     "inline; filename=\"" + content.getOriginalFilename() + "\"");
         } else {
             // Use "attachment" for other file types to force download
-            responseBuilder.header(HttpHeaders.CONTENT_DISPOSITION,
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
                     "attachment; filename=\"" + content.getOriginalFilename() + "\"");
         }
 
-        return responseBuilder.body(resource);
+        ResourceRangeWriter.write(resource,
+                contentType != null ? MediaType.parseMediaType(contentType) : MediaType.APPLICATION_OCTET_STREAM,
+                request, response);
     }
 
     /**
-     * Creates a ResponseEntity for a thumbnail resource
+     * Writes a thumbnail resource to the response, honouring Range and conditional requests
      *
      * @param resource The thumbnail resource to send
-     * @return ResponseEntity configured with appropriate headers for a thumbnail
+     * @param request The current request
+     * @param response The response to write to
+     * @throws IOException If the thumbnail cannot be sent
      */
-    public static ResponseEntity<Resource> createThumbnailResponse(Resource resource) {
-        return ResponseEntity.ok()
-                .contentType(MediaType.IMAGE_JPEG)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "inline")
-                .cacheControl(CacheControl.maxAge(CACHE_DURATION_HOURS, TimeUnit.HOURS))
-                .body(resource);
+    public static void writeThumbnailResponse(Resource resource,
+                                              HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "inline");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL.getHeaderValue());
+        ResourceRangeWriter.write(resource, MediaType.IMAGE_JPEG, request, response);
     }
 
     /**
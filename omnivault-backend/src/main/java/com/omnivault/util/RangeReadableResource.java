@@ -0,0 +1,23 @@
+package com.omnivault.util;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A resource that can open a stream over part of its content without reading
+ * what precedes it, such as an object store answering ranged GET requests.
+ */
+public interface RangeReadableResource extends Resource {
+
+    /**
+     * Opens a stream over a byte range of the content.
+     *
+     * @param position The offset of the first byte
+     * @param count The number of bytes
+     * @return A new stream positioned at the first byte, ending after the last
+     * @throws IOException If the content cannot be read
+     */
+    InputStream getInputStream(long position, long count) throws IOException;
+}
@@ -0,0 +1,272 @@
+package com.omnivault.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes a resource to the servlet response, honouring conditional and range requests:
+ * {@code If-None-Match}/{@code If-Modified-Since} (304), {@code Range} (206, as
+ * {@code multipart/byteranges} for several ranges) and {@code If-Range}.
+ * <p>
+ * Files on local disk never pass through a heap buffer. When the servlet container
+ * supports sendfile, whole files and single ranges are handed to it, so the kernel
+ * copies them from the page cache to the socket; otherwise they are copied with
+ * {@link FileChannel#transferTo}. Other resources are streamed through a bounded
+ * buffer, and those implementing {@link RangeReadableResource} only fetch the bytes asked for.
+ */
+public class ResourceRangeWriter {
+
+    // Request attributes through which Tomcat offers and accepts sendfile
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // More ranges than this are not worth a multipart response; the whole file is sent instead
+    private static final int MAX_RANGES = 16;
+    private static final String CRLF = "\r\n";
+
+    private ResourceRangeWriter() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Writes a resource, or the requested ranges of it, to the response.
+     * Headers such as Cache-Control or Content-Disposition are expected to be set by the caller.
+     *
+     * @param resource The resource to send
+     * @param contentType The media type of the resource
+     * @param request The current request
+     * @param response The response to write to
+     * @throws IOException If the resource cannot be read or the client goes away
+     */
+    public static void write(Resource resource, MediaType contentType,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long length = resource.contentLength();
+        long lastModified = lastModifiedOf(resource);
+        // Stored files are never rewritten in place, so size and modification time identify a version
+        String eTag = lastModified > 0
+                ? "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\""
+                : null;
+
+        if (new ServletWebRequest(request, response).checkNotModified(eTag, lastModified)) {
+            return;
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        List<ResourceRegion> regions = requestedRegions(resource, length, eTag, lastModified, request);
+
+        if (regions == null) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            writeRegion(new ResourceRegion(resource, 0, length), request, response);
+        } else if (regions.isEmpty()) {
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+        } else if (regions.size() == 1) {
+            ResourceRegion region = regions.getFirst();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setContentType(contentType.toString());
+            response.setHeader(HttpHeaders.CONTENT_RANGE, contentRange(region, length));
+            response.setContentLengthLong(region.getCount());
+            writeRegion(region, request, response);
+        } else {
+            writeMultipart(resource, regions, contentType, length, request, response);
+        }
+    }
+
+    /**
+     * Resolves the Range header against the resource.
+     *
+     * @return null to send the whole resource, an empty list if no range can be
+     *         satisfied, or the regions to send in request order
+     */
+    private static List<ResourceRegion> requestedRegions(Resource resource, long length, String eTag,
+                                                         long lastModified, HttpServletRequest request) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null || !"GET".equals(request.getMethod())
+                || !ifRangeMatches(request.getHeader(HttpHeaders.IF_RANGE), request, eTag, lastModified)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = HttpRange.parseRanges(rangeHeader);
+        } catch (IllegalArgumentException e) {
+            // A malformed Range header is ignored rather than rejected
+            return null;
+        }
+        if (ranges.isEmpty() || ranges.size() > MAX_RANGES) {
+            return null;
+        }
+
+        List<ResourceRegion> regions = new ArrayList<>(ranges.size());
+        long total = 0;
+        for (HttpRange range : ranges) {
+            if (length == 0) {
+                break;
+            }
+            try {
+                long start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                regions.add(new ResourceRegion(resource, start, end - start + 1));
+                total += end - start + 1;
+            } catch (IllegalArgumentException e) {
+                // Unsatisfiable ranges are skipped; the request fails only if none remain
+            }
+        }
+        if (regions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        // Overlapping ranges that add up to more than the file are served as a whole
+        return total > length ? null : regions;
+    }
+
+    private static boolean ifRangeMatches(String ifRange, HttpServletRequest request,
+                                          String eTag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // Only a strong entity tag can validate a range
+            return ifRange.equals(eTag);
+        }
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return lastModified > 0 && date / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void writeRegion(ResourceRegion region, HttpServletRequest request,
+                                    HttpServletResponse response) throws IOException {
+        if ("HEAD".equals(request.getMethod()) || region.getCount() == 0) {
+            return;
+        }
+
+        Resource resource = region.getResource();
+        if (resource.isFile()) {
+            File file = resource.getFile();
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+                // The container sends the file once the handler returns
+                request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+                request.setAttribute(SENDFILE_START, region.getPosition());
+                request.setAttribute(SENDFILE_END, region.getPosition() + region.getCount());
+                return;
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                transfer(channel, region, response.getOutputStream());
+            }
+            return;
+        }
+
+        copyStream(region, response.getOutputStream());
+    }
+
+    private static void writeMultipart(Resource resource, List<ResourceRegion> regions, MediaType contentType,
+                                       long length, HttpServletRequest request,
+                                       HttpServletResponse response) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+        List<byte[]> partHeaders = new ArrayList<>(regions.size());
+        long contentLength = 0;
+        for (ResourceRegion region : regions) {
+            byte[] partHeader = (CRLF + "--" + boundary + CRLF
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + CRLF
+                    + HttpHeaders.CONTENT_RANGE + ": " + contentRange(region, length) + CRLF
+                    + CRLF).getBytes(StandardCharsets.US_ASCII);
+            partHeaders.add(partHeader);
+            contentLength += partHeader.length + region.getCount();
+        }
+        byte[] closing = (CRLF + "--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+        contentLength += closing.length;
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (resource.isFile()) {
+            try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+                for (int i = 0; i < regions.size(); i++) {
+                    out.write(partHeaders.get(i));
+                    transfer(channel, regions.get(i), out);
+                }
+            }
+        } else {
+            for (int i = 0; i < regions.size(); i++) {
+                out.write(partHeaders.get(i));
+                copyStream(regions.get(i), out);
+            }
+        }
+        out.write(closing);
+    }
+
+    private static void transfer(FileChannel channel, ResourceRegion region, OutputStream out) throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long position = region.getPosition();
+        long end = position + region.getCount();
+        while (position < end) {
+            long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                throw new EOFException("File ended before byte " + end);
+            }
+            position += transferred;
+        }
+    }
+
+    // Resources that can read ranges directly, such as S3 objects, are asked for just the
+    // region; others are read from the start and skipped forward
+    private static void copyStream(ResourceRegion region, OutputStream out) throws IOException {
+        Resource resource = region.getResource();
+        if (resource instanceof RangeReadableResource rangeReadable && region.getCount() < resource.contentLength()) {
+            try (InputStream in = rangeReadable.getInputStream(region.getPosition(), region.getCount())) {
+                StreamUtils.copy(in, out);
+            }
+            return;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            StreamUtils.copyRange(in, out, region.getPosition(), region.getPosition() + region.getCount() - 1);
+        }
+    }
+
+    private static String contentRange(ResourceRegion region, long length) {
+        return "bytes " + region.getPosition() + "-" + (region.getPosition() + region.getCount() - 1) + "/" + length;
+    }
+
+    private static long lastModifiedOf(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            // Resources that are not files, such as downloaded bytes, carry no modification time
+            return -1;
+        }
+    }
+}
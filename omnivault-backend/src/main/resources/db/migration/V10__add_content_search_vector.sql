@@ -0,0 +1,64 @@
+-- Stored full-text search document for each content item.
+-- The vector combines the title (weight A), description (B), the text body of
+-- TEXT items (C) and the URL of LINK items (D), and is kept current by triggers
+-- so searches hit a single GIN index instead of scanning joined rows.
+ALTER TABLE contents ADD COLUMN search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION build_content_search_vector(p_content_id UUID, p_title TEXT, p_description TEXT)
+RETURNS tsvector AS $$
+    SELECT setweight(to_tsvector('english', COALESCE(p_title, '')), 'A')
+        || setweight(to_tsvector('english', COALESCE(p_description, '')), 'B')
+        || setweight(to_tsvector('english', COALESCE(
+               (SELECT tc.text_content FROM text_contents tc WHERE tc.content_id = p_content_id), '')), 'C')
+        || setweight(to_tsvector('simple', COALESCE(
+               (SELECT lc.url FROM link_contents lc WHERE lc.content_id = p_content_id), '')), 'D');
+$$ LANGUAGE sql STABLE;
+
+-- Recompute when the content row's own searchable columns change
+CREATE OR REPLACE FUNCTION update_content_search_vector()
+RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector = build_content_search_vector(NEW.id, NEW.title, NEW.description);
+RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER update_contents_search_vector
+    BEFORE INSERT OR UPDATE OF title, description ON contents
+    FOR EACH ROW EXECUTE FUNCTION update_content_search_vector();
+
+-- Recompute the parent content's vector when its text body or link changes
+CREATE OR REPLACE FUNCTION refresh_parent_content_search_vector()
+RETURNS TRIGGER AS $$
+DECLARE
+    target_id UUID;
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        target_id = OLD.content_id;
+    ELSE
+        target_id = NEW.content_id;
+    END IF;
+
+    UPDATE contents c
+    SET search_vector = build_content_search_vector(c.id, c.title, c.description)
+    WHERE c.id = target_id;
+RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER refresh_search_vector_on_text_contents
+    AFTER INSERT OR UPDATE OF text_content OR DELETE ON text_contents
+    FOR EACH ROW EXECUTE FUNCTION refresh_parent_content_search_vector();
+
+CREATE TRIGGER refresh_search_vector_on_link_contents
+    AFTER INSERT OR UPDATE OF url OR DELETE ON link_contents
+    FOR EACH ROW EXECUTE FUNCTION refresh_parent_content_search_vector();
+
+-- Backfill existing rows
+UPDATE contents SET search_vector = build_content_search_vector(id, title, description);
+
+CREATE INDEX idx_contents_search_vector ON contents USING GIN (search_vector);
+
+-- The expression indexes from V2 were never matched by any query
+DROP INDEX IF EXISTS idx_contents_title_description;
+DROP INDEX IF EXISTS idx_text_contents;
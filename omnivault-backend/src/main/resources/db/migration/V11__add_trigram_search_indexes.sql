@@ -0,0 +1,9 @@
+-- Trigram indexes so case-insensitive substring (ILIKE '%term%') searches and
+-- fuzzy similarity matching can use an index instead of scanning a user's rows
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_folders_name_trgm ON folders USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_folders_description_trgm ON folders USING GIN (description gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_tags_name_trgm ON tags USING GIN (name gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contents_title_trgm ON contents USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_contents_description_trgm ON contents USING GIN (description gin_trgm_ops);
@@ -0,0 +1,3 @@
+-- SHA-256 digest of stored files, computed while the upload is written
+ALTER TABLE contents
+    ADD COLUMN content_sha256 VARCHAR(64);
@@ -0,0 +1,16 @@
+-- Deduplicated files, keyed by content digest within a dedup scope.
+-- owner_id is the user a blob is deduplicated for, or the nil UUID for blobs shared by all users.
+CREATE TABLE blobs (
+    id UUID PRIMARY KEY,
+    owner_id UUID NOT NULL,
+    sha256 VARCHAR(64) NOT NULL,
+    storage_location VARCHAR(10) NOT NULL,
+    storage_path TEXT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    mime_type VARCHAR(255),
+    ref_count INTEGER NOT NULL CHECK (ref_count >= 0),
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_blobs_owner_sha256_location UNIQUE (owner_id, sha256, storage_location),
+    -- Content items reference blobs by storage path
+    CONSTRAINT uk_blobs_location_path UNIQUE (storage_location, storage_path)
+);
@@ -0,0 +1,16 @@
+-- Thumbnails are generated in the background; contents report their progress
+ALTER TABLE contents
+    ADD COLUMN thumbnail_status VARCHAR(10) DEFAULT 'NONE' NOT NULL;
+
+UPDATE contents SET thumbnail_status = 'READY' WHERE thumbnail_path IS NOT NULL;
+
+-- Queued thumbnail generations, one per content item
+CREATE TABLE thumbnail_jobs (
+    id UUID PRIMARY KEY,
+    content_id UUID NOT NULL UNIQUE REFERENCES contents(id) ON DELETE CASCADE,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_thumbnail_jobs_next_attempt_at ON thumbnail_jobs (next_attempt_at);
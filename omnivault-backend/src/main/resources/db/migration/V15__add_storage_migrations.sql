@@ -0,0 +1,22 @@
+-- Bulk moves of content between storage locations.
+-- user_id is the user whose content is moved, or NULL for all users.
+CREATE TABLE storage_migrations (
+    id UUID PRIMARY KEY,
+    user_id UUID REFERENCES users(id) ON DELETE CASCADE,
+    target_location VARCHAR(10) NOT NULL,
+    status VARCHAR(10) NOT NULL,
+    total_items BIGINT NOT NULL DEFAULT 0,
+    moved_items BIGINT NOT NULL DEFAULT 0,
+    failed_items BIGINT NOT NULL DEFAULT 0,
+    skipped_items BIGINT NOT NULL DEFAULT 0,
+    moved_bytes BIGINT NOT NULL DEFAULT 0,
+    -- Checkpoint: content is visited in ID order
+    last_content_id UUID,
+    last_error TEXT,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP WITH TIME ZONE
+);
+
+CREATE INDEX idx_storage_migrations_status ON storage_migrations (status);
+CREATE INDEX idx_storage_migrations_user_id ON storage_migrations (user_id);
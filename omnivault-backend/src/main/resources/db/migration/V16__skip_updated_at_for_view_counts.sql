@@ -0,0 +1,9 @@
+-- Buffered views are added to view_count in bulk; a view is not an edit,
+-- so only touch updated_at when something besides the view count changes
+DROP TRIGGER IF EXISTS update_contents_updated_at ON contents;
+
+CREATE TRIGGER update_contents_updated_at
+    BEFORE UPDATE ON contents
+    FOR EACH ROW
+    WHEN ((to_jsonb(OLD) - 'view_count') IS DISTINCT FROM (to_jsonb(NEW) - 'view_count'))
+    EXECUTE FUNCTION update_updated_at_column();
@@ -0,0 +1,18 @@
+-- Composite indexes backing keyset (cursor) pagination on (created_at, id), newest first.
+-- Each listing seeks directly to the cursor position within a user's rows.
+CREATE INDEX IF NOT EXISTS idx_contents_user_created_id
+    ON contents (user_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_user_folder_created_id
+    ON contents (user_id, folder_id, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_user_type_created_id
+    ON contents (user_id, content_type, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_contents_user_favorite_created_id
+    ON contents (user_id, created_at DESC, id DESC)
+    WHERE is_favorite = TRUE;
+
+-- Tag listings join through content_tags, whose primary key leads with content_id
+CREATE INDEX IF NOT EXISTS idx_content_tags_tag_id_content_id
+    ON content_tags (tag_id, content_id);
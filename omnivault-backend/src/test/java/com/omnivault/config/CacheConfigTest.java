@@ -0,0 +1,78 @@
+package com.omnivault.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.omnivault.service.impl.PopularContentLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.ClassPathResource;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class CacheConfigTest {
+
+    private CachePolicyProperties properties;
+
+    @BeforeEach
+    void setup() throws Exception {
+        StandardEnvironment environment = new StandardEnvironment();
+        new YamlPropertySourceLoader().load("application", new ClassPathResource("application.yml"))
+                .forEach(environment.getPropertySources()::addLast);
+        properties = new Binder(ConfigurationPropertySources.get(environment))
+                .bind("app.cache", CachePolicyProperties.class)
+                .get();
+    }
+
+    @Test
+    @DisplayName("Should bind per-cache policies from application.yml")
+    void bindPolicies() {
+        assertThat(properties.policyFor("contentsByFolder").getMaximumWeight()).isNotNull();
+        assertThat(properties.policyFor("contents").getExpireAfterWrite()).isLessThan(Duration.ofHours(1));
+        assertThat(properties.policyFor("popularContents").getRefreshAfterWrite()).isNotNull();
+        assertThat(properties.policyFor("folders")).isSameAs(properties.getDefaults());
+    }
+
+    @Test
+    @DisplayName("Should not apply the default limits to caches with their own policy")
+    void policiesDoNotInheritDefaults() {
+        assertThat(properties.policyFor("contents").getExpireAfterAccess()).isNull();
+        assertThat(properties.policyFor("popularContents").getExpireAfterAccess()).isNull();
+        assertThat(properties.policyFor("recentContents").getMaximumSize()).isNull();
+        assertThat(new CachePolicyProperties().getDefaults().getMaximumSize()).isEqualTo(500L);
+    }
+
+    @Test
+    @DisplayName("Should build every named cache from its policy")
+    void cacheManager() {
+        // When
+        CacheManager cacheManager = new CacheConfig().cacheManager(
+                properties, mock(PopularContentLoader.class), new CacheRemovalCounters());
+
+        // Then
+        assertThat(cacheManager.getCacheNames()).containsExactlyInAnyOrderElementsOf(CacheConfig.CACHE_NAMES);
+        assertThat(cacheManager.getCache("unknown")).isNull();
+
+        Cache<Object, Object> contents = ((CaffeineCache) cacheManager.getCache("contents")).getNativeCache();
+        assertThat(contents.policy().eviction().orElseThrow().isWeighted()).isTrue();
+        assertThat(contents.policy().expireAfterWrite()).isPresent();
+        assertThat(contents.policy().expireAfterAccess()).isEmpty();
+
+        Cache<Object, Object> popular = ((CaffeineCache) cacheManager.getCache("popularContents")).getNativeCache();
+        assertThat(popular).isInstanceOf(LoadingCache.class);
+        assertThat(popular.policy().refreshAfterWrite()).isPresent();
+
+        Cache<Object, Object> tags = ((CaffeineCache) cacheManager.getCache("tags")).getNativeCache();
+        assertThat(tags.policy().eviction().orElseThrow().isWeighted()).isFalse();
+        assertThat(tags.policy().expireAfterAccess()).isPresent();
+    }
+}
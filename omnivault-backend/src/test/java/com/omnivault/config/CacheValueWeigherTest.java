@@ -0,0 +1,51 @@
+package com.omnivault.config;
+
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.TagDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheValueWeigherTest {
+
+    private final CacheValueWeigher weigher = new CacheValueWeigher();
+
+    @Test
+    @DisplayName("Should weigh a page of content far above a single tag")
+    void weigh_PageVersusTag() {
+        // Given
+        List<ContentDTO> contents = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            contents.add(ContentDTO.builder()
+                    .title("Note " + i)
+                    .textContent("x".repeat(2_000))
+                    .tags(List.of(TagDTO.builder().name("work").color("#FF5733").build()))
+                    .build());
+        }
+        Page<ContentDTO> page = new PageImpl<>(contents);
+        TagDTO tag = TagDTO.builder().name("work").color("#FF5733").build();
+
+        // When
+        int pageWeight = weigher.weigh("allContents_page_0_20", page);
+        int tagWeight = weigher.weigh("tag_1", tag);
+
+        // Then
+        assertThat(pageWeight).isGreaterThan(20 * 4_000);
+        assertThat(tagWeight).isLessThan(1_000);
+    }
+
+    @Test
+    @DisplayName("Should grow with text body length")
+    void weigh_TextBody() {
+        ContentDTO small = ContentDTO.builder().title("Note").textContent("short").build();
+        ContentDTO large = ContentDTO.builder().title("Note").textContent("x".repeat(10_000)).build();
+
+        assertThat(weigher.weigh("k", large) - weigher.weigh("k", small)).isGreaterThanOrEqualTo(19_990);
+    }
+}
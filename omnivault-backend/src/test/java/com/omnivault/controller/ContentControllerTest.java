@@ -4,20 +4,20 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.omnivault.domain.dto.request.ContentUpdateRequest;
 import com.omnivault.domain.dto.request.TextContentCreateRequest;
 import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.CursorPageDTO;
 import com.omnivault.domain.dto.response.TagDTO;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.exception.GlobalExceptionHandler;
 import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.service.ContentService;
-import com.omnivault.util.FileResponseUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.io.ByteArrayResource;
@@ -27,7 +27,6 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
@@ -154,6 +153,97 @@ class ContentControllerTest {
         verify(contentService).getAllContent(any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("Should get content summaries when summary view is requested")
+    void getAllContent_SummaryView() throws Exception {
+        // Given
+        Pageable pageable = PageRequest.of(0, 10);
+        ContentSummaryDTO summary = ContentSummaryDTO.builder()
+                .id(contentId)
+                .title("Test Content")
+                .contentType(ContentType.TEXT)
+                .folderId(folderId)
+                .folderName("Test Folder")
+                .build();
+        when(contentService.getAllContentSummaries(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Collections.singletonList(summary), pageable, 1));
+
+        // When & Then
+        mockMvc.perform(get("/contents")
+                        .param("view", "summary")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id", is(contentId.toString())))
+                .andExpect(jsonPath("$.content[0].folderName", is("Test Folder")))
+                .andExpect(jsonPath("$.content[0].textContent").doesNotExist())
+                .andExpect(jsonPath("$.content[0].tags").doesNotExist());
+
+        verify(contentService).getAllContentSummaries(any(Pageable.class));
+        verify(contentService, never()).getAllContent(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should get a cursor slice when a cursor is supplied")
+    void getAllContent_CursorSlice() throws Exception {
+        // Given
+        CursorPageDTO<ContentDTO> slice = CursorPageDTO.<ContentDTO>builder()
+                .content(contentList)
+                .size(2)
+                .hasNext(true)
+                .nextCursor("next-cursor")
+                .build();
+        when(contentService.getAllContentSlice("", 2)).thenReturn(slice);
+
+        // When & Then
+        mockMvc.perform(get("/contents")
+                        .param("cursor", "")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+
+        verify(contentService).getAllContentSlice("", 2);
+        verify(contentService, never()).getAllContent(any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("Should get a summary cursor slice when a cursor and summary view are supplied")
+    void getContentByFolder_SummaryCursorSlice() throws Exception {
+        // Given
+        ContentSummaryDTO summary = ContentSummaryDTO.builder()
+                .id(contentId)
+                .title("Test Content")
+                .contentType(ContentType.TEXT)
+                .folderId(folderId)
+                .folderName("Test Folder")
+                .build();
+        CursorPageDTO<ContentSummaryDTO> slice = CursorPageDTO.<ContentSummaryDTO>builder()
+                .content(List.of(summary))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next-cursor")
+                .build();
+        when(contentService.getContentSummarySliceByFolder(folderId, "abc", 1)).thenReturn(slice);
+
+        // When & Then
+        mockMvc.perform(get("/contents/folder/{folderId}", folderId)
+                        .param("view", "summary")
+                        .param("cursor", "abc")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].folderName", is("Test Folder")))
+                .andExpect(jsonPath("$.content[0].tags").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor", is("next-cursor")));
+
+        verify(contentService).getContentSummarySliceByFolder(folderId, "abc", 1);
+        verify(contentService, never()).getContentSliceByFolder(any(), any(), anyInt());
+    }
+
     @Test
     @DisplayName("Should get content by ID")
     void getContent_Success() throws Exception {
@@ -330,19 +420,31 @@ class ContentControllerTest {
         when(contentService.getContentFile(contentId)).thenReturn(resource);
         when(contentService.getContent(contentId)).thenReturn(contentDTO);
 
-        // Use MockedStatic to mock the static method in FileResponseUtils
-        try (MockedStatic<FileResponseUtils> mockedStatic = Mockito.mockStatic(FileResponseUtils.class)) {
-            ResponseEntity<Resource> responseEntity = ResponseEntity.ok(resource);
-            mockedStatic.when(() -> FileResponseUtils.createFileResponse(any(), any())).thenReturn(responseEntity);
+        // When & Then
+        mockMvc.perform(get("/contents/{contentId}/file", contentId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Accept-Ranges", "bytes"))
+                .andExpect(header().string("Cache-Control", containsString("max-age")))
+                .andExpect(content().string("test file content"));
 
-            // When & Then
-            mockMvc.perform(get("/contents/{contentId}/file", contentId))
-                    .andExpect(status().isOk());
+        verify(contentService).getContentFile(contentId);
+        verify(contentService).getContent(contentId);
+    }
+
+    @Test
+    @DisplayName("Should get a byte range of the content file")
+    void getContentFile_Range() throws Exception {
+        // Given
+        Resource resource = new ByteArrayResource("test file content".getBytes());
+        when(contentService.getContentFile(contentId)).thenReturn(resource);
+        when(contentService.getContent(contentId)).thenReturn(contentDTO);
 
-            verify(contentService).getContentFile(contentId);
-            verify(contentService).getContent(contentId);
-            mockedStatic.verify(() -> FileResponseUtils.createFileResponse(any(), any()));
-        }
+        // When & Then
+        mockMvc.perform(get("/contents/{contentId}/file", contentId)
+                        .header("Range", "bytes=5-8"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string("Content-Range", "bytes 5-8/17"))
+                .andExpect(content().string("file"));
     }
 
     @Test
@@ -367,6 +469,22 @@ class ContentControllerTest {
         verify(contentService).searchContent(eq(searchQuery), any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("Should get search suggestions")
+    void getSearchSuggestions_Success() throws Exception {
+        // Given
+        when(contentService.getSearchSuggestions("meetng")).thenReturn(List.of("Meeting Notes", "Meetups"));
+
+        // When & Then
+        mockMvc.perform(get("/contents/search/suggestions")
+                        .param("query", "meetng"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0]", is("Meeting Notes")));
+
+        verify(contentService).getSearchSuggestions("meetng");
+    }
+
     @Test
     @DisplayName("Should upload file content")
     void createFileContent_Success() throws Exception {
@@ -0,0 +1,82 @@
+package com.omnivault.repository;
+
+import com.omnivault.config.TestJpaConfig;
+import com.omnivault.domain.model.Blob;
+import com.omnivault.domain.model.StorageLocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TestJpaConfig.class)
+class BlobRepositoryTest {
+
+    private static final String SHA256 = "a".repeat(64);
+
+    @Autowired
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private UUID ownerId;
+
+    @BeforeEach
+    void setup() {
+        blobRepository.deleteAll();
+        ownerId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should count further references to a blob")
+    void reference() {
+        insert("files/first");
+
+        assertThat(blobRepository.incrementRefCount(ownerId, SHA256, StorageLocation.LOCAL)).isEqualTo(1);
+        assertThat(blobRepository.incrementRefCount(ownerId, SHA256, StorageLocation.CLOUD)).isZero();
+        entityManager.clear();
+
+        Blob blob = blobRepository.findByOwnerIdAndSha256AndStorageLocation(ownerId, SHA256, StorageLocation.LOCAL)
+                .orElseThrow();
+        assertThat(blob.getRefCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should delete a blob only when its last reference is released")
+    void release() {
+        insert("files/first");
+        blobRepository.incrementRefCount(ownerId, SHA256, StorageLocation.LOCAL);
+
+        assertThat(blobRepository.decrementRefCount(StorageLocation.LOCAL, "files/first")).isEqualTo(1);
+        assertThat(blobRepository.deleteIfUnreferenced(StorageLocation.LOCAL, "files/first")).isZero();
+
+        assertThat(blobRepository.decrementRefCount(StorageLocation.LOCAL, "files/first")).isEqualTo(1);
+        assertThat(blobRepository.deleteIfUnreferenced(StorageLocation.LOCAL, "files/first")).isEqualTo(1);
+
+        assertThat(blobRepository.decrementRefCount(StorageLocation.LOCAL, "files/first")).isZero();
+    }
+
+    // insertIfAbsent relies on PostgreSQL's ON CONFLICT, which H2 does not support
+    private void insert(String storagePath) {
+        blobRepository.saveAndFlush(Blob.builder()
+                .id(UUID.randomUUID())
+                .ownerId(ownerId)
+                .sha256(SHA256)
+                .storageLocation(StorageLocation.LOCAL)
+                .storagePath(storagePath)
+                .sizeBytes(42L)
+                .mimeType("application/pdf")
+                .refCount(1)
+                .build());
+    }
+}
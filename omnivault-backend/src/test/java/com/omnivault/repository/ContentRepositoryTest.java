@@ -0,0 +1,355 @@
+package com.omnivault.repository;
+
+import com.omnivault.config.TestJpaConfig;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.Folder;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.Tag;
+import com.omnivault.domain.model.ThumbnailStatus;
+import com.omnivault.domain.model.User;
+import com.omnivault.domain.projection.ContentSummaryView;
+import com.omnivault.util.CursorUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(TestJpaConfig.class)
+class ContentRepositoryTest {
+
+    @Autowired
+    private ContentRepository contentRepository;
+
+    @Autowired
+    private FolderRepository folderRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private User testUser;
+    private Folder folder;
+    private Tag tag;
+    private Content noteContent;
+
+    @BeforeEach
+    void setup() {
+        contentRepository.deleteAll();
+        tagRepository.deleteAll();
+        folderRepository.deleteAll();
+        userRepository.deleteAll();
+
+        testUser = userRepository.save(User.builder()
+                .username("testuser")
+                .email("test@example.com")
+                .password("password123")
+                .emailVerified(true)
+                .enabled(true)
+                .build());
+
+        folder = folderRepository.save(Folder.builder()
+                .name("Notes")
+                .user(testUser)
+                .build());
+
+        tag = tagRepository.save(Tag.builder()
+                .name("Work")
+                .color("#FF5733")
+                .user(testUser)
+                .build());
+
+        noteContent = Content.builder()
+                .title("Meeting Notes")
+                .contentType(ContentType.TEXT)
+                .folder(folder)
+                .favorite(true)
+                .viewCount(3)
+                .user(testUser)
+                .build();
+        noteContent.addTag(tag);
+        noteContent = contentRepository.save(noteContent);
+
+        contentRepository.save(Content.builder()
+                .title("Bookmark")
+                .contentType(ContentType.LINK)
+                .viewCount(0)
+                .user(testUser)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should find content by ID only for its owner")
+    void findByIdAndUserId() {
+        assertThat(contentRepository.findByIdAndUserId(noteContent.getId(), testUser.getId()))
+                .hasValueSatisfying(content -> assertThat(content.getTitle()).isEqualTo("Meeting Notes"));
+        assertThat(contentRepository.findByIdAndUserId(noteContent.getId(), UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should set a thumbnail only while the content is stored where it was made from")
+    void updateThumbnail() {
+        int moved = contentRepository.updateThumbnail(noteContent.getId(), "old/path.png", StorageLocation.LOCAL,
+                "thumbnails/stale.jpg", StorageLocation.LOCAL, ThumbnailStatus.READY);
+        noteContent.setStoragePath("text/user/notes.txt");
+        noteContent.setStorageLocation(StorageLocation.LOCAL);
+        contentRepository.saveAndFlush(noteContent);
+        long version = noteContent.getVersion();
+        int current = contentRepository.updateThumbnail(noteContent.getId(), "text/user/notes.txt",
+                StorageLocation.LOCAL, "thumbnails/notes.jpg", StorageLocation.LOCAL, ThumbnailStatus.READY);
+        entityManager.clear();
+
+        assertThat(moved).isZero();
+        assertThat(current).isEqualTo(1);
+        Content reloaded = contentRepository.findById(noteContent.getId()).orElseThrow();
+        assertThat(reloaded.getThumbnailPath()).isEqualTo("thumbnails/notes.jpg");
+        assertThat(reloaded.getThumbnailStatus()).isEqualTo(ThumbnailStatus.READY);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Should set the thumbnail status of content that still has no file")
+    void updateThumbnail_WithoutFile() {
+        int withoutFile = contentRepository.updateThumbnail(noteContent.getId(), null, StorageLocation.LOCAL,
+                null, null, ThumbnailStatus.NONE);
+        int withFile = contentRepository.updateThumbnail(noteContent.getId(), "text/user/notes.txt",
+                StorageLocation.LOCAL, null, null, ThumbnailStatus.FAILED);
+        entityManager.clear();
+
+        assertThat(withoutFile).isEqualTo(1);
+        assertThat(withFile).isZero();
+        assertThat(contentRepository.findById(noteContent.getId()).orElseThrow().getThumbnailStatus())
+                .isEqualTo(ThumbnailStatus.NONE);
+    }
+
+    @Test
+    @DisplayName("Should find thumbnails used outside a set of content items")
+    void existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn() {
+        Content copy = contentRepository.save(Content.builder()
+                .title("Copy")
+                .contentType(ContentType.IMAGE)
+                .thumbnailPath("thumbnails/shared.jpg")
+                .thumbnailStorageLocation(StorageLocation.LOCAL)
+                .viewCount(0)
+                .user(testUser)
+                .build());
+        noteContent.setThumbnailPath("thumbnails/shared.jpg");
+        noteContent.setThumbnailStorageLocation(StorageLocation.LOCAL);
+        contentRepository.save(noteContent);
+
+        assertThat(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn(
+                "thumbnails/shared.jpg", StorageLocation.LOCAL, List.of(copy.getId()))).isTrue();
+        assertThat(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn(
+                "thumbnails/shared.jpg", StorageLocation.LOCAL, List.of(copy.getId(), noteContent.getId()))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find content summaries for a user, including content without a folder")
+    void findSummariesByUser() {
+        // When
+        Page<ContentSummaryView> summaries = contentRepository.findSummariesByUser(
+                testUser, PageRequest.of(0, 10, Sort.by("title")));
+
+        // Then
+        assertThat(summaries.getTotalElements()).isEqualTo(2);
+        assertThat(summaries.getContent()).extracting(ContentSummaryView::getTitle)
+                .containsExactly("Bookmark", "Meeting Notes");
+
+        ContentSummaryView note = summaries.getContent().get(1);
+        assertThat(note.getId()).isEqualTo(noteContent.getId());
+        assertThat(note.getContentType()).isEqualTo(ContentType.TEXT);
+        assertThat(note.getFolderId()).isEqualTo(folder.getId());
+        assertThat(note.getFolderName()).isEqualTo("Notes");
+        assertThat(note.isFavorite()).isTrue();
+        assertThat(note.getViewCount()).isEqualTo(3);
+        assertThat(summaries.getContent().getFirst().getFolderId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should find content summaries by folder, tag and favorite flag")
+    void findFilteredSummaries() {
+        // When
+        Page<ContentSummaryView> byFolder = contentRepository.findSummariesByUserAndFolder(
+                testUser, folder, PageRequest.of(0, 10));
+        Page<ContentSummaryView> byTag = contentRepository.findSummariesByUserAndTagId(
+                testUser, tag.getId(), PageRequest.of(0, 10));
+        Page<ContentSummaryView> favorites = contentRepository.findFavoriteSummariesByUser(
+                testUser, PageRequest.of(0, 10));
+        Page<ContentSummaryView> links = contentRepository.findSummariesByUserAndContentType(
+                testUser, ContentType.LINK, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(byFolder.getContent()).extracting(ContentSummaryView::getTitle).containsExactly("Meeting Notes");
+        assertThat(byTag.getContent()).extracting(ContentSummaryView::getTitle).containsExactly("Meeting Notes");
+        assertThat(byTag.getTotalElements()).isEqualTo(1);
+        assertThat(favorites.getContent()).extracting(ContentSummaryView::getTitle).containsExactly("Meeting Notes");
+        assertThat(links.getContent()).extracting(ContentSummaryView::getTitle).containsExactly("Bookmark");
+    }
+
+    @Test
+    @DisplayName("Should page through content newest first with keyset windows")
+    void findByUserOrderByCreatedAtDescIdDesc() {
+        // Given
+        contentRepository.save(Content.builder()
+                .title("Newest")
+                .contentType(ContentType.TEXT)
+                .user(testUser)
+                .build());
+
+        // When
+        Window<Content> first = contentRepository.findByUserOrderByCreatedAtDescIdDesc(
+                testUser, ScrollPosition.keyset(), Limit.of(2));
+        Content last = first.getContent().getLast();
+        String cursor = CursorUtils.encode(last.getCreatedAt(), last.getId());
+        Window<Content> second = contentRepository.findByUserOrderByCreatedAtDescIdDesc(
+                testUser, CursorUtils.toScrollPosition(cursor), Limit.of(2));
+
+        // Then
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).hasSize(1);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).doesNotContainAnyElementsOf(first.getContent());
+    }
+
+    @Test
+    @DisplayName("Should page through content summaries newest first by seeking past the cursor key")
+    void findSummarySliceByUser() {
+        // Given
+        contentRepository.save(Content.builder()
+                .title("Newest")
+                .contentType(ContentType.TEXT)
+                .user(testUser)
+                .build());
+
+        // When
+        List<ContentSummaryView> first = contentRepository.findSummarySliceByUser(testUser, null, null, Limit.of(2));
+        ContentSummaryView last = first.getLast();
+        List<ContentSummaryView> second = contentRepository.findSummarySliceByUser(
+                testUser, last.getCreatedAt(), last.getId(), Limit.of(2));
+        List<ContentSummaryView> favorites = contentRepository.findFavoriteSummarySliceByUser(
+                testUser, null, null, Limit.of(2));
+        List<ContentSummaryView> tagged = contentRepository.findSummarySliceByUserAndTagId(
+                testUser, tag.getId(), null, null, Limit.of(2));
+
+        // Then
+        List<ContentSummaryView> all = contentRepository.findSummarySliceByUser(testUser, null, null, Limit.of(3));
+        assertThat(first).extracting(ContentSummaryView::getId)
+                .containsExactly(all.get(0).getId(), all.get(1).getId());
+        assertThat(second).extracting(ContentSummaryView::getId).containsExactly(all.get(2).getId());
+        assertThat(favorites).extracting(ContentSummaryView::getTitle).containsExactly("Meeting Notes");
+        assertThat(tagged).extracting(ContentSummaryView::getFolderName).containsExactly("Notes");
+    }
+
+    @Test
+    @DisplayName("Should page through stored content not yet at a storage location in ID order")
+    void findIdsToMigrate() {
+        // Given
+        Content local = contentRepository.save(Content.builder()
+                .title("Report")
+                .contentType(ContentType.DOCUMENT)
+                .storagePath("document/user/report.pdf")
+                .storageLocation(StorageLocation.LOCAL)
+                .user(testUser)
+                .build());
+        Content otherLocal = contentRepository.save(Content.builder()
+                .title("Photo")
+                .contentType(ContentType.IMAGE)
+                .storagePath("image/user/photo.png")
+                .storageLocation(StorageLocation.LOCAL)
+                .user(testUser)
+                .build());
+        contentRepository.save(Content.builder()
+                .title("Video")
+                .contentType(ContentType.VIDEO)
+                .storagePath("user/video/clip.mp4")
+                .storageLocation(StorageLocation.CLOUD)
+                .user(testUser)
+                .build());
+
+        // When
+        List<UUID> first = contentRepository.findIdsToMigrate(
+                testUser.getId(), StorageLocation.CLOUD, new UUID(0L, 0L), Limit.of(1));
+        List<UUID> second = contentRepository.findIdsToMigrate(
+                testUser.getId(), StorageLocation.CLOUD, first.getFirst(), Limit.of(1));
+        List<UUID> rest = contentRepository.findIdsToMigrate(
+                StorageLocation.CLOUD, second.getFirst(), Limit.of(10));
+
+        // Then
+        assertThat(List.of(first.getFirst(), second.getFirst()))
+                .containsExactlyInAnyOrder(local.getId(), otherLocal.getId());
+        assertThat(rest).isEmpty();
+        assertThat(contentRepository.countByUserIdAndStoragePathNotNullAndStorageLocationNot(
+                testUser.getId(), StorageLocation.CLOUD)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should add views without bumping the version")
+    void addViewCounts() {
+        // Given
+        Long version = noteContent.getVersion();
+
+        // When
+        int updated = contentRepository.addViewCounts(List.of(noteContent.getId()), 4);
+        entityManager.clear();
+
+        // Then
+        Content reloaded = contentRepository.findById(noteContent.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(reloaded.getViewCount()).isEqualTo(7);
+        assertThat(reloaded.getVersion()).isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Should read the flushed view count of a content item")
+    void findViewCountById() {
+        // Given
+        contentRepository.addViewCounts(List.of(noteContent.getId()), 4);
+
+        // When & Then
+        assertThat(contentRepository.findViewCountById(noteContent.getId())).isEqualTo(7);
+        assertThat(contentRepository.findViewCountById(UUID.randomUUID())).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep flushed views when a stale entity is saved")
+    void save_DoesNotOverwriteViewCount() {
+        // Given
+        entityManager.flush();
+        Content stale = contentRepository.findById(noteContent.getId()).orElseThrow();
+        entityManager.clear();
+        contentRepository.addViewCounts(List.of(noteContent.getId()), 2);
+
+        // When
+        stale.setTitle("Renamed Notes");
+        contentRepository.saveAndFlush(stale);
+        entityManager.clear();
+
+        // Then
+        Content reloaded = contentRepository.findById(noteContent.getId()).orElseThrow();
+        assertThat(reloaded.getTitle()).isEqualTo("Renamed Notes");
+        assertThat(reloaded.getViewCount()).isEqualTo(5);
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.test.context.ActiveProfiles;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -119,6 +120,15 @@ class FolderRepositoryTest {
         assertThat(foundFolder.get().getName()).isEqualTo("Root Folder");
     }
 
+    @Test
+    @DisplayName("Should check if folder exists by ID and user ID")
+    void existsByIdAndUserId() {
+        // When & Then
+        assertThat(folderRepository.existsByIdAndUserId(rootFolder.getId(), testUser.getId())).isTrue();
+        assertThat(folderRepository.existsByIdAndUserId(rootFolder.getId(), UUID.randomUUID())).isFalse();
+        assertThat(folderRepository.existsByIdAndUserId(UUID.randomUUID(), testUser.getId())).isFalse();
+    }
+
     @Test
     @DisplayName("Should check if folder exists by name, parent, and user")
     void existsByNameAndParentIdAndUser() {
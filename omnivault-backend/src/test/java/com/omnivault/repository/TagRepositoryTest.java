@@ -5,6 +5,7 @@ import com.omnivault.domain.model.Content;
 import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.Tag;
 import com.omnivault.domain.model.User;
+import com.omnivault.domain.projection.ContentTagView;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,6 +18,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -109,6 +111,24 @@ class TagRepositoryTest {
         assertThat(foundTag.get().getName()).isEqualTo("Work");
     }
 
+    @Test
+    @DisplayName("Should find tag by ID only for its owner")
+    void findByIdAndUserId() {
+        // When & Then
+        assertThat(tagRepository.findByIdAndUserId(workTag.getId(), testUser.getId()))
+                .hasValueSatisfying(tag -> assertThat(tag.getName()).isEqualTo("Work"));
+        assertThat(tagRepository.findByIdAndUserId(workTag.getId(), UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should check if tag exists by ID and user ID")
+    void existsByIdAndUserId() {
+        // When & Then
+        assertThat(tagRepository.existsByIdAndUserId(workTag.getId(), testUser.getId())).isTrue();
+        assertThat(tagRepository.existsByIdAndUserId(workTag.getId(), UUID.randomUUID())).isFalse();
+        assertThat(tagRepository.existsByIdAndUserId(UUID.randomUUID(), testUser.getId())).isFalse();
+    }
+
     @Test
     @DisplayName("Should find tag by name and user")
     void findByNameAndUser() {
@@ -176,4 +196,29 @@ class TagRepositoryTest {
         assertThat(workTagCount).isEqualTo(1);
         assertThat(personalTagCount).isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should find tags for a batch of contents")
+    void findTagsByContentIds() {
+        // When
+        List<ContentTagView> views = tagRepository.findTagsByContentIds(List.of(content.getId()));
+
+        // Then
+        assertThat(views).hasSize(1);
+        assertThat(views.getFirst().getContentId()).isEqualTo(content.getId());
+        assertThat(views.getFirst().getId()).isEqualTo(workTag.getId());
+        assertThat(views.getFirst().getName()).isEqualTo("Work");
+        assertThat(views.getFirst().getColor()).isEqualTo("#FF5733");
+    }
+
+    @Test
+    @DisplayName("Should find all content tags for a user")
+    void findTagsByUserId() {
+        // When
+        List<ContentTagView> views = tagRepository.findTagsByUserId(testUser.getId());
+
+        // Then
+        assertThat(views).extracting(ContentTagView::getContentId).containsExactly(content.getId());
+        assertThat(views).extracting(ContentTagView::getName).containsExactly("Work");
+    }
+}
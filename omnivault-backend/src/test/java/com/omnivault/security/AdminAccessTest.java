@@ -0,0 +1,57 @@
+package com.omnivault.security;
+
+import com.omnivault.config.AdminProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminAccessTest {
+
+    private AdminProperties adminProperties;
+    private AdminAccess adminAccess;
+
+    @BeforeEach
+    void setup() {
+        adminProperties = new AdminProperties();
+        adminProperties.setUsernames(List.of("admin"));
+        adminAccess = new AdminAccess(adminProperties);
+    }
+
+    @Test
+    @DisplayName("Should grant access to configured administrators")
+    void isAdmin_ConfiguredUser() {
+        assertThat(adminAccess.isAdmin(authenticated("admin"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should deny access to other users")
+    void isAdmin_OtherUser() {
+        assertThat(adminAccess.isAdmin(authenticated("testuser"))).isFalse();
+        assertThat(adminAccess.isAdmin(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should deny access to everybody when no administrators are configured")
+    void isAdmin_NoneConfigured() {
+        adminProperties.setUsernames(List.of());
+
+        assertThat(adminAccess.isAdmin(authenticated("admin"))).isFalse();
+    }
+
+    private Authentication authenticated(String username) {
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(UUID.randomUUID())
+                .username(username)
+                .authorities(Collections.emptyList())
+                .build();
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
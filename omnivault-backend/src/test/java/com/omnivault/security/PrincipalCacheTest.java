@@ -0,0 +1,114 @@
+package com.omnivault.security;
+
+import com.omnivault.config.JwtProperties;
+import com.omnivault.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PrincipalCacheTest {
+
+    private PrincipalCache principalCache;
+    private UUID userId;
+    private Instant issuedAt;
+    private AtomicInteger loads;
+    private Function<UUID, UserDetails> loader;
+
+    @BeforeEach
+    void setup() {
+        principalCache = new PrincipalCache(new JwtProperties());
+        userId = UUID.randomUUID();
+        issuedAt = Instant.parse("2024-04-07T12:34:56Z");
+        loads = new AtomicInteger();
+        loader = id -> {
+            loads.incrementAndGet();
+            return UserPrincipal.builder()
+                    .id(id)
+                    .username("testuser")
+                    .authorities(Collections.emptyList())
+                    .build();
+        };
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should load a token's principal once")
+    void get_ReusesPrincipal() {
+        UserDetails first = principalCache.get(userId, issuedAt, loader);
+        UserDetails second = principalCache.get(userId, issuedAt, loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should cache principals per token issue time")
+    void get_PerIssueTime() {
+        principalCache.get(userId, issuedAt, loader);
+        principalCache.get(userId, issuedAt.plusSeconds(60), loader);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should not cache a user that could not be loaded")
+    void get_LoadFails_NotCached() {
+        Function<UUID, UserDetails> failing = id -> {
+            throw new ResourceNotFoundException("User", "id", id);
+        };
+
+        assertThrows(ResourceNotFoundException.class, () -> principalCache.get(userId, issuedAt, failing));
+        principalCache.get(userId, issuedAt, loader);
+
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should drop all of a user's principals")
+    void invalidate_DropsUserPrincipals() {
+        UUID otherUserId = UUID.randomUUID();
+        principalCache.get(userId, issuedAt, loader);
+        principalCache.get(userId, issuedAt.plusSeconds(60), loader);
+        principalCache.get(otherUserId, issuedAt, loader);
+
+        principalCache.invalidate(userId);
+        principalCache.get(userId, issuedAt, loader);
+        principalCache.get(otherUserId, issuedAt, loader);
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should drop a user's principals only after the transaction commits")
+    void invalidate_AfterCommit() {
+        principalCache.get(userId, issuedAt, loader);
+        TransactionSynchronizationManager.initSynchronization();
+
+        principalCache.invalidate(userId);
+        principalCache.get(userId, issuedAt, loader);
+        assertThat(loads).hasValue(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        principalCache.get(userId, issuedAt, loader);
+        assertThat(loads).hasValue(2);
+    }
+}
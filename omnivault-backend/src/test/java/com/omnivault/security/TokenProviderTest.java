@@ -0,0 +1,102 @@
+package com.omnivault.security;
+
+import com.omnivault.config.JwtProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenProviderTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hmac-sha-512-signatures-0123456789";
+
+    private JwtProperties jwtProperties;
+    private TokenProvider tokenProvider;
+    private UserPrincipal userPrincipal;
+
+    @BeforeEach
+    void setup() {
+        jwtProperties = new JwtProperties();
+        jwtProperties.setSecret(SECRET);
+        jwtProperties.setAccessTokenExpirationMs(3_600_000L);
+        tokenProvider = new TokenProvider(jwtProperties, null);
+
+        userPrincipal = UserPrincipal.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .authorities(Collections.emptyList())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should verify a token and extract its claims")
+    void verify_ValidToken() {
+        String token = tokenProvider.generateAccessToken(userPrincipal);
+
+        TokenVerification verification = tokenProvider.verify(token);
+
+        assertThat(verification).isInstanceOf(TokenVerification.Valid.class);
+        TokenVerification.Valid valid = (TokenVerification.Valid) verification;
+        assertThat(valid.userId()).isEqualTo(userPrincipal.getId());
+        assertThat(valid.issuedAt()).isCloseTo(Instant.now(), within(5, ChronoUnit.SECONDS));
+        assertThat(valid.expiresAt()).isEqualTo(valid.issuedAt().plusSeconds(3600));
+        assertThat(tokenProvider.getUserIdFromToken(token)).isEqualTo(userPrincipal.getId());
+    }
+
+    @Test
+    @DisplayName("Should reuse the verification of a token")
+    void verify_CachesValidTokens() {
+        String token = tokenProvider.generateAccessToken(userPrincipal);
+
+        assertThat(tokenProvider.verify(token)).isSameAs(tokenProvider.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should verify every time when the cache is disabled")
+    void verify_CacheDisabled() {
+        jwtProperties.setVerifiedTokenCacheSize(0);
+        TokenProvider uncached = new TokenProvider(jwtProperties, null);
+        String token = uncached.generateAccessToken(userPrincipal);
+
+        assertThat(uncached.verify(token)).isNotSameAs(uncached.verify(token)).isEqualTo(uncached.verify(token));
+    }
+
+    @Test
+    @DisplayName("Should reject a token signed with another key")
+    void verify_BadSignature() {
+        JwtProperties otherProperties = new JwtProperties();
+        otherProperties.setSecret(SECRET.replace('0', 'x'));
+        otherProperties.setAccessTokenExpirationMs(3_600_000L);
+        String token = new TokenProvider(otherProperties, null).generateAccessToken(userPrincipal);
+
+        assertThat(tokenProvider.verify(token)).isEqualTo(
+                new TokenVerification.Invalid(TokenVerification.Reason.BAD_SIGNATURE));
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject an expired token")
+    void verify_Expired() {
+        jwtProperties.setAccessTokenExpirationMs(-60_000L);
+        String token = new TokenProvider(jwtProperties, null).generateAccessToken(userPrincipal);
+
+        assertThat(tokenProvider.verify(token)).isEqualTo(
+                new TokenVerification.Invalid(TokenVerification.Reason.EXPIRED));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed or empty token")
+    void verify_Malformed() {
+        assertThat(tokenProvider.verify("not-a-jwt")).isEqualTo(
+                new TokenVerification.Invalid(TokenVerification.Reason.MALFORMED));
+        assertThat(tokenProvider.verify("")).isEqualTo(
+                new TokenVerification.Invalid(TokenVerification.Reason.MISSING_CLAIMS));
+    }
+}
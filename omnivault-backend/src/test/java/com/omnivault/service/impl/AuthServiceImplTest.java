@@ -1,6 +1,7 @@
 package com.omnivault.service.impl;
 
 import com.omnivault.config.JwtProperties;
+import com.omnivault.domain.dto.request.ChangePasswordRequest;
 import com.omnivault.domain.dto.request.LoginRequest;
 import com.omnivault.domain.dto.request.RegisterRequest;
 import com.omnivault.domain.dto.response.AuthResponse;
@@ -13,9 +14,11 @@ import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.repository.RefreshTokenRepository;
 import com.omnivault.repository.UserRepository;
 import com.omnivault.repository.VerificationTokenRepository;
+import com.omnivault.security.PrincipalCache;
 import com.omnivault.security.TokenProvider;
 import com.omnivault.security.UserPrincipal;
 import com.omnivault.service.EmailService;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -27,6 +30,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.ZonedDateTime;
@@ -66,6 +70,9 @@ class AuthServiceImplTest {
     @Mock
     private VerificationTokenRepository verificationTokenRepository;
 
+    @Mock
+    private PrincipalCache principalCache;
+
     @InjectMocks
     private AuthServiceImpl authService;
 
@@ -128,6 +135,11 @@ class AuthServiceImplTest {
                 .build();
     }
 
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     @DisplayName("Should register a new user successfully")
     void register_Success() {
@@ -306,4 +318,53 @@ class AuthServiceImplTest {
         assertThat(exception.getMessage()).contains("Verification token has expired");
         verify(verificationTokenRepository).delete(expiredToken);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should resolve the current user from the security context without loading it")
+    void getCurrentUserReference_NoUserLoad() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+        User reference = User.builder().id(testUser.getId()).build();
+        when(userRepository.getReferenceById(testUser.getId())).thenReturn(reference);
+
+        // When
+        UUID userId = authService.getCurrentUserId();
+        User user = authService.getCurrentUserReference();
+
+        // Then
+        assertThat(userId).isEqualTo(testUser.getId());
+        assertThat(user).isSameAs(reference);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject resolving the current user without authentication")
+    void getCurrentUserId_NotAuthenticated() {
+        // When & Then
+        assertThrows(AuthenticationException.class, () -> authService.getCurrentUserId());
+    }
+
+    @Test
+    @DisplayName("Should drop cached principals when the password changes")
+    void changePassword_InvalidatesPrincipals() {
+        // Given
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userPrincipal, null, userPrincipal.getAuthorities()));
+        ChangePasswordRequest request = ChangePasswordRequest.builder()
+                .currentPassword("password123")
+                .newPassword("newPassword456")
+                .build();
+        when(userRepository.findById(testUser.getId())).thenReturn(Optional.of(testUser));
+        when(passwordEncoder.matches("password123", testUser.getPassword())).thenReturn(true);
+        when(passwordEncoder.matches("newPassword456", testUser.getPassword())).thenReturn(false);
+        when(passwordEncoder.encode("newPassword456")).thenReturn("encodedNewPassword");
+
+        // When
+        authService.changePassword(request);
+
+        // Then
+        verify(refreshTokenRepository).deleteByUser(testUser);
+        verify(principalCache).invalidate(testUser.getId());
+    }
+}
@@ -0,0 +1,149 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.domain.model.Blob;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.User;
+import com.omnivault.repository.BlobRepository;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.service.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlobServiceImplTest {
+
+    private static final String SHA256 = "b".repeat(64);
+
+    @Mock
+    private BlobRepository blobRepository;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private HybridFileService fileService;
+
+    private StorageProperties storageProperties;
+    private BlobServiceImpl blobService;
+    private User user;
+    private StoredFile upload;
+
+    @BeforeEach
+    void setup() {
+        storageProperties = new StorageProperties();
+        blobService = new BlobServiceImpl(blobRepository, contentRepository, fileService, storageProperties);
+        user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+        upload = new StoredFile("document/user/fresh.pdf", StorageLocation.CLOUD, 42L, SHA256, "application/pdf");
+    }
+
+    @Test
+    @DisplayName("Should record the first upload of a file as a new blob")
+    void registerNewBlob() {
+        when(blobRepository.incrementRefCount(user.getId(), SHA256, StorageLocation.CLOUD)).thenReturn(0);
+        when(blobRepository.insertIfAbsent(any(UUID.class), eq(user.getId()), eq(SHA256), eq("CLOUD"),
+                eq(upload.storagePath()), eq(42L), eq("application/pdf"))).thenReturn(1);
+
+        StoredFile result = blobService.register(upload, user);
+
+        assertThat(result).isEqualTo(upload);
+        verify(fileService, never()).deleteFile(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop a duplicate upload and point at the stored blob")
+    void registerDuplicate() {
+        when(blobRepository.incrementRefCount(user.getId(), SHA256, StorageLocation.CLOUD)).thenReturn(1);
+        when(blobRepository.findByOwnerIdAndSha256AndStorageLocation(user.getId(), SHA256, StorageLocation.CLOUD))
+                .thenReturn(Optional.of(blob("document/user/original.pdf", StorageLocation.CLOUD)));
+
+        StoredFile result = blobService.register(upload, user);
+
+        assertThat(result.storagePath()).isEqualTo("document/user/original.pdf");
+        verify(fileService).deleteFile(upload.storagePath(), StorageLocation.CLOUD);
+        verify(blobRepository, never()).insertIfAbsent(any(), any(), any(), any(), any(), anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Should store every upload separately when deduplication is off")
+    void registerDisabled() {
+        storageProperties.getDedup().setEnabled(false);
+
+        assertThat(blobService.register(upload, user)).isEqualTo(upload);
+        verifyNoInteractions(blobRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep a released file that is still referenced")
+    void releaseShared() {
+        when(blobRepository.decrementRefCount(StorageLocation.LOCAL, "a.pdf")).thenReturn(1);
+        when(blobRepository.deleteIfUnreferenced(StorageLocation.LOCAL, "a.pdf")).thenReturn(0);
+
+        assertThat(blobService.release("a.pdf", StorageLocation.LOCAL)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should let untracked files be deleted")
+    void releaseUntracked() {
+        when(blobRepository.decrementRefCount(StorageLocation.LOCAL, "a.pdf")).thenReturn(0);
+
+        assertThat(blobService.release("a.pdf", StorageLocation.LOCAL)).isTrue();
+        verify(blobRepository, never()).deleteIfUnreferenced(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should only hand out shared blobs to users who stored them")
+    void acquireGlobalRequiresOwnCopy() {
+        storageProperties.getDedup().setScope(StorageProperties.Scope.GLOBAL);
+        Blob blob = blob("document/other/original.pdf", StorageLocation.LOCAL);
+        when(blobRepository.findByOwnerIdAndSha256OrderByCreatedAtAsc(Blob.SHARED_OWNER, SHA256))
+                .thenReturn(List.of(blob));
+        when(contentRepository.existsByUserAndStoragePathAndStorageLocation(
+                user, blob.getStoragePath(), StorageLocation.LOCAL)).thenReturn(false);
+
+        assertThat(blobService.acquire(SHA256, user)).isEmpty();
+        verify(blobRepository, never()).incrementRefCountById(any());
+    }
+
+    @Test
+    @DisplayName("Should reference a blob of the user's own scope by digest")
+    void acquire() {
+        Blob blob = blob("document/user/original.pdf", StorageLocation.CLOUD);
+        when(blobRepository.findByOwnerIdAndSha256OrderByCreatedAtAsc(user.getId(), SHA256))
+                .thenReturn(List.of(blob));
+        when(blobRepository.incrementRefCountById(blob.getId())).thenReturn(1);
+
+        Optional<StoredFile> result = blobService.acquire(SHA256, user);
+
+        assertThat(result).map(StoredFile::storagePath).contains("document/user/original.pdf");
+        assertThat(result).map(StoredFile::sizeBytes).contains(42L);
+    }
+
+    private Blob blob(String storagePath, StorageLocation storageLocation) {
+        return Blob.builder()
+                .id(UUID.randomUUID())
+                .ownerId(user.getId())
+                .sha256(SHA256)
+                .storageLocation(storageLocation)
+                .storagePath(storagePath)
+                .sizeBytes(42L)
+                .mimeType("application/pdf")
+                .refCount(2)
+                .build();
+    }
+}
@@ -0,0 +1,135 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.CacheConfig;
+import com.omnivault.config.CachePolicyProperties;
+import com.omnivault.config.CacheRemovalCounters;
+import com.omnivault.domain.dto.response.CacheStatsDTO;
+import com.omnivault.domain.dto.response.TagDTO;
+import com.omnivault.exception.BadRequestException;
+import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.service.ContentService;
+import com.omnivault.service.FolderService;
+import com.omnivault.service.TagService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheAdminServiceImplTest {
+
+    @Mock
+    private PopularContentLoader popularContentLoader;
+
+    @Mock
+    private ContentService contentService;
+
+    @Mock
+    private FolderService folderService;
+
+    @Mock
+    private TagService tagService;
+
+    private CacheManager cacheManager;
+    private CacheAdminServiceImpl cacheAdminService;
+
+    @BeforeEach
+    void setup() {
+        CacheRemovalCounters removalCounters = new CacheRemovalCounters();
+        cacheManager = new CacheConfig().cacheManager(
+                new CachePolicyProperties(), popularContentLoader, removalCounters);
+        cacheAdminService = new CacheAdminServiceImpl(
+                cacheManager, removalCounters, contentService, folderService, tagService);
+    }
+
+    @Test
+    @DisplayName("Should report hits, misses and removals by cause")
+    void getCacheStats() {
+        // Given
+        Cache tags = cacheManager.getCache("tags");
+        tags.get("a");
+        tags.put("a", "first");
+        tags.get("a");
+        tags.put("a", "second");
+        tags.evict("a");
+        awaitRemovalListeners();
+
+        // When
+        CacheStatsDTO stats = cacheAdminService.getCacheStats("tags");
+
+        // Then
+        assertThat(stats.getName()).isEqualTo("tags");
+        assertThat(stats.getHitCount()).isEqualTo(1);
+        assertThat(stats.getMissCount()).isEqualTo(1);
+        assertThat(stats.getHitRate()).isEqualTo(0.5);
+        assertThat(stats.getRemovalsByCause())
+                .containsEntry("REPLACED", 1L)
+                .containsEntry("EXPLICIT", 1L)
+                .containsEntry("SIZE", 0L);
+        assertThat(stats.getMaximum()).isEqualTo(500L);
+        assertThat(stats.getWeightedSize()).isNull();
+        assertThat(cacheAdminService.getCacheStats()).hasSize(CacheConfig.CACHE_NAMES.size());
+    }
+
+    @Test
+    @DisplayName("Should clear every entry of a cache")
+    void clearCache() {
+        // Given
+        Cache folders = cacheManager.getCache("folders");
+        folders.put("a", "first");
+        folders.put("b", "second");
+
+        // When
+        CacheStatsDTO stats = cacheAdminService.clearCache("folders");
+        awaitRemovalListeners();
+
+        // Then
+        assertThat(folders.get("a")).isNull();
+        assertThat(stats.getEstimatedSize()).isZero();
+        assertThat(cacheAdminService.getCacheStats("folders").getRemovalsByCause()).containsEntry("EXPLICIT", 2L);
+    }
+
+    @Test
+    @DisplayName("Should warm a cache through the cached read methods")
+    void warmCache() {
+        // Given
+        UUID tagId = UUID.randomUUID();
+        when(tagService.getAllTags()).thenReturn(List.of(TagDTO.builder().id(tagId).name("work").build()));
+
+        // When
+        cacheAdminService.warmCache("contentsByTag");
+
+        // Then
+        verify(contentService).getContentByTag(eq(tagId), any());
+        verifyNoInteractions(folderService);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown caches and caches that cannot be warmed")
+    void rejectUnknownCaches() {
+        assertThatThrownBy(() -> cacheAdminService.getCacheStats("unknown"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> cacheAdminService.warmCache("users"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    // Caffeine notifies removal listeners asynchronously on the common pool
+    private static void awaitRemovalListeners() {
+        ForkJoinPool.commonPool().awaitQuiescence(5, TimeUnit.SECONDS);
+    }
+}
@@ -1,27 +1,55 @@
 package com.omnivault.service.impl;
 
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.config.SearchCacheProperties;
+import com.omnivault.config.SearchIndexProperties;
+import com.omnivault.config.ViewCountProperties;
 import com.omnivault.domain.dto.request.TextContentCreateRequest;
 import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.dto.response.ContentSummaryDTO;
+import com.omnivault.domain.dto.response.ContentUrlDTO;
+import com.omnivault.domain.dto.response.CursorPageDTO;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
+import com.omnivault.domain.dto.response.SearchHitDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
 import com.omnivault.domain.model.*;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import com.omnivault.domain.projection.ContentStorageView;
+import com.omnivault.domain.projection.ContentSummaryView;
+import com.omnivault.domain.projection.ContentTagView;
+import com.omnivault.domain.projection.SearchSuggestionView;
+import com.omnivault.domain.projection.FolderNameView;
 import com.omnivault.exception.ResourceNotFoundException;
 import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.FolderRepository;
 import com.omnivault.repository.LinkContentRepository;
+import com.omnivault.repository.TagRepository;
 import com.omnivault.repository.TextContentRepository;
 import com.omnivault.service.AuthService;
+import com.omnivault.service.BlobService;
 import com.omnivault.service.ContentEntityService;
+import com.omnivault.service.ContentSearchIndex;
 import com.omnivault.service.FolderService;
 import com.omnivault.service.TagService;
+import com.omnivault.util.CursorUtils;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.ZonedDateTime;
 import java.util.*;
@@ -29,6 +57,9 @@ import java.util.*;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -59,7 +90,42 @@ class ContentServiceImplTest {
     @Mock
     private HybridFileService fileService;
 
-    @InjectMocks
+    @Mock
+    private TagRepository tagRepository;
+
+    @Mock
+    private FolderRepository folderRepository;
+
+    @Mock
+    private ContentSearchIndex searchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserCacheRegions cacheRegions;
+
+    @Mock
+    private PopularContentLoader popularContentLoader;
+
+    @Mock
+    private BlobService blobService;
+
+    @Mock
+    private ThumbnailJobQueue thumbnailJobQueue;
+
+    @Mock
+    private ContentStorageMover storageMover;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ViewCountBuffer viewCounts;
+
+    private SearchIndexProperties searchIndexProperties;
+
+    private SearchCacheProperties searchCacheProperties;
+
     private ContentServiceImpl contentService;
 
     private User testUser;
@@ -75,6 +141,18 @@ class ContentServiceImplTest {
 
     @BeforeEach
     void setup() {
+        viewCounts = new ViewCountBuffer(contentRepository, new ViewCountProperties(), transactionManager);
+        ContentDtoAssembler dtoAssembler = new ContentDtoAssembler(
+                textContentRepository, linkContentRepository, tagRepository, folderRepository, fileService,
+                new AwsS3Config(), viewCounts);
+        searchIndexProperties = new SearchIndexProperties();
+        searchCacheProperties = new SearchCacheProperties();
+        contentService = new ContentServiceImpl(contentRepository, textContentRepository, linkContentRepository,
+                authService, folderService, tagService, fileService, contentEntityService, dtoAssembler,
+                searchIndex, searchIndexProperties, eventPublisher, new SearchResultCache(searchCacheProperties),
+                cacheRegions, popularContentLoader, blobService, thumbnailJobQueue, storageMover, viewCounts,
+                new ContentDtoLoader(contentEntityService, dtoAssembler));
+
         contentId = UUID.randomUUID();
         folderId = UUID.randomUUID();
         tagId = UUID.randomUUID();
@@ -176,17 +254,18 @@ class ContentServiceImplTest {
         List<Content> contentList = Arrays.asList(textContent, linkContent);
         Page<Content> contentPage = new PageImpl<>(contentList, pageable, contentList.size());
 
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(contentRepository.findAllByUser(testUser, pageable)).thenReturn(contentPage);
-        when(textContentRepository.findByContentId(contentId)).thenReturn(Optional.of(textContentEntity));
+        when(textContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(textContentEntity));
 
         // When
         Page<ContentDTO> result = contentService.getAllContent(pageable);
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(contentRepository).findAllByUser(testUser, pageable);
-        verify(textContentRepository).findByContentId(contentId);
+        verify(textContentRepository).findAllByContentIdIn(anyCollection());
+        verify(textContentRepository, never()).findByContentId(any());
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(2);
@@ -202,19 +281,20 @@ class ContentServiceImplTest {
         List<Content> contentList = Collections.singletonList(textContent);
         Page<Content> contentPage = new PageImpl<>(contentList, pageable, contentList.size());
 
-        when(authService.getCurrentUser()).thenReturn(testUser);
-        when(folderService.getFolderEntity(folderId)).thenReturn(testFolder);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(folderService.getFolderReference(folderId)).thenReturn(testFolder);
         when(contentRepository.findAllByUserAndFolder(testUser, testFolder, pageable)).thenReturn(contentPage);
-        when(textContentRepository.findByContentId(contentId)).thenReturn(Optional.of(textContentEntity));
+        when(textContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(textContentEntity));
 
         // When
         Page<ContentDTO> result = contentService.getContentByFolder(folderId, pageable);
 
         // Then
-        verify(authService).getCurrentUser();
-        verify(folderService).getFolderEntity(folderId);
+        verify(authService).getCurrentUserReference();
+        verify(folderService).getFolderReference(folderId);
         verify(contentRepository).findAllByUserAndFolder(testUser, testFolder, pageable);
-        verify(textContentRepository).findByContentId(contentId);
+        verify(textContentRepository).findAllByContentIdIn(anyCollection());
+        verify(textContentRepository, never()).findByContentId(any());
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
@@ -230,19 +310,20 @@ class ContentServiceImplTest {
         List<Content> contentList = Collections.singletonList(textContent);
         Page<Content> contentPage = new PageImpl<>(contentList, pageable, contentList.size());
 
-        when(authService.getCurrentUser()).thenReturn(testUser);
-        when(tagService.getTagEntity(tagId)).thenReturn(testTag);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(contentRepository.findAllByUserAndTagId(testUser, tagId, pageable)).thenReturn(contentPage);
-        when(textContentRepository.findByContentId(contentId)).thenReturn(Optional.of(textContentEntity));
+        when(textContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(textContentEntity));
+        when(tagRepository.findTagsByContentIds(anyCollection())).thenReturn(List.of(tagView(contentId, testTag)));
 
         // When
         Page<ContentDTO> result = contentService.getContentByTag(tagId, pageable);
 
         // Then
-        verify(authService).getCurrentUser();
-        verify(tagService).getTagEntity(tagId);
+        verify(authService).getCurrentUserReference();
+        verify(tagService).checkTagOwnership(tagId);
         verify(contentRepository).findAllByUserAndTagId(testUser, tagId, pageable);
-        verify(textContentRepository).findByContentId(contentId);
+        verify(textContentRepository).findAllByContentIdIn(anyCollection());
+        verify(textContentRepository, never()).findByContentId(any());
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
@@ -263,7 +344,7 @@ class ContentServiceImplTest {
                 .user(testUser)
                 .build());
 
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderService.getFolderEntity(folderId)).thenReturn(testFolder);
         when(contentRepository.save(any(Content.class))).thenReturn(textContent);
         when(textContentRepository.save(any(TextContent.class))).thenReturn(textContentEntity);
@@ -274,7 +355,7 @@ class ContentServiceImplTest {
         ContentDTO result = contentService.createTextContent(textContentRequest);
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderService).getFolderEntity(folderId);
 
         ArgumentCaptor<Content> contentCaptor = ArgumentCaptor.forClass(Content.class);
@@ -341,32 +422,234 @@ class ContentServiceImplTest {
         // Then
         verify(contentEntityService).getContentEntity(contentId);
         verify(contentRepository).delete(textContent);
+        verify(cacheRegions).evictViewsOf(textContent);
+
+        ArgumentCaptor<ContentChangedEvent> eventCaptor = ArgumentCaptor.forClass(ContentChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(ContentChangedEvent.ChangeType.DELETED);
+        assertThat(eventCaptor.getValue().getContentId()).isEqualTo(contentId);
+    }
+
+    @Test
+    @DisplayName("Should delete released files only once the deletion commits")
+    void deleteContent_DeletesFilesAfterCommit() {
+        // Given
+        textContent.setStoragePath("image/user/photo.png");
+        textContent.setStorageLocation(StorageLocation.LOCAL);
+        textContent.setThumbnailPath("image/user/thumbnails/photo_thumb.png");
+        textContent.setThumbnailStorageLocation(StorageLocation.LOCAL);
+        when(contentEntityService.getContentEntity(contentId)).thenReturn(textContent);
+        when(blobService.release("image/user/photo.png", StorageLocation.LOCAL)).thenReturn(true);
+        when(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                "image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL, contentId)).thenReturn(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            contentService.deleteContent(contentId);
+
+            // Then
+            verify(fileService, never()).deleteFile(anyString(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        verify(fileService).deleteFile("image/user/photo.png", StorageLocation.LOCAL);
+        verify(fileService).deleteFile("image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Should keep files other content items still share")
+    void deleteContentSharingFile() {
+        // Given
+        textContent.setStoragePath("image/user/shared.png");
+        textContent.setStorageLocation(StorageLocation.LOCAL);
+        textContent.setThumbnailPath("image/user/thumbnails/shared_thumb.png");
+        textContent.setThumbnailStorageLocation(StorageLocation.LOCAL);
+        when(contentEntityService.getContentEntity(contentId)).thenReturn(textContent);
+        when(blobService.release("image/user/shared.png", StorageLocation.LOCAL)).thenReturn(false);
+        when(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                "image/user/thumbnails/shared_thumb.png", StorageLocation.LOCAL, contentId)).thenReturn(true);
+
+        // When
+        contentService.deleteContent(contentId);
+
+        // Then
+        verify(fileService, never()).deleteFile(anyString(), any());
+        verify(contentRepository).delete(textContent);
     }
 
     @Test
-    @DisplayName("Should search content")
+    @DisplayName("Should search content in relevance order with highlights")
     void searchContent() {
         // Given
-        Pageable pageable = Pageable.unpaged();
-        List<Content> contentList = Collections.singletonList(textContent);
-        Page<Content> contentPage = new PageImpl<>(contentList, pageable, contentList.size());
-        String searchTerm = "test";
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt"));
+        ContentSearchHitView linkHit = searchHit(linkContent.getId(), 0.9, "a <mark>test</mark> link");
+        ContentSearchHitView textHit = searchHit(contentId, 0.4, "<mark>test</mark> text");
 
-        when(authService.getCurrentUser()).thenReturn(testUser);
-        when(contentRepository.fullTextSearchContents(testUser.getId(), searchTerm, pageable)).thenReturn(contentPage);
-        when(textContentRepository.findByContentId(contentId)).thenReturn(Optional.of(textContentEntity));
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchCandidates(testUser.getId(), "test", 501))
+                .thenReturn(Arrays.asList(linkHit, textHit));
+        when(contentRepository.findAllById(List.of(linkContent.getId(), contentId)))
+                .thenReturn(Arrays.asList(textContent, linkContent));
+        when(textContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(textContentEntity));
 
         // When
-        Page<ContentDTO> result = contentService.searchContent(searchTerm, pageable);
+        Page<ContentDTO> result = contentService.searchContent(" Test ", pageable);
 
         // Then
-        verify(authService).getCurrentUser();
-        verify(contentRepository).fullTextSearchContents(testUser.getId(), searchTerm, pageable);
-        verify(textContentRepository).findByContentId(contentId);
+        verify(authService).getCurrentUserId();
+        verify(contentRepository).findSearchCandidates(testUser.getId(), "test", 501);
+        verify(textContentRepository).findAllByContentIdIn(anyCollection());
+        verify(textContentRepository, never()).findByContentId(any());
 
         assertThat(result).isNotNull();
-        assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().getFirst().getTitle()).isEqualTo("Test Text Content");
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        assertThat(result.getContent()).extracting(ContentDTO::getTitle)
+                .containsExactly("Test Link Content", "Test Text Content");
+        assertThat(result.getContent()).extracting(ContentDTO::getHighlight)
+                .containsExactly("a <mark>test</mark> link", "<mark>test</mark> text");
+    }
+
+    @Test
+    @DisplayName("Should serve repeated searches and further pages from the result cache")
+    void searchContent_Cached() {
+        // Given
+        ContentSearchHitView linkHit = searchHit(linkContent.getId(), 0.9, "a <mark>test</mark> link");
+        ContentSearchHitView textHit = searchHit(contentId, 0.4, "<mark>test</mark> text");
+
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchCandidates(testUser.getId(), "test", 501))
+                .thenReturn(Arrays.asList(linkHit, textHit));
+        when(contentRepository.findAllById(List.of(linkContent.getId()))).thenReturn(List.of(linkContent));
+        when(contentRepository.findAllById(List.of(contentId))).thenReturn(List.of(textContent));
+
+        // When
+        Page<ContentDTO> first = contentService.searchContent("test", PageRequest.of(0, 1));
+        Page<ContentDTO> again = contentService.searchContent("TEST", PageRequest.of(0, 1));
+        Page<ContentDTO> second = contentService.searchContent("test", PageRequest.of(1, 1));
+
+        // Then
+        assertThat(again).isSameAs(first);
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        assertThat(second.getContent()).extracting(ContentDTO::getId).containsExactly(contentId);
+        verify(contentRepository).findSearchCandidates(any(), any(), anyInt());
+        verify(contentRepository, never()).fullTextSearchContents(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should narrow a longer query within the cached hits of a shorter one")
+    void searchContent_NarrowsCachedCandidates() {
+        // Given
+        ContentSearchHitView linkHit = searchHit(linkContent.getId(), 0.9, "a <mark>test</mark> link");
+        ContentSearchHitView textHit = searchHit(contentId, 0.4, "<mark>test</mark> text");
+        ContentSearchHitView narrowedHit = searchHit(linkContent.getId(), 1.2, "a <mark>test</mark> <mark>link</mark>");
+
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchCandidates(testUser.getId(), "test", 501))
+                .thenReturn(Arrays.asList(linkHit, textHit));
+        when(contentRepository.findSearchCandidatesAmong(testUser.getId(), "test link",
+                List.of(linkContent.getId(), contentId))).thenReturn(List.of(narrowedHit));
+        when(contentRepository.findAllById(anyCollection())).thenReturn(List.of(linkContent));
+
+        // When
+        contentService.searchContent("test", PageRequest.of(0, 10));
+        Page<ContentDTO> result = contentService.searchContent("test link", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).extracting(ContentDTO::getId).containsExactly(linkContent.getId());
+        verify(contentRepository).findSearchCandidates(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should page in the database when a query has too many hits to cache")
+    void searchContent_TooManyCandidates() {
+        // Given
+        searchCacheProperties.setMaxCandidates(1);
+        ContentSearchHitView linkHit = searchHit(linkContent.getId(), 0.9, "a <mark>test</mark> link");
+        ContentSearchHitView textHit = searchHit(contentId, 0.4, "<mark>test</mark> text");
+
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchCandidates(testUser.getId(), "test", 2))
+                .thenReturn(Arrays.asList(linkHit, textHit));
+        when(contentRepository.fullTextSearchContents(testUser.getId(), "test", PageRequest.of(0, 10)))
+                .thenReturn(new PageImpl<>(List.of(linkHit, textHit), PageRequest.of(0, 10), 2));
+        when(contentRepository.findAllById(anyCollection())).thenReturn(Arrays.asList(textContent, linkContent));
+
+        // When
+        Page<ContentDTO> result = contentService.searchContent("test", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getTotalElements()).isEqualTo(2);
+        verify(contentRepository).fullTextSearchContents(testUser.getId(), "test", PageRequest.of(0, 10));
+    }
+
+    @Test
+    @DisplayName("Should return an empty page for a blank search")
+    void searchContent_Blank() {
+        // Given
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+
+        // When
+        Page<ContentDTO> result = contentService.searchContent("   ", PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result.getContent()).isEmpty();
+        verify(contentRepository, never()).fullTextSearchContents(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should return fuzzy search suggestions in ranked order")
+    void getSearchSuggestions() {
+        // Given
+        SearchSuggestionView meeting = mock(SearchSuggestionView.class);
+        SearchSuggestionView meetups = mock(SearchSuggestionView.class);
+        when(meeting.getTerm()).thenReturn("Meeting Notes");
+        when(meetups.getTerm()).thenReturn("Meetups");
+
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchSuggestions(testUser.getId(), "meetng", 5))
+                .thenReturn(List.of(meeting, meetups));
+
+        // When
+        List<String> result = contentService.getSearchSuggestions(" meetng ");
+
+        // Then
+        assertThat(result).containsExactly("Meeting Notes", "Meetups");
+    }
+
+    @Test
+    @DisplayName("Should serve instant search from the in-memory index")
+    void instantSearch() {
+        // Given
+        SearchHitDTO hit = SearchHitDTO.builder().id(contentId).title("Test Text Content").score(16).build();
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(searchIndex.search(testUser.getId(), "tes", 50)).thenReturn(List.of(hit));
+
+        // When
+        List<SearchHitDTO> result = contentService.instantSearch("tes", 500);
+
+        // Then
+        assertThat(result).containsExactly(hit);
+        verify(contentRepository, never()).fullTextSearchContents(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should fall back to database search when the index is disabled")
+    void instantSearch_IndexDisabled() {
+        // Given
+        searchIndexProperties.setEnabled(false);
+        ContentSearchHitView textHit = searchHit(contentId, 0.4, "<mark>test</mark> text");
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findSearchCandidates(testUser.getId(), "test", 501)).thenReturn(List.of(textHit));
+        when(contentRepository.findAllById(List.of(contentId))).thenReturn(List.of(textContent));
+
+        // When
+        List<SearchHitDTO> result = contentService.instantSearch("test", null);
+
+        // Then
+        assertThat(result).extracting(SearchHitDTO::getId).containsExactly(contentId);
+        verify(searchIndex, never()).search(any(), any(), anyInt());
     }
 
     @Test
@@ -420,24 +703,211 @@ class ContentServiceImplTest {
     }
 
     @Test
-    @DisplayName("Should increment view count")
+    @DisplayName("Should buffer views and show them before they are flushed")
     void incrementViewCount() {
         // Given
-        Content updatedContent = textContent.toBuilder().viewCount(1).build();
-
-        when(contentRepository.findById(contentId)).thenReturn(Optional.of(textContent));
-        when(contentRepository.save(any(Content.class))).thenReturn(updatedContent);
+        when(contentEntityService.getContentEntity(contentId)).thenReturn(textContent);
+        when(textContentRepository.findByContentId(contentId)).thenReturn(Optional.of(textContentEntity));
+        when(contentRepository.findViewCountById(contentId)).thenReturn(textContent.getViewCount());
 
         // When
         contentService.incrementViewCount(contentId);
+        ContentDTO result = contentService.getContent(contentId);
 
         // Then
-        verify(contentRepository).findById(contentId);
+        assertThat(viewCounts.pending(contentId)).isEqualTo(2);
+        assertThat(result.getViewCount()).isEqualTo(textContent.getViewCount() + 2);
+        verify(contentRepository, never()).save(any(Content.class));
+    }
 
-        ArgumentCaptor<Content> contentCaptor = ArgumentCaptor.forClass(Content.class);
-        verify(contentRepository).save(contentCaptor.capture());
+    @Test
+    @DisplayName("Should count views and show the live count on cached content")
+    void getContent_CachedDto() {
+        // Given
+        ContentDTO cached = ContentDTO.builder()
+                .id(contentId)
+                .title("Test Text Content")
+                .viewCount(3)
+                .build();
+        ContentDtoLoader cachingLoader = mock(ContentDtoLoader.class);
+        when(cachingLoader.loadContent(contentId)).thenReturn(cached);
+        when(contentRepository.findViewCountById(contentId)).thenReturn(10);
+        ReflectionTestUtils.setField(contentService, "contentDtoLoader", cachingLoader);
 
-        Content capturedContent = contentCaptor.getValue();
-        assertThat(capturedContent.getViewCount()).isEqualTo(1);
+        // When
+        ContentDTO first = contentService.getContent(contentId);
+        ContentDTO second = contentService.getContent(contentId);
+
+        // Then
+        assertThat(first.getViewCount()).isEqualTo(11);
+        assertThat(second.getViewCount()).isEqualTo(12);
+        assertThat(second.getTitle()).isEqualTo("Test Text Content");
+        assertThat(cached.getViewCount()).isEqualTo(3);
+        verifyNoInteractions(contentEntityService);
+    }
+
+    @Test
+    @DisplayName("Should assemble a content page with batched lookups")
+    void getAllContent_BatchesLookups() {
+        // Given
+        Pageable pageable = Pageable.unpaged();
+        Page<Content> contentPage = new PageImpl<>(Arrays.asList(textContent, linkContent), pageable, 2);
+        LinkContent linkContentEntity = LinkContent.builder()
+                .contentId(linkContent.getId())
+                .url("https://example.com")
+                .build();
+        FolderNameView folderName = mock(FolderNameView.class);
+        when(folderName.getId()).thenReturn(folderId);
+        when(folderName.getName()).thenReturn("Test Folder");
+
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(contentRepository.findAllByUser(testUser, pageable)).thenReturn(contentPage);
+        when(textContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(textContentEntity));
+        when(linkContentRepository.findAllByContentIdIn(anyCollection())).thenReturn(List.of(linkContentEntity));
+        when(tagRepository.findTagsByContentIds(anyCollection())).thenReturn(List.of(tagView(contentId, testTag)));
+        when(folderRepository.findNamesByIdIn(anyCollection())).thenReturn(List.of(folderName));
+
+        // When
+        Page<ContentDTO> result = contentService.getAllContent(pageable);
+
+        // Then
+        verify(textContentRepository, never()).findByContentId(any());
+        verify(linkContentRepository, never()).findByContentId(any());
+        verify(folderRepository).findNamesByIdIn(anyCollection());
+
+        ContentDTO text = result.getContent().get(0);
+        ContentDTO link = result.getContent().get(1);
+        assertThat(text.getTextContent()).isEqualTo("This is the text content body");
+        assertThat(text.getFolderName()).isEqualTo("Test Folder");
+        assertThat(text.getTags()).extracting("id").containsExactly(tagId);
+        assertThat(link.getUrl()).isEqualTo("https://example.com");
+        assertThat(link.getTags()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should slice summaries with one extra row telling whether more follow")
+    void getFavoriteContentSummarySlice() {
+        // Given
+        ZonedDateTime createdAt = ZonedDateTime.parse("2024-04-07T12:00:00Z");
+        UUID cursorId = UUID.randomUUID();
+        ContentSummaryView newer = mock(ContentSummaryView.class);
+        ContentSummaryView older = mock(ContentSummaryView.class);
+        when(newer.getId()).thenReturn(contentId);
+        when(newer.getCreatedAt()).thenReturn(createdAt);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(contentRepository.findFavoriteSummarySliceByUser(testUser, createdAt, cursorId, Limit.of(2)))
+                .thenReturn(List.of(newer, older));
+
+        // When
+        CursorPageDTO<ContentSummaryDTO> result = contentService.getFavoriteContentSummarySlice(
+                CursorUtils.encode(createdAt, cursorId), 1);
+
+        // Then
+        assertThat(result.getContent()).extracting(ContentSummaryDTO::getId).containsExactly(contentId);
+        assertThat(result.isHasNext()).isTrue();
+        assertThat(result.getNextCursor()).isEqualTo(CursorUtils.encode(createdAt, contentId));
+    }
+
+    @Test
+    @DisplayName("Should sign URLs for the user's items in request order")
+    void getPresignedUrls() {
+        // Given
+        UUID otherId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(contentRepository.findStorageViewsByUserIdAndIdIn(eq(testUser.getId()), anyCollection()))
+                .thenReturn(List.of(
+                        storageView(otherId, "files/a.pdf", null),
+                        storageView(contentId, "files/b.png", "thumbnails/b.jpg")));
+        when(fileService.presignUrl("files/a.pdf", StorageLocation.CLOUD))
+                .thenReturn(new PresignedUrlDTO("https://s3/a", 1000L));
+        when(fileService.presignUrl("files/b.png", StorageLocation.CLOUD))
+                .thenReturn(new PresignedUrlDTO("https://s3/b", 2000L));
+        when(fileService.presignUrl("thumbnails/b.jpg", StorageLocation.CLOUD))
+                .thenReturn(new PresignedUrlDTO("https://s3/b-thumb", 3000L));
+
+        // When
+        List<ContentUrlDTO> result = contentService.getPresignedUrls(
+                List.of(contentId, unknownId, otherId, contentId));
+
+        // Then
+        assertThat(result).extracting(ContentUrlDTO::getContentId).containsExactly(contentId, otherId);
+        assertThat(result.get(0).getPresignedUrl()).isEqualTo("https://s3/b");
+        assertThat(result.get(0).getThumbnailPresignedUrl()).isEqualTo("https://s3/b-thumb");
+        assertThat(result.get(0).getThumbnailPresignedUrlExpiresAt()).isEqualTo(3000L);
+        assertThat(result.get(1).getPresignedUrl()).isEqualTo("https://s3/a");
+        assertThat(result.get(1).getThumbnailPresignedUrl()).isNull();
+    }
+
+    private ContentTagView tagView(UUID contentId, Tag tag) {
+        return new ContentTagView() {
+            @Override
+            public UUID getContentId() {
+                return contentId;
+            }
+
+            @Override
+            public UUID getId() {
+                return tag.getId();
+            }
+
+            @Override
+            public String getName() {
+                return tag.getName();
+            }
+
+            @Override
+            public String getColor() {
+                return tag.getColor();
+            }
+        };
+    }
+
+    private ContentStorageView storageView(UUID id, String storagePath, String thumbnailPath) {
+        return new ContentStorageView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public String getStoragePath() {
+                return storagePath;
+            }
+
+            @Override
+            public StorageLocation getStorageLocation() {
+                return StorageLocation.CLOUD;
+            }
+
+            @Override
+            public String getThumbnailPath() {
+                return thumbnailPath;
+            }
+
+            @Override
+            public StorageLocation getThumbnailStorageLocation() {
+                return StorageLocation.CLOUD;
+            }
+        };
+    }
+
+    private ContentSearchHitView searchHit(UUID id, double rank, String headline) {
+        return new ContentSearchHitView() {
+            @Override
+            public UUID getId() {
+                return id;
+            }
+
+            @Override
+            public Double getRank() {
+                return rank;
+            }
+
+            @Override
+            public String getHeadline() {
+                return headline;
+            }
+        };
     }
-}
\ No newline at end of file
+}
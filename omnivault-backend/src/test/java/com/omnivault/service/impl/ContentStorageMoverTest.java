@@ -0,0 +1,176 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.User;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.service.BlobService;
+import com.omnivault.service.StoredFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContentStorageMoverTest {
+
+    @Mock
+    private HybridFileService fileService;
+
+    @Mock
+    private BlobService blobService;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @InjectMocks
+    private ContentStorageMover storageMover;
+
+    private User user;
+    private Content content;
+    private StoredFile cloudFile;
+
+    @BeforeEach
+    void setup() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+        content = Content.builder()
+                .id(UUID.randomUUID())
+                .title("Photo")
+                .contentType(ContentType.IMAGE)
+                .user(user)
+                .storagePath("image/user/photo.png")
+                .storageLocation(StorageLocation.LOCAL)
+                .thumbnailPath("thumbnails/photo_thumb.jpg")
+                .thumbnailStorageLocation(StorageLocation.LOCAL)
+                .build();
+        cloudFile = new StoredFile("user/image/photo.png", StorageLocation.CLOUD, 1024L, "abc", "image/png");
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    @DisplayName("Should copy the file and thumbnail to the target location")
+    void copy_CopiesFileAndThumbnail() {
+        StoredFile cloudThumbnail = new StoredFile("user/image/thumbnail_photo.jpg", StorageLocation.CLOUD,
+                100L, "def", "image/jpeg");
+        when(fileService.copyToCloud("image/user/photo.png", user.getId(), ContentType.IMAGE)).thenReturn(cloudFile);
+        when(fileService.copyToCloud("thumbnails/photo_thumb.jpg", user.getId(), ContentType.IMAGE))
+                .thenReturn(cloudThumbnail);
+
+        ContentStorageMover.Transfer transfer = storageMover.copy(content, StorageLocation.CLOUD);
+
+        assertThat(transfer.file()).isEqualTo(cloudFile);
+        assertThat(transfer.thumbnailPath()).isEqualTo("user/image/thumbnail_photo.jpg");
+        assertThat(transfer.targetLocation()).isEqualTo(StorageLocation.CLOUD);
+        // The content item itself is only changed by apply
+        assertThat(content.getStorageLocation()).isEqualTo(StorageLocation.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Should delete the file copy when the thumbnail copy fails")
+    void copy_ThumbnailFails_DeletesFileCopy() {
+        when(fileService.copyToCloud("image/user/photo.png", user.getId(), ContentType.IMAGE)).thenReturn(cloudFile);
+        when(fileService.copyToCloud("thumbnails/photo_thumb.jpg", user.getId(), ContentType.IMAGE))
+                .thenThrow(new IllegalStateException("S3 unavailable"));
+
+        assertThrows(IllegalStateException.class,
+                () -> storageMover.copy(content, StorageLocation.CLOUD));
+
+        verify(fileService).deleteFile(cloudFile.storagePath(), StorageLocation.CLOUD);
+    }
+
+    @Test
+    @DisplayName("Should point the content at the copies and delete the old files after commit")
+    void apply_Committed_DeletesOldFiles() {
+        ContentStorageMover.Transfer transfer = new ContentStorageMover.Transfer("image/user/photo.png",
+                StorageLocation.LOCAL, cloudFile, "thumbnails/photo_thumb.jpg", "user/image/thumbnail_photo.jpg");
+        when(blobService.register(cloudFile, user)).thenReturn(cloudFile);
+        when(blobService.release("image/user/photo.png", StorageLocation.LOCAL)).thenReturn(true);
+        when(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                "thumbnails/photo_thumb.jpg", StorageLocation.LOCAL, content.getId())).thenReturn(false);
+
+        boolean applied = storageMover.apply(content, transfer);
+
+        assertThat(applied).isTrue();
+        assertThat(content.getStoragePath()).isEqualTo(cloudFile.storagePath());
+        assertThat(content.getStorageLocation()).isEqualTo(StorageLocation.CLOUD);
+        assertThat(content.getThumbnailPath()).isEqualTo("user/image/thumbnail_photo.jpg");
+        assertThat(content.getThumbnailStorageLocation()).isEqualTo(StorageLocation.CLOUD);
+        verify(fileService, never()).deleteFile(any(), any());
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(fileService).deleteFile("image/user/photo.png", StorageLocation.LOCAL);
+        verify(fileService).deleteFile("thumbnails/photo_thumb.jpg", StorageLocation.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Should keep a thumbnail that other content items still share")
+    void apply_SharedThumbnail_KeepsOldThumbnail() {
+        ContentStorageMover.Transfer transfer = new ContentStorageMover.Transfer("image/user/photo.png",
+                StorageLocation.LOCAL, cloudFile, "thumbnails/photo_thumb.jpg", "user/image/thumbnail_photo.jpg");
+        when(blobService.register(cloudFile, user)).thenReturn(cloudFile);
+        when(blobService.release("image/user/photo.png", StorageLocation.LOCAL)).thenReturn(false);
+        when(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNot(
+                "thumbnails/photo_thumb.jpg", StorageLocation.LOCAL, content.getId())).thenReturn(true);
+
+        storageMover.apply(content, transfer);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        verify(fileService, never()).deleteFile(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should delete the copies when the transaction rolls back")
+    void apply_RolledBack_DeletesCopies() {
+        ContentStorageMover.Transfer transfer = new ContentStorageMover.Transfer("image/user/photo.png",
+                StorageLocation.LOCAL, cloudFile, "thumbnails/photo_thumb.jpg", "user/image/thumbnail_photo.jpg");
+        when(blobService.register(cloudFile, user)).thenReturn(cloudFile);
+        when(blobService.release("image/user/photo.png", StorageLocation.LOCAL)).thenReturn(true);
+
+        storageMover.apply(content, transfer);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        verify(fileService).deleteFile(cloudFile.storagePath(), StorageLocation.CLOUD);
+        verify(fileService).deleteFile("user/image/thumbnail_photo.jpg", StorageLocation.CLOUD);
+        verify(fileService, never()).deleteFile("image/user/photo.png", StorageLocation.LOCAL);
+    }
+
+    @Test
+    @DisplayName("Should leave content alone that was moved since it was copied")
+    void apply_SourceChanged_ReturnsFalse() {
+        ContentStorageMover.Transfer transfer = new ContentStorageMover.Transfer("image/user/other.png",
+                StorageLocation.LOCAL, cloudFile, "thumbnails/photo_thumb.jpg", null);
+
+        boolean applied = storageMover.apply(content, transfer);
+
+        assertThat(applied).isFalse();
+        assertThat(content.getStorageLocation()).isEqualTo(StorageLocation.LOCAL);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verifyNoInteractions(blobService);
+    }
+
+    private void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
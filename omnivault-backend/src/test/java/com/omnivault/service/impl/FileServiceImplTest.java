@@ -0,0 +1,132 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.config.ThumbnailProperties;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.exception.FileStorageException;
+import com.omnivault.service.StoredFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileServiceImplTest {
+
+    private static final byte[] PNG_HEADER = {
+            (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 0x0D, 'I', 'H', 'D', 'R'
+    };
+
+    @TempDir
+    Path storageRoot;
+
+    private FileServiceImpl fileService;
+    private UUID userId;
+
+    @BeforeEach
+    void setup() {
+        StorageProperties properties = new StorageProperties();
+        properties.setLocation(storageRoot.toString());
+        properties.setMaxSize(Map.of("other", 1));
+        fileService = new FileServiceImpl(properties, new ThumbnailProperties());
+        fileService.init();
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should store a file and record its size, digest and sniffed MIME type")
+    void storeFile() throws Exception {
+        byte[] data = new byte[100_000];
+        System.arraycopy(PNG_HEADER, 0, data, 0, PNG_HEADER.length);
+        // Declared as a text file; the content says otherwise
+        MockMultipartFile file = new MockMultipartFile("file", "notes.bin", "text/plain", data);
+
+        StoredFile stored = fileService.storeFile(file, userId, ContentType.OTHER);
+
+        Path storedPath = fileService.getPath(stored.storagePath());
+        assertThat(Files.readAllBytes(storedPath)).isEqualTo(data);
+        assertThat(stored.sizeBytes()).isEqualTo(data.length);
+        assertThat(stored.sha256()).isEqualTo(sha256(data));
+        assertThat(stored.mimeType()).isEqualTo("image/png");
+        assertThat(filesIn(storedPath.getParent())).containsExactly(storedPath.getFileName().toString());
+    }
+
+    @Test
+    @DisplayName("Should leave no temp file behind when the upload fails")
+    void storeFileFailure() throws IOException {
+        MockMultipartFile file = new MockMultipartFile("file", "broken.txt", "text/plain", new byte[]{1}) {
+            @Override
+            public InputStream getInputStream() {
+                return new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Client went away");
+                    }
+                };
+            }
+        };
+
+        assertThrows(FileStorageException.class, () -> fileService.storeFile(file, userId, ContentType.OTHER));
+
+        assertThat(filesIn(storageRoot.resolve("other").resolve(userId.toString()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should scale a large image down to a JPEG thumbnail")
+    void generateThumbnail() throws Exception {
+        Path source = storageRoot.resolve("image").resolve("photo.png");
+        ImageIO.write(new BufferedImage(3000, 2000, BufferedImage.TYPE_INT_ARGB), "png", source.toFile());
+
+        String thumbnailPath = fileService.generateThumbnail("image/photo.png", ContentType.IMAGE);
+
+        assertThat(thumbnailPath).isEqualTo("thumbnails/photo_thumb.jpg");
+        try (ImageInputStream input = ImageIO.createImageInputStream(fileService.getPath(thumbnailPath).toFile())) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            reader.setInput(input);
+            assertThat(reader.getFormatName()).isEqualToIgnoringCase("jpeg");
+            assertThat(reader.getWidth(0)).isEqualTo(200);
+            assertThat(reader.getHeight(0)).isEqualTo(133);
+            reader.dispose();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not enlarge images smaller than a thumbnail")
+    void generateThumbnailSmallImage() throws Exception {
+        Path source = storageRoot.resolve("image").resolve("icon.gif");
+        ImageIO.write(new BufferedImage(40, 30, BufferedImage.TYPE_INT_RGB), "gif", source.toFile());
+
+        String thumbnailPath = fileService.generateThumbnail("image/icon.gif", ContentType.IMAGE);
+
+        BufferedImage thumbnail = ImageIO.read(fileService.getPath(thumbnailPath).toFile());
+        assertThat(thumbnail.getWidth()).isEqualTo(40);
+        assertThat(thumbnail.getHeight()).isEqualTo(30);
+    }
+
+    private static String sha256(byte[] data) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    }
+
+    private static Stream<String> filesIn(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString()).toList().stream();
+        }
+    }
+}
@@ -2,12 +2,18 @@ package com.omnivault.service.impl;
 
 import com.omnivault.domain.dto.request.FolderCreateRequest;
 import com.omnivault.domain.dto.response.FolderDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
 import com.omnivault.domain.model.Folder;
+import com.omnivault.domain.model.StorageLocation;
 import com.omnivault.domain.model.User;
 import com.omnivault.exception.BadRequestException;
 import com.omnivault.exception.ResourceNotFoundException;
+import com.omnivault.repository.ContentRepository;
 import com.omnivault.repository.FolderRepository;
 import com.omnivault.service.AuthService;
+import com.omnivault.service.BlobService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -16,6 +22,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.ZonedDateTime;
 import java.util.Arrays;
@@ -38,6 +45,21 @@ class FolderServiceImplTest {
     @Mock
     private AuthService authService;
 
+    @Mock
+    private UserCacheRegions cacheRegions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private BlobService blobService;
+
+    @Mock
+    private HybridFileService fileService;
+
     @InjectMocks
     private FolderServiceImpl folderService;
 
@@ -96,7 +118,7 @@ class FolderServiceImplTest {
     @DisplayName("Should get all root folders")
     void getRootFolders() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.findAllByUserAndParentIsNull(testUser)).thenReturn(List.of(rootFolder));
         when(folderRepository.countContentsByFolderId(rootFolder.getId())).thenReturn(5);
         when(folderRepository.countSubfoldersByFolderId(rootFolder.getId())).thenReturn(2);
@@ -105,7 +127,7 @@ class FolderServiceImplTest {
         List<FolderDTO> result = folderService.getRootFolders();
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).findAllByUserAndParentIsNull(testUser);
         verify(folderRepository).countContentsByFolderId(rootFolder.getId());
         verify(folderRepository).countSubfoldersByFolderId(rootFolder.getId());
@@ -123,7 +145,7 @@ class FolderServiceImplTest {
     @DisplayName("Should get all subfolders for a parent folder")
     void getSubfolders() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
         when(folderRepository.findAllByUserAndParentId(testUser, rootFolder.getId())).thenReturn(List.of(subFolder));
         when(folderRepository.countContentsByFolderId(subFolder.getId())).thenReturn(3);
@@ -133,7 +155,7 @@ class FolderServiceImplTest {
         List<FolderDTO> result = folderService.getSubfolders(rootFolder.getId());
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).findByIdAndUser(rootFolder.getId(), testUser);
         verify(folderRepository).findAllByUserAndParentId(testUser, rootFolder.getId());
         verify(folderRepository).countContentsByFolderId(subFolder.getId());
@@ -152,7 +174,7 @@ class FolderServiceImplTest {
     @DisplayName("Should get a folder by ID")
     void getFolder() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
         when(folderRepository.countContentsByFolderId(rootFolder.getId())).thenReturn(5);
         when(folderRepository.countSubfoldersByFolderId(rootFolder.getId())).thenReturn(2);
@@ -161,7 +183,7 @@ class FolderServiceImplTest {
         FolderDTO result = folderService.getFolder(rootFolder.getId());
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).findByIdAndUser(rootFolder.getId(), testUser);
         verify(folderRepository).countContentsByFolderId(rootFolder.getId());
         verify(folderRepository).countSubfoldersByFolderId(rootFolder.getId());
@@ -179,7 +201,7 @@ class FolderServiceImplTest {
     void getFolder_NotFound() {
         // Given
         UUID nonExistentId = UUID.randomUUID();
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.findByIdAndUser(nonExistentId, testUser)).thenReturn(Optional.empty());
 
         // When & Then
@@ -188,11 +210,39 @@ class FolderServiceImplTest {
         assertThat(exception.getMessage()).contains("Folder not found");
     }
 
+    @Test
+    @DisplayName("Should return a folder reference after checking ownership")
+    void getFolderReference() {
+        // Given
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(folderRepository.existsByIdAndUserId(rootFolder.getId(), testUser.getId())).thenReturn(true);
+        when(folderRepository.getReferenceById(rootFolder.getId())).thenReturn(rootFolder);
+
+        // When
+        Folder result = folderService.getFolderReference(rootFolder.getId());
+
+        // Then
+        assertThat(result).isSameAs(rootFolder);
+        verify(folderRepository, never()).findByIdAndUser(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not return a reference to another user's folder")
+    void getFolderReference_NotOwned() {
+        // Given
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+        when(folderRepository.existsByIdAndUserId(rootFolder.getId(), testUser.getId())).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> folderService.getFolderReference(rootFolder.getId()));
+        verify(folderRepository, never()).getReferenceById(any());
+    }
+
     @Test
     @DisplayName("Should create a root folder successfully")
     void createFolder_Root() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.existsByNameAndParentIsNullAndUser("New Folder", testUser)).thenReturn(false);
 
         Folder newFolder = Folder.builder()
@@ -213,7 +263,7 @@ class FolderServiceImplTest {
         FolderDTO result = folderService.createFolder(createRequest);
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).existsByNameAndParentIsNullAndUser("New Folder", testUser);
 
         ArgumentCaptor<Folder> folderCaptor = ArgumentCaptor.forClass(Folder.class);
@@ -223,6 +273,8 @@ class FolderServiceImplTest {
         assertThat(capturedFolder.getDescription()).isEqualTo("New folder description");
         assertThat(capturedFolder.getUser()).isEqualTo(testUser);
         assertThat(capturedFolder.getParent()).isNull();
+        verify(cacheRegions).evict(testUser.getId(), UserCacheRegions.FOLDERS);
+        verify(cacheRegions, never()).evictAllContentViews(any());
 
         assertThat(result.getName()).isEqualTo(newFolder.getName());
         assertThat(result.getDescription()).isEqualTo(newFolder.getDescription());
@@ -233,7 +285,7 @@ class FolderServiceImplTest {
     @DisplayName("Should create a subfolder successfully")
     void createFolder_SubFolder() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.existsByNameAndParentIdAndUser("New Sub Folder", rootFolder.getId(), testUser)).thenReturn(false);
         when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
 
@@ -255,7 +307,7 @@ class FolderServiceImplTest {
         FolderDTO result = folderService.createFolder(subFolderRequest);
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).existsByNameAndParentIdAndUser("New Sub Folder", rootFolder.getId(), testUser);
         verify(folderRepository).findByIdAndUser(rootFolder.getId(), testUser);
 
@@ -276,7 +328,7 @@ class FolderServiceImplTest {
     @DisplayName("Should throw exception when folder name already exists at root level")
     void createFolder_RootNameExists() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.existsByNameAndParentIsNullAndUser("New Folder", testUser)).thenReturn(true);
 
         // When & Then
@@ -290,7 +342,7 @@ class FolderServiceImplTest {
     @DisplayName("Should throw exception when subfolder name already exists in parent folder")
     void createFolder_SubFolderNameExists() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.existsByNameAndParentIdAndUser("New Sub Folder", rootFolder.getId(), testUser)).thenReturn(true);
 
         // When & Then
@@ -305,7 +357,7 @@ class FolderServiceImplTest {
     @DisplayName("Should throw exception when parent folder not found")
     void createFolder_ParentNotFound() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.existsByNameAndParentIdAndUser("New Sub Folder", rootFolder.getId(), testUser)).thenReturn(false);
         when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.empty());
 
@@ -316,11 +368,103 @@ class FolderServiceImplTest {
         verify(folderRepository, never()).save(any(Folder.class));
     }
 
+    @Test
+    @DisplayName("Should report a folder rename to content listeners")
+    void updateFolder_Rename() {
+        // Given
+        FolderCreateRequest renameRequest = FolderCreateRequest.builder()
+                .name("Renamed Folder")
+                .description(rootFolder.getDescription())
+                .build();
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
+        when(folderRepository.save(rootFolder)).thenReturn(rootFolder);
+
+        // When
+        FolderDTO result = folderService.updateFolder(rootFolder.getId(), renameRequest);
+
+        // Then
+        assertThat(result.getName()).isEqualTo("Renamed Folder");
+        verify(cacheRegions).evictAllContentViews(testUser.getId());
+
+        ArgumentCaptor<ContentChangedEvent> eventCaptor = ArgumentCaptor.forClass(ContentChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(ContentChangedEvent.ChangeType.BULK);
+    }
+
+    @Test
+    @DisplayName("Should not report a folder update that keeps its name")
+    void updateFolder_SameName() {
+        // Given
+        FolderCreateRequest updateRequest = FolderCreateRequest.builder()
+                .name(rootFolder.getName())
+                .description("Updated description")
+                .build();
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
+        when(folderRepository.save(rootFolder)).thenReturn(rootFolder);
+
+        // When
+        folderService.updateFolder(rootFolder.getId(), updateRequest);
+
+        // Then
+        verify(cacheRegions, never()).evictAllContentViews(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should delete a folder and report the change of its content")
+    void deleteFolder() {
+        // Given
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
+
+        // When
+        folderService.deleteFolder(rootFolder.getId());
+
+        // Then
+        verify(folderRepository).delete(rootFolder);
+        verify(cacheRegions).evictAllContentViews(testUser.getId());
+
+        ArgumentCaptor<ContentChangedEvent> eventCaptor = ArgumentCaptor.forClass(ContentChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(ContentChangedEvent.ChangeType.BULK);
+        assertThat(eventCaptor.getValue().getUserId()).isEqualTo(testUser.getId());
+    }
+
+    @Test
+    @DisplayName("Should release the files of content deleted with a folder")
+    void deleteFolder_ReleasesFiles() {
+        // Given
+        Content sharedFile = folderContent("image/user/shared.png", "thumbnails/user/shared.jpg");
+        Content ownFile = folderContent("image/user/own.png", "thumbnails/user/shared.jpg");
+        rootFolder.getContents().add(sharedFile);
+        rootFolder.getSubfolders().add(subFolder);
+        subFolder.getContents().add(ownFile);
+
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
+        when(folderRepository.findByIdAndUser(rootFolder.getId(), testUser)).thenReturn(Optional.of(rootFolder));
+        when(blobService.release("image/user/shared.png", StorageLocation.LOCAL)).thenReturn(false);
+        when(blobService.release("image/user/own.png", StorageLocation.LOCAL)).thenReturn(true);
+        when(contentRepository.existsByThumbnailPathAndThumbnailStorageLocationAndIdNotIn(
+                "thumbnails/user/shared.jpg", StorageLocation.LOCAL, List.of(sharedFile.getId(), ownFile.getId())))
+                .thenReturn(false);
+
+        // When
+        folderService.deleteFolder(rootFolder.getId());
+
+        // Then
+        verify(fileService).deleteFile("image/user/own.png", StorageLocation.LOCAL);
+        verify(fileService).deleteFile("thumbnails/user/shared.jpg", StorageLocation.LOCAL);
+        verify(fileService, never()).deleteFile("image/user/shared.png", StorageLocation.LOCAL);
+        verify(folderRepository).delete(rootFolder);
+    }
+
     @Test
     @DisplayName("Should search folders successfully")
     void searchFolders() {
         // Given
-        when(authService.getCurrentUser()).thenReturn(testUser);
+        when(authService.getCurrentUserReference()).thenReturn(testUser);
         when(folderRepository.searchFolders(eq(testUser), eq("folder"))).thenReturn(Arrays.asList(rootFolder, subFolder));
         when(folderRepository.countContentsByFolderId(any(UUID.class))).thenReturn(3);
         when(folderRepository.countSubfoldersByFolderId(any(UUID.class))).thenReturn(1);
@@ -329,7 +473,7 @@ class FolderServiceImplTest {
         List<FolderDTO> result = folderService.searchFolders("folder");
 
         // Then
-        verify(authService).getCurrentUser();
+        verify(authService).getCurrentUserReference();
         verify(folderRepository).searchFolders(testUser, "folder");
         verify(folderRepository, times(2)).countContentsByFolderId(any(UUID.class));
         verify(folderRepository, times(2)).countSubfoldersByFolderId(any(UUID.class));
@@ -337,4 +481,17 @@ class FolderServiceImplTest {
         assertThat(result).hasSize(2);
         assertThat(result).extracting("name").containsExactly("Root Folder", "Sub Folder");
     }
-}
\ No newline at end of file
+
+    private Content folderContent(String storagePath, String thumbnailPath) {
+        return Content.builder()
+                .id(UUID.randomUUID())
+                .title(storagePath)
+                .contentType(ContentType.IMAGE)
+                .storagePath(storagePath)
+                .storageLocation(StorageLocation.LOCAL)
+                .thumbnailPath(thumbnailPath)
+                .thumbnailStorageLocation(StorageLocation.LOCAL)
+                .user(testUser)
+                .build();
+    }
+}
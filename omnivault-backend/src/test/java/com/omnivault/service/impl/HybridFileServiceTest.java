@@ -0,0 +1,86 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.config.ThumbnailProperties;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.service.CloudStorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.ByteArrayResource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HybridFileServiceTest {
+
+    @TempDir
+    Path storageRoot;
+
+    @Mock
+    private CloudStorageService cloudStorageService;
+
+    private HybridFileService fileService;
+    private UUID userId;
+
+    @BeforeEach
+    void setup() {
+        StorageProperties properties = new StorageProperties();
+        properties.setLocation(storageRoot.toString());
+        FileServiceImpl localFileService = new FileServiceImpl(properties, new ThumbnailProperties());
+        localFileService.init();
+        fileService = new HybridFileService(localFileService, cloudStorageService);
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should make cloud thumbnails in memory and upload them in one request")
+    void generateCloudThumbnail() throws Exception {
+        String key = "image/" + userId + "/1234-photo.png";
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB), "png", png);
+        when(cloudStorageService.loadFileAsResource(key)).thenReturn(new ByteArrayResource(png.toByteArray()));
+        when(cloudStorageService.storeBytes(any(), eq("image/jpeg"), eq(userId), eq(ContentType.IMAGE),
+                eq("thumbnail_1234-photo.jpg"))).thenReturn("image/" + userId + "/5678-thumbnail_1234-photo.jpg");
+
+        String thumbnailKey = fileService.generateThumbnail(key, ContentType.IMAGE, StorageLocation.CLOUD);
+
+        assertThat(thumbnailKey).isEqualTo("image/" + userId + "/5678-thumbnail_1234-photo.jpg");
+        ArgumentCaptor<byte[]> uploaded = ArgumentCaptor.forClass(byte[].class);
+        verify(cloudStorageService).storeBytes(uploaded.capture(), anyString(), any(), any(), anyString());
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(uploaded.getValue()));
+        assertThat(thumbnail.getWidth()).isEqualTo(200);
+        assertThat(thumbnail.getHeight()).isEqualTo(133);
+        // Nothing was staged on the local disk
+        try (Stream<Path> files = Files.walk(storageRoot)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not download cloud files that cannot have a thumbnail")
+    void skipCloudVideo() {
+        assertThat(fileService.generateThumbnail("video/" + userId + "/clip.mp4", ContentType.VIDEO,
+                StorageLocation.CLOUD)).isNull();
+        verifyNoInteractions(cloudStorageService);
+    }
+}
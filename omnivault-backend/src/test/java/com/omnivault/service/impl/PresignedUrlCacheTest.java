@@ -0,0 +1,99 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.domain.dto.response.PresignedUrlDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PresignedUrlCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T10:05:00Z");
+
+    @Mock
+    private S3Presigner presigner;
+
+    private AwsS3Config s3Config;
+
+    @BeforeEach
+    void setup() {
+        s3Config = new AwsS3Config();
+        s3Config.setBucketName("bucket");
+        s3Config.setUrlExpirationSeconds(3600);
+    }
+
+    @Test
+    @DisplayName("Should reuse a signed URL within one refresh interval")
+    void reusesUrlWithinInterval() {
+        givenSigningWorks();
+        PresignedUrlCache cache = new PresignedUrlCache(s3Config, presigner);
+
+        PresignedUrlDTO first = cache.get("files/a.pdf", NOW);
+        PresignedUrlDTO second = cache.get("files/a.pdf", NOW.plus(Duration.ofMinutes(5)));
+
+        assertThat(second).isSameAs(first);
+        verify(presigner, times(1)).presignGetObject(any(GetObjectPresignRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should sign a new URL in the next refresh interval")
+    void resignsInNextInterval() {
+        givenSigningWorks();
+        PresignedUrlCache cache = new PresignedUrlCache(s3Config, presigner);
+
+        PresignedUrlDTO first = cache.get("files/a.pdf", NOW);
+        PresignedUrlDTO next = cache.get("files/a.pdf", NOW.plus(Duration.ofMinutes(15)));
+
+        assertThat(next.getUrl()).isNotEqualTo(first.getUrl());
+        verify(presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should sign every time when the cache is disabled")
+    void signsEveryTimeWhenDisabled() {
+        givenSigningWorks();
+        s3Config.getUrlCache().setEnabled(false);
+        PresignedUrlCache cache = new PresignedUrlCache(s3Config, presigner);
+
+        cache.get("files/a.pdf", NOW);
+        cache.get("files/a.pdf", NOW);
+
+        verify(presigner, times(2)).presignGetObject(any(GetObjectPresignRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh interval that outlives the URLs")
+    void rejectsRefreshIntervalLongerThanExpiration() {
+        s3Config.getUrlCache().setRefreshInterval(Duration.ofHours(1));
+
+        assertThrows(IllegalStateException.class, () -> new PresignedUrlCache(s3Config, presigner));
+    }
+
+    private void givenSigningWorks() {
+        AtomicInteger signatures = new AtomicInteger();
+        when(presigner.presignGetObject(any(GetObjectPresignRequest.class))).thenAnswer(invocation -> {
+            PresignedGetObjectRequest presigned = mock(PresignedGetObjectRequest.class);
+            when(presigned.url()).thenReturn(
+                    URI.create("https://bucket.s3/files/a.pdf?sig=" + signatures.incrementAndGet()).toURL());
+            when(presigned.expiration()).thenReturn(Instant.now().plusSeconds(3600));
+            return presigned;
+        });
+    }
+}
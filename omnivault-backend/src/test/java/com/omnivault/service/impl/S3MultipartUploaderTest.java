@@ -0,0 +1,146 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.AwsS3Config;
+import com.omnivault.exception.FileStorageException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.util.unit.DataSize;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.*;
+
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3MultipartUploaderTest {
+
+    private static final String KEY = "video/user/clip.mp4";
+    private static final int SIZE = (int) (2 * S3MultipartUploader.MIN_PART_SIZE + 1024);
+
+    @Mock
+    private S3Client s3Client;
+
+    private S3MultipartUploader uploader;
+
+    @BeforeEach
+    void setup() {
+        AwsS3Config config = new AwsS3Config();
+        config.setBucketName("bucket");
+        config.getMultipart().setThreshold(DataSize.ofMegabytes(5));
+        config.getMultipart().setPartSize(DataSize.ofMegabytes(1));
+        config.getMultipart().setRetryBackoff(Duration.ofMillis(1));
+        uploader = new S3MultipartUploader(config, s3Client);
+    }
+
+    @Test
+    @DisplayName("Should upload parts of at least the S3 minimum and complete them in order")
+    void uploadInParts() {
+        // Given
+        givenUploadCreated();
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> etagFor(invocation.getArgument(0)));
+
+        // When
+        List<S3MultipartUploader.PartTiming> timings = uploader.upload(KEY, "video/mp4", content(), SIZE);
+
+        // Then
+        assertThat(timings).extracting(S3MultipartUploader.PartTiming::sizeBytes)
+                .containsExactly(S3MultipartUploader.MIN_PART_SIZE, S3MultipartUploader.MIN_PART_SIZE, 1024L);
+
+        ArgumentCaptor<CompleteMultipartUploadRequest> complete =
+                ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+        verify(s3Client).completeMultipartUpload(complete.capture());
+        assertThat(complete.getValue().uploadId()).isEqualTo("upload-1");
+        assertThat(complete.getValue().multipartUpload().parts())
+                .extracting(CompletedPart::eTag)
+                .containsExactly("etag-1", "etag-2", "etag-3");
+    }
+
+    @Test
+    @DisplayName("Should retry a failed part on its own")
+    void retryPart() {
+        // Given
+        givenUploadCreated();
+        AtomicInteger secondPartAttempts = new AtomicInteger();
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenAnswer(invocation -> {
+                    UploadPartRequest request = invocation.getArgument(0);
+                    if (request.partNumber() == 2 && secondPartAttempts.incrementAndGet() == 1) {
+                        throw SdkClientException.create("Connection reset");
+                    }
+                    return etagFor(request);
+                });
+
+        // When
+        List<S3MultipartUploader.PartTiming> timings = uploader.upload(KEY, "video/mp4", content(), SIZE);
+
+        // Then
+        assertThat(timings).extracting(S3MultipartUploader.PartTiming::attempts).containsExactly(1, 2, 1);
+        verify(s3Client, times(4)).uploadPart(any(UploadPartRequest.class), any(RequestBody.class));
+        verify(s3Client, never()).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should abort the upload when a part keeps failing")
+    void abortOnFailure() {
+        // Given
+        givenUploadCreated();
+        when(s3Client.uploadPart(any(UploadPartRequest.class), any(RequestBody.class)))
+                .thenThrow(SdkClientException.create("Connection reset"));
+
+        // When & Then
+        assertThatThrownBy(() -> uploader.upload(KEY, "video/mp4", content(), SIZE))
+                .isInstanceOf(FileStorageException.class);
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+        verify(s3Client, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should abort the upload when the stream is shorter than announced")
+    void abortOnShortStream() {
+        // Given
+        givenUploadCreated();
+
+        // When & Then
+        assertThatThrownBy(() -> uploader.upload(KEY, "video/mp4", new ByteArrayInputStream(new byte[10]), SIZE))
+                .isInstanceOf(FileStorageException.class);
+        verify(s3Client).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+    }
+
+    @Test
+    @DisplayName("Should raise the part size to stay within S3's part limits")
+    void partSize() {
+        long gigabytes100 = 100L * 1024 * 1024 * 1024;
+        assertThat(S3MultipartUploader.partSize(1024, 20 * 1024 * 1024))
+                .isEqualTo(S3MultipartUploader.MIN_PART_SIZE);
+        assertThat(S3MultipartUploader.partSize(S3MultipartUploader.MIN_PART_SIZE, gigabytes100) * S3MultipartUploader.MAX_PARTS)
+                .isGreaterThanOrEqualTo(gigabytes100);
+    }
+
+    private void givenUploadCreated() {
+        when(s3Client.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+                .thenReturn(CreateMultipartUploadResponse.builder().uploadId("upload-1").build());
+    }
+
+    private static ByteArrayInputStream content() {
+        return new ByteArrayInputStream(new byte[SIZE]);
+    }
+
+    private static UploadPartResponse etagFor(UploadPartRequest request) {
+        return UploadPartResponse.builder().eTag("etag-" + request.partNumber()).build();
+    }
+}
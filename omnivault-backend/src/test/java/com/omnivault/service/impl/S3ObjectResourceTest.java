@@ -0,0 +1,96 @@
+package com.omnivault.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class S3ObjectResourceTest {
+
+    private static final String KEY = "video/user/1234-clip.mp4";
+
+    @Mock
+    private S3Client s3Client;
+
+    private S3ObjectResource resource;
+
+    @BeforeEach
+    void setup() {
+        HeadObjectResponse head = HeadObjectResponse.builder()
+                .contentLength(100L)
+                .lastModified(Instant.ofEpochSecond(1_700_000_000L))
+                .build();
+        resource = new S3ObjectResource(s3Client, "bucket", KEY, head);
+    }
+
+    @Test
+    @DisplayName("Should describe the object without downloading it")
+    void metadata() throws Exception {
+        assertThat(resource.exists()).isTrue();
+        assertThat(resource.contentLength()).isEqualTo(100L);
+        assertThat(resource.lastModified()).isEqualTo(1_700_000_000_000L);
+        assertThat(resource.getFilename()).isEqualTo("1234-clip.mp4");
+        verifyNoInteractions(s3Client);
+    }
+
+    @Test
+    @DisplayName("Should pass byte ranges through to S3")
+    void rangedRead() throws Exception {
+        // Given
+        when(s3Client.getObject(any(GetObjectRequest.class))).thenReturn(objectStream("part"));
+
+        // When
+        String read;
+        try (InputStream in = resource.getInputStream(10, 4)) {
+            read = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Then
+        ArgumentCaptor<GetObjectRequest> request = ArgumentCaptor.forClass(GetObjectRequest.class);
+        verify(s3Client).getObject(request.capture());
+        assertThat(request.getValue().range()).isEqualTo("bytes=10-13");
+        assertThat(request.getValue().key()).isEqualTo(KEY);
+        assertThat(read).isEqualTo("part");
+    }
+
+    @Test
+    @DisplayName("Should abort the download when the stream is closed early")
+    void abortOnEarlyClose() throws Exception {
+        // Given
+        AbortableInputStream body = spy(AbortableInputStream.create(new ByteArrayInputStream(new byte[100])));
+        when(s3Client.getObject(any(GetObjectRequest.class)))
+                .thenReturn(new ResponseInputStream<>(GetObjectResponse.builder().build(), body));
+
+        // When
+        try (InputStream in = resource.getInputStream()) {
+            in.readNBytes(10);
+        }
+
+        // Then
+        verify(body).abort();
+    }
+
+    private static ResponseInputStream<GetObjectResponse> objectStream(String content) {
+        return new ResponseInputStream<>(GetObjectResponse.builder().build(),
+                AbortableInputStream.create(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))));
+    }
+}
@@ -0,0 +1,95 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.SearchCacheProperties;
+import com.omnivault.domain.dto.response.ContentDTO;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.projection.ContentSearchHitView;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SearchResultCacheTest {
+
+    private SearchResultCache cache;
+    private UUID userId;
+    private UUID otherUserId;
+
+    @BeforeEach
+    void setup() {
+        cache = new SearchResultCache(new SearchCacheProperties());
+        userId = UUID.randomUUID();
+        otherUserId = UUID.randomUUID();
+    }
+
+    @Test
+    @DisplayName("Should normalize case and whitespace")
+    void normalize() {
+        assertThat(SearchResultCache.normalize("  Quarterly \t REPORT ")).isEqualTo("quarterly report");
+    }
+
+    @Test
+    @DisplayName("Should narrow only from the smallest cached subset of plain words")
+    void findNarrowingCandidates() {
+        // Given
+        ContentSearchHitView first = hit();
+        ContentSearchHitView second = hit();
+        SearchResultCache.UserSearchResults results = cache.forUser(userId);
+        results.putCandidates("report", List.of(first, second));
+        results.putCandidates("quarterly", List.of(first));
+        results.putCandidates("the", List.of());
+
+        // When / Then
+        assertThat(results.findNarrowingCandidates("quarterly report")).containsExactly(first.getId());
+        assertThat(results.findNarrowingCandidates("report draft")).containsExactly(first.getId(), second.getId());
+        assertThat(results.findNarrowingCandidates("the draft")).isNull();
+        assertThat(results.findNarrowingCandidates("report")).isNull();
+        assertThat(results.findNarrowingCandidates("report -draft")).isNull();
+        assertThat(results.findNarrowingCandidates("report or draft")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not store incomplete candidate sets")
+    void putCandidates_TooMany() {
+        // Given
+        SearchCacheProperties properties = new SearchCacheProperties();
+        properties.setMaxCandidates(1);
+        SearchResultCache.UserSearchResults results = new SearchResultCache(properties).forUser(userId);
+
+        // When
+        results.putCandidates("report", List.of(hit(), hit()));
+
+        // Then
+        assertThat(results.getCandidates("report")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop only the changed user's results")
+    void onContentChanged() {
+        // Given
+        Page<ContentDTO> page = Page.empty(PageRequest.of(0, 10));
+        cache.forUser(userId).putPage("report", PageRequest.of(0, 10), page);
+        cache.forUser(otherUserId).putPage("report", PageRequest.of(0, 10), page);
+
+        // When
+        cache.onContentChanged(ContentChangedEvent.upserted(userId, UUID.randomUUID()));
+
+        // Then
+        assertThat(cache.forUser(userId).getPage("report", PageRequest.of(0, 10))).isNull();
+        assertThat(cache.forUser(otherUserId).getPage("report", PageRequest.of(0, 10))).isSameAs(page);
+    }
+
+    private ContentSearchHitView hit() {
+        ContentSearchHitView hit = mock(ContentSearchHitView.class);
+        when(hit.getId()).thenReturn(UUID.randomUUID());
+        return hit;
+    }
+}
@@ -0,0 +1,195 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.StorageProperties;
+import com.omnivault.domain.event.ContentChangedEvent;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.MigrationStatus;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.StorageMigration;
+import com.omnivault.domain.model.User;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.StorageMigrationRepository;
+import com.omnivault.service.StoredFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StorageMigrationEngineTest {
+
+    @Mock
+    private StorageMigrationRepository migrationRepository;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private ContentStorageMover storageMover;
+
+    @Mock
+    private UserCacheRegions cacheRegions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private StorageMigrationEngine engine;
+    private User user;
+    private Content content;
+    private StoredFile cloudFile;
+    private ContentStorageMover.Transfer transfer;
+
+    @BeforeEach
+    void setup() {
+        engine = new StorageMigrationEngine(migrationRepository, contentRepository, storageMover, cacheRegions,
+                eventPublisher, new StorageProperties(), transactionManager);
+
+        user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+        content = Content.builder()
+                .id(UUID.randomUUID())
+                .title("Document")
+                .contentType(ContentType.DOCUMENT)
+                .user(user)
+                .storagePath("document/user/report.pdf")
+                .storageLocation(StorageLocation.LOCAL)
+                .sizeBytes(2048L)
+                .build();
+        cloudFile = new StoredFile("user/document/report.pdf", StorageLocation.CLOUD, 2048L, "abc",
+                "application/pdf");
+        transfer = new ContentStorageMover.Transfer(content.getStoragePath(), StorageLocation.LOCAL, cloudFile,
+                null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should move an item and announce the change")
+    void migrateItem_Moves() {
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(storageMover.copy(content, StorageLocation.CLOUD)).thenReturn(transfer);
+        when(storageMover.apply(content, transfer)).thenReturn(true);
+        when(contentRepository.save(content)).thenReturn(content);
+
+        StorageMigrationEngine.ItemResult result = engine.migrateItem(content.getId(), StorageLocation.CLOUD);
+
+        assertThat(result.outcome()).isEqualTo(StorageMigrationEngine.Outcome.MOVED);
+        assertThat(result.bytes()).isEqualTo(2048L);
+        verify(cacheRegions).evictViewsOf(content);
+        verify(eventPublisher).publishEvent(any(ContentChangedEvent.class));
+        verify(storageMover, never()).discard(any());
+    }
+
+    @Test
+    @DisplayName("Should skip an item already at the target location")
+    void migrateItem_AlreadyAtTarget_Skips() {
+        content.setStorageLocation(StorageLocation.CLOUD);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+
+        StorageMigrationEngine.ItemResult result = engine.migrateItem(content.getId(), StorageLocation.CLOUD);
+
+        assertThat(result.outcome()).isEqualTo(StorageMigrationEngine.Outcome.SKIPPED);
+        verifyNoInteractions(storageMover);
+    }
+
+    @Test
+    @DisplayName("Should discard the copies of an item changed during the copy")
+    void migrateItem_ChangedDuringCopy_DiscardsCopies() {
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(storageMover.copy(content, StorageLocation.CLOUD)).thenReturn(transfer);
+        when(storageMover.apply(content, transfer)).thenReturn(false);
+
+        StorageMigrationEngine.ItemResult result = engine.migrateItem(content.getId(), StorageLocation.CLOUD);
+
+        assertThat(result.outcome()).isEqualTo(StorageMigrationEngine.Outcome.SKIPPED);
+        verify(storageMover).discard(transfer);
+        verify(contentRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should report a failed copy with its error")
+    void migrateItem_CopyFails_ReportsFailure() {
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(storageMover.copy(content, StorageLocation.CLOUD)).thenThrow(new IllegalStateException("S3 unavailable"));
+
+        StorageMigrationEngine.ItemResult result = engine.migrateItem(content.getId(), StorageLocation.CLOUD);
+
+        assertThat(result.outcome()).isEqualTo(StorageMigrationEngine.Outcome.FAILED);
+        assertThat(result.error()).contains("S3 unavailable");
+    }
+
+    @Test
+    @DisplayName("Should record each batch and complete the migration")
+    void run_RecordsProgressAndCompletes() {
+        StorageMigration migration = StorageMigration.builder()
+                .id(UUID.randomUUID())
+                .userId(user.getId())
+                .targetLocation(StorageLocation.CLOUD)
+                .status(MigrationStatus.RUNNING)
+                .build();
+        UUID goneId = UUID.randomUUID();
+        when(migrationRepository.findById(migration.getId())).thenReturn(Optional.of(migration));
+        when(contentRepository.findIdsToMigrate(eq(user.getId()), eq(StorageLocation.CLOUD), any(UUID.class),
+                any(Limit.class)))
+                .thenReturn(List.of(content.getId(), goneId))
+                .thenReturn(List.of());
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(contentRepository.findById(goneId)).thenReturn(Optional.empty());
+        when(storageMover.copy(content, StorageLocation.CLOUD)).thenReturn(transfer);
+        when(storageMover.apply(content, transfer)).thenReturn(true);
+        when(contentRepository.save(content)).thenReturn(content);
+        when(migrationRepository.recordProgress(eq(migration.getId()), eq(goneId), eq(1L), eq(0L), eq(1L),
+                eq(2048L), isNull(), any())).thenReturn(1);
+
+        engine.run(migration.getId());
+
+        verify(migrationRepository).recordProgress(eq(migration.getId()), eq(goneId), eq(1L), eq(0L), eq(1L),
+                eq(2048L), isNull(), any());
+        verify(migrationRepository).finish(eq(migration.getId()), eq(MigrationStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop after a batch when the migration was cancelled")
+    void run_Cancelled_Stops() {
+        StorageMigration migration = StorageMigration.builder()
+                .id(UUID.randomUUID())
+                .targetLocation(StorageLocation.CLOUD)
+                .status(MigrationStatus.RUNNING)
+                .build();
+        when(migrationRepository.findById(migration.getId())).thenReturn(Optional.of(migration));
+        when(contentRepository.findIdsToMigrate(eq(StorageLocation.CLOUD), any(UUID.class), any(Limit.class)))
+                .thenReturn(List.of(content.getId()));
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.empty());
+        when(migrationRepository.recordProgress(eq(migration.getId()), any(), anyLong(), anyLong(), anyLong(),
+                anyLong(), any(), any())).thenReturn(0);
+
+        engine.run(migration.getId());
+
+        verify(contentRepository, times(1)).findIdsToMigrate(eq(StorageLocation.CLOUD), any(UUID.class),
+                any(Limit.class));
+        verify(migrationRepository, never()).finish(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,245 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.ThumbnailProperties;
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.StorageLocation;
+import com.omnivault.domain.model.ThumbnailJob;
+import com.omnivault.domain.model.ThumbnailStatus;
+import com.omnivault.domain.model.User;
+import com.omnivault.repository.ContentRepository;
+import com.omnivault.repository.ThumbnailJobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ThumbnailJobQueueTest {
+
+    @Mock
+    private ThumbnailJobRepository jobRepository;
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private HybridFileService fileService;
+
+    @Mock
+    private UserCacheRegions cacheRegions;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ThumbnailProperties properties;
+    private ThumbnailJobQueue queue;
+    private User user;
+    private Content content;
+    private ThumbnailJob job;
+
+    @BeforeEach
+    void setup() {
+        properties = new ThumbnailProperties();
+        queue = new ThumbnailJobQueue(jobRepository, contentRepository, fileService, cacheRegions,
+                properties, transactionManager);
+
+        user = User.builder().id(UUID.randomUUID()).username("testuser").build();
+        content = Content.builder()
+                .id(UUID.randomUUID())
+                .title("Photo")
+                .contentType(ContentType.IMAGE)
+                .user(user)
+                .storagePath("image/user/photo.png")
+                .storageLocation(StorageLocation.LOCAL)
+                .thumbnailStatus(ThumbnailStatus.PENDING)
+                .build();
+        job = ThumbnailJob.builder().id(UUID.randomUUID()).contentId(content.getId()).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should store a generated thumbnail and finish the job")
+    void processSuccess() {
+        givenClaimedAttempt(1);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(fileService.generateThumbnail("image/user/photo.png", ContentType.IMAGE, StorageLocation.LOCAL))
+                .thenReturn("image/user/thumbnails/photo_thumb.png");
+        when(contentRepository.updateThumbnail(content.getId(), "image/user/photo.png", StorageLocation.LOCAL,
+                "image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL, ThumbnailStatus.READY)).thenReturn(1);
+
+        queue.process(job.getId());
+
+        verify(contentRepository, never()).save(any());
+        verify(jobRepository).deleteById(job.getId());
+        verify(fileService, never()).deleteFile(any(), any());
+        verify(cacheRegions).evictViewsOf(content);
+        verify(cacheRegions, never()).evictAllContentViews(any());
+    }
+
+    @Test
+    @DisplayName("Should retry a failed attempt with backoff")
+    void processRetry() {
+        givenClaimedAttempt(2);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+
+        queue.process(job.getId());
+
+        ArgumentCaptor<ZonedDateTime> retryAt = ArgumentCaptor.forClass(ZonedDateTime.class);
+        verify(jobRepository).reschedule(eq(job.getId()), retryAt.capture());
+        // Second attempt: twice the base backoff
+        assertThat(retryAt.getValue()).isCloseTo(
+                ZonedDateTime.now().plus(properties.getRetryBackoff().multipliedBy(2)),
+                within(5, ChronoUnit.SECONDS));
+        verify(jobRepository, never()).deleteById(any());
+        verify(contentRepository, never()).updateThumbnail(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should mark the thumbnail as failed after the last attempt")
+    void processGivesUp() {
+        givenClaimedAttempt(properties.getMaxAttempts());
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(contentRepository.updateThumbnail(content.getId(), "image/user/photo.png", StorageLocation.LOCAL,
+                null, null, ThumbnailStatus.FAILED)).thenReturn(1);
+
+        queue.process(job.getId());
+
+        verify(jobRepository).deleteById(job.getId());
+        verify(jobRepository, never()).reschedule(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should discard the thumbnail and retry when storing it throws")
+    void processFinishThrows() {
+        givenClaimedAttempt(1);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(fileService.generateThumbnail("image/user/photo.png", ContentType.IMAGE, StorageLocation.LOCAL))
+                .thenReturn("image/user/thumbnails/photo_thumb.png");
+        when(contentRepository.updateThumbnail(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new IllegalStateException("Database unavailable"));
+
+        queue.process(job.getId());
+
+        verify(fileService).deleteFile("image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL);
+        verify(jobRepository).reschedule(eq(job.getId()), any());
+    }
+
+    @Test
+    @DisplayName("Should give up on a job whose last attempt throws")
+    void processLastAttemptThrows() {
+        givenClaimedAttempt(properties.getMaxAttempts());
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(fileService.generateThumbnail("image/user/photo.png", ContentType.IMAGE, StorageLocation.LOCAL))
+                .thenThrow(new IllegalStateException("Corrupt image"));
+        when(contentRepository.updateThumbnail(content.getId(), "image/user/photo.png", StorageLocation.LOCAL,
+                null, null, ThumbnailStatus.FAILED)).thenReturn(1);
+
+        queue.process(job.getId());
+
+        verify(jobRepository).deleteById(job.getId());
+        verify(jobRepository, never()).reschedule(any(), any());
+        verify(fileService, never()).deleteFile(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should discard the thumbnail and retry when the content was moved meanwhile")
+    void processContentMoved() {
+        givenClaimedAttempt(1);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(fileService.generateThumbnail("image/user/photo.png", ContentType.IMAGE, StorageLocation.LOCAL))
+                .thenReturn("image/user/thumbnails/photo_thumb.png");
+        when(contentRepository.updateThumbnail(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(contentRepository.existsById(content.getId())).thenReturn(true);
+
+        queue.process(job.getId());
+
+        verify(fileService).deleteFile("image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL);
+        verify(jobRepository).reschedule(eq(job.getId()), any());
+        verify(jobRepository, never()).deleteById(any());
+        verifyNoInteractions(cacheRegions);
+    }
+
+    @Test
+    @DisplayName("Should discard the thumbnail of content deleted while it was made")
+    void processContentDeletedMeanwhile() {
+        givenClaimedAttempt(1);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(fileService.generateThumbnail("image/user/photo.png", ContentType.IMAGE, StorageLocation.LOCAL))
+                .thenReturn("image/user/thumbnails/photo_thumb.png");
+        when(contentRepository.updateThumbnail(any(), any(), any(), any(), any(), any())).thenReturn(0);
+        when(contentRepository.existsById(content.getId())).thenReturn(false);
+
+        queue.process(job.getId());
+
+        verify(fileService).deleteFile("image/user/thumbnails/photo_thumb.png", StorageLocation.LOCAL);
+        verify(jobRepository).deleteById(job.getId());
+        verify(jobRepository, never()).reschedule(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should drop the job of deleted content")
+    void processDeletedContent() {
+        givenClaimedAttempt(1);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.empty());
+
+        queue.process(job.getId());
+
+        verify(jobRepository).deleteById(job.getId());
+        verifyNoInteractions(fileService);
+    }
+
+    @Test
+    @DisplayName("Should clear the pending status of content without a file")
+    void processContentWithoutFile() {
+        givenClaimedAttempt(1);
+        content.setStoragePath(null);
+        when(contentRepository.findById(content.getId())).thenReturn(Optional.of(content));
+        when(contentRepository.updateThumbnail(content.getId(), null, StorageLocation.LOCAL,
+                null, null, ThumbnailStatus.NONE))
+                .thenReturn(1);
+
+        queue.process(job.getId());
+
+        verify(jobRepository).deleteById(job.getId());
+        verify(cacheRegions).evictViewsOf(content);
+        verifyNoInteractions(fileService);
+    }
+
+    @Test
+    @DisplayName("Should skip a job another worker has claimed")
+    void processAlreadyClaimed() {
+        when(jobRepository.claim(eq(job.getId()), any(), any())).thenReturn(0);
+
+        queue.process(job.getId());
+
+        verify(jobRepository, never()).findById(any());
+        verifyNoInteractions(fileService, contentRepository);
+    }
+
+    private void givenClaimedAttempt(int attempt) {
+        job.setAttempts(attempt);
+        when(jobRepository.claim(eq(job.getId()), any(), any())).thenReturn(1);
+        when(jobRepository.findById(job.getId())).thenReturn(Optional.of(job));
+    }
+}
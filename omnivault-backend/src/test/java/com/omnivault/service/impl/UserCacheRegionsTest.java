@@ -0,0 +1,154 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.model.Content;
+import com.omnivault.domain.model.ContentType;
+import com.omnivault.domain.model.Folder;
+import com.omnivault.domain.model.Tag;
+import com.omnivault.domain.model.User;
+import com.omnivault.service.AuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheRegionsTest {
+
+    @Mock
+    private AuthService authService;
+
+    private UserCacheRegions cacheRegions;
+    private User testUser;
+    private Folder folder;
+    private Folder otherFolder;
+    private Tag tag;
+    private Content content;
+
+    @BeforeEach
+    void setup() {
+        cacheRegions = new UserCacheRegions(authService);
+
+        testUser = User.builder()
+                .id(UUID.randomUUID())
+                .username("testuser")
+                .build();
+        folder = Folder.builder().id(UUID.randomUUID()).name("Work").user(testUser).build();
+        otherFolder = Folder.builder().id(UUID.randomUUID()).name("Home").user(testUser).build();
+        tag = Tag.builder().id(UUID.randomUUID()).name("urgent").user(testUser).build();
+
+        content = Content.builder()
+                .id(UUID.randomUUID())
+                .title("Notes")
+                .contentType(ContentType.TEXT)
+                .folder(folder)
+                .user(testUser)
+                .build();
+        content.addTag(tag);
+
+        when(authService.getCurrentUserId()).thenReturn(testUser.getId());
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep keys stable until their region is evicted")
+    void key_StableUntilEvicted() {
+        // Given
+        String folderKey = cacheRegions.key(UserCacheRegions.FOLDER, folder.getId());
+
+        // When / Then
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDER, folder.getId())).isEqualTo(folderKey);
+
+        cacheRegions.evict(testUser.getId(), UserCacheRegions.FOLDER, folder.getId());
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDER, folder.getId())).isNotEqualTo(folderKey);
+    }
+
+    @Test
+    @DisplayName("Should evict only the views a content item appears in")
+    void evictViewsOf() {
+        // Given
+        String itemKey = cacheRegions.key(UserCacheRegions.CONTENT, content.getId());
+        String folderKey = cacheRegions.key(UserCacheRegions.FOLDER, folder.getId());
+        String otherFolderKey = cacheRegions.key(UserCacheRegions.FOLDER, otherFolder.getId());
+        String tagKey = cacheRegions.key(UserCacheRegions.TAG, tag.getId());
+        String textKey = cacheRegions.key(UserCacheRegions.TYPE, ContentType.TEXT);
+        String imageKey = cacheRegions.key(UserCacheRegions.TYPE, ContentType.IMAGE);
+        String favoritesKey = cacheRegions.key(UserCacheRegions.FAVORITES);
+        String tagsKey = cacheRegions.key(UserCacheRegions.TAGS);
+
+        // When
+        cacheRegions.evictViewsOf(content);
+
+        // Then
+        assertThat(cacheRegions.key(UserCacheRegions.CONTENT, content.getId())).isNotEqualTo(itemKey);
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDER, folder.getId())).isNotEqualTo(folderKey);
+        assertThat(cacheRegions.key(UserCacheRegions.TAG, tag.getId())).isNotEqualTo(tagKey);
+        assertThat(cacheRegions.key(UserCacheRegions.TYPE, ContentType.TEXT)).isNotEqualTo(textKey);
+        assertThat(cacheRegions.key(UserCacheRegions.TAGS)).isNotEqualTo(tagsKey);
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDER, otherFolder.getId())).isEqualTo(otherFolderKey);
+        assertThat(cacheRegions.key(UserCacheRegions.TYPE, ContentType.IMAGE)).isEqualTo(imageKey);
+        assertThat(cacheRegions.key(UserCacheRegions.FAVORITES)).isEqualTo(favoritesKey);
+    }
+
+    @Test
+    @DisplayName("Should leave other users' regions untouched")
+    void evict_OtherUser() {
+        // Given
+        String allKey = cacheRegions.key(UserCacheRegions.ALL);
+
+        // When
+        cacheRegions.evict(UUID.randomUUID(), UserCacheRegions.ALL);
+        cacheRegions.evictAllContentViews(UUID.randomUUID());
+
+        // Then
+        assertThat(cacheRegions.key(UserCacheRegions.ALL)).isEqualTo(allKey);
+    }
+
+    @Test
+    @DisplayName("Should drop every content view but not folder or tag DTOs")
+    void evictAllContentViews() {
+        // Given
+        String itemKey = cacheRegions.key(UserCacheRegions.CONTENT, content.getId());
+        String otherFolderKey = cacheRegions.key(UserCacheRegions.FOLDER, otherFolder.getId());
+        String foldersKey = cacheRegions.key(UserCacheRegions.FOLDERS);
+
+        // When
+        cacheRegions.evictAllContentViews(testUser.getId());
+
+        // Then
+        assertThat(cacheRegions.key(UserCacheRegions.CONTENT, content.getId())).isNotEqualTo(itemKey);
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDER, otherFolder.getId())).isNotEqualTo(otherFolderKey);
+        assertThat(cacheRegions.key(UserCacheRegions.FOLDERS)).isEqualTo(foldersKey);
+    }
+
+    @Test
+    @DisplayName("Should evict only after the transaction commits")
+    void evict_AfterCommit() {
+        // Given
+        String allKey = cacheRegions.key(UserCacheRegions.ALL);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        cacheRegions.evict(testUser.getId(), UserCacheRegions.ALL);
+
+        // Then
+        assertThat(cacheRegions.key(UserCacheRegions.ALL)).isEqualTo(allKey);
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        assertThat(cacheRegions.key(UserCacheRegions.ALL)).isNotEqualTo(allKey);
+    }
+}
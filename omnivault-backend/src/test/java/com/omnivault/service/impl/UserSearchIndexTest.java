@@ -0,0 +1,105 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.domain.dto.response.SearchHitDTO;
+import com.omnivault.domain.model.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    private UUID reportId;
+    private UUID recipeId;
+    private UUID linkId;
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setup() {
+        reportId = UUID.randomUUID();
+        recipeId = UUID.randomUUID();
+        linkId = UUID.randomUUID();
+
+        index = new UserSearchIndex(List.of(
+                new UserSearchIndex.Document(reportId, "Quarterly Report", ContentType.TEXT,
+                        "Numbers for Q3", "Revenue grew in every region", null, List.of("work")),
+                new UserSearchIndex.Document(recipeId, "Pasta recipe", ContentType.TEXT,
+                        null, "Boil water, add salt, report back", null, List.of("cooking")),
+                new UserSearchIndex.Document(linkId, "Reading list", ContentType.LINK,
+                        "Articles to read", null, "https://example.com/reports", List.of("work"))
+        ));
+    }
+
+    @Test
+    @DisplayName("Should match prefixes and rank title hits above body hits")
+    void search_PrefixRanking() {
+        // When
+        List<SearchHitDTO> hits = index.search(UserSearchIndex.tokenize("rep", 8), 10);
+
+        // Then
+        assertThat(hits).extracting(SearchHitDTO::getId).containsExactly(reportId, linkId, recipeId);
+        assertThat(hits.getFirst().getTitle()).isEqualTo("Quarterly Report");
+    }
+
+    @Test
+    @DisplayName("Should require every query term to match")
+    void search_AllTermsRequired() {
+        // When
+        List<SearchHitDTO> hits = index.search(UserSearchIndex.tokenize("work rev", 8), 10);
+
+        // Then
+        assertThat(hits).extracting(SearchHitDTO::getId).containsExactly(reportId);
+    }
+
+    @Test
+    @DisplayName("Should reflect updates and deletions")
+    void putAndRemove() {
+        // When
+        index.put(new UserSearchIndex.Document(recipeId, "Soup recipe", ContentType.TEXT,
+                null, "Simmer slowly", null, List.of()));
+        index.remove(reportId);
+
+        // Then
+        assertThat(index.search(UserSearchIndex.tokenize("pasta", 8), 10)).isEmpty();
+        assertThat(index.search(UserSearchIndex.tokenize("soup", 8), 10))
+                .extracting(SearchHitDTO::getId).containsExactly(recipeId);
+        assertThat(index.search(UserSearchIndex.tokenize("quarterly", 8), 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep results and shrink memory estimate after compacting tombstones")
+    void compaction() {
+        // Given
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            UUID id = UUID.randomUUID();
+            ids.add(id);
+            index.put(new UserSearchIndex.Document(id, "Note " + i, ContentType.TEXT,
+                    null, "scratch text " + i, null, List.of()));
+        }
+        long grown = index.estimatedBytes();
+
+        // When
+        ids.forEach(index::remove);
+
+        // Then
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.estimatedBytes()).isLessThan(grown);
+        assertThat(index.search(UserSearchIndex.tokenize("scratch", 8), 10)).isEmpty();
+        assertThat(index.search(UserSearchIndex.tokenize("report", 8), 10)).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Should tokenize into lower-case alphanumeric terms")
+    void tokenize() {
+        assertThat(UserSearchIndex.tokenize("Hello, World! https://x.io/A-b", 10))
+                .containsExactly("hello", "world", "https", "x", "io", "a", "b");
+        assertThat(UserSearchIndex.tokenize("one two three", 2)).containsExactly("one", "two");
+    }
+}
@@ -0,0 +1,167 @@
+package com.omnivault.service.impl;
+
+import com.omnivault.config.ViewCountProperties;
+import com.omnivault.repository.ContentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ViewCountBufferTest {
+
+    @Mock
+    private ContentRepository contentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ViewCountProperties properties;
+    private ViewCountBuffer viewCounts;
+
+    @BeforeEach
+    void setup() {
+        properties = new ViewCountProperties();
+        viewCounts = new ViewCountBuffer(contentRepository, properties, transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should add pending views to the stored count")
+    void currentCount_AddsPendingViews() {
+        UUID contentId = UUID.randomUUID();
+
+        viewCounts.record(contentId);
+        viewCounts.record(contentId);
+
+        assertThat(viewCounts.pending(contentId)).isEqualTo(2);
+        assertThat(viewCounts.currentCount(contentId, 40)).isEqualTo(42);
+        assertThat(viewCounts.currentCount(UUID.randomUUID(), 7)).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Should flush items with the same number of views in one update")
+    void flush_GroupsItemsByViews() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        viewCounts.record(first);
+        viewCounts.record(second);
+        viewCounts.record(third);
+        viewCounts.record(third);
+
+        viewCounts.flush();
+
+        verify(contentRepository).addViewCounts(argThat(ids -> ids.containsAll(List.of(first, second))
+                && ids.size() == 2), eq(1));
+        verify(contentRepository).addViewCounts(List.of(third), 2);
+        verifyNoMoreInteractions(contentRepository);
+        assertThat(viewCounts.pending(first)).isZero();
+        assertThat(viewCounts.pending(third)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should split large flushes into batches")
+    void flush_SplitsBatches() {
+        properties.setBatchSize(2);
+        for (int i = 0; i < 5; i++) {
+            viewCounts.record(UUID.randomUUID());
+        }
+
+        viewCounts.flush();
+
+        verify(contentRepository, times(3)).addViewCounts(anyCollection(), eq(1));
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nothing was viewed")
+    void flush_NothingPending() {
+        UUID contentId = UUID.randomUUID();
+        viewCounts.record(contentId);
+        viewCounts.flush();
+        clearInvocations(contentRepository);
+
+        viewCounts.flush();
+
+        verifyNoInteractions(contentRepository);
+    }
+
+    @Test
+    @DisplayName("Should keep views whose flush failed for the next flush")
+    void flush_Failure_KeepsViews() {
+        UUID contentId = UUID.randomUUID();
+        viewCounts.record(contentId);
+        viewCounts.record(contentId);
+        when(contentRepository.addViewCounts(anyCollection(), anyInt()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        viewCounts.flush();
+
+        assertThat(viewCounts.pending(contentId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep counting an item after its idle counter was dropped")
+    void flush_DropsIdleCounters() {
+        UUID contentId = UUID.randomUUID();
+        viewCounts.record(contentId);
+        viewCounts.flush();
+        viewCounts.flush();
+
+        viewCounts.record(contentId);
+        viewCounts.flush();
+
+        verify(contentRepository, times(2)).addViewCounts(List.of(contentId), 1);
+        assertThat(viewCounts.pending(contentId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not lose views recorded while flushing")
+    void flush_ConcurrentViews() throws InterruptedException {
+        UUID contentId = UUID.randomUUID();
+        AtomicLong flushed = new AtomicLong();
+        when(contentRepository.addViewCounts(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            flushed.addAndGet((long) invocation.getArgument(0, Collection.class).size()
+                    * invocation.getArgument(1, Integer.class));
+            return 1;
+        });
+
+        int threads = 4;
+        int viewsPerThread = 5_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int view = 0; view < viewsPerThread; view++) {
+                    viewCounts.record(contentId);
+                }
+                done.countDown();
+            });
+        }
+        while (done.getCount() > 0) {
+            viewCounts.flush();
+        }
+        executor.shutdown();
+        viewCounts.flush();
+
+        assertThat(flushed.get() + viewCounts.pending(contentId)).isEqualTo((long) threads * viewsPerThread);
+    }
+}
@@ -0,0 +1,209 @@
+package com.omnivault.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResourceRangeWriterTest {
+
+    private static final String BODY = "0123456789abcdefghij";
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Resource resource;
+
+    @BeforeEach
+    void setup() throws Exception {
+        file = Files.writeString(tempDir.resolve("video.mp4"), BODY);
+        resource = new FileSystemResource(file);
+    }
+
+    @Test
+    @DisplayName("Should send the whole file with validators when no range is requested")
+    void writeWholeFile() throws Exception {
+        // When
+        MockHttpServletResponse response = write(new MockHttpServletRequest("GET", "/file"));
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+        assertThat(response.getContentLengthLong()).isEqualTo(BODY.length());
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+        assertThat(response.getHeader("ETag")).startsWith("\"");
+        assertThat(response.getHeader("Last-Modified")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should send a single range with 206 and Content-Range")
+    void writeSingleRange() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader("Range", "bytes=-5");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 15-19/20");
+        assertThat(response.getContentAsString()).isEqualTo("fghij");
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should send several ranges as multipart/byteranges")
+    void writeMultipleRanges() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader("Range", "bytes=0-1,10-12");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentType()).startsWith("multipart/byteranges; boundary=");
+        String body = response.getContentAsString(StandardCharsets.US_ASCII);
+        assertThat(body)
+                .contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n")
+                .contains("Content-Range: bytes 10-12/20\r\n\r\nabc\r\n")
+                .endsWith("--\r\n");
+        assertThat(response.getContentLengthLong()).isEqualTo(body.length());
+    }
+
+    @Test
+    @DisplayName("Should honour If-Range only when the validator still matches")
+    void ifRange() throws Exception {
+        // Given
+        String eTag = write(new MockHttpServletRequest("GET", "/file")).getHeader("ETag");
+
+        MockHttpServletRequest matching = new MockHttpServletRequest("GET", "/file");
+        matching.addHeader("Range", "bytes=0-3");
+        matching.addHeader("If-Range", eTag);
+
+        MockHttpServletRequest stale = new MockHttpServletRequest("GET", "/file");
+        stale.addHeader("Range", "bytes=0-3");
+        stale.addHeader("If-Range", "\"outdated\"");
+
+        // When & Then
+        assertThat(write(matching).getStatus()).isEqualTo(206);
+        MockHttpServletResponse response = write(stale);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should answer unsatisfiable ranges with 416 and ignore malformed ones")
+    void invalidRanges() throws Exception {
+        // Given
+        MockHttpServletRequest unsatisfiable = new MockHttpServletRequest("GET", "/file");
+        unsatisfiable.addHeader("Range", "bytes=50-60");
+
+        MockHttpServletRequest malformed = new MockHttpServletRequest("GET", "/file");
+        malformed.addHeader("Range", "lines=1-2");
+
+        // When
+        MockHttpServletResponse response = write(unsatisfiable);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */20");
+        assertThat(write(malformed).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when the client's copy is current")
+    void notModified() throws Exception {
+        // Given
+        String eTag = write(new MockHttpServletRequest("GET", "/file")).getHeader("ETag");
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader("If-None-Match", eTag);
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should hand files to the container when it supports sendfile")
+    void sendfile() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader("Range", "bytes=4-7");
+
+        // When
+        MockHttpServletResponse response = write(request);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(file.toFile().getCanonicalPath());
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(4L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(8L);
+    }
+
+    @Test
+    @DisplayName("Should read only the requested range from range-readable resources")
+    void rangeReadableResource() throws Exception {
+        // Given
+        RangeReadableResource rangeReadable = new RangeReadable(BODY);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/file");
+        request.addHeader("Range", "bytes=2-4");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        ResourceRangeWriter.write(rangeReadable, MediaType.APPLICATION_OCTET_STREAM, request, response);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("234");
+    }
+
+    private MockHttpServletResponse write(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ResourceRangeWriter.write(resource, MediaType.parseMediaType("video/mp4"), request, response);
+        return response;
+    }
+
+    /**
+     * Serves ranges from a string and fails whole reads, so only ranged reads can succeed.
+     */
+    private static final class RangeReadable extends ByteArrayResource implements RangeReadableResource {
+
+        private RangeReadable(String content) {
+            super(content.getBytes(StandardCharsets.US_ASCII));
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            throw new UnsupportedOperationException("Whole read");
+        }
+
+        @Override
+        public InputStream getInputStream(long position, long count) {
+            return new ByteArrayInputStream(getByteArray(), (int) position, (int) count);
+        }
+    }
+}